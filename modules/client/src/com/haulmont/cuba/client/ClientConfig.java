@@ -216,6 +216,24 @@ public interface ClientConfig extends Config {
     @Default("NULL, 20, 50, 100, 500, 1000, 5000")
     String getGenericFilterMaxResultsOptions();
 
+    /**
+     * Whether the RowsCount component loads the total number of rows in a background thread when the count link
+     * is clicked, so the UI is not blocked by the count query.
+     */
+    @Property("cuba.gui.rowsCountAsync")
+    @Source(type = SourceType.DATABASE)
+    @DefaultBoolean(false)
+    boolean getRowsCountAsync();
+
+    /**
+     * Number of rows above which the RowsCount component shows "more than N" instead of the exact total number,
+     * allowing the middleware to estimate large counts. 0 disables estimation.
+     */
+    @Property("cuba.gui.rowsCountEstimationThreshold")
+    @Source(type = SourceType.DATABASE)
+    @DefaultInt(0)
+    int getRowsCountEstimationThreshold();
+
     /**
      * Support e-mail. Exception report emails are sent to this address.
      */
@@ -377,4 +395,19 @@ public interface ClientConfig extends Config {
     @Property("cuba.gui.validationNotificationType")
     @Default("TRAY")
     String getValidationNotificationType();
-}
\ No newline at end of file
+
+    /**
+     * @return maximum number of processed screen descriptors kept in memory
+     */
+    @Property("cuba.gui.screenXmlCacheSize")
+    @DefaultInt(100)
+    int getScreenXmlCacheSize();
+
+    /**
+     * @return whether descriptors of all registered screens should be loaded into the cache in background
+     * on application start, so that first screen openings don't spend time on parsing
+     */
+    @Property("cuba.gui.screenXmlWarmupEnabled")
+    @DefaultBoolean(false)
+    boolean getScreenXmlWarmupEnabled();
+}
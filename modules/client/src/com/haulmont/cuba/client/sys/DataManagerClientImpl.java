@@ -146,6 +146,11 @@ public class DataManagerClientImpl implements DataManager {
         return dataService.loadValues(context);
     }
 
+    @Override
+    public List<List<?>> loadBatch(List<?> contexts) {
+        return dataService.loadBatch(contexts);
+    }
+
     @Override
     public DataManager secure() {
         return this;
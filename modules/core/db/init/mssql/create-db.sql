@@ -747,6 +747,7 @@ create table SYS_CATEGORY(
     IS_DEFAULT tinyint,
     DISCRIMINATOR integer,
     LOCALE_NAMES varchar(1000),
+    FLAT_SLOTS varchar(1000),
     --
     primary key (ID)
 )^
@@ -798,6 +799,7 @@ create table SYS_CATEGORY_ATTR (
     LOCALE_NAMES varchar(1000),
     LOCALE_DESCRIPTIONS varchar(4000),
     ENUMERATION_LOCALES varchar(5000),
+    FLAT_SLOT varchar(50),
     --
     primary key nonclustered (ID),
     constraint SYS_CATEGORY_ATTR_CATEGORY_ID foreign key (CATEGORY_ID) references SYS_CATEGORY(ID)
@@ -845,6 +847,50 @@ create index IDX_SYS_ATTR_VALUE_SENTITY on SYS_ATTR_VALUE(STRING_ENTITY_ID)^
 create index IDX_SYS_ATTR_VALUE_IENTITY on SYS_ATTR_VALUE(INT_ENTITY_ID)^
 create index IDX_SYS_ATTR_VALUE_LENTITY on SYS_ATTR_VALUE(LONG_ENTITY_ID)^
 
+create table SYS_ATTR_FLAT_VALUES (
+    ID uniqueidentifier not null,
+    --
+    CATEGORY_ID uniqueidentifier not null,
+    ENTITY_ID uniqueidentifier,
+    STRING_ENTITY_ID varchar(255),
+    INT_ENTITY_ID integer,
+    LONG_ENTITY_ID bigint,
+    STRING_VALUE_1 varchar(max),
+    STRING_VALUE_2 varchar(max),
+    STRING_VALUE_3 varchar(max),
+    STRING_VALUE_4 varchar(max),
+    STRING_VALUE_5 varchar(max),
+    INTEGER_VALUE_1 integer,
+    INTEGER_VALUE_2 integer,
+    INTEGER_VALUE_3 integer,
+    INTEGER_VALUE_4 integer,
+    INTEGER_VALUE_5 integer,
+    DOUBLE_VALUE_1 numeric(36,6),
+    DOUBLE_VALUE_2 numeric(36,6),
+    DOUBLE_VALUE_3 numeric(36,6),
+    DOUBLE_VALUE_4 numeric(36,6),
+    DOUBLE_VALUE_5 numeric(36,6),
+    DATE_VALUE_1 datetime,
+    DATE_VALUE_2 datetime,
+    DATE_VALUE_3 datetime,
+    DATE_VALUE_4 datetime,
+    DATE_VALUE_5 datetime,
+    BOOLEAN_VALUE_1 tinyint,
+    BOOLEAN_VALUE_2 tinyint,
+    BOOLEAN_VALUE_3 tinyint,
+    BOOLEAN_VALUE_4 tinyint,
+    BOOLEAN_VALUE_5 tinyint,
+    --
+    primary key nonclustered (ID)
+)^
+
+create clustered index IDX_SYS_ATTR_FLAT_ENTITY on SYS_ATTR_FLAT_VALUES(ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_SENTITY on SYS_ATTR_FLAT_VALUES(STRING_ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_IENTITY on SYS_ATTR_FLAT_VALUES(INT_ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_LENTITY on SYS_ATTR_FLAT_VALUES(LONG_ENTITY_ID, CATEGORY_ID)^
+
+alter table SYS_ATTR_FLAT_VALUES add constraint FK_SYS_ATTR_FLAT_CATEGORY foreign key (CATEGORY_ID) references SYS_CATEGORY(ID)^
+
 --------------------------------------------------------------------------------------------------------------
 
 create table SYS_JMX_INSTANCE (
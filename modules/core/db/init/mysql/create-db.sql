@@ -756,6 +756,7 @@ create table SYS_CATEGORY(
     IS_DEFAULT boolean,
     DISCRIMINATOR integer,
     LOCALE_NAMES varchar(1000),
+    FLAT_SLOTS varchar(1000),
     --
     primary key (ID)
 )^
@@ -813,6 +814,7 @@ create table SYS_CATEGORY_ATTR (
     LOCALE_NAMES varchar(1000),
     ENUMERATION_LOCALES text,
     LOCALE_DESCRIPTIONS text,
+    FLAT_SLOT varchar(50),
     --
     primary key (ID),
     constraint SYS_CATEGORY_ATTR_CATEGORY_ID foreign key (CATEGORY_ID) references SYS_CATEGORY(ID)
@@ -859,6 +861,50 @@ create index IDX_SYS_ATTR_VALUE_SENTITY on SYS_ATTR_VALUE(STRING_ENTITY_ID)^
 create index IDX_SYS_ATTR_VALUE_IENTITY on SYS_ATTR_VALUE(INT_ENTITY_ID)^
 create index IDX_SYS_ATTR_VALUE_LENTITY on SYS_ATTR_VALUE(LONG_ENTITY_ID)^
 
+create table SYS_ATTR_FLAT_VALUES (
+    ID varchar(32),
+    --
+    CATEGORY_ID varchar(32) not null,
+    ENTITY_ID varchar(32),
+    STRING_ENTITY_ID varchar(190),
+    INT_ENTITY_ID integer,
+    LONG_ENTITY_ID bigint,
+    STRING_VALUE_1 text,
+    STRING_VALUE_2 text,
+    STRING_VALUE_3 text,
+    STRING_VALUE_4 text,
+    STRING_VALUE_5 text,
+    INTEGER_VALUE_1 integer,
+    INTEGER_VALUE_2 integer,
+    INTEGER_VALUE_3 integer,
+    INTEGER_VALUE_4 integer,
+    INTEGER_VALUE_5 integer,
+    DOUBLE_VALUE_1 numeric(36,6),
+    DOUBLE_VALUE_2 numeric(36,6),
+    DOUBLE_VALUE_3 numeric(36,6),
+    DOUBLE_VALUE_4 numeric(36,6),
+    DOUBLE_VALUE_5 numeric(36,6),
+    DATE_VALUE_1 datetime(3),
+    DATE_VALUE_2 datetime(3),
+    DATE_VALUE_3 datetime(3),
+    DATE_VALUE_4 datetime(3),
+    DATE_VALUE_5 datetime(3),
+    BOOLEAN_VALUE_1 boolean,
+    BOOLEAN_VALUE_2 boolean,
+    BOOLEAN_VALUE_3 boolean,
+    BOOLEAN_VALUE_4 boolean,
+    BOOLEAN_VALUE_5 boolean,
+    --
+    primary key (ID)
+)^
+
+create index IDX_SYS_ATTR_FLAT_ENTITY on SYS_ATTR_FLAT_VALUES(ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_SENTITY on SYS_ATTR_FLAT_VALUES(STRING_ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_IENTITY on SYS_ATTR_FLAT_VALUES(INT_ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_LENTITY on SYS_ATTR_FLAT_VALUES(LONG_ENTITY_ID, CATEGORY_ID)^
+
+alter table SYS_ATTR_FLAT_VALUES add constraint FK_SYS_ATTR_FLAT_CATEGORY foreign key (CATEGORY_ID) references SYS_CATEGORY(ID)^
+
 /**********************************************************************************************/
 
 create table SYS_JMX_INSTANCE (
@@ -0,0 +1,43 @@
+-- Description: add table for flattened dynamic attribute values and columns for their slots
+
+create table SYS_ATTR_FLAT_VALUES (
+    ID varchar(36) not null,
+    --
+    CATEGORY_ID varchar(36) not null,
+    ENTITY_ID varchar(36),
+    STRING_ENTITY_ID varchar(255),
+    INT_ENTITY_ID integer,
+    LONG_ENTITY_ID bigint,
+    STRING_VALUE_1 varchar(4000),
+    STRING_VALUE_2 varchar(4000),
+    STRING_VALUE_3 varchar(4000),
+    STRING_VALUE_4 varchar(4000),
+    STRING_VALUE_5 varchar(4000),
+    INTEGER_VALUE_1 integer,
+    INTEGER_VALUE_2 integer,
+    INTEGER_VALUE_3 integer,
+    INTEGER_VALUE_4 integer,
+    INTEGER_VALUE_5 integer,
+    DOUBLE_VALUE_1 numeric(36,6),
+    DOUBLE_VALUE_2 numeric(36,6),
+    DOUBLE_VALUE_3 numeric(36,6),
+    DOUBLE_VALUE_4 numeric(36,6),
+    DOUBLE_VALUE_5 numeric(36,6),
+    DATE_VALUE_1 timestamp,
+    DATE_VALUE_2 timestamp,
+    DATE_VALUE_3 timestamp,
+    DATE_VALUE_4 timestamp,
+    DATE_VALUE_5 timestamp,
+    BOOLEAN_VALUE_1 boolean,
+    BOOLEAN_VALUE_2 boolean,
+    BOOLEAN_VALUE_3 boolean,
+    BOOLEAN_VALUE_4 boolean,
+    BOOLEAN_VALUE_5 boolean,
+    --
+    primary key (ID)
+)^
+
+alter table SYS_ATTR_FLAT_VALUES add constraint FK_SYS_ATTR_FLAT_CATEGORY foreign key (CATEGORY_ID) references SYS_CATEGORY(ID)^
+
+alter table SYS_CATEGORY add FLAT_SLOTS varchar(1000)^
+alter table SYS_CATEGORY_ATTR add FLAT_SLOT varchar(50)^
@@ -0,0 +1,48 @@
+-- Description: add table for flattened dynamic attribute values and columns for their slots
+
+create table SYS_ATTR_FLAT_VALUES (
+    ID uniqueidentifier not null,
+    --
+    CATEGORY_ID uniqueidentifier not null,
+    ENTITY_ID uniqueidentifier,
+    STRING_ENTITY_ID varchar(255),
+    INT_ENTITY_ID integer,
+    LONG_ENTITY_ID bigint,
+    STRING_VALUE_1 varchar(max),
+    STRING_VALUE_2 varchar(max),
+    STRING_VALUE_3 varchar(max),
+    STRING_VALUE_4 varchar(max),
+    STRING_VALUE_5 varchar(max),
+    INTEGER_VALUE_1 integer,
+    INTEGER_VALUE_2 integer,
+    INTEGER_VALUE_3 integer,
+    INTEGER_VALUE_4 integer,
+    INTEGER_VALUE_5 integer,
+    DOUBLE_VALUE_1 numeric(36,6),
+    DOUBLE_VALUE_2 numeric(36,6),
+    DOUBLE_VALUE_3 numeric(36,6),
+    DOUBLE_VALUE_4 numeric(36,6),
+    DOUBLE_VALUE_5 numeric(36,6),
+    DATE_VALUE_1 datetime,
+    DATE_VALUE_2 datetime,
+    DATE_VALUE_3 datetime,
+    DATE_VALUE_4 datetime,
+    DATE_VALUE_5 datetime,
+    BOOLEAN_VALUE_1 tinyint,
+    BOOLEAN_VALUE_2 tinyint,
+    BOOLEAN_VALUE_3 tinyint,
+    BOOLEAN_VALUE_4 tinyint,
+    BOOLEAN_VALUE_5 tinyint,
+    --
+    primary key nonclustered (ID)
+)^
+
+create clustered index IDX_SYS_ATTR_FLAT_ENTITY on SYS_ATTR_FLAT_VALUES(ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_SENTITY on SYS_ATTR_FLAT_VALUES(STRING_ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_IENTITY on SYS_ATTR_FLAT_VALUES(INT_ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_LENTITY on SYS_ATTR_FLAT_VALUES(LONG_ENTITY_ID, CATEGORY_ID)^
+
+alter table SYS_ATTR_FLAT_VALUES add constraint FK_SYS_ATTR_FLAT_CATEGORY foreign key (CATEGORY_ID) references SYS_CATEGORY(ID)^
+
+alter table SYS_CATEGORY add FLAT_SLOTS varchar(1000)^
+alter table SYS_CATEGORY_ATTR add FLAT_SLOT varchar(50)^
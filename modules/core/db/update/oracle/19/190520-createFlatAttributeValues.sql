@@ -0,0 +1,48 @@
+-- Description: add table for flattened dynamic attribute values and columns for their slots
+
+create table SYS_ATTR_FLAT_VALUES (
+    ID varchar2(32) not null,
+    --
+    CATEGORY_ID varchar2(32) not null,
+    ENTITY_ID varchar2(32),
+    STRING_ENTITY_ID varchar2(255),
+    INT_ENTITY_ID integer,
+    LONG_ENTITY_ID number,
+    STRING_VALUE_1 varchar2(4000),
+    STRING_VALUE_2 varchar2(4000),
+    STRING_VALUE_3 varchar2(4000),
+    STRING_VALUE_4 varchar2(4000),
+    STRING_VALUE_5 varchar2(4000),
+    INTEGER_VALUE_1 integer,
+    INTEGER_VALUE_2 integer,
+    INTEGER_VALUE_3 integer,
+    INTEGER_VALUE_4 integer,
+    INTEGER_VALUE_5 integer,
+    DOUBLE_VALUE_1 numeric(36,6),
+    DOUBLE_VALUE_2 numeric(36,6),
+    DOUBLE_VALUE_3 numeric(36,6),
+    DOUBLE_VALUE_4 numeric(36,6),
+    DOUBLE_VALUE_5 numeric(36,6),
+    DATE_VALUE_1 timestamp,
+    DATE_VALUE_2 timestamp,
+    DATE_VALUE_3 timestamp,
+    DATE_VALUE_4 timestamp,
+    DATE_VALUE_5 timestamp,
+    BOOLEAN_VALUE_1 char(1),
+    BOOLEAN_VALUE_2 char(1),
+    BOOLEAN_VALUE_3 char(1),
+    BOOLEAN_VALUE_4 char(1),
+    BOOLEAN_VALUE_5 char(1),
+    --
+    primary key (ID)
+)^
+
+create index IDX_SYS_ATTR_FLAT_ENTITY on SYS_ATTR_FLAT_VALUES(ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_SENTITY on SYS_ATTR_FLAT_VALUES(STRING_ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_IENTITY on SYS_ATTR_FLAT_VALUES(INT_ENTITY_ID, CATEGORY_ID)^
+create index IDX_SYS_ATTR_FLAT_LENTITY on SYS_ATTR_FLAT_VALUES(LONG_ENTITY_ID, CATEGORY_ID)^
+
+alter table SYS_ATTR_FLAT_VALUES add constraint FK_SYS_ATTR_FLAT_CATEGORY foreign key (CATEGORY_ID) references SYS_CATEGORY(ID)^
+
+alter table SYS_CATEGORY add FLAT_SLOTS varchar2(1000)^
+alter table SYS_CATEGORY_ATTR add FLAT_SLOT varchar2(50)^
@@ -20,6 +20,7 @@ package com.haulmont.cuba.core;
 import com.haulmont.cuba.core.entity.Entity;
 import com.haulmont.cuba.core.global.Security;
 import com.haulmont.cuba.core.global.View;
+import com.haulmont.cuba.core.sys.CompiledConstraint;
 
 import java.util.Collection;
 
@@ -125,4 +126,14 @@ public interface PersistenceSecurity extends Security {
      * @param entities - collection of entities for which will calculate filtered data
      */
     void calculateFilteredData(Collection<Entity> entities);
+
+    /**
+     * @return in-memory constraints compiled in this middleware block, with their evaluation statistics
+     */
+    Collection<CompiledConstraint> getCompiledConstraints();
+
+    /**
+     * Clears the cache of compiled in-memory constraints and their statistics.
+     */
+    void clearCompiledConstraints();
 }
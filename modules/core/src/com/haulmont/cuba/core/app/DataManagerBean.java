@@ -32,6 +32,7 @@ import javax.inject.Inject;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Component(DataManager.NAME)
 public class DataManagerBean implements DataManager {
@@ -80,6 +81,24 @@ public class DataManagerBean implements DataManager {
         return entities;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E extends Entity> Stream<E> loadListStream(LoadContext<E> context, int chunkSize) {
+        MetaClass metaClass = metadata.getClassNN(context.getMetaClass());
+        DataStore storage = storeFactory.get(getStoreName(metaClass));
+        if (!(storage instanceof RdbmsStore)) {
+            return DataManager.super.loadListStream(context, chunkSize);
+        }
+        if (context.getQuery() == null) {
+            context = (LoadContext<E>) context.copy();
+            context.setQueryString("select e from " + metaClass.getName() + " e");
+        }
+        View view = context.getView();
+        boolean joinTransaction = context.isJoinTransaction();
+        return ((RdbmsStore) storage).loadListStream(context, chunkSize,
+                chunk -> readCrossDataStoreReferences(chunk, view, metaClass, joinTransaction));
+    }
+
     @Override
     public long getCount(LoadContext<? extends Entity> context) {
         MetaClass metaClass = metadata.getClassNN(context.getMetaClass());
@@ -406,6 +425,12 @@ public class DataManagerBean implements DataManager {
             return dataManager.loadList(context);
         }
 
+        @Override
+        public <E extends Entity> Stream<E> loadListStream(LoadContext<E> context, int chunkSize) {
+            context.setAuthorizationRequired(true);
+            return dataManager.loadListStream(context, chunkSize);
+        }
+
         @Override
         public List<KeyValueEntity> loadValues(ValueLoadContext context) {
             context.setAuthorizationRequired(true);
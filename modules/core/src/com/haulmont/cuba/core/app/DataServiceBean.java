@@ -16,16 +16,17 @@
  */
 package com.haulmont.cuba.core.app;
 
+import com.haulmont.cuba.core.Persistence;
+import com.haulmont.cuba.core.Transaction;
+import com.haulmont.cuba.core.TransactionParams;
 import com.haulmont.cuba.core.entity.Entity;
 import com.haulmont.cuba.core.entity.KeyValueEntity;
-import com.haulmont.cuba.core.global.CommitContext;
-import com.haulmont.cuba.core.global.DataManager;
-import com.haulmont.cuba.core.global.LoadContext;
-import com.haulmont.cuba.core.global.ValueLoadContext;
+import com.haulmont.cuba.core.global.*;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -35,6 +36,12 @@ public class DataServiceBean implements DataService {
     @Inject
     protected DataManager dataManager;
 
+    @Inject
+    protected Persistence persistence;
+
+    @Inject
+    protected Metadata metadata;
+
     @Override
     public Set<Entity> commit(CommitContext context) {
         context.setAuthorizationRequired(true);
@@ -65,4 +72,42 @@ public class DataServiceBean implements DataService {
         context.setAuthorizationRequired(true);
         return dataManager.loadValues(context);
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<List<?>> loadBatch(List<?> contexts) {
+        List<Object> batchContexts = new ArrayList<>(contexts.size());
+        for (Object context : contexts) {
+            batchContexts.add(prepareBatchContext(context));
+        }
+
+        try (Transaction tx = persistence.createTransaction(new TransactionParams().setReadOnly(true))) {
+            List<List<?>> results = dataManager.loadBatch(batchContexts);
+            tx.commit();
+            return results;
+        }
+    }
+
+    /**
+     * Returns a copy of the context which joins the batch transaction if it loads from the main data store.
+     * Contexts with soft deletion turned off are executed in their own transactions, because they change the state
+     * of the entity manager.
+     */
+    protected Object prepareBatchContext(Object context) {
+        if (context instanceof LoadContext) {
+            LoadContext<?> loadContext = ((LoadContext<?>) context).copy();
+            loadContext.setAuthorizationRequired(true);
+            String storeName = metadata.getTools().getStoreName(metadata.getClassNN(loadContext.getMetaClass()));
+            loadContext.setJoinTransaction(Stores.isMain(storeName) && loadContext.isSoftDeletion());
+            return loadContext;
+        } else if (context instanceof ValueLoadContext) {
+            ValueLoadContext valueLoadContext = ((ValueLoadContext) context).copy();
+            valueLoadContext.setAuthorizationRequired(true);
+            String storeName = valueLoadContext.getStoreName();
+            valueLoadContext.setJoinTransaction((storeName == null || Stores.isMain(storeName))
+                    && valueLoadContext.isSoftDeletion());
+            return valueLoadContext;
+        } else {
+            throw new IllegalArgumentException("Unsupported load context: " + context);
+        }
+    }
+}
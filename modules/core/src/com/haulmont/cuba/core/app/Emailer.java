@@ -358,7 +358,7 @@ public class Emailer implements EmailerAPI {
             query.setParameter("time", sendTimeoutTime);
             query.setParameter("statusSending", SendingStatus.SENDING.getId());
 
-            View view = metadata.getViewRepository().getView(SendingMessage.class, "sendingMessage.loadFromQueue");
+            View view = View.copy(metadata.getViewRepository().getView(SendingMessage.class, "sendingMessage.loadFromQueue"));
             view.setLoadPartialEntities(true); // because SendingAttachment.content has FetchType.LAZY
             query.setView(view);
 
@@ -28,13 +28,17 @@ import com.haulmont.cuba.core.app.events.EntityChangedEvent;
 import com.haulmont.cuba.core.app.queryresults.QueryResultsManagerAPI;
 import com.haulmont.cuba.core.entity.*;
 import com.haulmont.cuba.core.global.*;
+import com.haulmont.cuba.core.sys.ChunkIterator;
 import com.haulmont.cuba.core.sys.EntityFetcher;
+import com.haulmont.cuba.core.sys.QueryImpl;
+import com.haulmont.cuba.core.sys.persistence.DbmsSpecificFactory;
 import com.haulmont.cuba.core.sys.persistence.EntityChangedEventManager;
 import com.haulmont.cuba.security.entity.ConstraintOperationType;
 import com.haulmont.cuba.security.entity.EntityAttrAccess;
 import com.haulmont.cuba.security.entity.EntityOp;
 import com.haulmont.cuba.security.entity.PermissionType;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.persistence.queries.CursoredStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Scope;
@@ -42,10 +46,18 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
+import javax.persistence.DiscriminatorColumn;
+import javax.persistence.DiscriminatorValue;
+import javax.persistence.Inheritance;
 import javax.persistence.NoResultException;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * INTERNAL.
@@ -59,6 +71,10 @@ public class RdbmsStore implements DataStore {
 
     private static final Logger log = LoggerFactory.getLogger(RdbmsStore.class);
 
+    protected static final Pattern SELECT_ALL_PATTERN = Pattern.compile(
+            "select\\s+(\\w+)\\s+from\\s+[\\w$]+\\s+\\1(\\s+order\\s+by\\s+.*)?",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
     @Inject
     protected Metadata metadata;
 
@@ -257,6 +273,143 @@ public class RdbmsStore implements DataStore {
         return resultList;
     }
 
+    /**
+     * Loads entities by a database cursor, returning them in chunks of the given size.
+     * <p>
+     * The cursor is held in a separate read-only transaction (or in the current one if
+     * {@link LoadContext#isJoinTransaction()} is set) bound to the calling thread, so the stream must be consumed
+     * in this thread and closed after use. Each chunk is detached and removed from the persistence context
+     * before it is passed downstream, so the memory footprint does not depend on the total number of rows.
+     * In-memory distinct is not applied.
+     *
+     * @param context        loading context
+     * @param chunkSize      number of rows fetched from the cursor at once
+     * @param chunkProcessor optional callback invoked for each chunk of loaded entities before they are returned
+     * @return stream of detached entities that must be closed after use
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Entity> Stream<E> loadListStream(LoadContext<E> context, int chunkSize,
+                                                       @Nullable Consumer<List<E>> chunkProcessor) {
+        Preconditions.checkNotNullArgument(context.getQuery(), "query is null");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        if (log.isDebugEnabled())
+            log.debug("loadListStream: metaClass=" + context.getMetaClass() + ", view=" + context.getView()
+                    + ", query=" + RdbmsQueryBuilder.printQuery(context.getQuery().getQueryString())
+                    + ", chunkSize=" + chunkSize);
+
+        MetaClass metaClass = metadata.getClassNN(context.getMetaClass());
+
+        if (isAuthorizationRequired(context) && !isEntityOpPermitted(metaClass, EntityOp.READ)) {
+            log.debug("reading of {} not permitted, returning empty stream", metaClass);
+            return Stream.empty();
+        }
+
+        queryResultsManager.savePreviousQueryResults(context);
+
+        boolean needToApplyInMemoryReadConstraints = needToApplyInMemoryReadConstraints(context);
+        boolean needToFilterByInMemoryReadConstraints = needToFilterByInMemoryReadConstraints(context);
+
+        // the persistence context of a joined transaction may contain instances of the caller, so it is not cleared
+        boolean clearPersistenceContext = !(context.isJoinTransaction() && persistence.isInTransaction());
+        Transaction tx = getLoadTransaction(context.isJoinTransaction());
+        EntityManager em;
+        View view;
+        CursoredStream cursor;
+        try {
+            em = persistence.getEntityManager(storeName);
+            em.setSoftDeletion(context.isSoftDeletion());
+            persistence.getEntityManagerContext(storeName).setDbHints(context.getDbHints());
+
+            view = createRestrictedView(context);
+            Query query = createQuery(em, context, false);
+            query.setView(view);
+
+            cursor = ((QueryImpl) query).getResultCursor(chunkSize);
+        } catch (RuntimeException e) {
+            tx.close();
+            throw e;
+        }
+
+        // releases the cursor and the transaction when the stream is exhausted, fails or is closed
+        boolean[] closed = new boolean[1];
+        Consumer<Boolean> closer = commit -> {
+            if (closed[0]) {
+                return;
+            }
+            closed[0] = true;
+            try {
+                cursor.close();
+                if (commit) {
+                    tx.commit();
+                }
+            } finally {
+                tx.close();
+            }
+        };
+
+        Supplier<List<E>> chunkLoader = () -> {
+            try {
+                List<E> chunk = Collections.emptyList();
+                // skip chunks completely filtered out by in-memory constraints
+                while (chunk.isEmpty() && cursor.hasNext()) {
+                    chunk = new ArrayList<>((List) cursor.next(chunkSize));
+                    entityFetcher.fetch(chunk, view);
+
+                    if (needToFilterByInMemoryReadConstraints) {
+                        security.filterByConstraints((Collection<Entity>) chunk);
+                    }
+
+                    if (!chunk.isEmpty() && chunk.get(0) instanceof BaseGenericIdEntity && context.isLoadDynamicAttributes()) {
+                        dynamicAttributesManagerAPI.fetchDynamicAttributes((List<BaseGenericIdEntity>) chunk,
+                                collectEntityClassesWithDynamicAttributes(context.getView()));
+                    }
+
+                    if (needToApplyInMemoryReadConstraints) {
+                        security.calculateFilteredData((Collection<Entity>) chunk);
+                    }
+
+                    attributeSecurity.onLoad(chunk, view);
+
+                    for (E entity : chunk) {
+                        detachEntity(em, entity, view);
+                    }
+                    // release instances of the chunk held by the cursor and the persistence context
+                    cursor.clear();
+                    if (clearPersistenceContext) {
+                        em.getDelegate().clear();
+                    }
+                }
+
+                if (chunk.isEmpty()) {
+                    closer.accept(true);
+                }
+
+                if (needToApplyInMemoryReadConstraints) {
+                    security.applyConstraints((Collection<Entity>) chunk);
+                }
+
+                if (context.isAuthorizationRequired()) {
+                    attributeSecurity.afterLoad(chunk);
+                }
+
+                if (chunkProcessor != null && !chunk.isEmpty()) {
+                    chunkProcessor.accept(chunk);
+                }
+                return chunk;
+            } catch (RuntimeException e) {
+                closer.accept(false);
+                throw e;
+            }
+        };
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(new ChunkIterator<>(chunkLoader), Spliterator.ORDERED | Spliterator.NONNULL),
+                false)
+                .onClose(() -> closer.accept(true));
+    }
+
     @Override
     public long getCount(LoadContext<? extends Entity> context) {
         if (log.isDebugEnabled())
@@ -281,6 +434,12 @@ public class RdbmsStore implements DataStore {
             context.getQuery().setQueryString("select e from " + metaClass.getName() + " e");
         }
 
+        if (context.getCountEstimationThreshold() > 0
+                && metadataTools.getPrimaryKeyName(metaClass) != null
+                && !security.hasInMemoryConstraints(metaClass, ConstraintOperationType.READ, ConstraintOperationType.ALL)) {
+            return getEstimatedCount(context, metaClass);
+        }
+
         if (security.hasInMemoryConstraints(metaClass, ConstraintOperationType.READ, ConstraintOperationType.ALL)) {
             List resultList;
             try (Transaction tx = getLoadTransaction(context.isJoinTransaction())) {
@@ -340,6 +499,7 @@ public class RdbmsStore implements DataStore {
         List<Entity> persisted = new ArrayList<>();
         List<BaseGenericIdEntity> identityEntitiesToStoreDynamicAttributes = new ArrayList<>();
         List<CategoryAttributeValue> attributeValuesToRemove = new ArrayList<>();
+        List<BaseGenericIdEntity> entitiesToRemoveFlatValues = new ArrayList<>();
 
         try (Transaction tx = getSaveTransaction(storeName, context.isJoinTransaction())) {
             EntityManager em = persistence.getEntityManager(storeName);
@@ -437,6 +597,14 @@ public class RdbmsStore implements DataStore {
                 em.remove(e);
                 saved.add(e);
 
+                if (e instanceof BaseGenericIdEntity) {
+                    if (Stores.isMain(storeName)) {
+                        dynamicAttributesManagerAPI.removeFlatValues((BaseGenericIdEntity) e);
+                    } else {
+                        entitiesToRemoveFlatValues.add((BaseGenericIdEntity) e);
+                    }
+                }
+
                 if (entityHasDynamicAttributes(entity)) {
                     Map<String, CategoryAttributeValue> dynamicAttributes = ((BaseGenericIdEntity) entity).getDynamicAttributes();
 
@@ -474,12 +642,15 @@ public class RdbmsStore implements DataStore {
             tx.commit();
         }
 
-        if (!attributeValuesToRemove.isEmpty()) {
+        if (!attributeValuesToRemove.isEmpty() || !entitiesToRemoveFlatValues.isEmpty()) {
             try (Transaction tx = getSaveTransaction(Stores.MAIN, context.isJoinTransaction())) {
                 EntityManager em = persistence.getEntityManager();
                 for (CategoryAttributeValue entity : attributeValuesToRemove) {
                     em.remove(entity);
                 }
+                for (BaseGenericIdEntity entity : entitiesToRemoveFlatValues) {
+                    dynamicAttributesManagerAPI.removeFlatValues(entity);
+                }
                 tx.commit();
             }
         }
@@ -646,17 +817,116 @@ public class RdbmsStore implements DataStore {
         return query;
     }
 
+    /**
+     * Returns the exact number of entities if it does not exceed the threshold set in the context. Otherwise returns
+     * an estimate from the DBMS statistics for queries selecting all rows of the entity table, or
+     * {@code threshold + 1}.
+     */
+    protected long getEstimatedCount(LoadContext<?> context, MetaClass metaClass) {
+        long threshold = context.getCountEstimationThreshold();
+        boolean unrestrictedQuery = isUnrestrictedQuery(context, metaClass);
+
+        // select at most threshold + 1 identifiers instead of counting all rows
+        QueryTransformer transformer = QueryTransformerFactory.createTransformer(context.getQuery().getQueryString());
+        transformer.replaceWithSelectId(metadataTools.getPrimaryKeyName(metaClass));
+        transformer.removeOrderBy();
+        context.getQuery().setQueryString(transformer.getResult());
+        context.getQuery().setSort(null);
+        context.getQuery().setFirstResult(0);
+        context.getQuery().setMaxResults((int) Math.min(threshold + 1, Integer.MAX_VALUE));
+
+        List resultList;
+        try (Transaction tx = getLoadTransaction(context.isJoinTransaction())) {
+            EntityManager em = persistence.getEntityManager(storeName);
+            em.setSoftDeletion(context.isSoftDeletion());
+            persistence.getEntityManagerContext(storeName).setDbHints(context.getDbHints());
+
+            Query query = createQuery(em, context, false);
+            resultList = query.getResultList();
+
+            tx.commit();
+        }
+        if (resultList.size() <= threshold) {
+            return resultList.size();
+        }
+
+        if (unrestrictedQuery) {
+            Long estimate = getTableRowsEstimate(metaClass);
+            if (estimate != null && estimate > threshold) {
+                log.debug("getCount: using estimated number of rows {} for {}", estimate, metaClass);
+                return estimate;
+            }
+        }
+        return resultList.size();
+    }
+
+    /**
+     * @return true if the query selects all rows of the entity table, so the number of rows in the table
+     * from the DBMS statistics can be used as the count
+     */
+    protected boolean isUnrestrictedQuery(LoadContext<?> context, MetaClass metaClass) {
+        LoadContext.Query query = context.getQuery();
+        return context.getPrevQueries().isEmpty()
+                && query.getCondition() == null
+                && !security.hasConstraints(metaClass)
+                // soft deleted rows and rows of other entities of the inheritance hierarchy are in the table too
+                && !(context.isSoftDeletion() && SoftDelete.class.isAssignableFrom(metaClass.getJavaClass()))
+                && !isInheritanceHierarchyMember(metaClass)
+                && SELECT_ALL_PATTERN.matcher(query.getQueryString().trim()).matches();
+    }
+
+    protected boolean isInheritanceHierarchyMember(MetaClass metaClass) {
+        for (MetaClass aClass = metaClass; aClass != null; aClass = aClass.getAncestor()) {
+            Class<?> javaClass = aClass.getJavaClass();
+            if (javaClass.isAnnotationPresent(Inheritance.class)
+                    || javaClass.isAnnotationPresent(DiscriminatorColumn.class)
+                    || javaClass.isAnnotationPresent(DiscriminatorValue.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return number of rows in the entity table according to the DBMS statistics, or null if unknown
+     */
+    @Nullable
+    protected Long getTableRowsEstimate(MetaClass metaClass) {
+        String statement = DbmsSpecificFactory.getDbmsFeatures(storeName).getTableRowsEstimateStatement();
+        String table = metadataTools.getDatabaseTable(metaClass);
+        if (statement == null || table == null) {
+            return null;
+        }
+        // separate transaction, so a failed statement does not affect the current one
+        try (Transaction tx = persistence.createTransaction(storeName)) {
+            EntityManager em = persistence.getEntityManager(storeName);
+            Object result = em.createNativeQuery(statement)
+                    .setParameter(1, table)
+                    .getSingleResult();
+            tx.commit();
+            if (result instanceof Number && ((Number) result).longValue() > 0) {
+                return ((Number) result).longValue();
+            }
+        } catch (RuntimeException e) {
+            log.debug("Unable to get estimated number of rows in {}: {}", table, e.toString());
+        }
+        return null;
+    }
+
     protected View createRestrictedView(LoadContext context) {
         View view = context.getView() != null ? context.getView() :
                 viewRepository.getView(metadata.getClassNN(context.getMetaClass()), View.BASE);
-        View copy = View.copy(isAuthorizationRequired(context) ? attributeSecurity.createRestrictedView(view) : view);
+        View restrictedView = isAuthorizationRequired(context) ? attributeSecurity.createRestrictedView(view) : view;
         if (context.isLoadPartialEntities()
                 && !needToApplyInMemoryReadConstraints(context)
                 && !needToFilterByInMemoryReadConstraints(context)
                 && !needToApplyAttributeAccess(context)) {
+            // views from the repository are shared, so copy before modification
+            View copy = View.copy(restrictedView);
             copy.setLoadPartialEntities(true);
+            return copy;
         }
-        return copy;
+        return restrictedView;
     }
 
     @SuppressWarnings("unchecked")
@@ -240,6 +240,32 @@ public interface ServerConfig extends Config {
     @DefaultInt(60)
     int getBruteForceBlockIntervalSec();
 
+    /**
+     * @return a maximum number of unsuccessful login attempts from one IP-address for any logins
+     * within the block interval, 0 to disable the limit
+     */
+    @Property("cuba.bruteForceProtection.maxLoginAttemptsPerIp")
+    @Source(type = SourceType.DATABASE)
+    @DefaultInt(0)
+    int getMaxLoginAttemptsPerIp();
+
+    /**
+     * @return a maximum number of unsuccessful login attempts from one subnet (/24 for IPv4, /64 for IPv6)
+     * for any logins within the block interval, 0 to disable the limit
+     */
+    @Property("cuba.bruteForceProtection.maxLoginAttemptsPerSubnet")
+    @Source(type = SourceType.DATABASE)
+    @DefaultInt(0)
+    int getMaxLoginAttemptsPerSubnet();
+
+    /**
+     * @return number of counters in each row of the sketches counting unsuccessful login attempts per IP-address
+     * and per subnet. Larger values decrease overestimation when attempts come from many addresses.
+     */
+    @Property("cuba.bruteForceProtection.sketchWidth")
+    @DefaultInt(2048)
+    int getBruteForceSketchWidth();
+
     /**
      * Login name of the anonymous user.
      */
@@ -324,4 +350,34 @@ public interface ServerConfig extends Config {
      */
     @Property("cuba.disableEntityEnhancementCheck")
     boolean getDisableEntityEnhancementCheck();
-}
\ No newline at end of file
+
+    /**
+     * @return maximum number of entities which dynamic attribute values are loaded by one query.
+     * The effective size is also limited by the maximum number of IDs supported by the DBMS in one IN clause.
+     */
+    @Property("cuba.dynamicAttributes.valuesBatchSize")
+    @DefaultInt(1000)
+    int getDynamicAttributesValuesBatchSize();
+
+    /**
+     * @return maximum number of fetch group descriptions cached by {@link com.haulmont.cuba.core.sys.FetchGroupManager}
+     */
+    @Property("cuba.fetchGroupsCacheSize")
+    @DefaultInt(1000)
+    int getFetchGroupsCacheSize();
+
+    /**
+     * @return whether {@link com.haulmont.cuba.core.sys.EntityFetcher} walks the object graph level by level
+     * and reloads detached references of the same class and view by one query instead of loading them one by one
+     */
+    @Property("cuba.entityFetcherBatchDetachedReferences")
+    @DefaultBoolean(false)
+    boolean getEntityFetcherBatchDetachedReferences();
+
+    /**
+     * @return maximum number of role combinations which compiled permissions are shared between user sessions
+     */
+    @Property("cuba.rolePermissionsCacheSize")
+    @DefaultInt(1000)
+    int getRolePermissionsCacheSize();
+}
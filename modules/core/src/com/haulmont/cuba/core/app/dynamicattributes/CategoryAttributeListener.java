@@ -30,11 +30,15 @@ public class CategoryAttributeListener implements BeforeInsertEntityListener<Cat
     @Override
     public void onBeforeInsert(CategoryAttribute entity, EntityManager entityManager) {
         setCategoryEntityType(entity);
+        // a copied attribute must not share the slot of the original one
+        entity.setFlatSlot(null);
+        FlatAttributeSlots.assignSlot(entity);
     }
 
     @Override
     public void onBeforeUpdate(CategoryAttribute entity, EntityManager entityManager) {
         setCategoryEntityType(entity);
+        FlatAttributeSlots.assignSlot(entity);
     }
 
     protected void setCategoryEntityType(CategoryAttribute entity) {
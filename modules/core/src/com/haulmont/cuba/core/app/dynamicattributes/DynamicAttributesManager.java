@@ -18,6 +18,7 @@
 package com.haulmont.cuba.core.app.dynamicattributes;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
 import com.haulmont.chile.core.model.MetaClass;
 import com.haulmont.chile.core.model.MetaProperty;
@@ -27,8 +28,10 @@ import com.haulmont.cuba.core.Transaction;
 import com.haulmont.cuba.core.TypedQuery;
 import com.haulmont.cuba.core.app.ClusterListenerAdapter;
 import com.haulmont.cuba.core.app.ClusterManagerAPI;
+import com.haulmont.cuba.core.app.ServerConfig;
 import com.haulmont.cuba.core.entity.*;
 import com.haulmont.cuba.core.global.*;
+import com.haulmont.cuba.core.sys.persistence.DbmsSpecificFactory;
 import com.haulmont.cuba.security.entity.EntityOp;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -48,6 +51,10 @@ import static java.lang.String.format;
 
 @Component(DynamicAttributesManagerAPI.NAME)
 public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
+    /**
+     * @deprecated the batch size is defined by {@link ServerConfig#getDynamicAttributesValuesBatchSize()}
+     */
+    @Deprecated
     public static final int MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH = 100;
 
     private static final Logger log = LoggerFactory.getLogger(DynamicAttributesManager.class);
@@ -73,6 +80,12 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
     @Inject
     protected Security security;
 
+    @Inject
+    protected ServerConfig serverConfig;
+
+    @Inject
+    protected GlobalConfig globalConfig;
+
     protected ClusterManagerAPI clusterManager;
 
     protected ReentrantLock loadCacheLock = new ReentrantLock();
@@ -239,10 +252,13 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
         try (Transaction tx = persistence.getTransaction()) {
             Multimap<String, BaseGenericIdEntity> entitiesByType = HashMultimap.create();
             toProcess.forEach(e -> entitiesByType.put(e.getMetaClass().getName(), e));
+            // entity values of all types are resolved together after loading attribute values
+            ValuesToResolve valuesToResolve = new ValuesToResolve();
             entitiesByType.keySet().forEach(entityType -> {
                 MetaClass metaClass = metadata.getExtendedEntities().getOriginalOrThisMetaClass(metadata.getClass(entityType));
-                doFetchDynamicAttributes(metaClass, entitiesByType.get(entityType));
+                doFetchDynamicAttributes(metaClass, entitiesByType.get(entityType), valuesToResolve);
             });
+            resolveValues(valuesToResolve);
             tx.commit();
         }
     }
@@ -296,9 +312,243 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
             }
 
             entity.setDynamicAttributes(mergedDynamicAttributes);
+
+            if (globalConfig.getDynamicAttributesFlatStorageEnabled()) {
+                storeFlatValues(entity);
+            } else if (globalConfig.getDynamicAttributesFlatValuesBuilt()) {
+                // flattened values become stale, they must be rebuilt before using them again
+                globalConfig.setDynamicAttributesFlatValuesBuilt(false);
+            }
         }
     }
 
+    /**
+     * Updates flattened values of the entity according to its dynamic attributes.
+     */
+    protected void storeFlatValues(BaseGenericIdEntity entity) {
+        MetaClass metaClass = metadata.getExtendedEntities().getOriginalOrThisMetaClass(entity.getMetaClass());
+        Collection<Category> categories = getCategoriesForMetaClass(metaClass);
+        if (categories.isEmpty()) {
+            return;
+        }
+        Collection<CategoryAttribute> attributes = getAttributesForMetaClass(metaClass);
+        Object entityId = referenceToEntitySupport.getReferenceId(entity);
+
+        EntityManager em = persistence.getEntityManager();
+        List<FlatAttributeValues> existingRows = em.createQuery(
+                format("select f from sys$FlatAttributeValues f where f.entity.%s = :entityId",
+                        referenceToEntitySupport.getReferenceIdPropertyName(metaClass)),
+                FlatAttributeValues.class)
+                .setParameter("entityId", entityId)
+                .setView(new View(viewRepository.getView(FlatAttributeValues.class, View.LOCAL), null, false)
+                        .addProperty("category", viewRepository.getView(Category.class, View.MINIMAL)))
+                .getResultList();
+        Map<UUID, FlatAttributeValues> rowsByCategory = new HashMap<>();
+        for (FlatAttributeValues row : existingRows) {
+            rowsByCategory.put(row.getCategory().getId(), row);
+        }
+
+        Map<String, CategoryAttributeValue> dynamicAttributes = entity.getDynamicAttributes();
+        for (Category category : categories) {
+            Map<String, String> slots = FlatAttributeSlots.getSlots(category, attributes);
+            if (slots.isEmpty()) {
+                continue;
+            }
+            FlatAttributeValues row = rowsByCategory.get(category.getId());
+
+            Map<String, Object> values = new HashMap<>();
+            for (Map.Entry<String, String> entry : slots.entrySet()) {
+                CategoryAttributeValue attributeValue = dynamicAttributes.get(entry.getKey());
+                if (attributeValue != null && attributeValue.getValue() != null) {
+                    values.put(entry.getValue(), attributeValue.getValue());
+                }
+            }
+
+            if (values.isEmpty()) {
+                if (row != null) {
+                    em.remove(row);
+                }
+            } else {
+                if (row == null) {
+                    row = metadata.create(FlatAttributeValues.class);
+                    row.setCategory(em.getReference(Category.class, category.getId()));
+                    row.setObjectEntityId(entityId);
+                    em.persist(row);
+                }
+                for (String slot : slots.values()) {
+                    row.setValue(slot, values.get(slot));
+                }
+                // slots of removed attributes and of attributes that have changed their type are not used anymore
+                if (category.getFlatSlots() != null) {
+                    for (String slot : category.getFlatSlots().split(",")) {
+                        if (!slots.containsValue(slot)) {
+                            row.setValue(slot, null);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void removeFlatValues(BaseGenericIdEntity entity) {
+        if (!globalConfig.getDynamicAttributesFlatStorageEnabled()) {
+            return;
+        }
+        MetaClass metaClass = metadata.getExtendedEntities().getOriginalOrThisMetaClass(entity.getMetaClass());
+        if (getCategoriesForMetaClass(metaClass).isEmpty()) {
+            return;
+        }
+        persistence.getEntityManager().createQuery(
+                format("delete from sys$FlatAttributeValues f where f.entity.%s = :entityId",
+                        referenceToEntitySupport.getReferenceIdPropertyName(metaClass)))
+                .setParameter("entityId", referenceToEntitySupport.getReferenceId(entity))
+                .executeUpdate();
+    }
+
+    @Override
+    public int rebuildFlatValues() {
+        if (assignFlatSlots()) {
+            loadCache();
+        }
+
+        List<Category> categories;
+        try (Transaction tx = persistence.createTransaction()) {
+            categories = persistence.getEntityManager()
+                    .createQuery("select c from sys$Category c", Category.class)
+                    .setViewName(View.LOCAL)
+                    .getResultList();
+            tx.commit();
+        }
+
+        int count = 0;
+        for (Category category : categories) {
+            MetaClass metaClass = resolveTargetMetaClass(metadata.getClass(category.getEntityType()));
+            if (metaClass != null) {
+                count += rebuildFlatValues(metaClass, category);
+            }
+        }
+        log.info("Rebuilt {} rows of flattened dynamic attribute values", count);
+        globalConfig.setDynamicAttributesFlatValuesBuilt(true);
+        return count;
+    }
+
+    /**
+     * Assigns slots to the attributes having no slot, in the order of their creation.
+     *
+     * @return true if any slot has been assigned
+     */
+    protected boolean assignFlatSlots() {
+        boolean assigned = false;
+        try (Transaction tx = persistence.createTransaction()) {
+            List<CategoryAttribute> attributes = persistence.getEntityManager()
+                    .createQuery("select a from sys$CategoryAttribute a order by a.createTs, a.id", CategoryAttribute.class)
+                    .setViewName("for.cache")
+                    .getResultList();
+            for (CategoryAttribute attribute : attributes) {
+                if (attribute.getFlatSlot() == null) {
+                    assigned = FlatAttributeSlots.assignSlot(attribute) || assigned;
+                }
+            }
+            tx.commit();
+        }
+        return assigned;
+    }
+
+    protected int rebuildFlatValues(MetaClass metaClass, Category category) {
+        try (Transaction tx = persistence.createTransaction()) {
+            persistence.getEntityManager()
+                    .createQuery("delete from sys$FlatAttributeValues f where f.category.id = :categoryId")
+                    .setParameter("categoryId", category.getId())
+                    .executeUpdate();
+            tx.commit();
+        }
+
+        Map<String, String> slots = FlatAttributeSlots.getSlots(category, getAttributesForMetaClass(metaClass));
+        if (slots.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, String> slotsByAttributeId = new HashMap<>();
+        for (CategoryAttribute attribute : getAttributesForMetaClass(metaClass)) {
+            if (category.equals(attribute.getCategory()) && slots.containsKey(attribute.getCode())) {
+                slotsByAttributeId.put(attribute.getId(), slots.get(attribute.getCode()));
+            }
+        }
+        List<UUID> attributeIds = new ArrayList<>(slotsByAttributeId.keySet());
+        String entityIdProperty = referenceToEntitySupport.getReferenceIdPropertyName(metaClass);
+        int batchSize = getValuesBatchSize();
+
+        View view = new View(viewRepository.getView(CategoryAttributeValue.class, View.LOCAL), null, false)
+                .addProperty("categoryAttribute", viewRepository.getView(CategoryAttribute.class, View.MINIMAL));
+
+        int count = 0;
+        int firstResult = 0;
+        // values of the last entity of a batch are carried over to the next batch, as the entity may have more values
+        List<CategoryAttributeValue> pending = new ArrayList<>();
+        while (true) {
+            List<CategoryAttributeValue> batch;
+            try (Transaction tx = persistence.createTransaction()) {
+                batch = persistence.getEntityManager().createQuery(
+                        format("select cav from sys$CategoryAttributeValue cav where cav.categoryAttribute.id in :attributeIds " +
+                                "and cav.parent is null order by cav.entity.%s, cav.id", entityIdProperty),
+                        CategoryAttributeValue.class)
+                        .setParameter("attributeIds", attributeIds)
+                        .setFirstResult(firstResult)
+                        .setMaxResults(batchSize)
+                        .setView(view)
+                        .getResultList();
+                tx.commit();
+            }
+            firstResult += batch.size();
+            boolean last = batch.size() < batchSize;
+
+            pending.addAll(batch);
+            List<CategoryAttributeValue> carriedOver = new ArrayList<>();
+            if (!last && !pending.isEmpty()) {
+                Object lastEntityId = pending.get(pending.size() - 1).getObjectEntityId();
+                for (Iterator<CategoryAttributeValue> it = pending.iterator(); it.hasNext(); ) {
+                    CategoryAttributeValue attributeValue = it.next();
+                    if (Objects.equals(attributeValue.getObjectEntityId(), lastEntityId)) {
+                        carriedOver.add(attributeValue);
+                        it.remove();
+                    }
+                }
+            }
+
+            count += storeFlatValues(category, slotsByAttributeId, pending);
+            pending = carriedOver;
+
+            if (last) {
+                return count;
+            }
+        }
+    }
+
+    protected int storeFlatValues(Category category, Map<UUID, String> slotsByAttributeId,
+                                  List<CategoryAttributeValue> attributeValues) {
+        Map<Object, FlatAttributeValues> rows = new LinkedHashMap<>();
+        try (Transaction tx = persistence.createTransaction()) {
+            EntityManager em = persistence.getEntityManager();
+            for (CategoryAttributeValue attributeValue : attributeValues) {
+                String slot = slotsByAttributeId.get(attributeValue.getCategoryAttribute().getId());
+                Object value = attributeValue.getValue();
+                if (slot == null || value == null) {
+                    continue;
+                }
+                FlatAttributeValues row = rows.computeIfAbsent(attributeValue.getObjectEntityId(), entityId -> {
+                    FlatAttributeValues newRow = metadata.create(FlatAttributeValues.class);
+                    newRow.setCategory(em.getReference(Category.class, category.getId()));
+                    newRow.setObjectEntityId(entityId);
+                    return newRow;
+                });
+                row.setValue(slot, value);
+            }
+            rows.values().forEach(em::persist);
+            tx.commit();
+        }
+        return rows.size();
+    }
+
     /**
      * Removes nested {@code CategoryAttributeValue} entities for items that were removed from the collection value
      * and creates new child {@code CategoryAttributeValue} instances for just added collection value items.
@@ -340,6 +590,16 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
     }
 
     protected void doFetchDynamicAttributes(MetaClass metaClass, Collection<BaseGenericIdEntity> entities) {
+        try (Transaction tx = persistence.getTransaction()) {
+            ValuesToResolve valuesToResolve = new ValuesToResolve();
+            doFetchDynamicAttributes(metaClass, entities, valuesToResolve);
+            resolveValues(valuesToResolve);
+            tx.commit();
+        }
+    }
+
+    protected void doFetchDynamicAttributes(MetaClass metaClass, Collection<BaseGenericIdEntity> entities,
+                                            ValuesToResolve valuesToResolve) {
         Collection<CategoryAttribute> categoryAttributes = getAttributesForMetaClass(metaClass);
         if (categoryAttributes == null || categoryAttributes.isEmpty()) {
             for (BaseGenericIdEntity entity : entities) {
@@ -357,21 +617,17 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
             return;
         }
 
-        List<Object> ids = entities.stream()
-                .map(e -> referenceToEntitySupport.getReferenceId(e))
-                .collect(Collectors.toList());
+        Set<Object> ids = new LinkedHashSet<>(entities.size());
+        for (BaseGenericIdEntity entity : entities) {
+            ids.add(referenceToEntitySupport.getReferenceId(entity));
+        }
 
         Multimap<Object, CategoryAttributeValue> allAttributeValues = HashMultimap.create();
-
-        List<Object> currentIds = new ArrayList<>();
-        for (Object id : ids) {
-            currentIds.add(id);
-            if (currentIds.size() >= MAX_ENTITIES_FOR_ATTRIBUTE_VALUES_BATCH) {
-                handleAttributeValuesForIds(metaClass, currentIds, allAttributeValues);
-                currentIds = new ArrayList<>();
+        for (List<Object> currentIds : Iterables.partition(ids, getValuesBatchSize())) {
+            for (CategoryAttributeValue attributeValue : loadAttributeValues(metaClass, currentIds, valuesToResolve)) {
+                allAttributeValues.put(attributeValue.getObjectEntityId(), attributeValue);
             }
         }
-        handleAttributeValuesForIds(metaClass, currentIds, allAttributeValues);
 
         for (BaseGenericIdEntity entity : entities) {
             Collection<CategoryAttributeValue> entityAttributeValues = allAttributeValues.get(referenceToEntitySupport.getReferenceId(entity));
@@ -388,15 +644,31 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
         }
     }
 
-    protected void handleAttributeValuesForIds(MetaClass metaClass, List<Object> currentIds, Multimap<Object, CategoryAttributeValue> attributeValuesForEntity) {
-        if (CollectionUtils.isNotEmpty(currentIds)) {
-            for (CategoryAttributeValue attributeValue : loadAttributeValues(metaClass, currentIds)) {
-                attributeValuesForEntity.put(attributeValue.getObjectEntityId(), attributeValue);
-            }
-        }
+    /**
+     * @return number of entities which attribute values are loaded by one query
+     */
+    protected int getValuesBatchSize() {
+        int batchSize = Math.min(serverConfig.getDynamicAttributesValuesBatchSize(),
+                DbmsSpecificFactory.getDbmsFeatures().getMaxIdsBatchSize());
+        return Math.max(batchSize, 1);
     }
 
     protected List<CategoryAttributeValue> loadAttributeValues(MetaClass metaClass, List<Object> entityIds) {
+        try (Transaction tx = persistence.getTransaction()) {
+            ValuesToResolve valuesToResolve = new ValuesToResolve();
+            List<CategoryAttributeValue> attributeValues = loadAttributeValues(metaClass, entityIds, valuesToResolve);
+            resolveValues(valuesToResolve);
+            tx.commit();
+            return attributeValues;
+        }
+    }
+
+    /**
+     * Loads attribute values of the given entities. Values of entity and collection types are not resolved, they
+     * are added to {@code valuesToResolve} to be processed by {@link #resolveValues(ValuesToResolve)}.
+     */
+    protected List<CategoryAttributeValue> loadAttributeValues(MetaClass metaClass, List<Object> entityIds,
+                                                               ValuesToResolve valuesToResolve) {
         List<CategoryAttributeValue> attributeValues = new ArrayList<>();
         try (Transaction tx = persistence.getTransaction()) {
             EntityManager em = persistence.getEntityManager();
@@ -422,16 +694,15 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
             query.setView(view);
             List<CategoryAttributeValue> resultList = query.getResultList();
 
-            List<CategoryAttributeValue> cavsOfEntityType = resultList.stream()
+            resultList.stream()
                     .filter(cav -> cav.getObjectEntityValueId() != null)
-                    .collect(Collectors.toList());
+                    .forEach(valuesToResolve.cavsOfEntityType::add);
 
             List<CategoryAttributeValue> cavsOfCollectionType = resultList.stream()
                     .filter(cav -> cav.getCategoryAttribute().getIsCollection())
                     .collect(Collectors.toList());
 
             if (cavsOfCollectionType.isEmpty()) {
-                loadEntityValues(cavsOfEntityType);
                 attributeValues.addAll(resultList);
             } else {
                 List<CategoryAttributeValue> cavsOfCollectionTypeWithChildren = reloadCategoryAttributeValuesWithChildren(cavsOfCollectionType);
@@ -440,22 +711,13 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
                 //used for loading entity values
                 cavsOfCollectionTypeWithChildren.stream()
                         .filter(cav -> cav.getCategoryAttribute().getDataType() == PropertyType.ENTITY && cav.getChildValues() != null)
-                        .forEach(cav -> cavsOfEntityType.addAll(cav.getChildValues()));
+                        .forEach(cav -> valuesToResolve.cavsOfEntityType.addAll(cav.getChildValues()));
 
-                loadEntityValues(cavsOfEntityType);
-
-                cavsOfCollectionTypeWithChildren.stream()
-                        .filter(cav -> cav.getChildValues() != null)
-                        .forEach(cav -> {
-                            List<Object> value = cav.getChildValues().stream()
-                                    .filter(c -> c.getDeleteTs() == null)
-                                    .map(CategoryAttributeValue::getValue)
-                                    .collect(Collectors.toList());
-                            cav.setTransientCollectionValue(value);
-                        });
+                valuesToResolve.cavsOfCollectionType.addAll(cavsOfCollectionTypeWithChildren);
 
+                Set<CategoryAttributeValue> reloaded = new HashSet<>(cavsOfCollectionTypeWithChildren);
                 attributeValues.addAll(resultList.stream()
-                        .filter(cav -> !cavsOfCollectionTypeWithChildren.contains(cav))
+                        .filter(cav -> !reloaded.contains(cav))
                         .collect(Collectors.toList()));
 
                 attributeValues.addAll(cavsOfCollectionTypeWithChildren);
@@ -466,6 +728,29 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
         return attributeValues;
     }
 
+    /**
+     * Loads entity values of all collected attribute values, one query per entity type and batch of IDs,
+     * and then builds values of collection attributes.
+     */
+    protected void resolveValues(ValuesToResolve valuesToResolve) {
+        if (!valuesToResolve.cavsOfEntityType.isEmpty()) {
+            loadEntityValues(valuesToResolve.cavsOfEntityType);
+        }
+
+        valuesToResolve.cavsOfCollectionType.stream()
+                .filter(cav -> cav.getChildValues() != null)
+                .forEach(cav -> {
+                    List<Object> value = cav.getChildValues().stream()
+                            .filter(c -> c.getDeleteTs() == null)
+                            .map(CategoryAttributeValue::getValue)
+                            .collect(Collectors.toList());
+                    cav.setTransientCollectionValue(value);
+                });
+
+        valuesToResolve.cavsOfEntityType.clear();
+        valuesToResolve.cavsOfCollectionType.clear();
+    }
+
     /**
      * Method loads entity values for CategoryAttributeValues of entity type and sets entity values to the corresponding
      * property of the {@code CategoryAttributeValue} entity.
@@ -474,22 +759,19 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
     protected void loadEntityValues(List<CategoryAttributeValue> cavsOfEntityType) {
         HashMultimap<MetaClass, Object> entitiesIdsToBeLoaded = HashMultimap.create();
         HashMultimap<MetaClass, CategoryAttributeValue> cavByType = HashMultimap.create();
+        Map<String, MetaClass> metaClassesByName = new HashMap<>();
 
         cavsOfEntityType.forEach(cav -> {
             String className = cav.getCategoryAttribute().getEntityClass();
-            try {
-                Class<?> aClass = Class.forName(className);
-                MetaClass metaClass = metadata.getClass(aClass);
-                if (security.isEntityOpPermitted(metaClass, EntityOp.READ)) {
-                    entitiesIdsToBeLoaded.put(metaClass, cav.getObjectEntityValueId());
-                    cavByType.put(metaClass, cav);
-                }
-            } catch (ClassNotFoundException e) {
-                log.error("Class {} not found", className);
+            MetaClass metaClass = metaClassesByName.computeIfAbsent(className, this::getPermittedEntityMetaClass);
+            if (metaClass != null) {
+                entitiesIdsToBeLoaded.put(metaClass, cav.getObjectEntityValueId());
+                cavByType.put(metaClass, cav);
             }
         });
 
         EntityManager em = persistence.getEntityManager();
+        int batchSize = getValuesBatchSize();
 
         for (Map.Entry<MetaClass, Collection<Object>> entry : entitiesIdsToBeLoaded.asMap().entrySet()) {
             Map<Object, BaseGenericIdEntity> idToEntityMap = new HashMap<>();
@@ -498,13 +780,15 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
 
             if (!ids.isEmpty()) {
                 String pkName = referenceToEntitySupport.getPrimaryKeyForLoadingEntity(metaClass);
-                List<BaseGenericIdEntity> entitiesValues = em.createQuery(format("select e from %s e where e.%s in :ids", metaClass.getName(), pkName))
-                        .setParameter("ids", ids)
-                        .setView(metaClass.getJavaClass(), View.MINIMAL)
-                        .getResultList();
-
-                for (BaseGenericIdEntity entity : entitiesValues) {
-                    idToEntityMap.put(entity.getId(), entity);
+                for (List<Object> idsBatch : Iterables.partition(ids, batchSize)) {
+                    List<BaseGenericIdEntity> entitiesValues = em.createQuery(format("select e from %s e where e.%s in :ids", metaClass.getName(), pkName))
+                            .setParameter("ids", idsBatch)
+                            .setView(metaClass.getJavaClass(), View.MINIMAL)
+                            .getResultList();
+
+                    for (BaseGenericIdEntity entity : entitiesValues) {
+                        idToEntityMap.put(entity.getId(), entity);
+                    }
                 }
             }
 
@@ -514,6 +798,20 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
         }
     }
 
+    @Nullable
+    protected MetaClass getPermittedEntityMetaClass(String className) {
+        try {
+            Class<?> aClass = Class.forName(className);
+            MetaClass metaClass = metadata.getClass(aClass);
+            if (security.isEntityOpPermitted(metaClass, EntityOp.READ)) {
+                return metaClass;
+            }
+        } catch (ClassNotFoundException e) {
+            log.error("Class {} not found", className);
+        }
+        return null;
+    }
+
     protected List<CategoryAttributeValue> reloadCategoryAttributeValuesWithChildren(List<CategoryAttributeValue> categoryAttributeValues) {
         EntityManager em = persistence.getEntityManager();
 
@@ -537,4 +835,12 @@ public class DynamicAttributesManager implements DynamicAttributesManagerAPI {
     private static class ReloadCacheMsg implements Serializable {
         private static final long serialVersionUID = -3116358584797500962L;
     }
-}
\ No newline at end of file
+
+    /**
+     * Attribute values which entity and collection values are resolved after all attribute values are loaded.
+     */
+    protected static class ValuesToResolve {
+        protected final List<CategoryAttributeValue> cavsOfEntityType = new ArrayList<>();
+        protected final List<CategoryAttributeValue> cavsOfCollectionType = new ArrayList<>();
+    }
+}
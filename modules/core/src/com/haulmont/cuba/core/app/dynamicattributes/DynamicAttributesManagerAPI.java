@@ -65,4 +65,19 @@ public interface DynamicAttributesManagerAPI {
      * Store dynamic attributes from the entity to database
      */
     void storeDynamicAttributes(BaseGenericIdEntity entity);
-}
\ No newline at end of file
+
+    /**
+     * Remove flattened dynamic attribute values of the removed entity. Does nothing if the flattened storage
+     * is disabled.
+     */
+    void removeFlatValues(BaseGenericIdEntity entity);
+
+    /**
+     * Rebuild flattened dynamic attribute values of all categories from the stored attribute values.
+     * Assigns slots to the attributes created before the flattened storage was introduced and marks the flattened
+     * values as built, so that filter conditions start using them.
+     *
+     * @return number of stored flattened rows
+     */
+    int rebuildFlatValues();
+}
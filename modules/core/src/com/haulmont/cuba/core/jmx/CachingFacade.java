@@ -16,6 +16,8 @@
  */
 package com.haulmont.cuba.core.jmx;
 
+import com.google.common.cache.CacheStats;
+import com.haulmont.cuba.core.PersistenceSecurity;
 import com.haulmont.cuba.core.app.ConfigStorageAPI;
 import com.haulmont.cuba.core.app.dynamicattributes.DynamicAttributesManagerAPI;
 import com.haulmont.cuba.core.global.Messages;
@@ -23,10 +25,17 @@ import com.haulmont.cuba.core.global.Scripting;
 import com.haulmont.cuba.core.global.ViewRepository;
 import com.haulmont.cuba.core.sys.AbstractViewRepository;
 import com.haulmont.cuba.core.sys.AppContext;
+import com.haulmont.cuba.core.sys.CompiledConstraint;
+import com.haulmont.cuba.core.sys.FetchGroupManager;
+import com.haulmont.cuba.security.app.Authenticated;
 import com.haulmont.cuba.security.app.EntityLogAPI;
+import com.haulmont.cuba.security.sys.RolePermissionsCache;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.stereotype.Component;
 import javax.inject.Inject;
+import java.util.Comparator;
+import java.util.stream.Collectors;
 
 @Component("cuba_CachingFacadeMBean")
 public class CachingFacade implements CachingFacadeMBean {
@@ -49,6 +58,15 @@ public class CachingFacade implements CachingFacadeMBean {
     @Inject
     protected DynamicAttributesManagerAPI dynamicAttributesManagerAPI;
 
+    @Inject
+    protected PersistenceSecurity persistenceSecurity;
+
+    @Inject
+    protected FetchGroupManager fetchGroupManager;
+
+    @Inject
+    protected RolePermissionsCache rolePermissionsCache;
+
     @Override
     public int getMessagesCacheSize() {
         return messages.getCacheSize();
@@ -57,6 +75,7 @@ public class CachingFacade implements CachingFacadeMBean {
     @Override
     public void clearGroovyCache() {
         scripting.clearCache();
+        clearCompiledConstraintsCache();
     }
 
     @Override
@@ -79,13 +98,65 @@ public class CachingFacade implements CachingFacadeMBean {
         dynamicAttributesManagerAPI.loadCache();
     }
 
+    @Authenticated
+    @Override
+    public String rebuildDynamicAttributesFlatValues() {
+        try {
+            int count = dynamicAttributesManagerAPI.rebuildFlatValues();
+            return "Stored " + count + " rows of flattened values";
+        } catch (Exception e) {
+            return ExceptionUtils.getStackTrace(e);
+        }
+    }
+
     @Override
     public void clearSystemPropertiesCache() {
         AppContext.Internals.getAppProperties().initSystemProperties();
     }
 
+    @Override
+    public void clearRolePermissionsCache() {
+        rolePermissionsCache.invalidate();
+    }
+
     @Override
     public void clearViewRepositoryCache() {
         ((AbstractViewRepository) viewRepository).reset();
     }
-}
\ No newline at end of file
+
+    @Override
+    public String initializeViewRepository() {
+        try {
+            int count = ((AbstractViewRepository) viewRepository).initializeAll();
+            return "Deployed " + count + " views";
+        } catch (Exception e) {
+            return ExceptionUtils.getStackTrace(e);
+        }
+    }
+
+    @Override
+    public void clearFetchGroupsCache() {
+        fetchGroupManager.clearCache();
+    }
+
+    @Override
+    public String printFetchGroupsCacheStatistics() {
+        CacheStats stats = fetchGroupManager.getCacheStats();
+        return String.format("Size: %d\nHits: %d\nMisses: %d\nHit rate: %.2f%%\nEvictions: %d",
+                fetchGroupManager.getCacheSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate() * 100, stats.evictionCount());
+    }
+
+    @Override
+    public void clearCompiledConstraintsCache() {
+        persistenceSecurity.clearCompiledConstraints();
+    }
+
+    @Override
+    public String printCompiledConstraintsStatistics() {
+        return persistenceSecurity.getCompiledConstraints().stream()
+                .sorted(Comparator.comparing(CompiledConstraint::getEvaluationTime).reversed())
+                .map(CompiledConstraint::toString)
+                .collect(Collectors.joining("\n"));
+    }
+}
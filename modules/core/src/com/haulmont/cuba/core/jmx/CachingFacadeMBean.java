@@ -30,7 +30,21 @@ public interface CachingFacadeMBean {
 
     void clearViewRepositoryCache();
 
+    String initializeViewRepository();
+
+    void clearFetchGroupsCache();
+
+    String printFetchGroupsCacheStatistics();
+
     void clearDynamicAttributesCache();
 
+    String rebuildDynamicAttributesFlatValues();
+
     void clearSystemPropertiesCache();
+
+    void clearRolePermissionsCache();
+
+    void clearCompiledConstraintsCache();
+
+    String printCompiledConstraintsStatistics();
 }
\ No newline at end of file
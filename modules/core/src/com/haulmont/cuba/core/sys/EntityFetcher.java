@@ -16,15 +16,20 @@
 
 package com.haulmont.cuba.core.sys;
 
+import com.google.common.collect.Lists;
 import com.haulmont.chile.core.model.Instance;
 import com.haulmont.chile.core.model.MetaClass;
 import com.haulmont.chile.core.model.MetaProperty;
 import com.haulmont.cuba.core.EntityManager;
 import com.haulmont.cuba.core.Persistence;
 import com.haulmont.cuba.core.Transaction;
+import com.haulmont.cuba.core.TypedQuery;
+import com.haulmont.cuba.core.app.ServerConfig;
 import com.haulmont.cuba.core.entity.EmbeddableEntity;
 import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.core.entity.IdProxy;
 import com.haulmont.cuba.core.global.*;
+import com.haulmont.cuba.core.sys.persistence.DbmsSpecificFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -57,13 +62,16 @@ public class EntityFetcher {
     @Inject
     protected EntityStates entityStates;
 
+    @Inject
+    protected ServerConfig serverConfig;
+
     /**
      * Fetch instance by view object.
      */
     public void fetch(Entity instance, View view) {
         if (view == null)
             return;
-        fetch(instance, view, new HashMap<>(), false);
+        fetchGraph(Collections.singletonList(instance), view, false);
     }
 
     /**
@@ -73,7 +81,7 @@ public class EntityFetcher {
         if (viewName == null)
             return;
         View view = viewRepository.getView(instance.getClass(), viewName);
-        fetch(instance, view, new HashMap<>(), false);
+        fetchGraph(Collections.singletonList(instance), view, false);
     }
 
     /**
@@ -86,7 +94,7 @@ public class EntityFetcher {
     public void fetch(Entity instance, View view, boolean optimizeForDetached) {
         if (view == null)
             return;
-        fetch(instance, view, new HashMap<>(), optimizeForDetached);
+        fetchGraph(Collections.singletonList(instance), view, optimizeForDetached);
     }
 
     /**
@@ -100,18 +108,36 @@ public class EntityFetcher {
         if (viewName == null)
             return;
         View view = viewRepository.getView(instance.getClass(), viewName);
-        fetch(instance, view, new HashMap<>(), optimizeForDetached);
+        fetchGraph(Collections.singletonList(instance), view, optimizeForDetached);
+    }
+
+    /**
+     * Fetch a collection of instances by view object.
+     * <p>
+     * If {@link ServerConfig#getEntityFetcherBatchDetachedReferences()} is true, detached references of all instances
+     * are reloaded together, see {@link #fetchBatched(Collection, View, Map, boolean)}.
+     */
+    public void fetch(Collection<? extends Entity> instances, View view) {
+        if (view == null || instances.isEmpty())
+            return;
+        fetchGraph(instances, view, false);
+    }
+
+    protected void fetchGraph(Collection<? extends Entity> instances, View view, boolean optimizeForDetached) {
+        Map<Instance, Set<View>> visited = new HashMap<>();
+        if (serverConfig.getEntityFetcherBatchDetachedReferences()) {
+            fetchBatched(instances, view, visited, optimizeForDetached);
+        } else {
+            for (Entity instance : instances) {
+                fetch(instance, view, visited, optimizeForDetached);
+            }
+        }
     }
 
     protected void fetch(Entity entity, View view, Map<Instance, Set<View>> visited, boolean optimizeForDetached) {
-        Set<View> views = visited.get(entity);
-        if (views == null) {
-            views = new HashSet<>();
-            visited.put(entity, views);
-        } else if (views.contains(view)) {
+        if (!markVisited(entity, view, visited)) {
             return;
         }
-        views.add(view);
 
         if (log.isTraceEnabled()) log.trace("Fetching instance " + entity);
 
@@ -160,7 +186,197 @@ public class EntityFetcher {
         }
     }
 
+    /**
+     * Breadth-first variant of {@link #fetch(Entity, View, Map, boolean)}. Walks the graph level by level, collects
+     * detached references that need reloading and reloads them by one {@code id in (...)} query per entity class and
+     * view on each level instead of loading each instance separately. Reloaded instances are walked together with
+     * the rest of the next level, so transactions of their stores are kept open until the whole graph is fetched.
+     */
+    protected void fetchBatched(Collection<? extends Entity> entities, View view,
+                                Map<Instance, Set<View>> visited, boolean optimizeForDetached) {
+        Map<View, List<Entity>> level = new LinkedHashMap<>();
+        level.put(view, new ArrayList<>(entities));
+
+        Map<String, Transaction> transactions = new LinkedHashMap<>();
+        try {
+            while (!level.isEmpty()) {
+                Map<View, List<Entity>> nextLevel = new LinkedHashMap<>();
+                Map<DetachedGroupKey, List<DetachedReference>> detachedGroups = new LinkedHashMap<>();
+
+                for (Map.Entry<View, List<Entity>> entry : level.entrySet()) {
+                    for (Entity entity : entry.getValue()) {
+                        if (!markVisited(entity, entry.getKey(), visited)) {
+                            continue;
+                        }
+                        collectReferences(entity, entry.getKey(), nextLevel, detachedGroups, optimizeForDetached);
+                    }
+                }
+
+                for (Map.Entry<DetachedGroupKey, List<DetachedReference>> entry : detachedGroups.entrySet()) {
+                    List<Entity> reloaded = reloadDetached(entry.getKey().metaClass, entry.getValue(), transactions);
+                    if (!reloaded.isEmpty()) {
+                        nextLevel.computeIfAbsent(entry.getKey().view, v -> new ArrayList<>()).addAll(reloaded);
+                    }
+                }
+
+                level = nextLevel;
+            }
+
+            for (Transaction tx : reverse(transactions.values())) {
+                tx.commit();
+            }
+        } finally {
+            for (Transaction tx : reverse(transactions.values())) {
+                tx.end();
+            }
+        }
+    }
+
+    protected List<Transaction> reverse(Collection<Transaction> transactions) {
+        List<Transaction> list = new ArrayList<>(transactions);
+        Collections.reverse(list);
+        return list;
+    }
+
+    protected void collectReferences(Entity entity, View view, Map<View, List<Entity>> nextLevel,
+                                     Map<DetachedGroupKey, List<DetachedReference>> detachedGroups,
+                                     boolean optimizeForDetached) {
+        if (log.isTraceEnabled()) log.trace("Fetching instance " + entity);
+
+        MetaClass metaClass = metadata.getClassNN(entity.getClass());
+        for (ViewProperty property : view.getProperties()) {
+            MetaProperty metaProperty = metaClass.getPropertyNN(property.getName());
+            if (!metaProperty.getRange().isClass() && !metadata.getTools().isLazyFetchedLocalAttribute(metaProperty))
+                continue;
+
+            Object value = entity.getValue(property.getName());
+            View propertyView = property.getView();
+            if (value == null || propertyView == null)
+                continue;
+
+            if (value instanceof Collection) {
+                for (Object item : ((Collection) value)) {
+                    if (item instanceof Entity)
+                        nextLevel.computeIfAbsent(propertyView, v -> new ArrayList<>()).add((Entity) item);
+                }
+            } else if (value instanceof Entity) {
+                Entity e = (Entity) value;
+                if (!metaProperty.isReadOnly() && PersistenceHelper.isDetached(value) && !(value instanceof EmbeddableEntity)) {
+                    if (!optimizeForDetached || needReloading(e, propertyView)) {
+                        MetaClass refMetaClass = metadata.getExtendedEntities().getEffectiveMetaClass(e.getMetaClass());
+                        detachedGroups.computeIfAbsent(new DetachedGroupKey(refMetaClass, propertyView), k -> new ArrayList<>())
+                                .add(new DetachedReference(entity, property.getName(), e));
+                    }
+                } else {
+                    nextLevel.computeIfAbsent(propertyView, v -> new ArrayList<>()).add(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces detached references by managed instances loaded in a transaction of the entity's store.
+     * The transaction is registered in {@code transactions} and stays open, so the returned instances
+     * can be walked further.
+     *
+     * @return reloaded managed instances
+     */
+    protected List<Entity> reloadDetached(MetaClass metaClass, List<DetachedReference> references,
+                                          Map<String, Transaction> transactions) {
+        String storeName = metadata.getTools().getStoreName(metaClass);
+        if (storeName == null)
+            return Collections.emptyList();
+
+        if (log.isTraceEnabled()) {
+            log.trace("Loading " + references.size() + " detached instances of " + metaClass.getName());
+        }
+
+        transactions.computeIfAbsent(storeName, persistence::getTransaction);
+        EntityManager em = persistence.getEntityManager(storeName);
+
+        Map<Object, Entity> managedById = new HashMap<>();
+        if (metadata.getTools().hasCompositePrimaryKey(metaClass)) {
+            for (DetachedReference reference : references) {
+                //noinspection unchecked
+                Entity managed = em.find(reference.detached.getClass(), reference.detached.getId());
+                if (managed != null) {
+                    managedById.put(getRealId(reference.detached), managed);
+                }
+            }
+        } else {
+            String queryString = String.format("select e from %s e where e.%s in :ids",
+                    metaClass.getName(), metadata.getTools().getPrimaryKeyName(metaClass));
+            Set<Object> ids = new LinkedHashSet<>();
+            for (DetachedReference reference : references) {
+                ids.add(getRealId(reference.detached));
+            }
+            int batchSize = DbmsSpecificFactory.getDbmsFeatures(storeName).getMaxIdsBatchSize();
+            for (List<Object> batch : Lists.partition(new ArrayList<>(ids), batchSize)) {
+                TypedQuery<Entity> query = em.createQuery(queryString, Entity.class);
+                query.setParameter("ids", batch);
+                for (Entity managed : query.getResultList()) {
+                    managedById.put(getRealId(managed), managed);
+                }
+            }
+        }
+
+        List<Entity> reloaded = new ArrayList<>(references.size());
+        for (DetachedReference reference : references) {
+            // the instance can be missing if it has been deleted
+            Entity managed = managedById.get(getRealId(reference.detached));
+            if (managed != null) {
+                reference.owner.setValue(reference.property, managed);
+                reloaded.add(managed);
+            }
+        }
+        return reloaded;
+    }
+
+    protected Object getRealId(Entity entity) {
+        Object id = entity.getId();
+        return id instanceof IdProxy ? ((IdProxy) id).getNN() : id;
+    }
+
+    protected boolean markVisited(Entity entity, View view, Map<Instance, Set<View>> visited) {
+        return visited.computeIfAbsent(entity, e -> new HashSet<>()).add(view);
+    }
+
     protected boolean needReloading(Entity entity, View view) {
         return !entityStates.isLoadedWithView(entity, view);
     }
+
+    protected static class DetachedGroupKey {
+        private final MetaClass metaClass;
+        private final View view;
+
+        public DetachedGroupKey(MetaClass metaClass, View view) {
+            this.metaClass = metaClass;
+            this.view = view;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DetachedGroupKey that = (DetachedGroupKey) o;
+            return metaClass.equals(that.metaClass) && view.equals(that.view);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * metaClass.hashCode() + view.hashCode();
+        }
+    }
+
+    protected static class DetachedReference {
+        private final Entity owner;
+        private final String property;
+        private final Entity detached;
+
+        public DetachedReference(Entity owner, String property, Entity detached) {
+            this.owner = owner;
+            this.property = property;
+            this.detached = detached;
+        }
+    }
 }
@@ -17,11 +17,15 @@
 
 package com.haulmont.cuba.core.sys;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.haulmont.bali.util.Preconditions;
 import com.haulmont.chile.core.model.MetaClass;
 import com.haulmont.chile.core.model.MetaProperty;
 import com.haulmont.chile.core.model.MetaPropertyPath;
 import com.haulmont.chile.core.model.Range;
+import com.haulmont.cuba.core.app.ServerConfig;
 import com.haulmont.cuba.core.entity.BaseUuidEntity;
 import com.haulmont.cuba.core.entity.EmbeddableEntity;
 import com.haulmont.cuba.core.entity.Entity;
@@ -39,6 +43,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
 import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import java.lang.reflect.Method;
 import java.util.*;
@@ -60,6 +65,19 @@ public class FetchGroupManager {
     @Inject
     private ViewRepository viewRepository;
 
+    @Inject
+    private ServerConfig serverConfig;
+
+    private Cache<FetchGroupKey, FetchGroupDescription> fetchGroupsCache;
+
+    @PostConstruct
+    protected void init() {
+        fetchGroupsCache = CacheBuilder.newBuilder()
+                .maximumSize(serverConfig.getFetchGroupsCacheSize())
+                .recordStats()
+                .build();
+    }
+
     public void setView(JpaQuery query, String queryString, @Nullable View view, boolean singleResultExpected) {
         Preconditions.checkNotNullArgument(query, "query is null");
         if (view != null) {
@@ -128,10 +146,68 @@ public class FetchGroupManager {
         }
     }
 
+    /**
+     * Calculates fetch group attributes and fetch hints for the given query and view.
+     * <p>
+     * Results are cached by the structure of the view, so views deserialized on the middleware, copies of views
+     * and views created in code share the description with equal repository views. The returned description
+     * is frozen and must not be modified by the caller.
+     */
     public FetchGroupDescription calculateFetchGroup(String queryString,
                                                      View view,
                                                      boolean singleResultExpected,
                                                      boolean useFetchGroup) {
+        StringBuilder viewStructure = new StringBuilder();
+        appendViewStructure(view, viewStructure);
+        FetchGroupKey key = new FetchGroupKey(queryString, viewStructure.toString(), singleResultExpected, useFetchGroup);
+        FetchGroupDescription description = fetchGroupsCache.getIfPresent(key);
+        if (description == null) {
+            description = createFetchGroup(queryString, view, singleResultExpected, useFetchGroup).freeze();
+            fetchGroupsCache.put(key, description);
+        }
+        return description;
+    }
+
+    /**
+     * Removes all cached fetch group descriptions. Invoked when views are redeployed.
+     */
+    public void clearCache() {
+        fetchGroupsCache.invalidateAll();
+    }
+
+    /**
+     * @return statistics of the fetch group descriptions cache
+     */
+    public CacheStats getCacheStats() {
+        return fetchGroupsCache.stats();
+    }
+
+    /**
+     * @return number of cached fetch group descriptions
+     */
+    public long getCacheSize() {
+        return fetchGroupsCache.size();
+    }
+
+    protected void appendViewStructure(View view, StringBuilder sb) {
+        sb.append(view.getEntityClass().getName()).append('{');
+        for (ViewProperty property : view.getProperties()) {
+            sb.append(property.getName());
+            if (property.getFetchMode() != FetchMode.AUTO) {
+                sb.append(':').append(property.getFetchMode());
+            }
+            if (property.getView() != null) {
+                appendViewStructure(property.getView(), sb);
+            }
+            sb.append(',');
+        }
+        sb.append('}');
+    }
+
+    protected FetchGroupDescription createFetchGroup(String queryString,
+                                                     View view,
+                                                     boolean singleResultExpected,
+                                                     boolean useFetchGroup) {
         Set<FetchGroupField> fetchGroupFields = new LinkedHashSet<>();
         processView(view, null, fetchGroupFields, useFetchGroup);
 
@@ -500,4 +576,44 @@ public class FetchGroupManager {
             return path();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Identifies a computed fetch group. Views are compared by value: the key contains the string structure
+     * of the view built by {@link #appendViewStructure(View, StringBuilder)}, so equal views share the key
+     * regardless of their instances.
+     */
+    protected static class FetchGroupKey {
+        private final String queryString;
+        private final String viewStructure;
+        private final boolean singleResultExpected;
+        private final boolean useFetchGroup;
+
+        public FetchGroupKey(String queryString, String viewStructure, boolean singleResultExpected,
+                             boolean useFetchGroup) {
+            this.queryString = queryString;
+            this.viewStructure = viewStructure;
+            this.singleResultExpected = singleResultExpected;
+            this.useFetchGroup = useFetchGroup;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FetchGroupKey that = (FetchGroupKey) o;
+            return viewStructure.equals(that.viewStructure)
+                    && singleResultExpected == that.singleResultExpected
+                    && useFetchGroup == that.useFetchGroup
+                    && queryString.equals(that.queryString);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = queryString.hashCode();
+            result = 31 * result + viewStructure.hashCode();
+            result = 31 * result + (singleResultExpected ? 1 : 0);
+            result = 31 * result + (useFetchGroup ? 1 : 0);
+            return result;
+        }
+    }
+}
@@ -130,10 +130,11 @@ public class PersistenceSecurityImpl extends SecurityImpl implements Persistence
 
     @Override
     public boolean filterByConstraints(Collection<Entity> entities) {
+        ConstraintsEvaluator evaluator = createInMemoryConstraintsEvaluator();
         boolean filtered = false;
         for (Iterator<Entity> iterator = entities.iterator(); iterator.hasNext(); ) {
             Entity entity = iterator.next();
-            if (!isPermittedInMemory(entity)) {
+            if (!evaluator.isPermitted(entity)) {
                 //we ignore situations when the collection is immutable
                 iterator.remove();
                 filtered = true;
@@ -160,13 +161,14 @@ public class PersistenceSecurityImpl extends SecurityImpl implements Persistence
 
     @Override
     public void calculateFilteredData(Entity entity) {
-        calculateFilteredData(entity, new HashSet<>(), false);
+        calculateFilteredData(entity, new HashSet<>(), false, createInMemoryConstraintsEvaluator());
     }
 
     @Override
     public void calculateFilteredData(Collection<Entity> entities) {
         Set<EntityId> handled = new LinkedHashSet<>();
-        entities.forEach(entity -> calculateFilteredData(entity, handled, false));
+        ConstraintsEvaluator evaluator = createInMemoryConstraintsEvaluator();
+        entities.forEach(entity -> calculateFilteredData(entity, handled, false, evaluator));
     }
 
     @Override
@@ -331,13 +333,18 @@ public class PersistenceSecurityImpl extends SecurityImpl implements Persistence
         }
     }
 
-    @SuppressWarnings("unchecked")
     protected boolean calculateFilteredData(Entity entity, Set<EntityId> handled, boolean checkPermitted) {
+        return calculateFilteredData(entity, handled, checkPermitted, createInMemoryConstraintsEvaluator());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected boolean calculateFilteredData(Entity entity, Set<EntityId> handled, boolean checkPermitted,
+                                            ConstraintsEvaluator evaluator) {
         if (referenceToEntitySupport.getReferenceId(entity) == null) {
             return false;
         }
         MetaClass metaClass = entity.getMetaClass();
-        if (!isPermittedInMemory(entity) && checkPermitted) {
+        if (checkPermitted && !evaluator.isPermitted(entity)) {
             return true;
         }
         EntityId entityId = new EntityId(referenceToEntitySupport.getReferenceId(entity), metaClass.getName());
@@ -353,7 +360,7 @@ public class PersistenceSecurityImpl extends SecurityImpl implements Persistence
                     if (value instanceof Collection) {
                         Set filtered = new LinkedHashSet();
                         for (Entity item : (Collection<Entity>) value) {
-                            if (calculateFilteredData(item, handled, true)) {
+                            if (calculateFilteredData(item, handled, true, evaluator)) {
                                 filtered.add(referenceToEntitySupport.getReferenceId(item));
                             }
                         }
@@ -362,7 +369,7 @@ public class PersistenceSecurityImpl extends SecurityImpl implements Persistence
                         }
                     } else if (value instanceof Entity) {
                         Entity valueEntity = (Entity) value;
-                        if (calculateFilteredData(valueEntity, handled, true)) {
+                        if (calculateFilteredData(valueEntity, handled, true, evaluator)) {
                             securityTokenManager.addFiltered(baseGenericIdEntity, property.getName(),
                                     referenceToEntitySupport.getReferenceId(valueEntity));
                         }
@@ -375,7 +382,14 @@ public class PersistenceSecurityImpl extends SecurityImpl implements Persistence
     }
 
     protected boolean isPermittedInMemory(Entity entity) {
-        return isPermitted(entity, constraint ->
+        return createInMemoryConstraintsEvaluator().isPermitted(entity);
+    }
+
+    /**
+     * Creates an evaluator of in-memory READ and ALL constraints which is reused for all entities of a batch.
+     */
+    protected ConstraintsEvaluator createInMemoryConstraintsEvaluator() {
+        return createConstraintsEvaluator(constraint ->
                 constraint.getCheckType().memory()
                         && (constraint.getOperationType() == ConstraintOperationType.READ
                         || constraint.getOperationType() == ConstraintOperationType.ALL));
@@ -40,6 +40,7 @@ import org.eclipse.persistence.config.QueryHints;
 import org.eclipse.persistence.internal.helper.CubaUtil;
 import org.eclipse.persistence.internal.jpa.EJBQueryImpl;
 import org.eclipse.persistence.jpa.JpaQuery;
+import org.eclipse.persistence.queries.CursoredStream;
 import org.eclipse.persistence.queries.DatabaseQuery;
 import org.eclipse.persistence.queries.ObjectLevelReadQuery;
 import org.slf4j.Logger;
@@ -370,15 +371,37 @@ public class QueryImpl<T> implements TypedQuery<T> {
         preExecute(query);
         @SuppressWarnings("unchecked")
         List<T> resultList = (List<T>) getResultFromCache(query, false, obj -> {
-            ((List) obj).stream().filter(item -> item instanceof Entity).forEach(item -> {
-                for (View view : views) {
-                    entityFetcher.fetch((Entity) item, view);
-                }
-            });
+            List<Entity> entities = ((List<?>) obj).stream()
+                    .filter(item -> item instanceof Entity)
+                    .map(item -> (Entity) item)
+                    .collect(Collectors.toList());
+            for (View view : views) {
+                entityFetcher.fetch(entities, view);
+            }
         });
         return resultList;
     }
 
+    /**
+     * INTERNAL.
+     * Executes the query and returns a database cursor reading results in pages of the given size. Entity listeners
+     * are fired before the execution as in {@link #getResultList()}, but views are not fetched and the query cache
+     * is not used. The cursor must be closed by the caller.
+     */
+    public CursoredStream getResultCursor(int pageSize) {
+        if (log.isDebugEnabled())
+            log.debug(queryString.replaceAll("[\\t\\n\\x0B\\f\\r]", " "));
+
+        singleResultExpected = false;
+
+        JpaQuery<T> jpaQuery = getQuery();
+        jpaQuery.setHint(QueryHints.CURSOR, HintValues.TRUE);
+        jpaQuery.setHint(QueryHints.CURSOR_PAGE_SIZE, pageSize);
+        jpaQuery.setHint(QueryHints.JDBC_FETCH_SIZE, pageSize);
+        preExecute(jpaQuery);
+        return (CursoredStream) jpaQuery.getSingleResult();
+    }
+
     @Override
     public T getSingleResult() {
         if (log.isDebugEnabled())
@@ -21,6 +21,17 @@ import com.haulmont.cuba.core.global.ViewRepository;
 
 import org.springframework.stereotype.Component;
 
+import javax.inject.Inject;
+
 @Component(ViewRepository.NAME)
 public class ViewRepositoryImpl extends AbstractViewRepository implements ViewRepository {
+
+    @Inject
+    protected FetchGroupManager fetchGroupManager;
+
+    @Override
+    protected void onViewsChanged() {
+        super.onViewsChanged();
+        fetchGroupManager.clearCache();
+    }
 }
\ No newline at end of file
@@ -102,4 +102,20 @@ public interface DbmsFeatures {
     default boolean useOrderByForPaging() {
         return false;
     }
+
+    /**
+     * @return maximum number of IDs that can be passed to the DBMS in one {@code in} condition
+     */
+    default int getMaxIdsBatchSize() {
+        return 1000;
+    }
+
+    /**
+     * @return SQL statement returning an estimated number of rows in a table according to the DBMS statistics,
+     * or null if estimation is not supported. The statement must have one positional parameter for the table name.
+     */
+    @Nullable
+    default String getTableRowsEstimateStatement() {
+        return null;
+    }
 }
@@ -77,4 +77,9 @@ public class HsqlDbmsFeatures implements DbmsFeatures {
     public boolean supportsLobSortingAndFiltering() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public int getMaxIdsBatchSize() {
+        return 5000;
+    }
+}
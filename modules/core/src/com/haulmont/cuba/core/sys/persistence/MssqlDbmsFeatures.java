@@ -77,4 +77,15 @@ public class MssqlDbmsFeatures implements DbmsFeatures {
     public boolean supportsLobSortingAndFiltering() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public int getMaxIdsBatchSize() {
+        // SQL Server accepts up to 2100 parameters per statement
+        return 2000;
+    }
+
+    @Override
+    public String getTableRowsEstimateStatement() {
+        return "select sum(p.rows) from sys.partitions p where p.object_id = object_id(?) and p.index_id in (0, 1)";
+    }
+}
@@ -81,4 +81,9 @@ public class MysqlDbmsFeatures implements DbmsFeatures {
     public boolean supportsLobSortingAndFiltering() {
         return true;
     }
+
+    @Override
+    public String getTableRowsEstimateStatement() {
+        return "select max(table_rows) from information_schema.tables where table_schema = database() and lower(table_name) = lower(?)";
+    }
 }
\ No newline at end of file
@@ -82,4 +82,9 @@ public class OracleDbmsFeatures implements DbmsFeatures {
     public boolean supportsLobSortingAndFiltering() {
         return false;
     }
+
+    @Override
+    public String getTableRowsEstimateStatement() {
+        return "select max(num_rows) from user_tables where table_name = upper(?)";
+    }
 }
\ No newline at end of file
@@ -77,4 +77,16 @@ public class PostgresDbmsFeatures implements DbmsFeatures {
     public boolean supportsLobSortingAndFiltering() {
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public int getMaxIdsBatchSize() {
+        // PostgreSQL accepts up to 32767 bind parameters per statement
+        return 5000;
+    }
+
+    @Override
+    public String getTableRowsEstimateStatement() {
+        // the name is resolved according to the search path, so tables with the same name in other schemas are ignored
+        return "select c.reltuples from pg_class c where c.oid = cast(cast(? as text) as regclass)";
+    }
+}
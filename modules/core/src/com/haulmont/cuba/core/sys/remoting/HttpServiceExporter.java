@@ -18,6 +18,7 @@
 package com.haulmont.cuba.core.sys.remoting;
 
 import com.google.common.base.Joiner;
+import com.haulmont.cuba.core.sys.AppContext;
 import com.haulmont.cuba.core.sys.serialization.SerializationException;
 import com.haulmont.cuba.core.sys.serialization.SerializationSupport;
 import org.springframework.beans.factory.BeanNameAware;
@@ -29,20 +30,27 @@ import org.springframework.web.util.NestedServletException;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.OptionalDataException;
+import java.io.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Exports a middleware service bean as an HTTP invoker service endpoint.
  */
 public class HttpServiceExporter extends HttpInvokerServiceExporter implements BeanNameAware {
 
+    protected static final String HTTP_HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    protected static final String HTTP_HEADER_CONTENT_ENCODING = "Content-Encoding";
+    protected static final String ENCODING_GZIP = "gzip";
+
+    protected boolean compressResponses;
+
     public HttpServiceExporter() {
         super();
         setRegisterTraceInterceptor(false);
         setRemoteInvocationExecutor(new CubaRemoteInvocationExecutor());
+
+        compressResponses = Boolean.parseBoolean(AppContext.getProperty("cuba.remoting.compressResponses"));
     }
 
     @Override
@@ -105,6 +113,31 @@ public class HttpServiceExporter extends HttpInvokerServiceExporter implements B
         }
     }
 
+    /*
+     * Accepts request bodies compressed by ClusteredHttpInvokerRequestExecutor.
+     */
+    @Override
+    protected InputStream decorateInputStream(HttpServletRequest request, InputStream is) throws IOException {
+        if (ENCODING_GZIP.equalsIgnoreCase(request.getHeader(HTTP_HEADER_CONTENT_ENCODING))) {
+            return new GZIPInputStream(is);
+        }
+        return is;
+    }
+
+    /*
+     * Compresses results if enabled by cuba.remoting.compressResponses and accepted by the client.
+     */
+    @Override
+    protected OutputStream decorateOutputStream(HttpServletRequest request, HttpServletResponse response,
+                                                OutputStream os) throws IOException {
+        String acceptEncoding = request.getHeader(HTTP_HEADER_ACCEPT_ENCODING);
+        if (compressResponses && acceptEncoding != null && acceptEncoding.toLowerCase().contains(ENCODING_GZIP)) {
+            response.setHeader(HTTP_HEADER_CONTENT_ENCODING, ENCODING_GZIP);
+            return new GZIPOutputStream(os);
+        }
+        return os;
+    }
+
     @Override
     protected void doWriteRemoteInvocationResult(RemoteInvocationResult result, ObjectOutputStream oos) throws IOException {
         SerializationSupport.serialize(result, oos);
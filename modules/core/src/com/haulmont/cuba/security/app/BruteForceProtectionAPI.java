@@ -62,4 +62,19 @@ public interface BruteForceProtectionAPI {
      * @param ipAddress user IP-address
      */
     void unlockUser(String login, String ipAddress);
+
+    /**
+     * Resets counters of unsuccessful login attempts per IP-address and per subnet
+     */
+    void resetAddressCounters();
+
+    /**
+     * @return number of unsuccessful login attempts registered on this node since startup
+     */
+    long getUnsuccessfulAttemptsCount();
+
+    /**
+     * @return number of login attempts rejected on this node since startup because the limits were exceeded
+     */
+    long getBlockedAttemptsCount();
 }
@@ -16,132 +16,186 @@
 
 package com.haulmont.cuba.security.app;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.haulmont.cuba.core.app.ClusterListenerAdapter;
+import com.haulmont.cuba.core.app.ClusterManagerAPI;
 import com.haulmont.cuba.core.app.ServerConfig;
+import com.haulmont.cuba.core.global.TimeSource;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
+import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Counts unsuccessful login attempts within a sliding window of {@link ServerConfig#getBruteForceBlockIntervalSec()}
+ * per login and IP-address, and optionally per IP-address and per subnet. Attempts are propagated to all cluster
+ * nodes, so the limits apply to the whole cluster.
+ */
 @Component(BruteForceProtectionAPI.NAME)
 public class BruteForceProtectionBean implements BruteForceProtectionAPI {
 
+    protected static final int WINDOW_BUCKETS = 10;
+
     @Inject
     protected ServerConfig serverConfig;
 
-    protected LoadingCache<String, Integer> loginAttemptsCache;
+    @Inject
+    protected TimeSource timeSource;
 
-    protected boolean initialized = false;
+    protected ClusterManagerAPI clusterManager;
 
-    protected ReadWriteLock lock = new ReentrantReadWriteLock();
+    protected volatile Counters counters;
 
-    protected void checkInitialized() {
-        if (!initialized) {
-            lock.readLock().unlock();
-            lock.writeLock().lock();
-            try {
-                if (!initialized) {
-                    init();
-                    initialized = true;
-                }
-            } finally {
-                lock.readLock().lock();
-                lock.writeLock().unlock();
-            }
+    protected AtomicLong unsuccessfulAttempts = new AtomicLong();
+    protected AtomicLong blockedAttempts = new AtomicLong();
+
+    protected static class Counters {
+        protected final long windowMillis;
+        protected final Map<String, SlidingWindowCounter> loginAttempts = new ConcurrentHashMap<>();
+        protected final SlidingWindowSketch ipAttempts;
+        protected final SlidingWindowSketch subnetAttempts;
+        protected final AtomicLong lastCleanupTime = new AtomicLong();
+
+        protected Counters(long windowMillis, int sketchWidth) {
+            this.windowMillis = windowMillis;
+            this.ipAttempts = new SlidingWindowSketch(windowMillis, WINDOW_BUCKETS, sketchWidth);
+            this.subnetAttempts = new SlidingWindowSketch(windowMillis, WINDOW_BUCKETS, sketchWidth);
+        }
+    }
+
+    private static class UnsuccessfulLoginMsg implements Serializable {
+        private static final long serialVersionUID = -1482911713725938014L;
+
+        private final String login;
+        private final String ipAddress;
+        private final long time;
+
+        public UnsuccessfulLoginMsg(String login, String ipAddress, long time) {
+            this.login = login;
+            this.ipAddress = ipAddress;
+            this.time = time;
+        }
+    }
+
+    private static class UnlockUserMsg implements Serializable {
+        private static final long serialVersionUID = 5873204578318830021L;
+
+        private final String login;
+        private final String ipAddress;
+
+        public UnlockUserMsg(String login, String ipAddress) {
+            this.login = login;
+            this.ipAddress = ipAddress;
         }
     }
 
-    protected void init() {
-        loginAttemptsCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(serverConfig.getBruteForceBlockIntervalSec(), TimeUnit.SECONDS)
-                .build(new CacheLoader<String, Integer>() {
-                    @Override
-                    public Integer load(@Nonnull String key) throws Exception {
-                        return 0;
-                    }
-                });
+    private static class ResetAddressCountersMsg implements Serializable {
+        private static final long serialVersionUID = -2239564620497519343L;
+    }
+
+    @Inject
+    public void setClusterManager(ClusterManagerAPI clusterManager) {
+        this.clusterManager = clusterManager;
+        clusterManager.addListener(UnsuccessfulLoginMsg.class, new ClusterListenerAdapter<UnsuccessfulLoginMsg>() {
+            @Override
+            public void receive(UnsuccessfulLoginMsg message) {
+                registerAttempt(getCounters(), message.login, message.ipAddress, message.time);
+            }
+        });
+        clusterManager.addListener(UnlockUserMsg.class, new ClusterListenerAdapter<UnlockUserMsg>() {
+            @Override
+            public void receive(UnlockUserMsg message) {
+                getCounters().loginAttempts.remove(makeCacheKey(message.login, message.ipAddress));
+            }
+        });
+        clusterManager.addListener(ResetAddressCountersMsg.class, new ClusterListenerAdapter<ResetAddressCountersMsg>() {
+            @Override
+            public void receive(ResetAddressCountersMsg message) {
+                internalResetAddressCounters();
+            }
+        });
+    }
+
+    /**
+     * Returns counters for the current block interval. Counters are recreated if the interval is changed.
+     */
+    protected Counters getCounters() {
+        long windowMillis = serverConfig.getBruteForceBlockIntervalSec() * 1000L;
+        Counters current = counters;
+        if (current == null || current.windowMillis != windowMillis) {
+            synchronized (this) {
+                current = counters;
+                if (current == null || current.windowMillis != windowMillis) {
+                    current = new Counters(windowMillis, serverConfig.getBruteForceSketchWidth());
+                    counters = current;
+                }
+            }
+        }
+        return current;
     }
 
     @Override
     public int loginAttemptsLeft(String login, String ipAddress) {
-        lock.readLock().lock();
-        try {
-            checkInitialized();
-            String cacheKey = makeCacheKey(login, ipAddress);
-            Integer attemptsNumber = loginAttemptsCache.get(cacheKey);
-            return serverConfig.getMaxLoginAttemptsNumber() - attemptsNumber;
-        } catch (ExecutionException e) {
-            throw new RuntimeException("BruteForceProtection error", e);
-        } finally {
-            lock.readLock().unlock();
+        int attemptsLeft = getAttemptsLeft(getCounters(), login, ipAddress, timeSource.currentTimeMillis());
+        if (attemptsLeft <= 0) {
+            blockedAttempts.incrementAndGet();
         }
+        return attemptsLeft;
     }
 
     @Override
     public int registerUnsuccessfulLogin(String login, String ipAddress) {
-        lock.readLock().lock();
-        try {
-            checkInitialized();
-        } finally {
-            lock.readLock().unlock();
-        }
+        Counters counters = getCounters();
+        long now = timeSource.currentTimeMillis();
 
-        lock.writeLock().lock();
-        try {
-            String cacheKey = makeCacheKey(login, ipAddress);
-            Integer attemptsNumber = loginAttemptsCache.get(cacheKey);
-            loginAttemptsCache.put(cacheKey, attemptsNumber + 1);
-            return serverConfig.getMaxLoginAttemptsNumber() - (attemptsNumber + 1);
-        } catch (ExecutionException e) {
-            throw new RuntimeException("BruteForceProtection error", e);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        unsuccessfulAttempts.incrementAndGet();
+        registerAttempt(counters, login, ipAddress, now);
+        clusterManager.send(new UnsuccessfulLoginMsg(login, ipAddress, now));
+
+        cleanup(counters, now);
+
+        return getAttemptsLeft(counters, login, ipAddress, now);
     }
 
     @Override
     public Set<String> getLockedUsersInfo() {
-        lock.readLock().lock();
-        try {
-            checkInitialized();
-            int maxLoginAttemptsNumber = serverConfig.getMaxLoginAttemptsNumber();
-            Set<String> result = new HashSet<>();
-            for (Map.Entry<String, Integer> entry : loginAttemptsCache.asMap().entrySet()) {
-                if (entry.getValue() >= maxLoginAttemptsNumber) {
-                    result.add(entry.getKey());
-                }
+        Counters counters = getCounters();
+        long now = timeSource.currentTimeMillis();
+        int maxLoginAttemptsNumber = serverConfig.getMaxLoginAttemptsNumber();
+        Set<String> result = new HashSet<>();
+        for (Map.Entry<String, SlidingWindowCounter> entry : counters.loginAttempts.entrySet()) {
+            if (entry.getValue().get(now) >= maxLoginAttemptsNumber) {
+                result.add(entry.getKey());
             }
-            return result;
-        } finally {
-            lock.readLock().unlock();
         }
+        return result;
     }
 
     @Override
     public void unlockUser(String login, String ipAddress) {
-        lock.readLock().lock();
-        try {
-            checkInitialized();
-        } finally {
-            lock.readLock().unlock();
-        }
+        getCounters().loginAttempts.remove(makeCacheKey(login, ipAddress));
+        clusterManager.send(new UnlockUserMsg(login, ipAddress));
+    }
 
-        lock.writeLock().lock();
-        try {
-            loginAttemptsCache.invalidate(makeCacheKey(login, ipAddress));
-        } finally {
-            lock.writeLock().unlock();
-        }
+    @Override
+    public void resetAddressCounters() {
+        internalResetAddressCounters();
+        clusterManager.send(new ResetAddressCountersMsg());
+    }
+
+    @Override
+    public long getUnsuccessfulAttemptsCount() {
+        return unsuccessfulAttempts.get();
+    }
 
+    @Override
+    public long getBlockedAttemptsCount() {
+        return blockedAttempts.get();
     }
 
     @Override
@@ -154,7 +208,81 @@ public class BruteForceProtectionBean implements BruteForceProtectionAPI {
         return serverConfig.getBruteForceBlockIntervalSec();
     }
 
+    protected void registerAttempt(Counters counters, String login, @Nullable String ipAddress, long time) {
+        // increment under the map lock, so cleanup cannot remove the counter between its lookup and increment
+        counters.loginAttempts.compute(makeCacheKey(login, ipAddress), (key, counter) -> {
+            if (counter == null) {
+                counter = new SlidingWindowCounter(counters.windowMillis, WINDOW_BUCKETS);
+            }
+            counter.increment(time);
+            return counter;
+        });
+        if (ipAddress != null) {
+            counters.ipAttempts.increment(ipAddress, time);
+            counters.subnetAttempts.increment(getSubnet(ipAddress), time);
+        }
+    }
+
+    protected int getAttemptsLeft(Counters counters, String login, @Nullable String ipAddress, long time) {
+        int attemptsLeft = serverConfig.getMaxLoginAttemptsNumber() - getLoginAttempts(counters, login, ipAddress, time);
+        if (ipAddress != null) {
+            int maxPerIp = serverConfig.getMaxLoginAttemptsPerIp();
+            if (maxPerIp > 0) {
+                attemptsLeft = Math.min(attemptsLeft, maxPerIp - counters.ipAttempts.get(ipAddress, time));
+            }
+            int maxPerSubnet = serverConfig.getMaxLoginAttemptsPerSubnet();
+            if (maxPerSubnet > 0) {
+                attemptsLeft = Math.min(attemptsLeft,
+                        maxPerSubnet - counters.subnetAttempts.get(getSubnet(ipAddress), time));
+            }
+        }
+        return attemptsLeft;
+    }
+
+    protected int getLoginAttempts(Counters counters, String login, @Nullable String ipAddress, long time) {
+        SlidingWindowCounter counter = counters.loginAttempts.get(makeCacheKey(login, ipAddress));
+        return counter != null ? counter.get(time) : 0;
+    }
+
+    /**
+     * Removes counters without attempts within the window, at most once per window.
+     */
+    protected void cleanup(Counters counters, long now) {
+        long lastCleanupTime = counters.lastCleanupTime.get();
+        if (now - lastCleanupTime > counters.windowMillis
+                && counters.lastCleanupTime.compareAndSet(lastCleanupTime, now)) {
+            for (String key : counters.loginAttempts.keySet()) {
+                // recheck under the map lock, as an attempt can be registered concurrently
+                counters.loginAttempts.computeIfPresent(key, (k, counter) -> counter.isEmpty(now) ? null : counter);
+            }
+        }
+    }
+
+    protected void internalResetAddressCounters() {
+        Counters counters = getCounters();
+        counters.ipAttempts.reset();
+        counters.subnetAttempts.reset();
+    }
+
+    /**
+     * @return /24 network prefix for an IPv4 address or the first four groups (/64 prefix) of an IPv6 address
+     */
+    protected String getSubnet(String ipAddress) {
+        if (ipAddress.indexOf(':') >= 0) {
+            int idx = -1;
+            for (int i = 0; i < 4; i++) {
+                idx = ipAddress.indexOf(':', idx + 1);
+                if (idx < 0) {
+                    return ipAddress;
+                }
+            }
+            return ipAddress.substring(0, idx);
+        }
+        int idx = ipAddress.lastIndexOf('.');
+        return idx > 0 ? ipAddress.substring(0, idx) : ipAddress;
+    }
+
     protected String makeCacheKey(String login, String ipAddress) {
         return login + "|" + ipAddress;
     }
-}
\ No newline at end of file
+}
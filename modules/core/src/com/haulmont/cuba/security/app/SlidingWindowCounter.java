@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.security.app;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * INTERNAL.
+ *
+ * Lock-free counter of events within a sliding time window. The window is divided into a fixed number of buckets,
+ * each bucket stores the bucket's time slot and the number of events in a single {@code long}, so it is updated
+ * atomically by one CAS.
+ */
+public class SlidingWindowCounter {
+
+    protected static final int COUNT_BITS = 22;
+    protected static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    protected final long bucketMillis;
+    protected final int bucketsNumber;
+    protected final AtomicLongArray cells;
+
+    /**
+     * @param windowMillis  length of the window in milliseconds
+     * @param bucketsNumber number of buckets the window is divided into
+     */
+    public SlidingWindowCounter(long windowMillis, int bucketsNumber) {
+        this(windowMillis, bucketsNumber, 1);
+    }
+
+    protected SlidingWindowCounter(long windowMillis, int bucketsNumber, int rowsNumber) {
+        if (windowMillis <= 0 || bucketsNumber <= 0) {
+            throw new IllegalArgumentException("Window length and number of buckets must be positive");
+        }
+        this.bucketsNumber = bucketsNumber;
+        this.bucketMillis = Math.max(1, windowMillis / bucketsNumber);
+        this.cells = new AtomicLongArray(rowsNumber * bucketsNumber);
+    }
+
+    /**
+     * Registers an event.
+     *
+     * @param timeMillis time of the event
+     */
+    public void increment(long timeMillis) {
+        increment(0, timeMillis);
+    }
+
+    /**
+     * @param timeMillis current time
+     * @return number of events registered within the window ending at the given time
+     */
+    public int get(long timeMillis) {
+        return get(0, timeMillis);
+    }
+
+    /**
+     * @param timeMillis current time
+     * @return true if no events are registered within the window ending at the given time
+     */
+    public boolean isEmpty(long timeMillis) {
+        return get(timeMillis) == 0;
+    }
+
+    protected void increment(int row, long timeMillis) {
+        long slot = timeMillis / bucketMillis;
+        int i = row * bucketsNumber + (int) (slot % bucketsNumber);
+        while (true) {
+            long value = cells.get(i);
+            long cellSlot = value >>> COUNT_BITS;
+            long newValue;
+            if (cellSlot == slot) {
+                long count = value & COUNT_MASK;
+                if (count == COUNT_MASK) {
+                    return;
+                }
+                newValue = value + 1;
+            } else if (cellSlot < slot) {
+                newValue = (slot << COUNT_BITS) | 1;
+            } else {
+                // the bucket already belongs to a later time slot, the event is out of the window
+                return;
+            }
+            if (cells.compareAndSet(i, value, newValue)) {
+                return;
+            }
+        }
+    }
+
+    protected int get(int row, long timeMillis) {
+        long slot = timeMillis / bucketMillis;
+        long count = 0;
+        for (int i = row * bucketsNumber; i < (row + 1) * bucketsNumber; i++) {
+            long value = cells.get(i);
+            long cellSlot = value >>> COUNT_BITS;
+            if (cellSlot <= slot && cellSlot > slot - bucketsNumber) {
+                count += value & COUNT_MASK;
+            }
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    protected void clear() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+    }
+}
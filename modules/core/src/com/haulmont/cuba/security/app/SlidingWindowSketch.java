@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.security.app;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * INTERNAL.
+ *
+ * Count-min sketch of sliding window counters. Counts events per key within a sliding time window using
+ * a constant amount of memory regardless of the number of distinct keys. The returned counts may be overestimated
+ * when many keys collide, but are never underestimated.
+ */
+public class SlidingWindowSketch {
+
+    protected static final int DEPTH = 4;
+
+    protected final int width;
+    protected final SlidingWindowCounter counters;
+    protected final HashFunction[] hashFunctions = new HashFunction[DEPTH];
+
+    /**
+     * @param windowMillis  length of the window in milliseconds
+     * @param bucketsNumber number of buckets the window is divided into
+     * @param width         number of counters in each of the sketch rows
+     */
+    public SlidingWindowSketch(long windowMillis, int bucketsNumber, int width) {
+        this.width = width;
+        this.counters = new SlidingWindowCounter(windowMillis, bucketsNumber, DEPTH * width);
+        for (int i = 0; i < DEPTH; i++) {
+            hashFunctions[i] = Hashing.murmur3_32(i);
+        }
+    }
+
+    /**
+     * Registers an event for the key.
+     *
+     * @param key        key
+     * @param timeMillis time of the event
+     */
+    public void increment(String key, long timeMillis) {
+        for (int i = 0; i < DEPTH; i++) {
+            counters.increment(getRow(i, key), timeMillis);
+        }
+    }
+
+    /**
+     * @param key        key
+     * @param timeMillis current time
+     * @return estimated number of events registered for the key within the window ending at the given time
+     */
+    public int get(String key, long timeMillis) {
+        int result = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            result = Math.min(result, counters.get(getRow(i, key), timeMillis));
+        }
+        return result;
+    }
+
+    /**
+     * Removes all registered events.
+     */
+    public void reset() {
+        counters.clear();
+    }
+
+    protected int getRow(int depthIndex, String key) {
+        int hash = hashFunctions[depthIndex].hashString(key, StandardCharsets.UTF_8).asInt();
+        return depthIndex * width + Math.floorMod(hash, width);
+    }
+}
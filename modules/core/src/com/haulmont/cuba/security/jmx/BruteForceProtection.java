@@ -37,4 +37,19 @@ public class BruteForceProtection implements BruteForceProtectionMBean {
     public void unlockUser(String login, String ipAddress) {
         bruteForceProtectionAPI.unlockUser(login, ipAddress);
     }
+
+    @Override
+    public void resetAddressCounters() {
+        bruteForceProtectionAPI.resetAddressCounters();
+    }
+
+    @Override
+    public long getUnsuccessfulAttemptsCount() {
+        return bruteForceProtectionAPI.getUnsuccessfulAttemptsCount();
+    }
+
+    @Override
+    public long getBlockedAttemptsCount() {
+        return bruteForceProtectionAPI.getBlockedAttemptsCount();
+    }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@
 
 package com.haulmont.cuba.security.jmx;
 
+import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedOperationParameter;
 import org.springframework.jmx.export.annotation.ManagedOperationParameters;
@@ -32,4 +33,13 @@ public interface BruteForceProtectionMBean {
             {@ManagedOperationParameter(name = "login", description = "User login"),
             @ManagedOperationParameter(name = "ipAddress", description = "User IP-address")})
     void unlockUser(String login, String ipAddress);
+
+    @ManagedOperation(description = "Resets counters of unsuccessful login attempts per IP-address and per subnet")
+    void resetAddressCounters();
+
+    @ManagedAttribute(description = "Number of unsuccessful login attempts registered on this node since startup")
+    long getUnsuccessfulAttemptsCount();
+
+    @ManagedAttribute(description = "Number of login attempts rejected on this node since startup")
+    long getBlockedAttemptsCount();
 }
\ No newline at end of file
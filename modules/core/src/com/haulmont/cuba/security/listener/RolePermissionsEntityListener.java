@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.security.listener;
+
+import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.core.listener.AfterDeleteEntityListener;
+import com.haulmont.cuba.core.listener.AfterInsertEntityListener;
+import com.haulmont.cuba.core.listener.AfterUpdateEntityListener;
+import com.haulmont.cuba.security.sys.RolePermissionsCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.inject.Inject;
+import java.sql.Connection;
+
+/**
+ * Invalidates {@link RolePermissionsCache} after a transaction changing roles or permissions is committed.
+ */
+@Component("cuba_RolePermissionsEntityListener")
+public class RolePermissionsEntityListener implements
+        AfterInsertEntityListener<Entity>,
+        AfterUpdateEntityListener<Entity>,
+        AfterDeleteEntityListener<Entity> {
+
+    @Inject
+    protected RolePermissionsCache rolePermissionsCache;
+
+    @Override
+    public void onAfterInsert(Entity entity, Connection connection) {
+        invalidateOnCommit();
+    }
+
+    @Override
+    public void onAfterUpdate(Entity entity, Connection connection) {
+        invalidateOnCommit();
+    }
+
+    @Override
+    public void onAfterDelete(Entity entity, Connection connection) {
+        invalidateOnCommit();
+    }
+
+    protected void invalidateOnCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            boolean registered = TransactionSynchronizationManager.getSynchronizations().stream()
+                    .anyMatch(s -> s instanceof InvalidationSynchronization);
+            if (!registered) {
+                TransactionSynchronizationManager.registerSynchronization(new InvalidationSynchronization());
+            }
+        } else {
+            rolePermissionsCache.invalidate();
+        }
+    }
+
+    protected class InvalidationSynchronization extends TransactionSynchronizationAdapter {
+        @Override
+        public void afterCommit() {
+            rolePermissionsCache.invalidate();
+        }
+    }
+}
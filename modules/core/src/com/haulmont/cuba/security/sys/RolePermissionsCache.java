@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.security.sys;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.haulmont.cuba.core.app.ClusterListenerAdapter;
+import com.haulmont.cuba.core.app.ClusterManagerAPI;
+import com.haulmont.cuba.core.app.ServerConfig;
+import com.haulmont.cuba.security.entity.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * INTERNAL.
+ *
+ * Caches compiled immutable permission tables by role combination. User sessions with the same set of roles
+ * reference the same tables instead of holding their own copies.
+ * <p>
+ * The cache is invalidated on all cluster nodes when roles or permissions are changed.
+ */
+@Component(RolePermissionsCache.NAME)
+public class RolePermissionsCache {
+
+    public static final String NAME = "cuba_RolePermissionsCache";
+
+    private final Logger log = LoggerFactory.getLogger(RolePermissionsCache.class);
+
+    @Inject
+    protected ServerConfig serverConfig;
+
+    protected ClusterManagerAPI clusterManager;
+
+    protected Cache<Set<Object>, Map<String, Integer>[]> cache;
+
+    private static class InvalidateCacheMsg implements Serializable {
+        private static final long serialVersionUID = 2817624384734530283L;
+    }
+
+    @Inject
+    public void setClusterManager(ClusterManagerAPI clusterManager) {
+        this.clusterManager = clusterManager;
+        clusterManager.addListener(InvalidateCacheMsg.class, new ClusterListenerAdapter<InvalidateCacheMsg>() {
+            @Override
+            public void receive(InvalidateCacheMsg message) {
+                internalInvalidate();
+            }
+        });
+    }
+
+    @PostConstruct
+    protected void init() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(serverConfig.getRolePermissionsCacheSize())
+                .build();
+    }
+
+    /**
+     * Returns permission tables for the given roles, compiling them if there are no cached tables
+     * for this role combination.
+     *
+     * @param roles    roles of a user
+     * @param compiler function producing permission tables indexed by {@code PermissionType} ordinal
+     * @return immutable permission tables, must not be modified
+     */
+    public Map<String, Integer>[] getPermissions(Collection<Role> roles,
+                                                  Function<Collection<Role>, Map<String, Integer>[]> compiler) {
+        Set<Object> key = new HashSet<>();
+        for (Role role : roles) {
+            key.add(role.getId());
+        }
+        try {
+            return cache.get(key, () -> {
+                log.debug("Compiling permissions for roles {}", key);
+                return toImmutable(compiler.apply(roles));
+            });
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unable to compile permissions", e.getCause());
+        }
+    }
+
+    /**
+     * Removes all cached permission tables on this and other cluster nodes.
+     */
+    public void invalidate() {
+        internalInvalidate();
+        clusterManager.send(new InvalidateCacheMsg());
+    }
+
+    /**
+     * @return number of cached role combinations
+     */
+    public long getSize() {
+        return cache.size();
+    }
+
+    protected void internalInvalidate() {
+        log.debug("Invalidating role permissions cache");
+        cache.invalidateAll();
+    }
+
+    protected Map<String, Integer>[] toImmutable(Map<String, Integer>[] permissions) {
+        //noinspection unchecked
+        Map<String, Integer>[] result = new Map[permissions.length];
+        for (int i = 0; i < permissions.length; i++) {
+            result[i] = Collections.unmodifiableMap(new HashMap<>(permissions[i]));
+        }
+        return result;
+    }
+}
@@ -33,13 +33,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import java.io.Serializable;
 import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * INTERNAL.
@@ -74,6 +72,9 @@ public class UserSessionManager {
     @Inject
     protected DefaultPermissionValuesConfig defaultPermissionValuesConfig;
 
+    @Inject
+    protected RolePermissionsCache rolePermissionsCache;
+
     /**
      * Create a new session and fill it with security data. Must be called inside a transaction.
      * @param user      user instance
@@ -139,12 +140,26 @@ public class UserSessionManager {
                 return;
             }
         }
+        session.setSharedPermissions(rolePermissionsCache.getPermissions(roles, this::compileRolePermissions));
+    }
+
+    /**
+     * Compiles permissions of the given roles and default permission values into tables
+     * indexed by {@link PermissionType} ordinal. The result is cached and shared between sessions.
+     */
+    protected Map<String, Integer>[] compileRolePermissions(Collection<Role> roles) {
+        //noinspection unchecked
+        Map<String, Integer>[] permissions = new Map[PermissionType.values().length];
+        for (int i = 0; i < permissions.length; i++) {
+            permissions[i] = new HashMap<>();
+        }
+
         for (Role role : roles) {
             for (Permission permission : role.getPermissions()) {
                 PermissionType type = permission.getType();
                 if (type != null && permission.getValue() != null) {
                     try {
-                        session.addPermission(type,
+                        addPermission(permissions, type,
                                 permission.getTarget(), convertToExtendedEntityTarget(permission), permission.getValue());
                     } catch (Exception ignored) {}
                 }
@@ -152,11 +167,23 @@ public class UserSessionManager {
         }
 
         defaultPermissionValuesConfig.getDefaultPermissionValues().forEach((target, permission) -> {
-            if (session.getPermissionValue(permission.getType(), permission.getTarget()) == null) {
-                session.addPermission(permission.getType(), permission.getTarget(),
+            if (permissions[permission.getType().ordinal()].get(permission.getTarget()) == null) {
+                addPermission(permissions, permission.getType(), permission.getTarget(),
                         convertToExtendedEntityTarget(permission), permission.getValue());
             }
         });
+        return permissions;
+    }
+
+    protected void addPermission(Map<String, Integer>[] permissions, PermissionType type,
+                                 String target, @Nullable String extTarget, int value) {
+        Map<String, Integer> map = permissions[type.ordinal()];
+        Integer currentValue = map.get(target);
+        if (currentValue == null || currentValue < value) {
+            map.put(target, value);
+            if (extTarget != null)
+                map.put(extTarget, value);
+        }
     }
 
     protected String convertToExtendedEntityTarget(Permission permission) {
@@ -26,9 +26,7 @@ import org.junit.Test;
 import java.io.InputStream;
 import java.util.Collection;
 
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertNotNull;
-import static org.junit.Assert.assertNull;
+import static org.junit.Assert.*;
 
 public class ViewRepositoryTest {
 
@@ -114,4 +112,25 @@ public class ViewRepositoryTest {
 
         assertNotNull(groupView.getProperty("constraints").getView());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSharedViewIsImmutable() {
+        View view = repository.getView(User.class, "test");
+        assertSame(view, repository.getView(User.class, "test"));
+        assertTrue(view.isFrozen());
+        assertTrue(view.getProperty("userRoles").getView().isFrozen());
+
+        try {
+            view.addProperty("email");
+            fail("Shared view must not be modifiable");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        View copy = View.copy(view);
+        assertFalse(copy.isFrozen());
+        copy.addProperty("email");
+        assertNotNull(copy.getProperty("email"));
+        assertNull(repository.getView(User.class, "test").getProperty("email"));
+    }
+}
@@ -34,6 +34,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class QueryFilterTest {
     @ClassRule
@@ -152,4 +153,21 @@ public class QueryFilterTest {
         s = filter.processQuery("select distinct d from saneco$GenDoc d where 1=1", params);
         assertEquals("select distinct d from saneco$GenDoc d, docflow$DocumentRole dr where (1 = 1) and (((d.processState = :custom$filter_state and d.barCode like :custom$filter_barCode) or d.processState <> :custom$filter_notSigned))", s);
     }
+
+    @Test
+    public void testProcessedQueryReused() {
+        QueryFilter filter = createFilter("filter6.xml");
+
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("custom$filter_state", "v1");
+        String s1 = filter.processQuery("select distinct d from saneco$GenDoc d", params);
+
+        params.put("custom$filter_state", "v2");
+        String s2 = filter.processQuery("select distinct d from saneco$GenDoc d", params);
+        assertSame(s1, s2);
+
+        params.put("custom$filter_state", "");
+        String s3 = filter.processQuery("select distinct d from saneco$GenDoc d", params);
+        assertEquals("select distinct d from saneco$GenDoc d", s3);
+    }
 }
@@ -35,6 +35,8 @@ import org.junit.ClassRule
 import spock.lang.Shared
 import spock.lang.Specification
 
+import java.util.stream.Collectors
+
 class DataManagerTest extends Specification {
 
     @Shared @ClassRule
@@ -289,4 +291,58 @@ class DataManagerTest extends Specification {
 
         cont.deleteRecord(line, product)
     }
+
+    def "getCount with estimation threshold"() {
+
+        def exactCount = dataManager.getCount(LoadContext.create(User)
+                .setQuery(LoadContext.createQuery('select u from sec$User u')))
+
+        when: "the number of rows exceeds the threshold"
+
+        def count = dataManager.getCount(LoadContext.create(User)
+                .setQuery(LoadContext.createQuery('select u from sec$User u where u.login is not null order by u.login'))
+                .setCountEstimationThreshold(exactCount - 1))
+
+        then: "the count is greater than the threshold"
+
+        count > exactCount - 1
+
+        when: "the number of rows does not exceed the threshold"
+
+        count = dataManager.getCount(LoadContext.create(User)
+                .setQuery(LoadContext.createQuery('select u from sec$User u'))
+                .setCountEstimationThreshold(exactCount + 10))
+
+        then: "the count is exact"
+
+        count == exactCount
+    }
+
+    def "loadListStream returns the same entities as loadList"() {
+
+        def loadContext = LoadContext.create(User)
+                .setQuery(LoadContext.createQuery('select u from sec$User u order by u.login'))
+                .setView('user.browse')
+
+        def expected = dataManager.loadList(loadContext)
+
+        when:
+
+        def loaded = dataManager.loadListStream(loadContext, 1).withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+
+        loaded == expected
+        def entityStates = AppBeans.get(EntityStates)
+        loaded.every { entityStates.isDetached(it) && entityStates.isLoaded(it, 'group') }
+
+        when: "the context has maxResults"
+
+        loadContext.getQuery().setMaxResults(1)
+        loaded = dataManager.loadListStream(loadContext, 10).withCloseable { it.collect(Collectors.toList()) }
+
+        then:
+
+        loaded == expected.subList(0, 1)
+    }
 }
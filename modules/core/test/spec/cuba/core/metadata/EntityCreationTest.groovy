@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spec.cuba.core.metadata
+
+import com.haulmont.cuba.core.entity.CategoryAttribute
+import com.haulmont.cuba.core.global.Metadata
+import com.haulmont.cuba.security.entity.User
+import com.haulmont.cuba.testmodel.primary_keys.CompositeKeyEntity
+import com.haulmont.cuba.testmodel.primary_keys.EntityKey
+import com.haulmont.cuba.testsupport.TestContainer
+import org.junit.ClassRule
+import spock.lang.Shared
+import spock.lang.Specification
+
+class EntityCreationTest extends Specification {
+
+    @Shared @ClassRule
+    public TestContainer cont = TestContainer.Common.INSTANCE
+
+    private Metadata metadata
+
+    void setup() {
+        metadata = cont.metadata()
+    }
+
+    def "created entities get identifiers, embedded instances and post construct initialization"() {
+
+        when:
+
+        def user1 = metadata.create(User)
+        def user2 = metadata.create(User)
+
+        then:
+
+        user1.id != null
+        user1.id != user2.id
+
+        when:
+
+        def attribute = metadata.create(CategoryAttribute)
+
+        then: "not null embedded entity and @PostConstruct method result"
+
+        attribute.defaultEntity != null
+
+        when:
+
+        def compositeKeyEntity = metadata.create(CompositeKeyEntity)
+
+        then:
+
+        compositeKeyEntity.id instanceof EntityKey
+    }
+
+    def "entities are created by metaclass and name"() {
+
+        expect:
+
+        metadata.create(metadata.getClassNN(User)) instanceof User
+        metadata.create('sec$User') instanceof User
+    }
+}
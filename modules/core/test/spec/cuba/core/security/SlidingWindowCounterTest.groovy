@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spec.cuba.core.security
+
+import com.haulmont.cuba.security.app.SlidingWindowCounter
+import com.haulmont.cuba.security.app.SlidingWindowSketch
+import spock.lang.Specification
+
+class SlidingWindowCounterTest extends Specification {
+
+    def "events leave the window as time passes"() {
+
+        def counter = new SlidingWindowCounter(10000, 10)
+
+        when:
+
+        counter.increment(100000)
+        counter.increment(103000)
+        counter.increment(103500)
+
+        then:
+
+        counter.get(104000) == 3
+        counter.get(111000) == 2
+        counter.get(114000) == 0
+        counter.isEmpty(114000)
+    }
+
+    def "events older than the window are ignored"() {
+
+        def counter = new SlidingWindowCounter(10000, 10)
+
+        when:
+
+        counter.increment(120000)
+        counter.increment(100000)
+
+        then:
+
+        counter.get(120000) == 1
+    }
+
+    def "sketch counts events per key"() {
+
+        def sketch = new SlidingWindowSketch(10000, 10, 256)
+
+        when:
+
+        3.times { sketch.increment('10.0.0.1', 100000) }
+        sketch.increment('10.0.0.2', 101000)
+
+        then:
+
+        sketch.get('10.0.0.1', 102000) >= 3
+        sketch.get('10.0.0.2', 102000) >= 1
+        sketch.get('10.0.0.1', 111000) == 0
+
+        when:
+
+        sketch.reset()
+
+        then:
+
+        sketch.get('10.0.0.2', 102000) == 0
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package spec.cuba.core.views
+
+import com.haulmont.cuba.core.global.AppBeans
+import com.haulmont.cuba.core.global.DataManager
+import com.haulmont.cuba.core.global.EntityStates
+import com.haulmont.cuba.core.global.View
+import com.haulmont.cuba.core.sys.AppContext
+import com.haulmont.cuba.core.sys.EntityFetcher
+import com.haulmont.cuba.testmodel.sales_1.Order
+import com.haulmont.cuba.testmodel.sales_1.OrderLine
+import com.haulmont.cuba.testmodel.sales_1.Product
+import com.haulmont.cuba.testsupport.TestContainer
+import org.junit.ClassRule
+import spock.lang.Shared
+import spock.lang.Specification
+
+class EntityFetcherBatchTest extends Specification {
+
+    @Shared @ClassRule
+    public TestContainer cont = TestContainer.Common.INSTANCE
+
+    private DataManager dataManager
+    private EntityFetcher entityFetcher
+    private EntityStates entityStates
+
+    void setup() {
+        dataManager = AppBeans.get(DataManager)
+        entityFetcher = AppBeans.get(EntityFetcher)
+        entityStates = AppBeans.get(EntityStates)
+        AppContext.setProperty('cuba.entityFetcherBatchDetachedReferences', 'true')
+    }
+
+    void cleanup() {
+        AppContext.setProperty('cuba.entityFetcherBatchDetachedReferences', null)
+    }
+
+    def "detached references are reloaded level by level"() {
+
+        Order order = new Order(number: '111', amount: 100)
+        Product product1 = new Product(name: 'abc', quantity: 1000)
+        Product product2 = new Product(name: 'def', quantity: 1000)
+        def committed = dataManager.commit(order, product1, product2)
+
+        def detachedOrder = committed.get(order)
+        def detachedProduct1 = committed.get(product1)
+        def detachedProduct2 = committed.get(product2)
+
+        def view = new View(OrderLine)
+                .addProperty('quantity')
+                .addProperty('order', new View(Order).addProperty('number'))
+                .addProperty('product', new View(Product).addProperty('name'))
+
+        when:
+
+        List<OrderLine> lines = []
+        cont.persistence().runInTransaction() { em ->
+            lines << new OrderLine(order: detachedOrder, product: detachedProduct1, quantity: 1)
+            lines << new OrderLine(order: detachedOrder, product: detachedProduct2, quantity: 2)
+            lines << new OrderLine(order: detachedOrder, product: detachedProduct1, quantity: 3)
+
+            entityFetcher.fetch(lines, view)
+
+            assert lines.every { entityStates.isManaged(it.product) && entityStates.isManaged(it.order) }
+        }
+
+        then:
+
+        lines[0].product.is(lines[2].product)
+        lines[0].product.name == 'abc'
+        lines[1].product.name == 'def'
+        lines.every { it.order.number == '111' }
+
+        cleanup:
+
+        cont.deleteRecord(product1, product2, order)
+    }
+}
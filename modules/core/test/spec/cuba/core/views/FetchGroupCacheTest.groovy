@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package spec.cuba.core.views
+
+import com.haulmont.cuba.core.global.AppBeans
+import com.haulmont.cuba.core.global.View
+import com.haulmont.cuba.core.global.ViewRepository
+import com.haulmont.cuba.core.sys.AbstractViewRepository
+import com.haulmont.cuba.core.sys.FetchGroupManager
+import com.haulmont.cuba.security.entity.User
+import com.haulmont.cuba.testsupport.TestContainer
+import org.junit.ClassRule
+import spock.lang.Shared
+import spock.lang.Specification
+
+class FetchGroupCacheTest extends Specification {
+
+    @Shared @ClassRule
+    public TestContainer cont = TestContainer.Common.INSTANCE
+
+    private FetchGroupManager fetchGroupManager
+    private ViewRepository viewRepository
+
+    void setup() {
+        fetchGroupManager = AppBeans.get(FetchGroupManager.NAME)
+        viewRepository = AppBeans.get(ViewRepository.NAME)
+    }
+
+    def "fetch groups of shared views are cached until views are redeployed"() {
+
+        def query = 'select u from sec$User u where u.id = :id'
+        def view = viewRepository.getView(User, 'user.edit')
+
+        when:
+
+        def description1 = fetchGroupManager.calculateFetchGroup(query, view, true, false)
+        def description2 = fetchGroupManager.calculateFetchGroup(query, view, true, false)
+
+        then:
+
+        description1.is(description2)
+        description1.frozen
+
+        when:
+
+        def description3 = fetchGroupManager.calculateFetchGroup(query, view, false, false)
+
+        then:
+
+        !description3.is(description1)
+
+        when:
+
+        ((AbstractViewRepository) viewRepository).reset()
+        def newView = viewRepository.getView(User, 'user.edit')
+        def description4 = fetchGroupManager.calculateFetchGroup(query, newView, true, false)
+
+        then:
+
+        !description4.is(description1)
+        description4.attributes == description1.attributes
+    }
+
+    def "fetch groups are cached by view structure"() {
+
+        def query = 'select u from sec$User u'
+        def view = new View(User).addProperty('login').addProperty('name')
+        def sameView = new View(User).addProperty('login').addProperty('name')
+        def otherView = new View(User).addProperty('login').addProperty('email')
+
+        when:
+
+        def description1 = fetchGroupManager.calculateFetchGroup(query, view, false, true)
+        def description2 = fetchGroupManager.calculateFetchGroup(query, sameView, false, true)
+        def description3 = fetchGroupManager.calculateFetchGroup(query, otherView, false, true)
+
+        then:
+
+        description1.is(description2)
+        description1.frozen
+        !description3.is(description1)
+
+        when:
+
+        view.addProperty('email')
+        def description4 = fetchGroupManager.calculateFetchGroup(query, view, false, true)
+
+        then:
+
+        !description4.is(description1)
+        description4.attributes.containsAll(description1.attributes)
+    }
+}
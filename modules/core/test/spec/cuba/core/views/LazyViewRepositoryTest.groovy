@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spec.cuba.core.views
+
+import com.haulmont.cuba.core.entity.SendingMessage
+import com.haulmont.cuba.core.global.AppBeans
+import com.haulmont.cuba.core.global.Metadata
+import com.haulmont.cuba.core.global.ViewRepository
+import com.haulmont.cuba.core.sys.AbstractViewRepository
+import com.haulmont.cuba.core.sys.AppContext
+import com.haulmont.cuba.security.entity.User
+import com.haulmont.cuba.testsupport.TestContainer
+import org.junit.ClassRule
+import spock.lang.Shared
+import spock.lang.Specification
+
+class LazyViewRepositoryTest extends Specification {
+
+    @Shared @ClassRule
+    public TestContainer cont = TestContainer.Common.INSTANCE
+
+    private AbstractViewRepository viewRepository
+    private Metadata metadata
+
+    void setup() {
+        viewRepository = (AbstractViewRepository) AppBeans.get(ViewRepository.NAME)
+        metadata = AppBeans.get(Metadata.NAME)
+
+        AppContext.setProperty('cuba.lazyViewsInitialization', 'true')
+        viewRepository.reset()
+    }
+
+    void cleanup() {
+        AppContext.setProperty('cuba.lazyViewsInitialization', null)
+        viewRepository.reset()
+    }
+
+    def "views are deployed on first access to the entity"() {
+
+        def userMetaClass = metadata.getClassNN(User)
+        def messageMetaClass = metadata.getClassNN(SendingMessage)
+
+        when:
+
+        def view = viewRepository.getView(User, 'user.edit')
+
+        then:
+
+        view.getProperty('group') != null
+        !viewRepository.pendingViews.containsKey(userMetaClass)
+        viewRepository.pendingViews.containsKey(messageMetaClass)
+
+        when:
+
+        int count = viewRepository.initializeAll()
+
+        then:
+
+        viewRepository.pendingViews.isEmpty()
+        count == viewRepository.getAll().size()
+        viewRepository.getView(SendingMessage, 'sendingMessage.browse') != null
+    }
+}
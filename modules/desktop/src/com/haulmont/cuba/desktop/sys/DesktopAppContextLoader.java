@@ -71,20 +71,26 @@ public class DesktopAppContextLoader extends AbstractAppContextLoader {
     }
 
     public void load() {
+        startTiming();
         AppContext.Internals.setSecurityContextHolder(new SingleSecurityContextHolder());
 
         initAppComponents();
         initAppProperties();
         afterInitAppProperties();
+        endPhase("app properties");
 
         beforeInitAppContext();
+        endPhase("before init");
         initAppContext();
         afterInitAppContext();
+        endPhase("after init");
 
         initEnvironment();
+        endPhase("environment");
 
         AppContext.Internals.startContext();
-        log.info("AppContext started");
+        endPhase("context started listeners");
+        log.info("AppContext started in {}", getStartupTimings());
     }
 
     protected void initEnvironment() {
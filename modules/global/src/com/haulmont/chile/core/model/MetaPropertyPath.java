@@ -17,6 +17,7 @@
 
 package com.haulmont.chile.core.model;
 
+import com.haulmont.chile.core.model.utils.PropertyPathAccessor;
 import org.apache.commons.text.TextStringBuilder;
 
 import java.io.Serializable;
@@ -34,6 +35,8 @@ public class MetaPropertyPath implements Serializable, Instance.BeanPropertyPath
     private String[] path;
     private String pathString;
 
+    private transient volatile PropertyPathAccessor accessor;
+
     public MetaPropertyPath(MetaClass metaClass, MetaProperty... metaProperties) {
         this.metaClass = metaClass;
         this.metaProperties = metaProperties;
@@ -162,6 +165,19 @@ public class MetaPropertyPath implements Serializable, Instance.BeanPropertyPath
         return metaProperties.length;
     }
 
+    /**
+     * Accessor reading the value of this path from instances without property name lookups.
+     * Created on first access and cached with this path.
+     */
+    public PropertyPathAccessor getAccessor() {
+        PropertyPathAccessor result = accessor;
+        if (result == null) {
+            result = new PropertyPathAccessor(path);
+            accessor = result;
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         return pathString;
@@ -27,8 +27,6 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -38,8 +36,6 @@ public abstract class AbstractInstance implements Instance {
 
     protected transient Collection<WeakReference<PropertyChangeListener>> __propertyChangeListeners;
 
-    private static transient Map<Class, MethodsCache> methodCacheMap = new ConcurrentHashMap<>();
-
     protected void propertyChanged(String s, Object prev, Object curr) {
         if (__propertyChangeListeners != null) {
             for (Object referenceObject : __propertyChangeListeners.toArray()) {
@@ -100,13 +96,7 @@ public abstract class AbstractInstance implements Instance {
     }
 
     protected MethodsCache getMethodsCache() {
-        Class cls = getClass();
-        MethodsCache cache = methodCacheMap.get(cls);
-        if (cache == null) {
-            cache = new MethodsCache(cls);
-            methodCacheMap.put(cls, cache);
-        }
-        return cache;
+        return MethodsCache.getOrCreate(getClass());
     }
 
     @Override
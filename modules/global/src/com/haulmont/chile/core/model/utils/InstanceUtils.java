@@ -17,6 +17,7 @@
 package com.haulmont.chile.core.model.utils;
 
 import com.haulmont.chile.core.model.Instance;
+import com.haulmont.chile.core.model.MetaPropertyPath;
 import com.haulmont.chile.core.model.impl.AbstractInstance;
 import com.haulmont.cuba.core.global.AppBeans;
 import com.haulmont.cuba.core.global.MetadataTools;
@@ -26,12 +27,19 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class to work with {@link Instance}s.
  */
 public final class InstanceUtils {
 
+    private static final int PARSED_PATHS_CACHE_LIMIT = 10000;
+
+    // parsed paths of getValueEx/setValueEx calls, never exposed to callers
+    private static final Map<String, String[]> parsedPaths = new ConcurrentHashMap<>();
+
     private InstanceUtils() {
     }
 
@@ -80,6 +88,20 @@ public final class InstanceUtils {
         return elements.toArray(new String[0]);
     }
 
+    private static String[] getParsedValuePath(@Nullable String path) {
+        if (path == null) {
+            return new String[0];
+        }
+        String[] properties = parsedPaths.get(path);
+        if (properties == null) {
+            properties = parseValuePath(path);
+            if (parsedPaths.size() < PARSED_PATHS_CACHE_LIMIT) {
+                parsedPaths.put(path, properties);
+            }
+        }
+        return properties;
+    }
+
     /**
      * Converts an array of identifiers to a dot-separated string, enclosing identifiers, containing dots, in square
      * brackets.
@@ -113,7 +135,7 @@ public final class InstanceUtils {
      * @return attribute value
      */
     public static <T> T getValueEx(Instance instance, String propertyPath) {
-        String[] properties = parseValuePath(propertyPath);
+        String[] properties = getParsedValuePath(propertyPath);
         return getValueEx(instance, properties);
     }
 
@@ -125,6 +147,10 @@ public final class InstanceUtils {
      * @return attribute value
      */
     public static <T> T getValueEx(Instance instance, Instance.BeanPropertyPath propertyPath) {
+        if (propertyPath instanceof MetaPropertyPath) {
+            return ((MetaPropertyPath) propertyPath).getAccessor().getValue(instance);
+        }
+
         if (propertyPath.isDirectProperty()) {
             return instance.getValue(propertyPath.getFirstPropertyName());
         }
@@ -168,7 +194,7 @@ public final class InstanceUtils {
      * @param value        attribute value
      */
     public static void setValueEx(Instance instance, String propertyPath, Object value) {
-        String[] properties = parseValuePath(propertyPath);
+        String[] properties = getParsedValuePath(propertyPath);
         setValueEx(instance, properties, value);
     }
 
@@ -202,8 +228,7 @@ public final class InstanceUtils {
                 instance = instance.getValue(properties[0]);
             } else {
                 String[] subarray = ArrayUtils.subarray(properties, 0, properties.length - 1);
-                String intermediatePath = formatValuePath(subarray);
-                instance = instance.getValueEx(intermediatePath);
+                instance = getValueEx(instance, subarray);
             }
 
             if (instance != null) {
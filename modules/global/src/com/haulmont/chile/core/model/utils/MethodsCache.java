@@ -19,15 +19,20 @@ package com.haulmont.chile.core.model.utils;
 import com.google.common.collect.ImmutableMap;
 import org.apache.commons.lang3.StringUtils;
 
+import javax.annotation.Nullable;
+
 import java.lang.invoke.*;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 public class MethodsCache {
 
+    private static final Map<Class, MethodsCache> methodCacheMap = new ConcurrentHashMap<>();
+
     private final Map<String, Function> getters = new HashMap<>();
     private final Map<String, BiConsumer> setters = new HashMap<>();
     private String className;
@@ -65,6 +70,18 @@ public class MethodsCache {
         className = clazz.toString();
     }
 
+    /**
+     * @param clazz class
+     * @return cache of getters and setters of the given class, created on first access
+     */
+    public static MethodsCache getOrCreate(Class clazz) {
+        MethodsCache cache = methodCacheMap.get(clazz);
+        if (cache == null) {
+            cache = methodCacheMap.computeIfAbsent(clazz, MethodsCache::new);
+        }
+        return cache;
+    }
+
     protected Function createGetter(Class clazz, Method method) {
         Function getter;
         try {
@@ -114,6 +131,15 @@ public class MethodsCache {
         getSetterNN(property).accept(object, value);
     }
 
+    /**
+     * @param property name of property associated with getter
+     * @return lambda {@link Function} which represents getter or null if not found
+     */
+    @Nullable
+    public Function getGetter(String property) {
+        return getters.get(property);
+    }
+
     /**
      * @param property name of property associated with getter
      * @return lambda {@link Function} which represents getter
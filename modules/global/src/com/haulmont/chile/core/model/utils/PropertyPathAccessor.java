@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.chile.core.model.utils;
+
+import com.haulmont.chile.core.model.Instance;
+import com.haulmont.chile.core.model.impl.AbstractInstance;
+import com.haulmont.cuba.core.app.dynamicattributes.DynamicAttributesUtils;
+import com.haulmont.cuba.core.entity.BaseGenericIdEntity;
+
+import java.util.function.Function;
+
+/**
+ * Reads values of a property path resolving getters once per entity class instead of looking them up by property
+ * name on every {@link Instance#getValue(String)} call.
+ * <p>
+ * The accessor remembers the last seen class and its getter for each path element, so reading the same path of
+ * entities of the same class results in direct getter invocations. Instances defining their own attribute access,
+ * e.g. {@code KeyValueEntity}, and dynamic attributes are read through {@link Instance#getValue(String)}.
+ * <p>
+ * Instances are thread safe and are intended to be cached, see {@link com.haulmont.chile.core.model.MetaPropertyPath}.
+ */
+public class PropertyPathAccessor {
+
+    private static final ClassValue<Boolean> directAccessClasses = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!AbstractInstance.class.isAssignableFrom(type)) {
+                return false;
+            }
+            try {
+                Class<?> declaringClass = type.getMethod("getValue", String.class).getDeclaringClass();
+                // BaseGenericIdEntity overrides getValue() only to support dynamic attributes
+                return declaringClass == AbstractInstance.class || declaringClass == BaseGenericIdEntity.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final String[] properties;
+    private final boolean[] dynamicAttributes;
+    private final ResolvedGetter[] getters;
+
+    public PropertyPathAccessor(String[] properties) {
+        this.properties = properties;
+        this.dynamicAttributes = new boolean[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            dynamicAttributes[i] = DynamicAttributesUtils.isDynamicAttribute(properties[i]);
+        }
+        this.getters = new ResolvedGetter[properties.length];
+    }
+
+    /**
+     * Get value of the path according to the rules described in {@link Instance#getValueEx(String)}.
+     *
+     * @param instance instance
+     * @return value or null if the instance or any intermediate value is null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(Instance instance) {
+        Object currentValue = null;
+        Instance currentInstance = instance;
+        for (int i = 0; i < properties.length; i++) {
+            if (currentInstance == null)
+                break;
+
+            currentValue = getPropertyValue(currentInstance, i);
+            if (currentValue == null)
+                break;
+
+            currentInstance = currentValue instanceof Instance ? (Instance) currentValue : null;
+        }
+        return (T) currentValue;
+    }
+
+    protected Object getPropertyValue(Instance instance, int index) {
+        if (dynamicAttributes[index]) {
+            return instance.getValue(properties[index]);
+        }
+
+        Class<?> instanceClass = instance.getClass();
+        ResolvedGetter resolved = getters[index];
+        if (resolved == null || resolved.instanceClass != instanceClass) {
+            resolved = resolveGetter(instanceClass, properties[index]);
+            getters[index] = resolved;
+        }
+
+        //noinspection unchecked
+        return resolved.getter != null ? resolved.getter.apply(instance) : instance.getValue(properties[index]);
+    }
+
+    protected ResolvedGetter resolveGetter(Class<?> instanceClass, String property) {
+        Function getter = null;
+        if (directAccessClasses.get(instanceClass)) {
+            getter = MethodsCache.getOrCreate(instanceClass).getGetter(property);
+        }
+        return new ResolvedGetter(instanceClass, getter);
+    }
+
+    /**
+     * Getter resolved for a particular class. Immutable, so it can be published to other threads without
+     * synchronization.
+     */
+    protected static final class ResolvedGetter {
+
+        private final Class<?> instanceClass;
+        private final Function getter;
+
+        private ResolvedGetter(Class<?> instanceClass, Function getter) {
+            this.instanceClass = instanceClass;
+            this.getter = getter;
+        }
+    }
+}
@@ -74,4 +74,15 @@ public interface DataService {
 
     @CheckReturnValue
     List<KeyValueEntity> loadValues(ValueLoadContext context);
+
+    /**
+     * Executes several load requests in one call. Loads from the main data store are performed in a single
+     * read-only transaction.
+     * @param contexts  list of {@link LoadContext} and {@link ValueLoadContext} objects
+     * @return          list of results in the order of passed contexts: a list of entity instances for
+     *                  {@code LoadContext} (at most one instance if the context defines an id) and a list of
+     *                  {@code KeyValueEntity} for {@code ValueLoadContext}
+     */
+    @CheckReturnValue
+    List<List<?>> loadBatch(List<?> contexts);
 }
\ No newline at end of file
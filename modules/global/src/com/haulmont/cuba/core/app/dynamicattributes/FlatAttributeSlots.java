@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.app.dynamicattributes;
+
+import com.haulmont.cuba.core.entity.Category;
+import com.haulmont.cuba.core.entity.CategoryAttribute;
+import com.haulmont.cuba.core.entity.FlatAttributeValues;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Assigns dynamic attributes of a category to the slot columns of {@link FlatAttributeValues}.
+ * <p>
+ * The slot is stored in {@link CategoryAttribute#getFlatSlot()} when the attribute is saved and is kept until the
+ * attribute changes its type. Slots ever assigned in a category are listed in {@link Category#getFlatSlots()} and
+ * are not reused, so removing or changing an attribute does not move other attributes to other slots.
+ * Collection, entity and date without time attributes and attributes created after all
+ * {@link FlatAttributeValues#SLOTS_PER_TYPE} slots of the same type are used are not flattened.
+ */
+public final class FlatAttributeSlots {
+
+    private FlatAttributeSlots() {
+    }
+
+    /**
+     * @param category   category
+     * @param attributes attributes of the category's entity, attributes of other categories are ignored
+     * @return map of attribute codes to the names of {@link FlatAttributeValues} slot properties
+     */
+    public static Map<String, String> getSlots(Category category, Collection<CategoryAttribute> attributes) {
+        Map<String, String> slots = new LinkedHashMap<>();
+        for (CategoryAttribute attribute : attributes) {
+            if (category.equals(attribute.getCategory())) {
+                String slot = getSlot(attribute);
+                if (slot != null) {
+                    slots.put(attribute.getCode(), slot);
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * @param attribute attribute
+     * @return name of the {@link FlatAttributeValues} slot property storing the attribute or null if the attribute
+     * is not flattened
+     */
+    @Nullable
+    public static String getSlot(CategoryAttribute attribute) {
+        String slot = attribute.getFlatSlot();
+        String slotPrefix = getSlotPrefix(attribute);
+        if (slot == null || slotPrefix == null || !slot.startsWith(slotPrefix)) {
+            return null;
+        }
+        return slot;
+    }
+
+    /**
+     * Assigns a free slot to the attribute if it has no slot matching its type and registers the slot in the
+     * attribute's category. The category must be the instance that is saved together with the attribute.
+     *
+     * @param attribute attribute
+     * @return true if the slot of the attribute has been changed
+     */
+    public static boolean assignSlot(CategoryAttribute attribute) {
+        Category category = attribute.getCategory();
+        String slotPrefix = getSlotPrefix(attribute);
+        if (category == null || slotPrefix == null) {
+            if (attribute.getFlatSlot() == null) {
+                return false;
+            }
+            attribute.setFlatSlot(null);
+            return true;
+        }
+        if (getSlot(attribute) != null) {
+            return false;
+        }
+
+        Set<String> usedSlots = new LinkedHashSet<>();
+        if (category.getFlatSlots() != null) {
+            usedSlots.addAll(Arrays.asList(StringUtils.split(category.getFlatSlots(), ',')));
+        }
+        String slot = null;
+        for (int i = 1; i <= FlatAttributeValues.SLOTS_PER_TYPE && slot == null; i++) {
+            if (!usedSlots.contains(slotPrefix + i)) {
+                slot = slotPrefix + i;
+            }
+        }
+        if (slot != null) {
+            usedSlots.add(slot);
+            category.setFlatSlots(String.join(",", usedSlots));
+        }
+        boolean changed = !Objects.equals(slot, attribute.getFlatSlot());
+        attribute.setFlatSlot(slot);
+        return changed;
+    }
+
+    @Nullable
+    private static String getSlotPrefix(CategoryAttribute attribute) {
+        if (BooleanUtils.isTrue(attribute.getIsCollection()) || attribute.getDataType() == null) {
+            return null;
+        }
+        switch (attribute.getDataType()) {
+            case STRING:
+            case ENUMERATION:
+                return "stringValue";
+            case INTEGER:
+                return "intValue";
+            case DOUBLE:
+                return "doubleValue";
+            case DATE:
+                return "dateValue";
+            case BOOLEAN:
+                return "booleanValue";
+            default:
+                return null;
+        }
+    }
+}
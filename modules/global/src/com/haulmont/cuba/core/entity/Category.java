@@ -62,6 +62,10 @@ public class Category extends StandardEntity {
     @Column(name = "SPECIAL")
     protected String special;
 
+    @Column(name = "FLAT_SLOTS", length = 1000)
+    @SystemLevel
+    protected String flatSlots;
+
     public String getName() {
         return name;
     }
@@ -110,6 +114,18 @@ public class Category extends StandardEntity {
         this.localeNames = localeNames;
     }
 
+    /**
+     * @return comma-separated names of {@link FlatAttributeValues} slot properties ever assigned to the attributes
+     * of the category. The slots are not reused after an attribute is removed or changes its type.
+     */
+    public String getFlatSlots() {
+        return flatSlots;
+    }
+
+    public void setFlatSlots(String flatSlots) {
+        this.flatSlots = flatSlots;
+    }
+
     public String getLocaleName() {
         localeName = LocaleHelper.getLocalizedName(localeNames);
         if (localeName == null) {
@@ -146,6 +146,10 @@ public class CategoryAttribute extends StandardEntity {
     @Column(name = "ENUMERATION_LOCALES")
     protected String enumerationLocales;
 
+    @Column(name = "FLAT_SLOT", length = 50)
+    @SystemLevel
+    protected String flatSlot;
+
     @Transient
     @MetaProperty(related = {"localeNames", "name"})
     protected String localeName;
@@ -480,6 +484,17 @@ public class CategoryAttribute extends StandardEntity {
         return enumerationLocale;
     }
 
+    /**
+     * @return name of the {@link FlatAttributeValues} slot property assigned to the attribute or null
+     */
+    public String getFlatSlot() {
+        return flatSlot;
+    }
+
+    public void setFlatSlot(String flatSlot) {
+        this.flatSlot = flatSlot;
+    }
+
     public Map<String, Object> getLocalizedEnumerationMap() {
         String enumeration = getEnumeration();
         String[] values = StringUtils.split(enumeration, ',');
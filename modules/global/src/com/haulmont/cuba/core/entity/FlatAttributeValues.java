@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.entity;
+
+import com.haulmont.cuba.core.entity.annotation.EmbeddedParameters;
+import com.haulmont.cuba.core.entity.annotation.SystemLevel;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Flattened copy of the dynamic attribute values of one entity instance in one category.
+ * <p>
+ * Each attribute of the category is stored in a typed slot column, see
+ * {@link com.haulmont.cuba.core.app.dynamicattributes.FlatAttributeSlots}. Rows are maintained when dynamic
+ * attributes are stored if {@code cuba.dynamicAttributes.flatStorageEnabled} is true, so queries and filter
+ * conditions can use a single join instead of a join or subquery per attribute.
+ */
+@javax.persistence.Entity(name = "sys$FlatAttributeValues")
+@Table(name = "SYS_ATTR_FLAT_VALUES")
+@SystemLevel
+public class FlatAttributeValues extends BaseUuidEntity {
+
+    private static final long serialVersionUID = 4711985730146528371L;
+
+    /**
+     * Number of slot columns of each type.
+     */
+    public static final int SLOTS_PER_TYPE = 5;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "CATEGORY_ID")
+    private Category category;
+
+    @Embedded
+    @EmbeddedParameters(nullAllowed = false)
+    private ReferenceToEntity entity;
+
+    @Column(name = "STRING_VALUE_1")
+    private String stringValue1;
+
+    @Column(name = "STRING_VALUE_2")
+    private String stringValue2;
+
+    @Column(name = "STRING_VALUE_3")
+    private String stringValue3;
+
+    @Column(name = "STRING_VALUE_4")
+    private String stringValue4;
+
+    @Column(name = "STRING_VALUE_5")
+    private String stringValue5;
+
+    @Column(name = "INTEGER_VALUE_1")
+    private Integer intValue1;
+
+    @Column(name = "INTEGER_VALUE_2")
+    private Integer intValue2;
+
+    @Column(name = "INTEGER_VALUE_3")
+    private Integer intValue3;
+
+    @Column(name = "INTEGER_VALUE_4")
+    private Integer intValue4;
+
+    @Column(name = "INTEGER_VALUE_5")
+    private Integer intValue5;
+
+    @Column(name = "DOUBLE_VALUE_1")
+    private Double doubleValue1;
+
+    @Column(name = "DOUBLE_VALUE_2")
+    private Double doubleValue2;
+
+    @Column(name = "DOUBLE_VALUE_3")
+    private Double doubleValue3;
+
+    @Column(name = "DOUBLE_VALUE_4")
+    private Double doubleValue4;
+
+    @Column(name = "DOUBLE_VALUE_5")
+    private Double doubleValue5;
+
+    @Column(name = "DATE_VALUE_1")
+    private Date dateValue1;
+
+    @Column(name = "DATE_VALUE_2")
+    private Date dateValue2;
+
+    @Column(name = "DATE_VALUE_3")
+    private Date dateValue3;
+
+    @Column(name = "DATE_VALUE_4")
+    private Date dateValue4;
+
+    @Column(name = "DATE_VALUE_5")
+    private Date dateValue5;
+
+    @Column(name = "BOOLEAN_VALUE_1")
+    private Boolean booleanValue1;
+
+    @Column(name = "BOOLEAN_VALUE_2")
+    private Boolean booleanValue2;
+
+    @Column(name = "BOOLEAN_VALUE_3")
+    private Boolean booleanValue3;
+
+    @Column(name = "BOOLEAN_VALUE_4")
+    private Boolean booleanValue4;
+
+    @Column(name = "BOOLEAN_VALUE_5")
+    private Boolean booleanValue5;
+
+    public Category getCategory() {
+        return category;
+    }
+
+    public void setCategory(Category category) {
+        this.category = category;
+    }
+
+    public ReferenceToEntity getEntity() {
+        return entity;
+    }
+
+    public void setEntity(ReferenceToEntity entity) {
+        this.entity = entity;
+    }
+
+    public Object getObjectEntityId() {
+        return entity.getObjectEntityId();
+    }
+
+    public void setObjectEntityId(Object entityId) {
+        entity.setObjectEntityId(entityId);
+    }
+
+    public String getStringValue1() {
+        return stringValue1;
+    }
+
+    public void setStringValue1(String stringValue1) {
+        this.stringValue1 = stringValue1;
+    }
+
+    public String getStringValue2() {
+        return stringValue2;
+    }
+
+    public void setStringValue2(String stringValue2) {
+        this.stringValue2 = stringValue2;
+    }
+
+    public String getStringValue3() {
+        return stringValue3;
+    }
+
+    public void setStringValue3(String stringValue3) {
+        this.stringValue3 = stringValue3;
+    }
+
+    public String getStringValue4() {
+        return stringValue4;
+    }
+
+    public void setStringValue4(String stringValue4) {
+        this.stringValue4 = stringValue4;
+    }
+
+    public String getStringValue5() {
+        return stringValue5;
+    }
+
+    public void setStringValue5(String stringValue5) {
+        this.stringValue5 = stringValue5;
+    }
+
+    public Integer getIntValue1() {
+        return intValue1;
+    }
+
+    public void setIntValue1(Integer intValue1) {
+        this.intValue1 = intValue1;
+    }
+
+    public Integer getIntValue2() {
+        return intValue2;
+    }
+
+    public void setIntValue2(Integer intValue2) {
+        this.intValue2 = intValue2;
+    }
+
+    public Integer getIntValue3() {
+        return intValue3;
+    }
+
+    public void setIntValue3(Integer intValue3) {
+        this.intValue3 = intValue3;
+    }
+
+    public Integer getIntValue4() {
+        return intValue4;
+    }
+
+    public void setIntValue4(Integer intValue4) {
+        this.intValue4 = intValue4;
+    }
+
+    public Integer getIntValue5() {
+        return intValue5;
+    }
+
+    public void setIntValue5(Integer intValue5) {
+        this.intValue5 = intValue5;
+    }
+
+    public Double getDoubleValue1() {
+        return doubleValue1;
+    }
+
+    public void setDoubleValue1(Double doubleValue1) {
+        this.doubleValue1 = doubleValue1;
+    }
+
+    public Double getDoubleValue2() {
+        return doubleValue2;
+    }
+
+    public void setDoubleValue2(Double doubleValue2) {
+        this.doubleValue2 = doubleValue2;
+    }
+
+    public Double getDoubleValue3() {
+        return doubleValue3;
+    }
+
+    public void setDoubleValue3(Double doubleValue3) {
+        this.doubleValue3 = doubleValue3;
+    }
+
+    public Double getDoubleValue4() {
+        return doubleValue4;
+    }
+
+    public void setDoubleValue4(Double doubleValue4) {
+        this.doubleValue4 = doubleValue4;
+    }
+
+    public Double getDoubleValue5() {
+        return doubleValue5;
+    }
+
+    public void setDoubleValue5(Double doubleValue5) {
+        this.doubleValue5 = doubleValue5;
+    }
+
+    public Date getDateValue1() {
+        return dateValue1;
+    }
+
+    public void setDateValue1(Date dateValue1) {
+        this.dateValue1 = dateValue1;
+    }
+
+    public Date getDateValue2() {
+        return dateValue2;
+    }
+
+    public void setDateValue2(Date dateValue2) {
+        this.dateValue2 = dateValue2;
+    }
+
+    public Date getDateValue3() {
+        return dateValue3;
+    }
+
+    public void setDateValue3(Date dateValue3) {
+        this.dateValue3 = dateValue3;
+    }
+
+    public Date getDateValue4() {
+        return dateValue4;
+    }
+
+    public void setDateValue4(Date dateValue4) {
+        this.dateValue4 = dateValue4;
+    }
+
+    public Date getDateValue5() {
+        return dateValue5;
+    }
+
+    public void setDateValue5(Date dateValue5) {
+        this.dateValue5 = dateValue5;
+    }
+
+    public Boolean getBooleanValue1() {
+        return booleanValue1;
+    }
+
+    public void setBooleanValue1(Boolean booleanValue1) {
+        this.booleanValue1 = booleanValue1;
+    }
+
+    public Boolean getBooleanValue2() {
+        return booleanValue2;
+    }
+
+    public void setBooleanValue2(Boolean booleanValue2) {
+        this.booleanValue2 = booleanValue2;
+    }
+
+    public Boolean getBooleanValue3() {
+        return booleanValue3;
+    }
+
+    public void setBooleanValue3(Boolean booleanValue3) {
+        this.booleanValue3 = booleanValue3;
+    }
+
+    public Boolean getBooleanValue4() {
+        return booleanValue4;
+    }
+
+    public void setBooleanValue4(Boolean booleanValue4) {
+        this.booleanValue4 = booleanValue4;
+    }
+
+    public Boolean getBooleanValue5() {
+        return booleanValue5;
+    }
+
+    public void setBooleanValue5(Boolean booleanValue5) {
+        this.booleanValue5 = booleanValue5;
+    }
+}
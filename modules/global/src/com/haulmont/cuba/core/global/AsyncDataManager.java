@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.global;
+
+import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.core.entity.KeyValueEntity;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous counterpart of {@link DataManager}. Each operation is executed by {@link DataManager} in a separate
+ * thread with the security context of the calling thread, so independent loads can be performed concurrently.
+ * <p>
+ * Resulting futures are completed in a worker thread. On the client tier, do not access UI components in the
+ * dependent stages: wait for the result in the UI thread or use {@code UIAccessor}.
+ */
+public interface AsyncDataManager {
+
+    String NAME = "cuba_AsyncDataManager";
+
+    /**
+     * Loads a single entity instance asynchronously.
+     *
+     * @see DataManager#load(LoadContext)
+     */
+    <E extends Entity> CompletableFuture<E> load(LoadContext<E> context);
+
+    /**
+     * Loads collection of entity instances asynchronously.
+     *
+     * @see DataManager#loadList(LoadContext)
+     */
+    <E extends Entity> CompletableFuture<List<E>> loadList(LoadContext<E> context);
+
+    /**
+     * Returns the number of entity instances for the given query asynchronously.
+     *
+     * @see DataManager#getCount(LoadContext)
+     */
+    CompletableFuture<Long> getCount(LoadContext<? extends Entity> context);
+
+    /**
+     * Loads list of key-value pairs asynchronously.
+     *
+     * @see DataManager#loadValues(ValueLoadContext)
+     */
+    CompletableFuture<List<KeyValueEntity>> loadValues(ValueLoadContext context);
+
+    /**
+     * Commits a collection of new or detached entity instances to the database asynchronously.
+     *
+     * @see DataManager#commit(CommitContext)
+     */
+    CompletableFuture<EntitySet> commit(CommitContext context);
+}
@@ -22,10 +22,18 @@ import com.haulmont.cuba.core.entity.BaseGenericIdEntity;
 import com.haulmont.cuba.core.entity.Entity;
 import com.haulmont.cuba.core.entity.KeyValueEntity;
 import com.haulmont.cuba.core.entity.contracts.Id;
+import com.haulmont.cuba.core.sys.ChunkIterator;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Central interface to provide CRUD functionality. Can be used on both middle and client tiers.
@@ -166,6 +174,83 @@ public interface DataManager {
     @CheckReturnValue
     List<KeyValueEntity> loadValues(ValueLoadContext context);
 
+    /**
+     * Executes several load requests at once. On the client tier, all requests are passed to the middleware in one
+     * call and loads from the main data store are performed in a single read-only transaction.
+     * @param contexts  list of {@link LoadContext} and {@link ValueLoadContext} objects
+     * @return list of results in the order of passed contexts: a list of entity instances for {@code LoadContext}
+     * (at most one instance if the context defines an id) and a list of {@code KeyValueEntity} for
+     * {@code ValueLoadContext}
+     */
+    @CheckReturnValue
+    default List<List<?>> loadBatch(List<?> contexts) {
+        List<List<?>> results = new ArrayList<>(contexts.size());
+        for (Object context : contexts) {
+            if (context instanceof ValueLoadContext) {
+                results.add(loadValues((ValueLoadContext) context));
+            } else if (context instanceof LoadContext) {
+                LoadContext<?> loadContext = (LoadContext<?>) context;
+                if (loadContext.getId() != null) {
+                    Entity entity = load(loadContext);
+                    results.add(entity != null ? Collections.singletonList(entity) : Collections.emptyList());
+                } else {
+                    results.add(loadList(loadContext));
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported load context: " + context);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Loads entities by the query defined in the context and returns them as a stream, loading and processing
+     * {@code chunkSize} entities at a time. Allows to iterate over large result sets with constant memory consumption.
+     * <p>
+     * The stream must be closed after use, for example by try-with-resources. On the middleware, entities of relational
+     * data stores are read by a database cursor in a read-only transaction, so the stream must be consumed in the
+     * calling thread. The cursor and the transaction are also released when the stream is read to the end or
+     * loading of a chunk fails. Otherwise subsequent chunks are loaded by separate queries using {@code firstResult} and
+     * {@code maxResults}, so the query should define a stable ordering.
+     *
+     * @param context   loading context
+     * @param chunkSize number of entities loaded at once
+     * @return stream of detached entities
+     */
+    @CheckReturnValue
+    default <E extends Entity> Stream<E> loadListStream(LoadContext<E> context, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        @SuppressWarnings("unchecked")
+        LoadContext<E> pageContext = (LoadContext<E>) context.copy();
+        if (pageContext.getQuery() == null) {
+            pageContext.setQueryString("select e from " + pageContext.getMetaClass() + " e");
+        }
+        int firstResult = pageContext.getQuery().getFirstResult();
+        int maxResults = pageContext.getQuery().getMaxResults();
+
+        ChunkIterator<E> iterator = new ChunkIterator<>(new Supplier<List<E>>() {
+            int loaded;
+            boolean finished;
+
+            @Override
+            public List<E> get() {
+                int size = maxResults > 0 ? Math.min(chunkSize, maxResults - loaded) : chunkSize;
+                if (finished || size <= 0) {
+                    return Collections.emptyList();
+                }
+                pageContext.getQuery().setFirstResult(firstResult + loaded);
+                pageContext.getQuery().setMaxResults(size);
+                List<E> chunk = loadList(pageContext);
+                loaded += chunk.size();
+                finished = chunk.size() < size;
+                return chunk;
+            }
+        });
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
     /**
      * By default, DataManager does not apply security restrictions on entity operations and attributes, only row-level
      * constraints take effect.
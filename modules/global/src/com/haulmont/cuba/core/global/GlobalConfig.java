@@ -171,6 +171,13 @@ public interface GlobalConfig extends Config {
     @DefaultInt(8)
     int getGroovyEvaluationPoolMaxIdle();
 
+    /**
+     * @return number of threads executing {@link AsyncDataManager} operations
+     */
+    @Property("cuba.asyncDataManager.threadsCount")
+    @DefaultInt(8)
+    int getAsyncDataManagerThreadsCount();
+
     @Property("cuba.numberIdCacheSize")
     @DefaultInt(100)
     int getNumberIdCacheSize();
@@ -239,4 +246,38 @@ public interface GlobalConfig extends Config {
     @Factory(factory = CommaSeparatedStringListTypeFactory.class)
     @Stringify(stringify = CommaSeparatedStringListStringify.class)
     List<String> getDisableEscapingLikeForDataStores();
-}
\ No newline at end of file
+
+    /**
+     * Whether dynamic attribute values are also stored in the flattened {@code sys$FlatAttributeValues} rows
+     * and generic filter conditions on dynamic attributes use them.
+     */
+    @Property("cuba.dynamicAttributes.flatStorageEnabled")
+    @DefaultBoolean(false)
+    boolean getDynamicAttributesFlatStorageEnabled();
+
+    /**
+     * Whether the flattened dynamic attribute values have been built for all existing entities. Set when the values
+     * are rebuilt and reset when dynamic attributes are changed while the flattened storage is disabled.
+     * Until it is set, filter conditions use {@code sys$CategoryAttributeValue}.
+     */
+    @Property("cuba.dynamicAttributes.flatValuesBuilt")
+    @Source(type = SourceType.DATABASE)
+    @DefaultBoolean(false)
+    boolean getDynamicAttributesFlatValuesBuilt();
+    void setDynamicAttributesFlatValuesBuilt(boolean built);
+
+    /**
+     * Whether classes are scanned and loaded by several threads on application start.
+     */
+    @Property("cuba.parallelStartupScan")
+    @DefaultBoolean(false)
+    boolean getParallelStartupScan();
+
+    /**
+     * Whether the results of classpath scanning are stored in {@link #getTempDir()} and reused on next start
+     * if the scanned JAR files and classes have not changed.
+     */
+    @Property("cuba.classpathScanIndexEnabled")
+    @DefaultBoolean(false)
+    boolean getClasspathScanIndexEnabled();
+}
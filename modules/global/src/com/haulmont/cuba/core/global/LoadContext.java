@@ -55,6 +55,7 @@ public class LoadContext<E extends Entity> implements DataLoadContext, Serializa
     protected boolean loadPartialEntities = true;
     protected boolean authorizationRequired;
     protected boolean joinTransaction;
+    protected long countEstimationThreshold;
 
     protected Map<String, Object> dbHints; // lazy initialized map
 
@@ -278,6 +279,27 @@ public class LoadContext<E extends Entity> implements DataLoadContext, Serializa
         return this;
     }
 
+    /**
+     * @return threshold above which the number of entities returned by {@link DataManager#getCount(LoadContext)}
+     * may be approximate, 0 if the count is always exact
+     */
+    public long getCountEstimationThreshold() {
+        return countEstimationThreshold;
+    }
+
+    /**
+     * Enables estimated count mode. If the number of entities does not exceed the threshold,
+     * {@link DataManager#getCount(LoadContext)} returns the exact number. Otherwise it returns a number greater
+     * than the threshold, which is either an estimate based on DBMS statistics or {@code threshold + 1}.
+     *
+     * @param countEstimationThreshold threshold, 0 to disable estimation
+     * @return this instance for chaining
+     */
+    public LoadContext<E> setCountEstimationThreshold(long countEstimationThreshold) {
+        this.countEstimationThreshold = countEstimationThreshold;
+        return this;
+    }
+
     /**
      * Creates a copy of this LoadContext instance.
      */
@@ -301,6 +323,7 @@ public class LoadContext<E extends Entity> implements DataLoadContext, Serializa
         ctx.loadDynamicAttributes = loadDynamicAttributes;
         ctx.authorizationRequired = authorizationRequired;
         ctx.joinTransaction = joinTransaction;
+        ctx.countEstimationThreshold = countEstimationThreshold;
         return ctx;
     }
 
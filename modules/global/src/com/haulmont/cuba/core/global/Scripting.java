@@ -18,6 +18,7 @@
 package com.haulmont.cuba.core.global;
 
 import groovy.lang.Binding;
+import groovy.lang.Script;
 
 import javax.annotation.Nullable;
 import java.util.Map;
@@ -61,6 +62,16 @@ public interface Scripting {
      */
     <T> T evaluateGroovy(String text, Map<String, Object> context);
 
+    /**
+     * Compiles Groovy expression into a script class without evaluating it.
+     * <p>The returned class can be instantiated many times with different bindings, e.g. using
+     * {@link org.codehaus.groovy.runtime.InvokerHelper#createScript(Class, Binding)}, which avoids
+     * borrowing a script from the compilation pool on each evaluation.</p>
+     * @param text      expression text
+     * @return          compiled script class
+     */
+    Class<? extends Script> compileGroovy(String text);
+
     /**
      * Runs Groovy script.
      * The script must be located as file under <em>conf</em> directory, or as a classpath resource.
@@ -177,6 +177,21 @@ public class ValueLoadContext implements DataLoadContext, Serializable {
         return this;
     }
 
+    /**
+     * Creates a copy of this ValueLoadContext instance. The query definition is shared with the copy.
+     */
+    public ValueLoadContext copy() {
+        ValueLoadContext ctx = new ValueLoadContext();
+        ctx.storeName = storeName;
+        ctx.query = query;
+        ctx.softDeletion = softDeletion;
+        ctx.idName = idName;
+        ctx.properties.addAll(properties);
+        ctx.authorizationRequired = authorizationRequired;
+        ctx.joinTransaction = joinTransaction;
+        return ctx;
+    }
+
     @Override
     public String toString() {
         return String.format("ValuesContext{query=%s, softDeletion=%s, keys=%s}", query, softDeletion, properties);
@@ -40,7 +40,8 @@ import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
  * <li>{@link #MINIMAL}</li>
  * <li>{@link #BASE}</li>
  * </ul>
- *
+ * Views returned by {@link ViewRepository} are shared between callers and therefore immutable. Use {@link #copy(View)}
+ * to obtain a modifiable instance.
  */
 public class View implements Serializable {
 
@@ -104,6 +105,8 @@ public class View implements Serializable {
 
     private boolean loadPartialEntities;
 
+    private transient volatile boolean frozen;
+
     public View(Class<? extends Entity> entityClass) {
         this(entityClass, "", true);
     }
@@ -166,9 +169,16 @@ public class View implements Serializable {
                 View sourcePropertyView = sourceProperty.getView();
 
                 if (sourcePropertyView != null && isNotEmpty(sourcePropertyView.getProperties())) {
-
-                    Map<String, ViewProperty> thisViewProperties = thisProperties.get(sourcePropertyName).getView().properties;
-                    putProperties(thisViewProperties, sourcePropertyView.getProperties());
+                    ViewProperty thisProperty = thisProperties.get(sourcePropertyName);
+                    View thisPropertyView = thisProperty.getView();
+                    if (thisPropertyView.frozen) {
+                        // the nested view is shared, merge into a copy
+                        thisPropertyView = copy(thisPropertyView);
+                        thisProperties.put(sourcePropertyName,
+                                new ViewProperty(sourcePropertyName, thisPropertyView, thisProperty.getFetchMode()));
+                    }
+
+                    putProperties(thisPropertyView.properties, sourcePropertyView.getProperties());
                 }
 
             } else {
@@ -177,6 +187,9 @@ public class View implements Serializable {
         }
     }
 
+    /**
+     * Creates a deep modifiable copy of the given view.
+     */
     public static View copy(@Nullable View view) {
         if (view == null) {
             return null;
@@ -193,6 +206,39 @@ public class View implements Serializable {
         return copy;
     }
 
+    /**
+     * Makes this view and all its nested views immutable, so the instance can be safely shared between threads
+     * and callers. Subsequent attempts to modify the view throw {@link IllegalStateException}.
+     *
+     * @return this view instance
+     */
+    public View freeze() {
+        if (!frozen) {
+            for (ViewProperty property : properties.values()) {
+                if (property.getView() != null) {
+                    property.getView().freeze();
+                }
+            }
+            frozen = true;
+        }
+        return this;
+    }
+
+    /**
+     * @return true if the view is immutable
+     * @see #freeze()
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    protected void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException(String.format(
+                    "View %s is shared and cannot be modified, use View.copy() to get a modifiable instance", this));
+        }
+    }
+
     /**
      * @return entity class this view belongs to
      */
@@ -211,7 +257,7 @@ public class View implements Serializable {
      * @return collection of properties
      */
     public Collection<ViewProperty> getProperties() {
-        return properties.values();
+        return frozen ? Collections.unmodifiableCollection(properties.values()) : properties.values();
     }
 
     /**
@@ -222,12 +268,14 @@ public class View implements Serializable {
      * @return      this view instance for chaining
      */
     public View addProperty(String name, @Nullable View view, FetchMode fetchMode) {
+        checkNotFrozen();
         properties.put(name, new ViewProperty(name, view, fetchMode));
         return this;
     }
 
     @Deprecated
     public View addProperty(String name, @Nullable View view, boolean lazy) {
+        checkNotFrozen();
         properties.put(name, new ViewProperty(name, view, lazy));
         return this;
     }
@@ -239,6 +287,7 @@ public class View implements Serializable {
      * @return      this view instance for chaining
      */
     public View addProperty(String name, View view) {
+        checkNotFrozen();
         properties.put(name, new ViewProperty(name, view));
         return this;
     }
@@ -249,6 +298,7 @@ public class View implements Serializable {
      * @return      this view instance for chaining
      */
     public View addProperty(String name) {
+        checkNotFrozen();
         properties.put(name, new ViewProperty(name, null));
         return this;
     }
@@ -312,6 +362,7 @@ public class View implements Serializable {
      * @return this view instance for chaining
      */
     public View setLoadPartialEntities(boolean loadPartialEntities) {
+        checkNotFrozen();
         this.loadPartialEntities = loadPartialEntities;
         return this;
     }
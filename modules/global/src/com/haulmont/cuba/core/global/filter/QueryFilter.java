@@ -24,6 +24,7 @@ import org.dom4j.Element;
 import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -32,6 +33,11 @@ public class QueryFilter extends FilterParser implements Serializable {
     protected boolean enableSessionParams = AppBeans.get(Configuration.class)
             .getConfig(GlobalConfig.class).getEnableSessionParamsInQueryFilter();
 
+    protected static final int PROCESSED_QUERIES_CACHE_SIZE = 32;
+
+    // results of processQuery() by query text and names of parameters having values
+    protected transient Map<String, String> processedQueries;
+
     public QueryFilter(Condition condition) {
         super(condition);
     }
@@ -64,6 +70,27 @@ public class QueryFilter extends FilterParser implements Serializable {
 
         query = TemplateHelper.processTemplate(query, paramValues);
 
+        String cacheKey = query + "|" + new TreeSet<>(params);
+        Map<String, String> processedQueries = getProcessedQueries();
+        String result = processedQueries.get(cacheKey);
+        if (result == null) {
+            result = applyConditions(query, params);
+            if (processedQueries.size() >= PROCESSED_QUERIES_CACHE_SIZE) {
+                processedQueries.clear();
+            }
+            processedQueries.put(cacheKey, result);
+        }
+        return result;
+    }
+
+    protected Map<String, String> getProcessedQueries() {
+        if (processedQueries == null) {
+            processedQueries = new ConcurrentHashMap<>();
+        }
+        return processedQueries;
+    }
+
+    protected String applyConditions(String query, Set<String> params) {
         if (isActual(root, params)) {
             Condition refined = refine(root, params);
             if (refined != null) {
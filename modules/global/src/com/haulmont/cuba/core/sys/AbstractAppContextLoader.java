@@ -30,6 +30,9 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.util.ResourceUtils;
 
 import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Base class for {@link AppContext} loaders.
@@ -40,8 +43,40 @@ public abstract class AbstractAppContextLoader {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractAppContextLoader.class);
 
+    protected Map<String, Long> startupPhases = new LinkedHashMap<>();
+    protected long startTime;
+    protected long phaseStartTime;
+
     protected abstract String getBlock();
 
+    /**
+     * Starts measuring application startup time.
+     */
+    protected void startTiming() {
+        startTime = System.currentTimeMillis();
+        phaseStartTime = startTime;
+        startupPhases.clear();
+    }
+
+    /**
+     * Records duration of the startup phase finished since the previous phase.
+     */
+    protected void endPhase(String phase) {
+        long now = System.currentTimeMillis();
+        startupPhases.merge(phase, now - phaseStartTime, Long::sum);
+        phaseStartTime = now;
+    }
+
+    /**
+     * @return total startup time and durations of the recorded phases
+     */
+    protected String getStartupTimings() {
+        String phases = startupPhases.entrySet().stream()
+                .map(e -> e.getKey() + ": " + e.getValue() + " ms")
+                .collect(Collectors.joining(", "));
+        return (System.currentTimeMillis() - startTime) + " ms (" + phases + ")";
+    }
+
     protected void afterInitAppProperties() {
     }
 
@@ -61,9 +96,11 @@ public abstract class AbstractAppContextLoader {
 
         ApplicationContext appContext = createApplicationContext(locations);
         AppContext.Internals.setApplicationContext(appContext);
+        endPhase("application context");
 
         Events events = appContext.getBean(Events.NAME, Events.class);
         events.publish(new AppContextInitializedEvent(appContext));
+        endPhase("context initialized listeners");
 
         log.debug("AppContext initialized");
     }
@@ -241,6 +241,11 @@ public abstract class AbstractScripting implements Scripting {
         return (T) evaluateGroovy(text, binding);
     }
 
+    @Override
+    public Class<? extends Script> compileGroovy(String text) {
+        return createScript(text).getClass();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T runGroovyScript(String name, Binding binding) {
@@ -66,6 +66,9 @@ public class AbstractViewRepository implements ViewRepository {
 
     protected Map<MetaClass, Map<String, View>> storage = new ConcurrentHashMap<>();
 
+    // immutable copies of deployed views returned to callers, cleared on any deployment
+    protected Map<MetaClass, Map<String, View>> sharedViews = new ConcurrentHashMap<>();
+
     @Inject
     protected Metadata metadata;
 
@@ -74,6 +77,10 @@ public class AbstractViewRepository implements ViewRepository {
 
     protected volatile boolean initialized;
 
+    // lazy mode: merged views configuration and view elements not deployed yet, grouped by entity
+    protected Element lazyRootElem;
+    protected Map<MetaClass, List<Element>> pendingViews = new ConcurrentHashMap<>();
+
     protected ReadWriteLock lock = new ReentrantReadWriteLock();
 
     protected void checkInitialized() {
@@ -97,6 +104,9 @@ public class AbstractViewRepository implements ViewRepository {
         StopWatch initTiming = new Slf4JStopWatch("ViewRepository.init." + getClass().getSimpleName());
 
         storage.clear();
+        pendingViews.clear();
+        lazyRootElem = null;
+        onViewsChanged();
         readFileNames.clear();
 
         String configName = AppContext.getProperty("cuba.viewsConfig");
@@ -110,14 +120,73 @@ public class AbstractViewRepository implements ViewRepository {
 
             checkDuplicates(rootElem);
 
-            for (Element viewElem : Dom4j.elements(rootElem, "view")) {
-                deployView(rootElem, viewElem, new HashSet<>());
+            if (isLazyInitialization()) {
+                lazyRootElem = rootElem;
+                for (Element viewElem : Dom4j.elements(rootElem, "view")) {
+                    pendingViews.computeIfAbsent(getMetaClass(viewElem), k -> new ArrayList<>()).add(viewElem);
+                }
+                log.info("Views of {} entities will be deployed on first access", pendingViews.size());
+            } else {
+                for (Element viewElem : Dom4j.elements(rootElem, "view")) {
+                    deployView(rootElem, viewElem, new HashSet<>());
+                }
             }
         }
 
         initTiming.stop();
     }
 
+    /**
+     * @return true if views from the configuration files should be deployed on first access to the views of
+     * each entity instead of on repository initialization, see {@code cuba.lazyViewsInitialization} property
+     */
+    protected boolean isLazyInitialization() {
+        return Boolean.parseBoolean(AppContext.getProperty("cuba.lazyViewsInitialization"));
+    }
+
+    /**
+     * Deploys views of the given entity that are declared in the configuration files but not deployed yet.
+     * Must be invoked under the write lock.
+     */
+    protected void deployPendingViews(MetaClass metaClass) {
+        List<Element> viewElements = pendingViews.remove(metaClass);
+        if (viewElements != null) {
+            for (Element viewElem : viewElements) {
+                deployView(lazyRootElem, viewElem, new HashSet<>());
+            }
+        }
+    }
+
+    /**
+     * Deploys all views declared in the configuration files but not deployed yet. Must be invoked under the
+     * write lock.
+     */
+    protected void deployPendingViews() {
+        while (!pendingViews.isEmpty()) {
+            deployPendingViews(pendingViews.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Initializes the repository and deploys all views, including the ones postponed in the lazy mode.
+     *
+     * @return number of deployed views
+     */
+    public int initializeAll() {
+        lock.writeLock().lock();
+        try {
+            if (!initialized) {
+                log.info("Initializing views");
+                init();
+                initialized = true;
+            }
+            deployPendingViews();
+            return getAllInitialized().size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     protected void checkDuplicates(Element rootElem) {
         Set<String> checked = new HashSet<>();
         for (Element viewElem : Dom4j.elements(rootElem, "view")) {
@@ -180,6 +249,15 @@ public class AbstractViewRepository implements ViewRepository {
 
     public void reset() {
         initialized = false;
+        onViewsChanged();
+    }
+
+    /**
+     * Invoked when views are (re)loaded or deployed. Drops shared view instances, so subsequent calls return
+     * instances reflecting the changes. Override to invalidate caches depending on view identity.
+     */
+    protected void onViewsChanged() {
+        sharedViews.clear();
     }
 
     /**
@@ -214,7 +292,9 @@ public class AbstractViewRepository implements ViewRepository {
     }
 
     /**
-     * Searches for a View for an entity
+     * Searches for a View for an entity.
+     * <p>
+     * The returned view is shared and immutable, use {@link View#copy(View)} to modify it.
      *
      * @param metaClass entity class
      * @param name      view name
@@ -231,15 +311,60 @@ public class AbstractViewRepository implements ViewRepository {
             return null;
         }
 
+        if (initialized) {
+            Map<String, View> views = sharedViews.get(metaClass);
+            View view = views == null ? null : views.get(name);
+            if (view != null) {
+                return view;
+            }
+        }
+
         lock.readLock().lock();
         try {
             checkInitialized();
 
-            View view = retrieveView(metaClass, name, new HashSet<>());
-            return copyView(view);
+            if (!mayDeployPendingViews(metaClass, name)) {
+                return findSharedView(metaClass, name);
+            }
         } finally {
             lock.readLock().unlock();
         }
+
+        // views of the entity are not deployed yet and the lookup may deploy them
+        lock.writeLock().lock();
+        try {
+            return findSharedView(metaClass, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Must be invoked under the read or write lock.
+     *
+     * @return true if the lookup of the view may deploy pending views and must be done under the write lock
+     */
+    protected boolean mayDeployPendingViews(MetaClass metaClass, String name) {
+        if (pendingViews.isEmpty()) {
+            return false;
+        }
+        if (pendingViews.containsKey(metaClass)) {
+            return true;
+        }
+        // a default view deployed on first access may refer to views of other entities
+        Map<String, View> views = storage.get(metaClass);
+        return (views == null || !views.containsKey(name))
+                && (name.equals(View.LOCAL) || name.equals(View.MINIMAL) || name.equals(View.BASE));
+    }
+
+    @Nullable
+    protected View findSharedView(MetaClass metaClass, String name) {
+        View view = retrieveView(metaClass, name, new HashSet<>());
+        if (view == null) {
+            return null;
+        }
+        return sharedViews.computeIfAbsent(metaClass, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, k -> copyView(view).freeze());
     }
 
     protected View copyView(@Nullable View view) {
@@ -264,6 +389,21 @@ public class AbstractViewRepository implements ViewRepository {
         lock.readLock().lock();
         try {
             checkInitialized();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (pendingViews.containsKey(metaClass)) {
+            lock.writeLock().lock();
+            try {
+                deployPendingViews(metaClass);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.readLock().lock();
+        try {
             Map<String, View> viewMap = storage.get(metaClass);
             if (viewMap != null && !viewMap.isEmpty()) {
                 Set<String> keySet = new HashSet<>(viewMap.keySet());
@@ -350,6 +490,7 @@ public class AbstractViewRepository implements ViewRepository {
         if (metaProperty.getRange().isClass()
                 && !metaProperty.getRange().getCardinality().isMany()) {
 
+            deployPendingViews(metaProperty.getRange().asClass());
             Map<String, View> views = storage.get(metaProperty.getRange().asClass());
             View refMinimalView = (views == null ? null : views.get(View.MINIMAL));
 
@@ -379,6 +520,7 @@ public class AbstractViewRepository implements ViewRepository {
 
         lock.writeLock().lock();
         try {
+            deployPendingViews();
             addFile(rootElem, resourceUrl);
 
             for (Element viewElem : Dom4j.elements(rootElem, "view")) {
@@ -422,6 +564,7 @@ public class AbstractViewRepository implements ViewRepository {
     }
 
     protected View retrieveView(MetaClass metaClass, String name, Set<ViewInfo> visited) {
+        deployPendingViews(metaClass);
         Map<String, View> views = storage.get(metaClass);
         View view = (views == null ? null : views.get(name));
         if (view == null && (name.equals(View.LOCAL) || name.equals(View.MINIMAL) || name.equals(View.BASE))) {
@@ -433,6 +576,7 @@ public class AbstractViewRepository implements ViewRepository {
     public View deployView(Element rootElem, Element viewElem) {
         lock.writeLock().lock();
         try {
+            deployPendingViews();
             return deployView(rootElem, viewElem, new HashSet<>());
         } finally {
             lock.writeLock().unlock();
@@ -490,6 +634,8 @@ public class AbstractViewRepository implements ViewRepository {
             replaceOverridden(view);
         }
 
+        onViewsChanged();
+
         return view;
     }
 
@@ -715,6 +861,21 @@ public class AbstractViewRepository implements ViewRepository {
         lock.readLock().lock();
         try {
             checkInitialized();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (!pendingViews.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                deployPendingViews();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.readLock().lock();
+        try {
             List<View> list = new ArrayList<>();
             for (Map<String, View> viewMap : storage.values()) {
                 list.addAll(viewMap.values());
@@ -67,24 +67,30 @@ public abstract class AbstractWebAppContextLoader extends AbstractAppContextLoad
     @Override
     public void contextInitialized(ServletContextEvent servletContextEvent) {
         try {
+            startTiming();
             ServletContext sc = servletContextEvent.getServletContext();
             ServletContextHolder.setServletContext(sc);
 
             initAppComponents(sc);
             initAppProperties(sc);
             afterInitAppProperties();
+            endPhase("app properties");
 
             beforeInitAppContext();
+            endPhase("before init");
             initAppContext();
             afterInitAppContext();
+            endPhase("after init");
 
             ApplicationContext applicationContext = AppContext.getApplicationContext();
 
             applicationContext.getBean(Events.class)
                     .publish(new ServletContextInitializedEvent(sc, applicationContext));
+            endPhase("servlet context listeners");
 
             AppContext.Internals.startContext();
-            log.info("AppContext started");
+            endPhase("context started listeners");
+            log.info("AppContext started in {}", getStartupTimings());
         } catch (RuntimeException e) {
             log.error("Error initializing application", e);
             try {
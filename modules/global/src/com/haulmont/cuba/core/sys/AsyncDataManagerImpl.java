@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.core.entity.KeyValueEntity;
+import com.haulmont.cuba.core.global.*;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executes {@link DataManager} operations in a thread pool configured by
+ * {@link GlobalConfig#getAsyncDataManagerThreadsCount()}.
+ */
+@Component(AsyncDataManager.NAME)
+public class AsyncDataManagerImpl implements AsyncDataManager {
+
+    @Inject
+    protected DataManager dataManager;
+
+    @Inject
+    protected GlobalConfig globalConfig;
+
+    protected ExecutorService executorService;
+
+    @PostConstruct
+    protected void init() {
+        int threadsCount = globalConfig.getAsyncDataManagerThreadsCount();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threadsCount, threadsCount,
+                1L, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("AsyncDataManager-%d")
+                        .setDaemon(true)
+                        .build()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        executorService = executor;
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        executorService.shutdownNow();
+    }
+
+    @Override
+    public <E extends Entity> CompletableFuture<E> load(LoadContext<E> context) {
+        return supplyAsync(() -> dataManager.load(context));
+    }
+
+    @Override
+    public <E extends Entity> CompletableFuture<List<E>> loadList(LoadContext<E> context) {
+        return supplyAsync(() -> dataManager.loadList(context));
+    }
+
+    @Override
+    public CompletableFuture<Long> getCount(LoadContext<? extends Entity> context) {
+        return supplyAsync(() -> dataManager.getCount(context));
+    }
+
+    @Override
+    public CompletableFuture<List<KeyValueEntity>> loadValues(ValueLoadContext context) {
+        return supplyAsync(() -> dataManager.loadValues(context));
+    }
+
+    @Override
+    public CompletableFuture<EntitySet> commit(CommitContext context) {
+        return supplyAsync(() -> dataManager.commit(context));
+    }
+
+    protected <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        SecurityContext securityContext = AppContext.getSecurityContext();
+        return CompletableFuture.supplyAsync(() -> {
+            AppContext.setSecurityContext(securityContext);
+            try {
+                return supplier.get();
+            } finally {
+                AppContext.setSecurityContext(null);
+            }
+        }, executorService);
+    }
+}
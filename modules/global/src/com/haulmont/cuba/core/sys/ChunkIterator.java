@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * INTERNAL.
+ *
+ * Iterator over elements loaded in chunks. The next chunk is requested when all elements of the previous one are
+ * returned, an empty chunk means that there are no more elements.
+ */
+public class ChunkIterator<E> implements Iterator<E> {
+
+    protected final Supplier<List<E>> chunkLoader;
+
+    protected Iterator<E> current = Collections.emptyIterator();
+    protected boolean finished;
+
+    /**
+     * @param chunkLoader function returning the next chunk of elements or an empty list if there are no more elements
+     */
+    public ChunkIterator(Supplier<List<E>> chunkLoader) {
+        this.chunkLoader = chunkLoader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (finished) {
+                return false;
+            }
+            List<E> chunk = chunkLoader.get();
+            if (chunk.isEmpty()) {
+                finished = true;
+            } else {
+                current = chunk.iterator();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
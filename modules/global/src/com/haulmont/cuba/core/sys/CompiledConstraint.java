@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys;
+
+import groovy.lang.Binding;
+import groovy.lang.Script;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory row-level constraint which Groovy script is compiled into a script class once and then shared
+ * between user sessions and threads.
+ * <p>The script is evaluated against a binding that follows a fixed contract: the checked entity is passed in the
+ * {@link #ENTITY_VARIABLE} variable, session-dependent variables are prepared once per evaluation batch and copied
+ * to a fresh binding for each entity. Script instances are not thread-safe, so each batch creates its own instance
+ * by {@link #createScript(Binding)}.</p>
+ * <p>Also accumulates evaluation statistics of the constraint.</p>
+ */
+public class CompiledConstraint {
+
+    public static final String ENTITY_VARIABLE = "__entity__";
+
+    protected final String groovyScript;
+    protected final Class<? extends Script> scriptClass;
+
+    protected final LongAdder evaluations = new LongAdder();
+    protected final LongAdder rejections = new LongAdder();
+    protected final LongAdder failures = new LongAdder();
+    protected final LongAdder evaluationTime = new LongAdder();
+
+    public CompiledConstraint(String groovyScript, Class<? extends Script> scriptClass) {
+        this.groovyScript = groovyScript;
+        this.scriptClass = scriptClass;
+    }
+
+    /**
+     * @return source text of the constraint script, as it is defined in the constraint
+     */
+    public String getGroovyScript() {
+        return groovyScript;
+    }
+
+    public Class<? extends Script> getScriptClass() {
+        return scriptClass;
+    }
+
+    /**
+     * Creates a new script instance bound to the given binding. The instance may be used to check any number of
+     * entities in the current thread by changing the {@link #ENTITY_VARIABLE} variable of the binding.
+     */
+    public Script createScript(Binding binding) {
+        return InvokerHelper.createScript(scriptClass, binding);
+    }
+
+    /**
+     * Evaluates the script for the entity in a fresh binding containing the given variables, so that variables
+     * assigned by the script for one entity are not visible for the next one.
+     *
+     * @param script    script instance created by {@link #createScript(Binding)}
+     * @param variables session-dependent variables of the binding
+     * @param entity    entity to check
+     * @return result of the script
+     */
+    public Object evaluate(Script script, Map<String, Object> variables, Object entity) {
+        script.setBinding(new Binding(new HashMap<>(variables)));
+        return evaluate(script, entity);
+    }
+
+    /**
+     * Evaluates the script for the entity and records timing statistics.
+     *
+     * @param script script instance created by {@link #createScript(Binding)}
+     * @param entity entity to check
+     * @return result of the script
+     */
+    public Object evaluate(Script script, Object entity) {
+        script.getBinding().setVariable(ENTITY_VARIABLE, entity);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = script.run();
+            success = true;
+            if (Boolean.FALSE.equals(result)) {
+                rejections.increment();
+            }
+            return result;
+        } finally {
+            evaluationTime.add(System.nanoTime() - start);
+            evaluations.increment();
+            if (!success) {
+                failures.increment();
+            }
+        }
+    }
+
+    public long getEvaluationsCount() {
+        return evaluations.sum();
+    }
+
+    public long getRejectionsCount() {
+        return rejections.sum();
+    }
+
+    public long getFailuresCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return total time spent in evaluation of the constraint, in microseconds
+     */
+    public long getEvaluationTime() {
+        return TimeUnit.NANOSECONDS.toMicros(evaluationTime.sum());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("evaluations=%d, rejections=%d, failures=%d, time=%dus: %s",
+                getEvaluationsCount(), getRejectionsCount(), getFailuresCount(), getEvaluationTime(), groovyScript);
+    }
+}
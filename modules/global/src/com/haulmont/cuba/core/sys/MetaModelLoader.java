@@ -28,6 +28,8 @@ import com.haulmont.chile.core.datatypes.impl.EnumerationImpl;
 import com.haulmont.chile.core.model.*;
 import com.haulmont.chile.core.model.impl.*;
 import com.haulmont.cuba.core.entity.annotation.MetaAnnotation;
+import com.haulmont.cuba.core.global.Configuration;
+import com.haulmont.cuba.core.global.GlobalConfig;
 import com.haulmont.cuba.core.global.MetadataTools;
 import com.haulmont.cuba.core.global.validation.groups.UiComponentChecks;
 import org.apache.commons.lang3.ArrayUtils;
@@ -47,6 +49,7 @@ import javax.validation.constraints.*;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static com.haulmont.bali.util.Preconditions.checkNotNullArgument;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -69,6 +72,8 @@ public class MetaModelLoader {
 
     protected DatatypeRegistry datatypes;
 
+    protected Configuration configuration;
+
     protected Session session;
 
     private static final Logger log = LoggerFactory.getLogger(MetaModelLoader.class);
@@ -82,18 +87,16 @@ public class MetaModelLoader {
         this.datatypes = datatypeRegistry;
     }
 
+    @Inject
+    public void setConfiguration(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
     public void loadModel(String rootPackage, List<EntityClassInfo> classInfos) {
         checkNotNullArgument(rootPackage, "rootPackage is null");
         checkNotNullArgument(classInfos, "classInfos is null");
 
-        Map<Class<?>, Boolean> classes = new LinkedHashMap<>();
-        for (EntityClassInfo classInfo : classInfos) {
-            try {
-                classes.put(ReflectionHelper.loadClass(classInfo.name), classInfo.persistent);
-            } catch (ClassNotFoundException e) {
-                log.warn("Class {} not found for model {}", classInfo.name, rootPackage);
-            }
-        }
+        Map<Class<?>, Boolean> classes = loadClasses(rootPackage, classInfos);
 
 
         for (Map.Entry<Class<?>, Boolean> entry : classes.entrySet()) {
@@ -136,6 +139,41 @@ public class MetaModelLoader {
         }
     }
 
+    protected Map<Class<?>, Boolean> loadClasses(String rootPackage, List<EntityClassInfo> classInfos) {
+        Map<Class<?>, Boolean> classes = new LinkedHashMap<>();
+        if (isParallelClassLoading()) {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            List<Class<?>> loaded = classInfos.parallelStream()
+                    .map(classInfo -> {
+                        try {
+                            return (Class<?>) classLoader.loadClass(classInfo.name);
+                        } catch (ClassNotFoundException e) {
+                            log.warn("Class {} not found for model {}", classInfo.name, rootPackage);
+                            return null;
+                        }
+                    })
+                    .collect(Collectors.toList());
+            for (int i = 0; i < classInfos.size(); i++) {
+                if (loaded.get(i) != null) {
+                    classes.put(loaded.get(i), classInfos.get(i).persistent);
+                }
+            }
+        } else {
+            for (EntityClassInfo classInfo : classInfos) {
+                try {
+                    classes.put(ReflectionHelper.loadClass(classInfo.name), classInfo.persistent);
+                } catch (ClassNotFoundException e) {
+                    log.warn("Class {} not found for model {}", classInfo.name, rootPackage);
+                }
+            }
+        }
+        return classes;
+    }
+
+    protected boolean isParallelClassLoading() {
+        return configuration != null && configuration.getConfig(GlobalConfig.class).getParallelStartupScan();
+    }
+
     @Nullable
     protected MetadataObjectInfo<MetaClass> loadClass(String packageName, Class<?> javaClass, boolean persistent) {
         MetaClassImpl metaClass = (MetaClassImpl) session.getClass(javaClass);
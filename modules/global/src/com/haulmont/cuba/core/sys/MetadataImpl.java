@@ -46,9 +46,12 @@ import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.*;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Component(Metadata.NAME)
@@ -84,13 +87,13 @@ public class MetadataImpl implements Metadata {
     @Inject
     protected GlobalConfig config;
 
-    // stores methods in the execution order, all methods are accessible
-    protected LoadingCache<Class<?>, List<Method>> postConstructMethodsCache =
+    // stores creation plans of concrete entity classes
+    protected LoadingCache<Class<?>, EntityCreationPlan> creationPlansCache =
             CacheBuilder.newBuilder()
-                    .build(new CacheLoader<Class<?>, List<Method>>() {
+                    .build(new CacheLoader<Class<?>, EntityCreationPlan>() {
                         @Override
-                        public List<Method> load(@Nonnull Class<?> concreteClass) {
-                            return getPostConstructMethodsNotCached(concreteClass);
+                        public EntityCreationPlan load(@Nonnull Class<?> concreteClass) {
+                            return createCreationPlan(concreteClass);
                         }
                     });
 
@@ -142,41 +145,121 @@ public class MetadataImpl implements Metadata {
     protected <T> T __create(Class<T> entityClass) {
         @SuppressWarnings("unchecked")
         Class<T> extClass = extendedEntities.getEffectiveClass(entityClass);
-        try {
-            T obj = extClass.newInstance();
-            assignIdentifier((Entity) obj);
-            assignUuid((Entity) obj);
-            createEmbedded((Entity) obj);
-            invokePostConstructMethods((Entity) obj);
-            return obj;
-        } catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
-            throw new RuntimeException("Unable to create entity instance", e);
+        EntityCreationPlan plan = creationPlansCache.getUnchecked(extClass);
+
+        @SuppressWarnings("unchecked")
+        T obj = (T) plan.newInstance();
+        assignIdentifier((Entity) obj, plan);
+        assignUuid((Entity) obj);
+        createEmbedded((Entity) obj, plan);
+        invokePostConstructMethods((Entity) obj, plan);
+        return obj;
+    }
+
+    /**
+     * Collects everything needed to create instances of the given class, so that creating an entity does not
+     * involve reflection and metadata lookups.
+     */
+    protected EntityCreationPlan createCreationPlan(Class<?> entityClass) {
+        EntityCreationPlan plan = new EntityCreationPlan(createInstantiator(entityClass));
+
+        MetaClass metaClass = getClass(entityClass);
+        if (metaClass != null) {
+            if (BaseGenericIdEntity.class.isAssignableFrom(entityClass)) {
+                MetaProperty primaryKeyProperty = tools.getPrimaryKeyProperty(metaClass);
+                if (primaryKeyProperty != null && tools.isEmbedded(primaryKeyProperty)) {
+                    plan.embeddedIdClass = primaryKeyProperty.getRange().asClass();
+                } else if (tools.isPersistent(metaClass)
+                        && (BaseLongIdEntity.class.isAssignableFrom(entityClass)
+                        || BaseIntegerIdEntity.class.isAssignableFrom(entityClass))) {
+                    plan.idGenerationEntityName = getEntityNameForIdGeneration(metaClass);
+                    plan.idGenerationInMainStore = Stores.MAIN.equals(tools.getStoreName(metaClass));
+                }
+            }
+
+            for (MetaProperty property : metaClass.getProperties()) {
+                if (property.getRange().isClass() && tools.isEmbedded(property)) {
+                    EmbeddedParameters embeddedParameters = property.getAnnotatedElement().getAnnotation(EmbeddedParameters.class);
+                    if (embeddedParameters != null && !embeddedParameters.nullAllowed()) {
+                        plan.embeddedProperties.put(property.getName(), property.getRange().asClass());
+                    }
+                }
+            }
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Method method : getPostConstructMethodsNotCached(entityClass)) {
+            try {
+                plan.postConstructMethods.add(lookup.unreflect(method)
+                        .asType(MethodType.methodType(void.class, Object.class)));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Unable to access @PostConstruct method " + method, e);
+            }
         }
+        return plan;
     }
 
-    @SuppressWarnings("unchecked")
-    protected void assignIdentifier(Entity entity) {
-        if (!(entity instanceof BaseGenericIdEntity))
-            return;
+    protected Supplier<Object> createInstantiator(Class<?> entityClass) {
+        Constructor<?> constructor;
+        try {
+            constructor = entityClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            return () -> {
+                throw new RuntimeException("Unable to create entity instance, no default constructor in " + entityClass);
+            };
+        }
 
-        MetaClass metaClass = getClassNN(entity.getClass());
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        if (Modifier.isPublic(entityClass.getModifiers()) && Modifier.isPublic(constructor.getModifiers())) {
+            try {
+                MethodHandle constructorHandle = lookup.unreflectConstructor(constructor);
+                CallSite site = LambdaMetafactory.metafactory(lookup,
+                        "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        constructorHandle,
+                        MethodType.methodType(entityClass));
+                //noinspection unchecked
+                return (Supplier<Object>) site.getTarget().invoke();
+            } catch (Throwable e) {
+                log.debug("Unable to create constructor lambda for {}, using method handle", entityClass, e);
+            }
+        }
 
-        MetaProperty primaryKeyProperty = tools.getPrimaryKeyProperty(metaClass);
-        if (primaryKeyProperty != null && tools.isEmbedded(primaryKeyProperty)) {
+        MethodHandle constructorHandle;
+        try {
+            constructor.setAccessible(true);
+            constructorHandle = lookup.unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new RuntimeException("Unable to access default constructor of " + entityClass, e);
+        }
+        return () -> {
+            try {
+                return constructorHandle.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Unable to create entity instance", e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void assignIdentifier(Entity entity, EntityCreationPlan plan) {
+        if (plan.embeddedIdClass != null) {
             // create an instance of embedded ID
-            Entity key = create(primaryKeyProperty.getRange().asClass());
+            Entity key = create(plan.embeddedIdClass);
             ((BaseGenericIdEntity) entity).setId(key);
-        } else {
-            if (!config.getEnableIdGenerationForEntitiesInAdditionalDataStores()
-                    && !Stores.MAIN.equals(tools.getStoreName(metaClass))) {
+        } else if (plan.idGenerationEntityName != null) {
+            if (!plan.idGenerationInMainStore
+                    && !config.getEnableIdGenerationForEntitiesInAdditionalDataStores()) {
                 return;
             }
-            if (tools.isPersistent(metaClass)) {
-                if (entity instanceof BaseLongIdEntity) {
-                    ((BaseGenericIdEntity<Long>) entity).setId(numberIdSource.createLongId(getEntityNameForIdGeneration(metaClass)));
-                } else if (entity instanceof BaseIntegerIdEntity) {
-                    ((BaseGenericIdEntity<Integer>) entity).setId(numberIdSource.createIntegerId(getEntityNameForIdGeneration(metaClass)));
-                }
+            if (entity instanceof BaseLongIdEntity) {
+                ((BaseGenericIdEntity<Long>) entity).setId(numberIdSource.createLongId(plan.idGenerationEntityName));
+            } else if (entity instanceof BaseIntegerIdEntity) {
+                ((BaseGenericIdEntity<Integer>) entity).setId(numberIdSource.createIntegerId(plan.idGenerationEntityName));
             }
         }
     }
@@ -203,25 +286,23 @@ public class MetadataImpl implements Metadata {
         }
     }
 
-    protected void createEmbedded(Entity entity) {
-        MetaClass metaClass = getClassNN(entity.getClass());
-        for (MetaProperty property : metaClass.getProperties()) {
-            if (property.getRange().isClass() && tools.isEmbedded(property)) {
-                EmbeddedParameters embeddedParameters = property.getAnnotatedElement().getAnnotation(EmbeddedParameters.class);
-                if (embeddedParameters != null && !embeddedParameters.nullAllowed()) {
-                    MetaClass embeddableMetaClass = property.getRange().asClass();
-                    Entity embeddableEntity = create(embeddableMetaClass);
-                    entity.setValue(property.getName(), embeddableEntity);
-                }
-            }
+    protected void createEmbedded(Entity entity, EntityCreationPlan plan) {
+        for (Map.Entry<String, MetaClass> entry : plan.embeddedProperties.entrySet()) {
+            Entity embeddableEntity = create(entry.getValue());
+            entity.setValue(entry.getKey(), embeddableEntity);
         }
     }
 
-    protected void invokePostConstructMethods(Entity entity) throws InvocationTargetException, IllegalAccessException {
-        List<Method> postConstructMethods = postConstructMethodsCache.getUnchecked(entity.getClass());
-        // methods are store in the correct execution order
-        for (Method method : postConstructMethods) {
-            method.invoke(entity);
+    protected void invokePostConstructMethods(Entity entity, EntityCreationPlan plan) {
+        // methods are stored in the correct execution order
+        for (MethodHandle method : plan.postConstructMethods) {
+            try {
+                method.invokeExact((Object) entity);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Unable to create entity instance", e);
+            }
         }
     }
 
@@ -336,4 +417,26 @@ public class MetadataImpl implements Metadata {
     public Collection<MetaClass> getClasses() {
         return getSession().getClasses();
     }
-}
\ No newline at end of file
+
+    /**
+     * Precomputed steps of creating an instance of a concrete entity class.
+     */
+    protected static class EntityCreationPlan {
+
+        protected final Supplier<Object> instantiator;
+        protected MetaClass embeddedIdClass;
+        protected String idGenerationEntityName;
+        protected boolean idGenerationInMainStore;
+        protected final Map<String, MetaClass> embeddedProperties = new LinkedHashMap<>(2);
+        // stores methods in the execution order
+        protected final List<MethodHandle> postConstructMethods = new ArrayList<>(2);
+
+        public EntityCreationPlan(Supplier<Object> instantiator) {
+            this.instantiator = instantiator;
+        }
+
+        public Object newInstance() {
+            return instantiator.get();
+        }
+    }
+}
@@ -17,6 +17,10 @@
 
 package com.haulmont.cuba.core.sys;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.haulmont.chile.core.datatypes.Datatype;
 import com.haulmont.chile.core.datatypes.Datatypes;
 import com.haulmont.chile.core.datatypes.impl.EnumClass;
@@ -30,6 +34,8 @@ import com.haulmont.cuba.security.entity.EntityOp;
 import com.haulmont.cuba.security.entity.PermissionType;
 import com.haulmont.cuba.security.global.ConstraintData;
 import com.haulmont.cuba.security.global.UserSession;
+import groovy.lang.Binding;
+import groovy.lang.Script;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.runtime.MethodClosure;
 import org.slf4j.Logger;
@@ -39,6 +45,7 @@ import org.springframework.stereotype.Component;
 import javax.inject.Inject;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -48,6 +55,9 @@ import static java.lang.String.format;
 
 @Component(Security.NAME)
 public class SecurityImpl implements Security {
+
+    protected static final int COMPILED_CONSTRAINTS_CACHE_SIZE = 1000;
+
     private final Logger log = LoggerFactory.getLogger(SecurityImpl.class);
 
     @Inject
@@ -65,6 +75,9 @@ public class SecurityImpl implements Security {
     @Inject
     protected Scripting scripting;
 
+    protected Cache<String, CompiledConstraint> compiledConstraints =
+            CacheBuilder.newBuilder().maximumSize(COMPILED_CONSTRAINTS_CACHE_SIZE).build();
+
     @Override
     public boolean isScreenPermitted(String windowAlias) {
         return userSessionSource.getUserSession().isScreenPermitted(windowAlias);
@@ -206,21 +219,19 @@ public class SecurityImpl implements Security {
     }
 
     protected boolean isPermitted(Entity entity, Predicate<ConstraintData> predicate) {
-        List<ConstraintData> constraints = getConstraints(entity.getMetaClass(), predicate);
-        for (ConstraintData constraint : constraints) {
-            if (!isPermitted(entity, constraint)) {
-                return false;
-            }
-        }
-        return true;
+        return createConstraintsEvaluator(predicate).isPermitted(entity);
     }
 
     protected boolean isPermitted(Entity entity, ConstraintData constraint) {
+        return isPermitted(entity, constraint, createConstraintsEvaluator(c -> true));
+    }
+
+    protected boolean isPermitted(Entity entity, ConstraintData constraint, ConstraintsEvaluator evaluator) {
         String metaClassName = entity.getMetaClass().getName();
         String groovyScript = constraint.getGroovyScript();
         if (constraint.getCheckType().memory() && StringUtils.isNotBlank(groovyScript)) {
             try {
-                Object o = evaluateConstraintScript(entity, groovyScript);
+                Object o = evaluator.evaluate(entity, groovyScript);
                 if (Boolean.FALSE.equals(o)) {
                     log.trace("Entity does not match security constraint. Entity class [{}]. Entity [{}]. Constraint [{}].",
                             metaClassName, entity.getId(), constraint.getCheckType());
@@ -237,12 +248,58 @@ public class SecurityImpl implements Security {
 
     @Override
     public Object evaluateConstraintScript(Entity entity, String groovyScript) {
+        return createConstraintsEvaluator(c -> true).evaluate(entity, groovyScript);
+    }
+
+    /**
+     * Creates an evaluator of in-memory constraints for the current user session. The evaluator should be used to
+     * check a batch of entities in the current thread, it reuses the binding variables and script instances between
+     * the checked entities.
+     *
+     * @param predicate selects constraints to check
+     */
+    protected ConstraintsEvaluator createConstraintsEvaluator(Predicate<ConstraintData> predicate) {
+        return new ConstraintsEvaluator(predicate);
+    }
+
+    /**
+     * Returns the constraint script compiled into a script class. The compiled constraints are cached and shared
+     * between user sessions.
+     */
+    protected CompiledConstraint getCompiledConstraint(String groovyScript) {
+        try {
+            return compiledConstraints.get(groovyScript, () -> new CompiledConstraint(groovyScript,
+                    scripting.compileGroovy(groovyScript.replace("{E}", CompiledConstraint.ENTITY_VARIABLE))));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException("Error compiling constraint's Groovy script", e.getCause());
+        }
+    }
+
+    /**
+     * @return compiled in-memory constraints with their evaluation statistics
+     */
+    public Collection<CompiledConstraint> getCompiledConstraints() {
+        return Collections.unmodifiableCollection(compiledConstraints.asMap().values());
+    }
+
+    /**
+     * Clears cache of compiled in-memory constraints and their statistics.
+     */
+    public void clearCompiledConstraints() {
+        compiledConstraints.invalidateAll();
+    }
+
+    /**
+     * Creates the variables of constraint scripts binding. The {@link CompiledConstraint#ENTITY_VARIABLE} variable
+     * is added for each checked entity.
+     */
+    protected Map<String, Object> createConstraintsVariables() {
         Map<String, Object> context = new HashMap<>();
-        context.put("__entity__", entity);
         context.put("parse", new MethodClosure(this, "parseValue"));
         context.put("userSession", userSessionSource.getUserSession());
         fillGroovyConstraintsContext(context);
-        return scripting.evaluateGroovy(groovyScript.replace("{E}", "__entity__"), context);
+        return context;
     }
 
     /**
@@ -286,4 +343,40 @@ public class SecurityImpl implements Security {
                     "See the log for details.", clazz, string), null);
         }
     }
+
+    /**
+     * Checks in-memory constraints for a batch of entities within the current user session.
+     * Not thread-safe.
+     */
+    protected class ConstraintsEvaluator {
+
+        protected final Predicate<ConstraintData> predicate;
+        protected final Map<MetaClass, List<ConstraintData>> constraints = new HashMap<>();
+        protected final Map<CompiledConstraint, Script> scripts = new HashMap<>();
+        protected Map<String, Object> variables;
+
+        protected ConstraintsEvaluator(Predicate<ConstraintData> predicate) {
+            this.predicate = predicate;
+        }
+
+        public boolean isPermitted(Entity entity) {
+            List<ConstraintData> entityConstraints = constraints.computeIfAbsent(entity.getMetaClass(),
+                    metaClass -> getConstraints(metaClass, predicate));
+            for (ConstraintData constraint : entityConstraints) {
+                if (!SecurityImpl.this.isPermitted(entity, constraint, this)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public Object evaluate(Entity entity, String groovyScript) {
+            CompiledConstraint compiledConstraint = getCompiledConstraint(groovyScript);
+            if (variables == null) {
+                variables = createConstraintsVariables();
+            }
+            Script script = scripts.computeIfAbsent(compiledConstraint, c -> c.createScript(new Binding()));
+            return compiledConstraint.evaluate(script, variables, entity);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.jmx;
+
+import com.haulmont.cuba.core.sys.remoting.RemotingStatistics;
+import org.springframework.stereotype.Component;
+
+@Component("cuba_JmxRemotingStatisticsMBean")
+public class JmxRemotingStatistics implements JmxRemotingStatisticsMBean {
+
+    @Override
+    public long getInvocationsCount() {
+        return RemotingStatistics.getInstance().getServiceStatistics().values().stream()
+                .mapToLong(RemotingStatistics.ServiceStatistics::getCount)
+                .sum();
+    }
+
+    @Override
+    public long getFailedInvocationsCount() {
+        return RemotingStatistics.getInstance().getServiceStatistics().values().stream()
+                .mapToLong(RemotingStatistics.ServiceStatistics::getFailures)
+                .sum();
+    }
+
+    @Override
+    public String printStatistics() {
+        return RemotingStatistics.getInstance().printStatistics();
+    }
+
+    @Override
+    public void resetStatistics() {
+        RemotingStatistics.getInstance().reset();
+    }
+}
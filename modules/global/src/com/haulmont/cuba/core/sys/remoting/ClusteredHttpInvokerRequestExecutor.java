@@ -37,6 +37,7 @@ import java.io.ObjectOutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * HttpInvokerRequestExecutor that executes a request on a server which is selected according to the current cluster
@@ -44,7 +45,13 @@ import java.net.URLConnection;
  */
 public class ClusteredHttpInvokerRequestExecutor extends SimpleHttpInvokerRequestExecutor {
 
-    private ServerSelector serverSelector;
+    protected ServerSelector serverSelector;
+
+    protected int connectTimeout;
+    protected int readTimeout;
+
+    protected boolean compressRequests;
+    protected int compressionThreshold;
 
     private static final Logger log = LoggerFactory.getLogger(ClusteredHttpInvokerRequestExecutor.class);
 
@@ -52,10 +59,17 @@ public class ClusteredHttpInvokerRequestExecutor extends SimpleHttpInvokerReques
         this.serverSelector = serverSelector;
 
         String connectTimeoutProp = AppContext.getProperty("cuba.connectionTimeout");
-        setConnectTimeout(connectTimeoutProp == null ? -1 : Integer.parseInt(connectTimeoutProp));
+        connectTimeout = connectTimeoutProp == null ? -1 : Integer.parseInt(connectTimeoutProp);
+        setConnectTimeout(connectTimeout);
 
         String readTimeoutProp = AppContext.getProperty("cuba.connectionReadTimeout");
-        setReadTimeout(readTimeoutProp == null ? -1 : Integer.parseInt(readTimeoutProp));
+        readTimeout = readTimeoutProp == null ? -1 : Integer.parseInt(readTimeoutProp);
+        setReadTimeout(readTimeout);
+
+        compressRequests = Boolean.parseBoolean(AppContext.getProperty("cuba.remoting.compressRequests"));
+
+        String compressionThresholdProp = AppContext.getProperty("cuba.remoting.compressionThreshold");
+        compressionThreshold = compressionThresholdProp == null ? 4096 : Integer.parseInt(compressionThresholdProp);
     }
 
     @Override
@@ -65,49 +79,99 @@ public class ClusteredHttpInvokerRequestExecutor extends SimpleHttpInvokerReques
         RemoteInvocationResult result;
 
         Object context = serverSelector.initContext();
-        String url = currentServiceUrl(serverSelector.getUrl(context), config);
-        if (url == null)
-            throw new IllegalStateException("Server URL list is empty");
-
-        while (true) {
-            HttpURLConnection con = openConnection(url);
-            try {
-                StopWatch sw = new StopWatch();
-                prepareConnection(con, baos.size());
-                writeRequestBody(config, con, baos);
-                sw.start("waiting time");
-                validateResponse(config, con);
-                CountingInputStream responseInputStream = new CountingInputStream(readResponseBody(config, con));
-                sw.stop();
-
-                serverSelector.success(context);
-
-                sw.start("reading time");
-                try (ObjectInputStream ois = createObjectInputStream(decorateInputStream(responseInputStream), config.getCodebaseUrl())) {
-                    result = doReadRemoteInvocationResult(ois);
-                }
-                sw.stop();
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Receiving HTTP invoker response for service at [%s], with size %s, %s", config.getServiceUrl(),
-                            responseInputStream.getCount(), printStopWatch(sw)));
-                }
-                break;
-            } catch (IOException e) {
-                log.info(String.format("Invocation of %s failed: %s", url, e));
-
-                serverSelector.fail(context);
-                url = currentServiceUrl(serverSelector.getUrl(context), config);
-                if (url != null) {
-                    log.info("Trying to invoke the next available URL: " + url);
-                    continue;
+        try {
+            String url = currentServiceUrl(serverSelector.getUrl(context), config);
+            if (url == null)
+                throw new IllegalStateException("Server URL list is empty");
+
+            ByteArrayOutputStream requestBody = encodeRequestBody(baos);
+
+            while (true) {
+                try {
+                    result = executeRequest(url, config, requestBody, requestBody != baos, context);
+                    break;
+                } catch (IOException e) {
+                    log.info(String.format("Invocation of %s failed: %s", url, e));
+
+                    RemotingStatistics.getInstance().invocationFailed(config.getServiceUrl());
+                    serverSelector.fail(context);
+                    url = currentServiceUrl(serverSelector.getUrl(context), config);
+                    if (url != null) {
+                        log.info("Trying to invoke the next available URL: " + url);
+                        continue;
+                    }
+                    log.info("No more URL available");
+                    throw e;
                 }
-                log.info("No more URL available");
-                throw e;
             }
+        } finally {
+            serverSelector.complete(context);
         }
         return result;
     }
 
+    /**
+     * Executes the request on the given server. Must call {@code serverSelector.success(context)} as soon as
+     * the server responds and throw {@code IOException} if the server is not available.
+     *
+     * @param url         full service URL
+     * @param config      client configuration
+     * @param requestBody serialized invocation, compressed if {@code compressed} is true
+     * @param compressed  whether the request body is compressed by gzip
+     * @param context     server selector context
+     */
+    protected RemoteInvocationResult executeRequest(String url, HttpInvokerClientConfiguration config,
+                                                    ByteArrayOutputStream requestBody, boolean compressed,
+                                                    Object context) throws IOException, ClassNotFoundException {
+        RemoteInvocationResult result;
+        long startTime = System.currentTimeMillis();
+
+        HttpURLConnection con = openConnection(url);
+        StopWatch sw = new StopWatch();
+        prepareConnection(con, requestBody.size());
+        if (compressed) {
+            con.setRequestProperty(HTTP_HEADER_CONTENT_ENCODING, ENCODING_GZIP);
+        }
+        writeRequestBody(config, con, requestBody);
+        sw.start("waiting time");
+        validateResponse(config, con);
+        CountingInputStream responseInputStream = new CountingInputStream(readResponseBody(config, con));
+        sw.stop();
+
+        serverSelector.success(context);
+
+        sw.start("reading time");
+        try (ObjectInputStream ois = createObjectInputStream(decorateInputStream(responseInputStream), config.getCodebaseUrl())) {
+            result = doReadRemoteInvocationResult(ois);
+        }
+        sw.stop();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Receiving HTTP invoker response for service at [%s], with size %s, %s", config.getServiceUrl(),
+                    responseInputStream.getCount(), printStopWatch(sw)));
+        }
+
+        RemotingStatistics.getInstance().invocationCompleted(config.getServiceUrl(),
+                System.currentTimeMillis() - startTime, requestBody.size(), responseInputStream.getCount());
+        return result;
+    }
+
+    /**
+     * Compresses the serialized invocation by gzip if request compression is enabled by
+     * {@code cuba.remoting.compressRequests} and the size exceeds {@code cuba.remoting.compressionThreshold}.
+     *
+     * @return compressed body or the passed stream if compression is not needed
+     */
+    protected ByteArrayOutputStream encodeRequestBody(ByteArrayOutputStream baos) throws IOException {
+        if (!compressRequests || baos.size() < compressionThreshold) {
+            return baos;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(baos.size() / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            baos.writeTo(gzip);
+        }
+        return compressed;
+    }
+
     @Nullable
     protected String currentServiceUrl(String url, HttpInvokerClientConfiguration config) {
         return url == null ? null :  url + "/" + config.getServiceUrl();
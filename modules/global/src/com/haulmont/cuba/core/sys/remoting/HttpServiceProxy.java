@@ -18,6 +18,7 @@
 package com.haulmont.cuba.core.sys.remoting;
 
 import com.haulmont.cuba.core.global.RemoteException;
+import com.haulmont.cuba.core.sys.AppContext;
 import com.haulmont.cuba.core.sys.remoting.discovery.ServerSelector;
 import org.springframework.remoting.httpinvoker.HttpInvokerProxyFactoryBean;
 import org.springframework.remoting.support.RemoteInvocationResult;
@@ -27,14 +28,29 @@ import java.lang.reflect.InvocationTargetException;
 
 public class HttpServiceProxy extends HttpInvokerProxyFactoryBean {
 
+    protected ClusteredHttpInvokerRequestExecutor executor;
+
     public HttpServiceProxy(ServerSelector selector) {
         setRemoteInvocationFactory(new CubaRemoteInvocationFactory());
 
-        ClusteredHttpInvokerRequestExecutor executor = new ClusteredHttpInvokerRequestExecutor(selector);
+        executor = createRequestExecutor(selector);
         executor.setBeanClassLoader(getBeanClassLoader());
         setHttpInvokerRequestExecutor(executor);
     }
 
+    public void setConnectionPool(RemotingConnectionPool connectionPool) {
+        if (executor instanceof PooledHttpInvokerRequestExecutor) {
+            ((PooledHttpInvokerRequestExecutor) executor).setConnectionPool(connectionPool);
+        }
+    }
+
+    protected ClusteredHttpInvokerRequestExecutor createRequestExecutor(ServerSelector selector) {
+        if (Boolean.parseBoolean(AppContext.getProperty("cuba.remoting.pooledConnections"))) {
+            return new PooledHttpInvokerRequestExecutor(selector);
+        }
+        return new ClusteredHttpInvokerRequestExecutor(selector);
+    }
+
     @Override
     protected Object recreateRemoteInvocationResult(RemoteInvocationResult result) throws Throwable {
         Throwable throwable = result.getException();
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.remoting;
+
+import com.haulmont.cuba.core.sys.AppContext;
+import com.haulmont.cuba.core.sys.serialization.KryoSerialization;
+import com.haulmont.cuba.core.sys.serialization.SerializationSupport;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+
+/**
+ * INTERNAL.
+ * <p>
+ * Defines how arguments and results of middleware services are isolated between the client and the middleware
+ * when services are invoked using {@link LocalServiceInvoker}. Set by {@code cuba.localServiceInvocation.isolation}
+ * application property.
+ * <p>
+ * {@link #COPY} and {@link #NONE} modes require the client and the middleware to share the same class loader,
+ * e.g. in a single WAR deployment. Otherwise, {@link #SERIALIZATION} is used regardless of the property value.
+ */
+public enum LocalServiceIsolation {
+
+    /**
+     * Arguments and results are serialized and deserialized by {@link SerializationSupport}. Default mode.
+     */
+    SERIALIZATION,
+
+    /**
+     * Arguments and results are serialized and deserialized by {@link KryoSerialization}, regardless of
+     * {@code cuba.serialization.impl}. Managed entities are detached as in the serialization mode.
+     */
+    COPY,
+
+    /**
+     * Arguments and results are passed by reference. The client and services must not modify passed objects.
+     */
+    NONE;
+
+    public static final String PROPERTY = "cuba.localServiceInvocation.isolation";
+
+    /**
+     * Reads the isolation mode from the application property. Should be invoked once on initialization of
+     * a service proxy.
+     *
+     * @return isolation mode defined by the application property
+     * @throws IllegalStateException if the property value is not a name of a mode
+     */
+    public static LocalServiceIsolation fromProperty() {
+        String value = AppContext.getProperty(PROPERTY);
+        if (StringUtils.isBlank(value)) {
+            return SERIALIZATION;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(String.format("Invalid value of %s property: '%s', expected one of %s",
+                    PROPERTY, value, Arrays.toString(values())));
+        }
+    }
+
+    /**
+     * @return this mode if the invoker shares the class loader of the given client class,
+     * {@link #SERIALIZATION} otherwise
+     */
+    public LocalServiceIsolation forInvoker(LocalServiceInvoker invoker, Class<?> clientClass) {
+        if (this != SERIALIZATION && invoker.getClass().getClassLoader() != clientClass.getClassLoader()) {
+            return SERIALIZATION;
+        }
+        return this;
+    }
+
+    /**
+     * Creates an isolated instance of the object for passing it to the other side of invocation.
+     * Must not be called in {@link #SERIALIZATION} mode.
+     */
+    public Object isolate(Object object) {
+        switch (this) {
+            case COPY:
+                if (object == null) {
+                    return null;
+                }
+                // Kryo copy() is not supported by serializers of entities and Java serializable classes
+                KryoSerialization serialization = SerializationSupport.getKryoSerialization();
+                return serialization.deserialize(serialization.serialize(object));
+            case NONE:
+                return object;
+            default:
+                throw new IllegalStateException("Object is isolated by serialization in " + this + " mode");
+        }
+    }
+}
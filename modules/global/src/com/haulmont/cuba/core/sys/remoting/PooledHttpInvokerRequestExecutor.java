@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.remoting;
+
+import com.google.common.io.CountingInputStream;
+import com.haulmont.cuba.core.sys.remoting.discovery.ServerSelector;
+import org.apache.http.HttpEntity;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.StatusLine;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.remoting.httpinvoker.HttpInvokerClientConfiguration;
+import org.springframework.remoting.support.RemoteInvocationResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+/**
+ * {@link ClusteredHttpInvokerRequestExecutor} that sends requests through a pool of persistent HTTP connections
+ * shared by all service proxies of the application block, so that TCP and TLS handshakes are not performed
+ * for each invocation.
+ * <p>Used if {@code cuba.remoting.pooledConnections} application property is set to true.
+ * The pool is provided by the {@link RemotingConnectionPool} bean, its size is defined by
+ * {@code cuba.remoting.maxConnections} and {@code cuba.remoting.maxConnectionsPerRoute}. If the pool is not set,
+ * the executor falls back to a connection per request.</p>
+ */
+public class PooledHttpInvokerRequestExecutor extends ClusteredHttpInvokerRequestExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledHttpInvokerRequestExecutor.class);
+
+    protected final RequestConfig requestConfig;
+
+    protected RemotingConnectionPool connectionPool;
+
+    public PooledHttpInvokerRequestExecutor(ServerSelector serverSelector) {
+        super(serverSelector);
+        this.requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(readTimeout)
+                .build();
+    }
+
+    public void setConnectionPool(RemotingConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    @Override
+    protected RemoteInvocationResult executeRequest(String url, HttpInvokerClientConfiguration config,
+                                                    ByteArrayOutputStream requestBody, boolean compressed,
+                                                    Object context) throws IOException, ClassNotFoundException {
+        if (connectionPool == null) {
+            return super.executeRequest(url, config, requestBody, compressed, context);
+        }
+
+        long startTime = System.currentTimeMillis();
+
+        HttpPost post = new HttpPost(url);
+        post.setConfig(requestConfig);
+        post.setHeader(HTTP_HEADER_CONTENT_TYPE, getContentType());
+        if (compressed) {
+            post.setHeader(HTTP_HEADER_CONTENT_ENCODING, ENCODING_GZIP);
+        }
+        ByteArrayEntity entity = new ByteArrayEntity(requestBody.toByteArray());
+        entity.setContentType(getContentType());
+        post.setEntity(entity);
+
+        try (CloseableHttpResponse response = connectionPool.getHttpClient().execute(post)) {
+            StatusLine status = response.getStatusLine();
+            if (status.getStatusCode() >= 300) {
+                throw new NoHttpResponseException(String.format(
+                        "Did not receive successful HTTP response: status code = %s, status message = [%s]",
+                        status.getStatusCode(), status.getReasonPhrase()));
+            }
+            HttpEntity responseEntity = response.getEntity();
+            if (responseEntity == null) {
+                throw new NoHttpResponseException("Response entity is empty");
+            }
+
+            serverSelector.success(context);
+
+            RemoteInvocationResult result;
+            CountingInputStream responseInputStream = new CountingInputStream(responseEntity.getContent());
+            try (ObjectInputStream ois = createObjectInputStream(decorateInputStream(responseInputStream), config.getCodebaseUrl())) {
+                result = doReadRemoteInvocationResult(ois);
+            }
+
+            long time = System.currentTimeMillis() - startTime;
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Receiving HTTP invoker response for service at [%s], with size %s, time %s",
+                        config.getServiceUrl(), responseInputStream.getCount(), time));
+            }
+            RemotingStatistics.getInstance().invocationCompleted(config.getServiceUrl(),
+                    time, requestBody.size(), responseInputStream.getCount());
+            return result;
+        }
+    }
+}
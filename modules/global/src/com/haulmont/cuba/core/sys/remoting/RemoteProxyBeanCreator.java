@@ -25,6 +25,7 @@ import org.springframework.beans.MutablePropertyValues;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.ApplicationContext;
@@ -64,6 +65,10 @@ public class RemoteProxyBeanCreator implements BeanFactoryPostProcessor, Applica
 
         BeanDefinitionRegistry registry = (BeanDefinitionRegistry) beanFactory;
 
+        if (!registry.containsBeanDefinition(RemotingConnectionPool.NAME)) {
+            registry.registerBeanDefinition(RemotingConnectionPool.NAME, new RootBeanDefinition(RemotingConnectionPool.class));
+        }
+
         for (Map.Entry<String, String> entry : services.entrySet()) {
             String name = entry.getKey();
 
@@ -74,6 +79,7 @@ public class RemoteProxyBeanCreator implements BeanFactoryPostProcessor, Applica
             MutablePropertyValues propertyValues = definition.getPropertyValues();
             propertyValues.add("serviceUrl", serviceUrl);
             propertyValues.add("serviceInterface", serviceInterface);
+            propertyValues.add("connectionPool", new RuntimeBeanReference(RemotingConnectionPool.NAME));
             registry.registerBeanDefinition(name, definition);
 
             log.debug("Configured remote proxy bean " + name + " of type " + serviceInterface + ", bound to " + serviceUrl);
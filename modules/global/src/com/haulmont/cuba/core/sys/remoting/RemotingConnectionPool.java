@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.remoting;
+
+import com.haulmont.cuba.core.sys.AppContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of persistent HTTP connections shared by all service proxies of the application block.
+ * <p>Registered as a bean by {@link RemoteProxyBeanCreator}. The HTTP client is created on first use and closed
+ * on application context shutdown.</p>
+ */
+public class RemotingConnectionPool {
+
+    public static final String NAME = "cuba_RemotingConnectionPool";
+
+    private static final Logger log = LoggerFactory.getLogger(RemotingConnectionPool.class);
+
+    protected volatile CloseableHttpClient httpClient;
+
+    protected volatile boolean closed;
+
+    public CloseableHttpClient getHttpClient() {
+        CloseableHttpClient client = httpClient;
+        if (client == null) {
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("Remoting connection pool is closed");
+                }
+                client = httpClient;
+                if (client == null) {
+                    client = createHttpClient();
+                    httpClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    protected CloseableHttpClient createHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(getIntProperty("cuba.remoting.maxConnections", 100));
+        connectionManager.setDefaultMaxPerRoute(getIntProperty("cuba.remoting.maxConnectionsPerRoute", 20));
+        connectionManager.setValidateAfterInactivity(2000);
+
+        log.debug("Creating pooled HTTP client for remoting, max connections: {}, per route: {}",
+                connectionManager.getMaxTotal(), connectionManager.getDefaultMaxPerRoute());
+
+        // content compression is enabled by default: the client sends Accept-Encoding and decodes responses
+        return HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(60, TimeUnit.SECONDS)
+                .disableCookieManagement()
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    protected int getIntProperty(String name, int defaultValue) {
+        String value = AppContext.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    @PreDestroy
+    public void close() {
+        CloseableHttpClient client;
+        synchronized (this) {
+            closed = true;
+            client = httpClient;
+            httpClient = null;
+        }
+        if (client != null) {
+            log.debug("Closing pooled HTTP client for remoting");
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("Error closing pooled HTTP client for remoting", e);
+            }
+        }
+    }
+}
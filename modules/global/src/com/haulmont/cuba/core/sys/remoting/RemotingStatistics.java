@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.remoting;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects latency and size histograms of remote service invocations performed by
+ * {@link ClusteredHttpInvokerRequestExecutor}.
+ */
+public final class RemotingStatistics {
+
+    /**
+     * Upper bounds of latency histogram buckets, ms. The last bucket counts the rest.
+     */
+    public static final long[] LATENCY_BOUNDS = {5, 10, 25, 50, 100, 250, 500, 1000, 5000};
+
+    /**
+     * Upper bounds of size histogram buckets, bytes. The last bucket counts the rest.
+     */
+    public static final long[] SIZE_BOUNDS = {1024, 8 * 1024, 64 * 1024, 512 * 1024, 4 * 1024 * 1024};
+
+    private static final RemotingStatistics INSTANCE = new RemotingStatistics();
+
+    private final ConcurrentMap<String, ServiceStatistics> services = new ConcurrentHashMap<>();
+
+    private RemotingStatistics() {
+    }
+
+    public static RemotingStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers a completed invocation.
+     *
+     * @param serviceName  service name, e.g. {@code cuba_DataService}
+     * @param timeMs       invocation time including transfer, ms
+     * @param requestSize  size of the request body sent over the network, bytes
+     * @param responseSize size of the deserialized response stream, bytes
+     */
+    public void invocationCompleted(String serviceName, long timeMs, long requestSize, long responseSize) {
+        ServiceStatistics statistics = services.computeIfAbsent(serviceName, name -> new ServiceStatistics());
+        statistics.count.increment();
+        statistics.totalTime.add(timeMs);
+        statistics.latency.add(timeMs);
+        statistics.requestSize.add(requestSize);
+        statistics.responseSize.add(responseSize);
+    }
+
+    /**
+     * Registers a failed invocation.
+     */
+    public void invocationFailed(String serviceName) {
+        services.computeIfAbsent(serviceName, name -> new ServiceStatistics()).failures.increment();
+    }
+
+    public Map<String, ServiceStatistics> getServiceStatistics() {
+        return new TreeMap<>(services);
+    }
+
+    public void reset() {
+        services.clear();
+    }
+
+    public String printStatistics() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, ServiceStatistics> entry : getServiceStatistics().entrySet()) {
+            ServiceStatistics statistics = entry.getValue();
+            sb.append(entry.getKey())
+                    .append(": count=").append(statistics.getCount())
+                    .append(", failures=").append(statistics.getFailures())
+                    .append(", avgTime=").append(statistics.getAverageTime()).append("ms")
+                    .append("\n  latency, ms: ").append(statistics.getLatency().print())
+                    .append("\n  request size, bytes: ").append(statistics.getRequestSize().print())
+                    .append("\n  response size, bytes: ").append(statistics.getResponseSize().print())
+                    .append("\n");
+        }
+        return sb.toString();
+    }
+
+    public static class ServiceStatistics {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final Histogram latency = new Histogram(LATENCY_BOUNDS);
+        private final Histogram requestSize = new Histogram(SIZE_BOUNDS);
+        private final Histogram responseSize = new Histogram(SIZE_BOUNDS);
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getAverageTime() {
+            long count = getCount();
+            return count == 0 ? 0 : totalTime.sum() / count;
+        }
+
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        public Histogram getRequestSize() {
+            return requestSize;
+        }
+
+        public Histogram getResponseSize() {
+            return responseSize;
+        }
+    }
+
+    /**
+     * Histogram with fixed bucket bounds.
+     */
+    public static class Histogram {
+
+        private final long[] bounds;
+        private final LongAdder[] buckets;
+
+        public Histogram(long[] bounds) {
+            this.bounds = bounds;
+            this.buckets = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void add(long value) {
+            int i = 0;
+            while (i < bounds.length && value > bounds[i]) {
+                i++;
+            }
+            buckets[i].increment();
+        }
+
+        /**
+         * @return counts of values by buckets, the last element is the count of values exceeding the last bound
+         */
+        public long[] getCounts() {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return counts;
+        }
+
+        public String print() {
+            StringBuilder sb = new StringBuilder();
+            long[] counts = getCounts();
+            for (int i = 0; i < counts.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(i < bounds.length ? "<=" + bounds[i] : ">" + bounds[bounds.length - 1])
+                        .append(": ").append(counts[i]);
+            }
+            return sb.toString();
+        }
+    }
+}
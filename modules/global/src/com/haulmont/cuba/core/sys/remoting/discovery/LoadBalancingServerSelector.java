@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.remoting.discovery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link StaticServerSelector} that takes the load of servers into account.
+ * <ul>
+ *     <li>A server is chosen by the "power of two choices" algorithm: two random servers are compared by the
+ *     exponentially weighted moving average of response times multiplied by the number of requests in flight,
+ *     and the less loaded one is used.</li>
+ *     <li>A server is ejected from the selection for {@link #setEjectionTimeMs(long) ejectionTime} after
+ *     {@link #setFailuresToEject(int) failuresToEject} consecutive failures or if its average response time exceeds
+ *     the median of other servers {@link #setOutlierLatencyFactor(double) outlierLatencyFactor} times.</li>
+ *     <li>After returning from ejection, a server gets a growing share of requests during
+ *     {@link #setSlowStartTimeMs(long) slowStartTime}.</li>
+ * </ul>
+ * If {@link #setStickySessions(boolean) stickySessions} is true (default), the load is considered only when selecting
+ * a server for a new user session, and then the session sticks to the selected server as in
+ * {@link StickySessionServerSelector}. Otherwise, a server is selected for each request.
+ * <p>
+ * {@link #setServerSorter(java.util.function.Consumer) serverSorter} is not used by this implementation.
+ * <p>
+ * The selector is not used by default. To enable it, redefine the {@code cuba_ServerSelector} bean with this class
+ * in the {@code web-spring.xml} or {@code portal-spring.xml} file of the application.
+ */
+public class LoadBalancingServerSelector extends StaticServerSelector {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadBalancingServerSelector.class);
+
+    protected boolean stickySessions = true;
+    protected double ewmaDecay = 0.3;
+    protected int failuresToEject = 3;
+    protected double outlierLatencyFactor = 5.0;
+    protected int outlierMinSamples = 20;
+    protected long ejectionTimeMs = 30_000;
+    protected long slowStartTimeMs = 30_000;
+    protected int maxEjectionPercent = 50;
+
+    protected ConcurrentMap<String, ServerStats> serverStats = new ConcurrentHashMap<>();
+
+    protected static class BalancingContext extends Context {
+        protected ServerStats current;
+        protected long startTime;
+    }
+
+    protected static class ServerStats {
+        protected final String url;
+        protected final AtomicInteger inflight = new AtomicInteger();
+        // guarded by this
+        protected double ewmaLatency = -1;
+        protected long samples;
+        protected int consecutiveFailures;
+        protected long ejectedUntil;
+
+        protected ServerStats(String url) {
+            this.url = url;
+        }
+
+        protected synchronized double getEwmaLatency() {
+            return ewmaLatency;
+        }
+
+        protected synchronized boolean isEjected(long now) {
+            return now < ejectedUntil;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "ServerStats{url='" + url + "', ewmaLatency=" + ewmaLatency + ", inflight=" + inflight
+                    + ", consecutiveFailures=" + consecutiveFailures + ", ejectedUntil=" + ejectedUntil + "}";
+        }
+    }
+
+    public void setStickySessions(boolean stickySessions) {
+        this.stickySessions = stickySessions;
+    }
+
+    /**
+     * @param ewmaDecay weight of the last response time in the moving average, from 0 to 1
+     */
+    public void setEwmaDecay(double ewmaDecay) {
+        this.ewmaDecay = ewmaDecay;
+    }
+
+    public void setFailuresToEject(int failuresToEject) {
+        this.failuresToEject = failuresToEject;
+    }
+
+    public void setOutlierLatencyFactor(double outlierLatencyFactor) {
+        this.outlierLatencyFactor = outlierLatencyFactor;
+    }
+
+    /**
+     * @param outlierMinSamples number of responses a server must return before it can be ejected as slow
+     */
+    public void setOutlierMinSamples(int outlierMinSamples) {
+        this.outlierMinSamples = outlierMinSamples;
+    }
+
+    public void setEjectionTimeMs(long ejectionTimeMs) {
+        this.ejectionTimeMs = ejectionTimeMs;
+    }
+
+    public void setSlowStartTimeMs(long slowStartTimeMs) {
+        this.slowStartTimeMs = slowStartTimeMs;
+    }
+
+    /**
+     * @param maxEjectionPercent maximum percent of servers that can be ejected at the same time
+     */
+    public void setMaxEjectionPercent(int maxEjectionPercent) {
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    @Override
+    public Object initContext() {
+        if (stickySessions) {
+            return super.initContext();
+        }
+        Context ctx = createContext();
+        ctx.urls = orderByLoad(new ArrayList<>(getUrls()));
+        log.trace("Context initialized: {} ", ctx);
+        return ctx;
+    }
+
+    @Override
+    protected Context createContext() {
+        return new BalancingContext();
+    }
+
+    @Override
+    protected List<String> sortUrls() {
+        return orderByLoad(new ArrayList<>(getUrls()));
+    }
+
+    @Nullable
+    @Override
+    public String getUrl(Object context) {
+        BalancingContext ctx = (BalancingContext) context;
+        release(ctx);
+
+        String url = super.getUrl(context);
+        if (url != null) {
+            ctx.current = getServerStats(url);
+            ctx.current.inflight.incrementAndGet();
+            ctx.startTime = currentTimeMillis();
+        }
+        return url;
+    }
+
+    @Override
+    public void success(Object context) {
+        BalancingContext ctx = (BalancingContext) context;
+        ServerStats stats = ctx.current;
+        if (stats != null) {
+            long latency = currentTimeMillis() - ctx.startTime;
+            synchronized (stats) {
+                stats.ewmaLatency = stats.ewmaLatency < 0
+                        ? latency : ewmaDecay * latency + (1 - ewmaDecay) * stats.ewmaLatency;
+                stats.samples++;
+                stats.consecutiveFailures = 0;
+            }
+            release(ctx);
+            if (isLatencyOutlier(stats)) {
+                eject(stats, "average response time is " + Math.round(stats.getEwmaLatency()) + " ms");
+            }
+        }
+        super.success(context);
+    }
+
+    @Override
+    public void fail(Object context) {
+        BalancingContext ctx = (BalancingContext) context;
+        ServerStats stats = ctx.current;
+        if (stats != null) {
+            release(ctx);
+            int failures;
+            synchronized (stats) {
+                failures = ++stats.consecutiveFailures;
+            }
+            if (failures >= failuresToEject) {
+                eject(stats, failures + " consecutive failures");
+            }
+        }
+        super.fail(context);
+    }
+
+    @Override
+    public void complete(Object context) {
+        release((BalancingContext) context);
+    }
+
+    protected void release(BalancingContext ctx) {
+        if (ctx.current != null) {
+            ctx.current.inflight.decrementAndGet();
+            ctx.current = null;
+        }
+    }
+
+    protected ServerStats getServerStats(String url) {
+        return serverStats.computeIfAbsent(url, ServerStats::new);
+    }
+
+    /**
+     * Returns the given list of URLs ordered for a request: the server chosen by the "power of two choices"
+     * first, then other available servers by increasing load, then ejected servers.
+     */
+    protected List<String> orderByLoad(List<String> urls) {
+        long now = currentTimeMillis();
+
+        List<String> available = new ArrayList<>(urls.size());
+        List<String> ejected = new ArrayList<>();
+        for (String url : urls) {
+            if (getServerStats(url).isEjected(now)) {
+                ejected.add(url);
+            } else {
+                available.add(url);
+            }
+        }
+        if (available.isEmpty()) {
+            available.addAll(ejected);
+            ejected.clear();
+        }
+        if (available.isEmpty()) {
+            return available;
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        for (String url : available) {
+            scores.put(url, getScore(getServerStats(url), now));
+        }
+
+        String chosen = chooseOfTwo(available, scores);
+
+        List<String> result = new ArrayList<>(urls.size());
+        result.add(chosen);
+        available.remove(chosen);
+        available.sort(Comparator.comparing(scores::get));
+        result.addAll(available);
+        result.addAll(ejected);
+        return result;
+    }
+
+    protected String chooseOfTwo(List<String> urls, Map<String, Double> scores) {
+        if (urls.size() == 1) {
+            return urls.get(0);
+        }
+        Random random = ThreadLocalRandom.current();
+        int first = random.nextInt(urls.size());
+        int second = random.nextInt(urls.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        String firstUrl = urls.get(first);
+        String secondUrl = urls.get(second);
+        return scores.get(secondUrl) < scores.get(firstUrl) ? secondUrl : firstUrl;
+    }
+
+    /**
+     * Returns the load score of a server, the less the better.
+     */
+    protected double getScore(ServerStats stats, long now) {
+        double latency;
+        long slowStartBegin;
+        synchronized (stats) {
+            latency = Math.max(stats.ewmaLatency, 0);
+            slowStartBegin = stats.ejectedUntil;
+        }
+        double score = (latency + 1) * (stats.inflight.get() + 1);
+
+        if (slowStartBegin > 0 && now >= slowStartBegin && now < slowStartBegin + slowStartTimeMs) {
+            double weight = Math.max(0.1, (double) (now - slowStartBegin) / slowStartTimeMs);
+            score /= weight;
+        }
+        return score;
+    }
+
+    protected boolean isLatencyOutlier(ServerStats stats) {
+        double latency;
+        synchronized (stats) {
+            if (stats.samples < outlierMinSamples) {
+                return false;
+            }
+            latency = stats.ewmaLatency;
+        }
+
+        long now = currentTimeMillis();
+        List<Double> others = new ArrayList<>();
+        for (ServerStats other : serverStats.values()) {
+            if (other != stats && !other.isEjected(now)) {
+                double otherLatency = other.getEwmaLatency();
+                if (otherLatency >= 0) {
+                    others.add(otherLatency);
+                }
+            }
+        }
+        if (others.isEmpty()) {
+            return false;
+        }
+        Collections.sort(others);
+        double median = others.get(others.size() / 2);
+        return latency > Math.max(median, 1) * outlierLatencyFactor;
+    }
+
+    protected void eject(ServerStats stats, String reason) {
+        long now = currentTimeMillis();
+        int total = getUrls().size();
+        synchronized (this) {
+            if (stats.isEjected(now)) {
+                return;
+            }
+            long ejectedCount = serverStats.values().stream().filter(s -> s.isEjected(now)).count();
+            if (total <= 1 || (ejectedCount + 1) * 100 > (long) total * maxEjectionPercent) {
+                log.debug("Server {} is not ejected ({}): too many servers are ejected", stats.url, reason);
+                return;
+            }
+            synchronized (stats) {
+                stats.ejectedUntil = now + ejectionTimeMs;
+                stats.consecutiveFailures = 0;
+                stats.ewmaLatency = -1;
+                stats.samples = 0;
+            }
+        }
+        log.info("Server {} is ejected for {} ms: {}", stats.url, ejectionTimeMs, reason);
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
@@ -61,4 +61,14 @@ public interface ServerSelector {
      * @param context obtained by the prior invocation of {@link #initContext()}
      */
     void fail(Object context);
+
+    /**
+     * Notify that the current request is finished, successfully or not. Invoked after all attempts, including
+     * the case when the request has been interrupted by an exception before {@link #success(Object)} or
+     * {@link #fail(Object)} have been called.
+     *
+     * @param context obtained by the prior invocation of {@link #initContext()}
+     */
+    default void complete(Object context) {
+    }
 }
@@ -52,8 +52,8 @@ public abstract class StickySessionServerSelector implements ServerSelector {
     protected ThreadLocal<List<String>> lastNoSessionUrls = new ThreadLocal<>();
 
     protected static class Context {
-        private List<String> urls;
-        private String lastUrl;
+        protected List<String> urls;
+        protected String lastUrl;
 
         @Override
         public String toString() {
@@ -110,7 +110,7 @@ public abstract class StickySessionServerSelector implements ServerSelector {
             lastNoSessionUrls.remove();
         }
 
-        Context ctx = new Context();
+        Context ctx = createContext();
         ctx.urls = new ArrayList<>(sessionUrls.size());
         if (isNewSession) {
             // each new session retries access to all servers - this way we can find out if some failed server is back online
@@ -132,7 +132,11 @@ public abstract class StickySessionServerSelector implements ServerSelector {
         return ctx;
     }
 
-    private List<String> sortUrls() {
+    protected Context createContext() {
+        return new Context();
+    }
+
+    protected List<String> sortUrls() {
         List<String> list = new ArrayList<>(getUrls());
         if (serverSorter != null) {
             serverSorter.accept(list);
@@ -17,6 +17,7 @@
 package com.haulmont.cuba.security.entity;
 
 import com.haulmont.cuba.core.entity.StandardEntity;
+import com.haulmont.cuba.core.entity.annotation.Listeners;
 import com.haulmont.cuba.core.entity.annotation.SystemLevel;
 
 import javax.persistence.*;
@@ -26,6 +27,7 @@ import javax.persistence.*;
  * <br>The {@link #value} may be 0,1,2 for {@link PermissionType#ENTITY_ATTR} and 0,1 for others.
  */
 @Entity(name = "sec$Permission")
+@Listeners("cuba_RolePermissionsEntityListener")
 @Table(name = "SEC_PERMISSION")
 @SystemLevel
 public class Permission extends StandardEntity {
@@ -20,6 +20,7 @@ import com.haulmont.chile.core.annotations.Composition;
 import com.haulmont.chile.core.annotations.NamePattern;
 import com.haulmont.cuba.core.entity.StandardEntity;
 import com.haulmont.cuba.core.entity.annotation.EnableRestore;
+import com.haulmont.cuba.core.entity.annotation.Listeners;
 import com.haulmont.cuba.core.entity.annotation.OnDelete;
 import com.haulmont.cuba.core.entity.annotation.TrackEditScreenHistory;
 import com.haulmont.cuba.core.global.DeletePolicy;
@@ -34,6 +35,7 @@ import java.util.Set;
  * User role.
  */
 @Entity(name = "sec$Role")
+@Listeners("cuba_RolePermissionsEntityListener")
 @Table(name = "SEC_ROLE")
 @NamePattern("%s [%s]|locName,name")
 @TrackEditScreenHistory
@@ -52,6 +52,7 @@ public class UserSession implements Serializable {
     protected boolean system;
 
     protected Map<String, Integer>[] permissions;
+    protected Map<String, Integer>[] sharedPermissions;
     protected Map<String, List<ConstraintData>> constraints;
 
     protected Map<String, Serializable> attributes;
@@ -116,6 +117,7 @@ public class UserSession implements Serializable {
         locale = src.locale;
         timeZone = src.timeZone;
         permissions = src.permissions;
+        sharedPermissions = src.sharedPermissions;
         constraints = src.constraints;
         attributes = src.attributes;
         roleTypes = src.roleTypes;
@@ -255,11 +257,20 @@ public class UserSession implements Serializable {
         this.clientInfo = clientInfo;
     }
 
+    /**
+     * INTERNAL
+     * <p>Sets immutable permission tables shared between sessions with the same set of roles.
+     * Permissions added to the session afterwards are stored in the session itself and take precedence.
+     */
+    public void setSharedPermissions(@Nullable Map<String, Integer>[] sharedPermissions) {
+        this.sharedPermissions = sharedPermissions != null ? sharedPermissions.clone() : null;
+    }
+
     /**
      * INTERNAL
      */
     public void addPermission(PermissionType type, String target, @Nullable String extTarget, int value) {
-        Integer currentValue = permissions[type.ordinal()].get(target);
+        Integer currentValue = getPermissionValue(type, target);
         if (currentValue == null || currentValue < value) {
             permissions[type.ordinal()].put(target, value);
             if (extTarget != null)
@@ -271,21 +282,43 @@ public class UserSession implements Serializable {
      * INTERNAL
      */
     public void removePermission(PermissionType type, String target) {
-        permissions[type.ordinal()].remove(target);
+        int i = type.ordinal();
+        if (sharedPermissions != null && sharedPermissions[i] != null && sharedPermissions[i].containsKey(target)) {
+            // copy the shared table to be able to remove the value from it
+            Map<String, Integer> copy = new HashMap<>(sharedPermissions[i]);
+            copy.putAll(permissions[i]);
+            permissions[i] = copy;
+            sharedPermissions[i] = null;
+        }
+        permissions[i].remove(target);
     }
 
     /**
      * INTERNAL
      */
     public Integer getPermissionValue(PermissionType type, String target) {
-        return permissions[type.ordinal()].get(target);
+        int i = type.ordinal();
+        Integer value = permissions[i].get(target);
+        if (value == null && sharedPermissions != null && sharedPermissions[i] != null) {
+            value = sharedPermissions[i].get(target);
+        }
+        return value;
     }
 
     /**
      * Get permissions by type
      */
     public Map<String, Integer> getPermissionsByType(PermissionType type) {
-        return Collections.unmodifiableMap(permissions[type.ordinal()]);
+        int i = type.ordinal();
+        if (sharedPermissions == null || sharedPermissions[i] == null) {
+            return Collections.unmodifiableMap(permissions[i]);
+        }
+        if (permissions[i].isEmpty()) {
+            return Collections.unmodifiableMap(sharedPermissions[i]);
+        }
+        Map<String, Integer> result = new HashMap<>(sharedPermissions[i]);
+        result.putAll(permissions[i]);
+        return Collections.unmodifiableMap(result);
     }
 
     /**
@@ -357,7 +390,7 @@ public class UserSession implements Serializable {
         if (roleTypes.contains(RoleType.SUPER))
             return true;
         // Get permission value assigned by the set of permissions
-        Integer v = permissions[type.ordinal()].get(target);
+        Integer v = getPermissionValue(type, target);
         // Get permission value assigned by non-standard roles
         for (RoleType roleType : roleTypes) {
             Integer v1 = roleType.permissionValue(type, target);
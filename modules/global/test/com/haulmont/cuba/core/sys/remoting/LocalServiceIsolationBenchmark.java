@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.remoting;
+
+import com.haulmont.cuba.core.sys.AppComponents;
+import com.haulmont.cuba.core.sys.AppContext;
+import com.haulmont.cuba.core.sys.serialization.SerializationSupport;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compares the per-call overhead of passing an argument and a result of a local service invocation in different
+ * isolation modes. Not a part of the test suite, run the {@link #main(String[])} method manually.
+ */
+public class LocalServiceIsolationBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int ITERATIONS = 1000;
+    private static final int ROWS = 50;
+
+    public static void main(String[] args) {
+        // serialization support requires application properties
+        AppContext.Internals.setAppComponents(new AppComponents("test"));
+
+        List<Map<String, Object>> payload = createRows(ROWS);
+
+        long serialization = measure(object -> SerializationSupport.deserialize(SerializationSupport.serialize(object)), payload);
+        long copy = measure(LocalServiceIsolation.COPY::isolate, payload);
+        long none = measure(LocalServiceIsolation.NONE::isolate, payload);
+
+        System.out.printf("Per-call isolation overhead for %d rows: serialization %d us, copy %d us, none %d us%n",
+                ROWS, serialization / 1000, copy / 1000, none / 1000);
+    }
+
+    private static long measure(UnaryOperator<Object> isolation, Object payload) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            // argument and result
+            isolation.apply(isolation.apply(payload));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            isolation.apply(isolation.apply(payload));
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static List<Map<String, Object>> createRows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", UUID.randomUUID());
+            row.put("login", "user" + i);
+            row.put("name", "User " + i);
+            row.put("email", "user" + i + "@example.com");
+            row.put("amount", BigDecimal.valueOf(i * 100, 2));
+            row.put("updateTs", new Date());
+            row.put("tags", new ArrayList<>(Arrays.asList("a", "b", "c")));
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.remoting;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import com.haulmont.cuba.core.sys.AppComponents;
+import com.haulmont.cuba.core.sys.AppContext;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class LocalServiceIsolationTest {
+
+    private static boolean appComponentsInitialized;
+
+    @BeforeClass
+    public static void setUp() {
+        // serialization support requires application properties
+        if (AppContext.getAppComponents() == null) {
+            AppContext.Internals.setAppComponents(new AppComponents("test"));
+            appComponentsInitialized = true;
+        }
+    }
+
+    @AfterClass
+    public static void cleanup() throws IllegalAccessException {
+        if (appComponentsInitialized) {
+            FieldUtils.writeStaticField(AppContext.class, "appComponents", null, true);
+            FieldUtils.writeStaticField(AppContext.class, "appProperties", null, true);
+        }
+    }
+
+    @Test
+    public void testCopy() {
+        List<Map<String, Object>> rows = createRows(10);
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> copy = (List<Map<String, Object>>) LocalServiceIsolation.COPY.isolate(rows);
+
+        assertNotSame(rows, copy);
+        assertEquals(rows, copy);
+        assertNotSame(rows.get(0), copy.get(0));
+        assertNotSame(rows.get(0).get("updateTs"), copy.get(0).get("updateTs"));
+        assertNull(LocalServiceIsolation.COPY.isolate(null));
+
+        assertSame(rows, LocalServiceIsolation.NONE.isolate(rows));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSerializationModeDoesNotIsolate() {
+        LocalServiceIsolation.SERIALIZATION.isolate(createRows(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCopyIsolatesModifications() {
+        List<Map<String, Object>> rows = createRows(2);
+
+        List<Map<String, Object>> copy = (List<Map<String, Object>>) LocalServiceIsolation.COPY.isolate(rows);
+        copy.get(0).put("login", "changed");
+        ((Date) copy.get(0).get("updateTs")).setTime(0);
+        ((List<String>) copy.get(0).get("tags")).add("d");
+        copy.remove(1);
+
+        assertEquals(2, rows.size());
+        assertEquals("user0", rows.get(0).get("login"));
+        assertNotEquals(0, ((Date) rows.get(0).get("updateTs")).getTime());
+        assertEquals(Arrays.asList("a", "b", "c"), rows.get(0).get("tags"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCopyOfJavaSerializableType() {
+        Multimap<String, String> multimap = HashMultimap.create();
+        multimap.put("roles", "admin");
+        multimap.put("roles", "user");
+
+        Multimap<String, String> copy = (Multimap<String, String>) LocalServiceIsolation.COPY.isolate(multimap);
+
+        assertNotSame(multimap, copy);
+        assertEquals(multimap, copy);
+    }
+
+    @Test
+    public void testFromProperty() {
+        String value = AppContext.getProperty(LocalServiceIsolation.PROPERTY);
+        try {
+            AppContext.setProperty(LocalServiceIsolation.PROPERTY, null);
+            assertEquals(LocalServiceIsolation.SERIALIZATION, LocalServiceIsolation.fromProperty());
+
+            AppContext.setProperty(LocalServiceIsolation.PROPERTY, " copy ");
+            assertEquals(LocalServiceIsolation.COPY, LocalServiceIsolation.fromProperty());
+
+            AppContext.setProperty(LocalServiceIsolation.PROPERTY, "kryo");
+            try {
+                LocalServiceIsolation.fromProperty();
+                fail();
+            } catch (IllegalStateException e) {
+                assertTrue(e.getMessage().contains(LocalServiceIsolation.PROPERTY));
+            }
+        } finally {
+            AppContext.setProperty(LocalServiceIsolation.PROPERTY, value);
+        }
+    }
+
+    private List<Map<String, Object>> createRows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", UUID.randomUUID());
+            row.put("login", "user" + i);
+            row.put("name", "User " + i);
+            row.put("email", "user" + i + "@example.com");
+            row.put("amount", BigDecimal.valueOf(i * 100, 2));
+            row.put("updateTs", new Date());
+            row.put("tags", new ArrayList<>(Arrays.asList("a", "b", "c")));
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.remoting;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class RemotingStatisticsTest {
+
+    @After
+    public void tearDown() {
+        RemotingStatistics.getInstance().reset();
+    }
+
+    @Test
+    public void testHistogram() {
+        RemotingStatistics.Histogram histogram = new RemotingStatistics.Histogram(new long[]{10, 100});
+        histogram.add(0);
+        histogram.add(10);
+        histogram.add(11);
+        histogram.add(1000);
+        histogram.add(1000);
+
+        assertArrayEquals(new long[]{2, 1, 2}, histogram.getCounts());
+        assertEquals("<=10: 2, <=100: 1, >100: 2", histogram.print());
+    }
+
+    @Test
+    public void testServiceStatistics() {
+        RemotingStatistics statistics = RemotingStatistics.getInstance();
+        statistics.invocationCompleted("cuba_DataService", 10, 100, 2000);
+        statistics.invocationCompleted("cuba_DataService", 30, 100, 20000);
+        statistics.invocationFailed("cuba_DataService");
+
+        RemotingStatistics.ServiceStatistics serviceStatistics = statistics.getServiceStatistics().get("cuba_DataService");
+        assertEquals(2, serviceStatistics.getCount());
+        assertEquals(1, serviceStatistics.getFailures());
+        assertEquals(20, serviceStatistics.getAverageTime());
+        assertEquals(2, serviceStatistics.getRequestSize().getCounts()[0]);
+        assertEquals(1, serviceStatistics.getResponseSize().getCounts()[1]);
+        assertEquals(1, serviceStatistics.getResponseSize().getCounts()[2]);
+    }
+}
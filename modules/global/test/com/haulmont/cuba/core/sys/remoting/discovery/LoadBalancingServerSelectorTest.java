@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.core.sys.remoting.discovery;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class LoadBalancingServerSelectorTest {
+
+    private long time;
+
+    private LoadBalancingServerSelector selector;
+
+    @Before
+    public void setUp() {
+        time = 1000;
+        selector = new LoadBalancingServerSelector() {
+            @Override
+            protected long currentTimeMillis() {
+                return time;
+            }
+        };
+        selector.setBaseUrl("server1,server2");
+        selector.setServletPath("path");
+        selector.setStickySessions(false);
+        selector.init();
+    }
+
+    private void request(String url, long latency) {
+        Object context = selector.initContext();
+        while (!url.equals(selector.getUrl(context))) {
+            selector.fail(context);
+        }
+        time += latency;
+        selector.success(context);
+        selector.complete(context);
+    }
+
+    @Test
+    public void testLessLoadedServerFirst() {
+        request("server1/path", 100);
+        request("server2/path", 10);
+
+        for (int i = 0; i < 10; i++) {
+            Object context = selector.initContext();
+            assertEquals("server2/path", selector.getUrl(context));
+            selector.complete(context);
+        }
+    }
+
+    @Test
+    public void testInflightRequestsAreConsidered() {
+        request("server1/path", 10);
+        request("server2/path", 10);
+
+        Object context1 = selector.initContext();
+        String url = selector.getUrl(context1);
+
+        Object context2 = selector.initContext();
+        assertEquals(url.equals("server1/path") ? "server2/path" : "server1/path", selector.getUrl(context2));
+
+        selector.complete(context1);
+        selector.complete(context2);
+    }
+
+    @Test
+    public void testEjectionAndSlowStart() {
+        selector.setFailuresToEject(2);
+        selector.setMaxEjectionPercent(50);
+
+        for (int i = 0; i < 2; i++) {
+            Object context = selector.initContext();
+            while (!"server1/path".equals(selector.getUrl(context))) {
+                selector.success(context);
+                selector.complete(context);
+                context = selector.initContext();
+            }
+            selector.fail(context);
+            selector.complete(context);
+        }
+
+        request("server2/path", 10);
+        for (int i = 0; i < 10; i++) {
+            Object context = selector.initContext();
+            assertEquals("ejected server is the last", "server2/path", selector.getUrl(context));
+            selector.complete(context);
+        }
+
+        time += 31_000;
+        request("server1/path", 10);
+        time += 1000;
+
+        Object context = selector.initContext();
+        assertEquals("recovered server gets lower share during slow start", "server2/path", selector.getUrl(context));
+        selector.complete(context);
+    }
+}
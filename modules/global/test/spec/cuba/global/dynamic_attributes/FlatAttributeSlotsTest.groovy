@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spec.cuba.global.dynamic_attributes
+
+import com.haulmont.cuba.core.app.dynamicattributes.FlatAttributeSlots
+import com.haulmont.cuba.core.app.dynamicattributes.PropertyType
+import com.haulmont.cuba.core.entity.Category
+import com.haulmont.cuba.core.entity.CategoryAttribute
+import com.haulmont.cuba.core.entity.FlatAttributeValues
+import spock.lang.Specification
+
+class FlatAttributeSlotsTest extends Specification {
+
+    def "attributes are assigned to free slots of their type"() {
+
+        Category category = new Category()
+        Category otherCategory = new Category()
+
+        def attributes = [
+                attribute(category, 'color', PropertyType.ENUMERATION),
+                attribute(category, 'name', PropertyType.STRING),
+                attribute(category, 'price', PropertyType.DOUBLE),
+                attribute(category, 'owner', PropertyType.ENTITY),
+                attribute(otherCategory, 'weight', PropertyType.DOUBLE)
+        ]
+
+        when:
+        def slots = FlatAttributeSlots.getSlots(category, attributes)
+
+        then:
+        slots == [color: 'stringValue1', name: 'stringValue2', price: 'doubleValue1']
+        category.flatSlots == 'stringValue1,stringValue2,doubleValue1'
+        FlatAttributeSlots.getSlot(attributes[3]) == null
+        FlatAttributeSlots.getSlot(attributes[4]) == 'doubleValue1'
+    }
+
+    def "slots are kept when other attributes are removed and not reused"() {
+
+        Category category = new Category()
+
+        def first = attribute(category, 'first', PropertyType.STRING)
+        def second = attribute(category, 'second', PropertyType.STRING)
+
+        when:
+        def third = attribute(category, 'third', PropertyType.STRING)
+
+        then:
+        FlatAttributeSlots.getSlots(category, [second, third]) == [second: 'stringValue2', third: 'stringValue3']
+        first.flatSlot == 'stringValue1'
+    }
+
+    def "attribute gets a new slot when its type changes"() {
+
+        Category category = new Category()
+
+        def attribute = attribute(category, 'size', PropertyType.STRING)
+
+        when:
+        attribute.dataType = PropertyType.INTEGER
+
+        then:
+        FlatAttributeSlots.getSlot(attribute) == null
+        FlatAttributeSlots.assignSlot(attribute)
+        attribute.flatSlot == 'intValue1'
+        !FlatAttributeSlots.assignSlot(attribute)
+
+        when:
+        attribute.dataType = PropertyType.STRING
+        FlatAttributeSlots.assignSlot(attribute)
+
+        then:
+        attribute.flatSlot == 'stringValue2'
+    }
+
+    def "collection attributes and attributes exceeding slots are not flattened"() {
+
+        Category category = new Category()
+
+        def attributes = (1..FlatAttributeValues.SLOTS_PER_TYPE + 1).collect {
+            attribute(category, "int$it", PropertyType.INTEGER)
+        }
+        def collectionAttribute = new CategoryAttribute(category: category, code: 'tags',
+                dataType: PropertyType.STRING, isCollection: true)
+        FlatAttributeSlots.assignSlot(collectionAttribute)
+        attributes << collectionAttribute
+
+        when:
+        def slots = FlatAttributeSlots.getSlots(category, attributes)
+
+        then:
+        slots.size() == FlatAttributeValues.SLOTS_PER_TYPE
+        slots['int1'] == 'intValue1'
+        !slots.containsKey("int${FlatAttributeValues.SLOTS_PER_TYPE + 1}".toString())
+        !slots.containsKey('tags')
+        collectionAttribute.flatSlot == null
+    }
+
+    private static CategoryAttribute attribute(Category category, String code, PropertyType type) {
+        CategoryAttribute attribute = new CategoryAttribute()
+        attribute.category = category
+        attribute.code = code
+        attribute.dataType = type
+        FlatAttributeSlots.assignSlot(attribute)
+        return attribute
+    }
+}
@@ -16,8 +16,13 @@
 
 package spec.cuba.global.instance_utils
 
+import com.haulmont.chile.core.model.MetaClass
+import com.haulmont.chile.core.model.MetaProperty
+import com.haulmont.chile.core.model.MetaPropertyPath
 import com.haulmont.chile.core.model.utils.InstanceUtils
+import com.haulmont.cuba.core.entity.KeyValueEntity
 import com.haulmont.cuba.core.entity.StandardEntity
+import com.haulmont.cuba.security.entity.Group
 import com.haulmont.cuba.security.entity.User
 import spock.lang.Specification
 
@@ -100,4 +105,52 @@ class InstanceUtilsTest extends Specification {
         // false for different collections with the same content
         !InstanceUtils.propertyValueEquals(list1, list2)
     }
+
+    def "getValueEx reads MetaPropertyPath through cached accessor"() {
+
+        MetaPropertyPath groupNamePath = new MetaPropertyPath(Mock(MetaClass), metaProperty('group'), metaProperty('name'))
+
+        User user1 = new User(login: 'user1', group: new Group(name: 'group1'))
+        User user2 = new User(login: 'user2')
+
+        expect:
+
+        InstanceUtils.getValueEx(user1, groupNamePath) == 'group1'
+        InstanceUtils.getValueEx(user2, groupNamePath) == null
+        groupNamePath.getAccessor().is(groupNamePath.getAccessor())
+    }
+
+    def "getValueEx reads MetaPropertyPath of instances with custom attribute access"() {
+
+        MetaPropertyPath namePath = new MetaPropertyPath(Mock(MetaClass), metaProperty('name'))
+
+        KeyValueEntity entity = new KeyValueEntity()
+        entity.setValue('name', 'value')
+
+        User user = new User(name: 'user')
+
+        expect:
+
+        InstanceUtils.getValueEx(entity, namePath) == 'value'
+        InstanceUtils.getValueEx(user, namePath) == 'user'
+        InstanceUtils.getValueEx(entity, namePath) == 'value'
+    }
+
+    def "setValueEx sets nested value"() {
+
+        User user = new User(group: new Group(name: 'group1'))
+
+        when:
+        InstanceUtils.setValueEx(user, 'group.name', 'group2')
+
+        then:
+        user.group.name == 'group2'
+        InstanceUtils.getValueEx(user, 'group.name') == 'group2'
+    }
+
+    private MetaProperty metaProperty(String name) {
+        Mock(MetaProperty) {
+            getName() >> name
+        }
+    }
 }
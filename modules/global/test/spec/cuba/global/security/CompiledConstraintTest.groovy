@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spec.cuba.global.security
+
+import com.haulmont.cuba.core.sys.CompiledConstraint
+import spock.lang.Specification
+
+class CompiledConstraintTest extends Specification {
+
+    def shell = new GroovyShell()
+
+    def "script instance is reused for a batch of entities"() {
+        def constraint = new CompiledConstraint('{E}.size() > limit',
+                shell.parse('__entity__.size() > limit').getClass())
+        def binding = new Binding([limit: 1])
+        def script = constraint.createScript(binding)
+
+        expect:
+
+        constraint.evaluate(script, 'abc') == true
+        constraint.evaluate(script, 'a') == false
+        constraint.evaluate(script, 'ab') == true
+
+        constraint.evaluationsCount == 3
+        constraint.rejectionsCount == 1
+        constraint.failuresCount == 0
+    }
+
+    def "variables assigned by script do not leak between entities"() {
+        def scriptText = '''
+            def result = !binding.hasVariable('seen') && limit == 1
+            seen = __entity__
+            result
+            '''
+        def constraint = new CompiledConstraint(scriptText, shell.parse(scriptText).getClass())
+        def script = constraint.createScript(new Binding())
+        def variables = [limit: 1]
+
+        expect:
+
+        constraint.evaluate(script, variables, 'abc') == true
+        constraint.evaluate(script, variables, 'a') == true
+        variables == [limit: 1]
+    }
+
+    def "failures are counted"() {
+        def constraint = new CompiledConstraint('{E}.unknownProperty',
+                shell.parse('__entity__.unknownProperty').getClass())
+        def script = constraint.createScript(new Binding())
+
+        when:
+
+        constraint.evaluate(script, 'abc')
+
+        then:
+
+        thrown(MissingPropertyException)
+        constraint.evaluationsCount == 1
+        constraint.failuresCount == 1
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package spec.cuba.global.security
+
+import com.haulmont.cuba.security.entity.PermissionType
+import com.haulmont.cuba.security.entity.User
+import com.haulmont.cuba.security.global.UserSession
+import spock.lang.Specification
+
+class UserSessionSharedPermissionsTest extends Specification {
+
+    private Map<String, Integer>[] shared
+
+    void setup() {
+        shared = new Map[PermissionType.values().length]
+        for (int i = 0; i < shared.length; i++) {
+            shared[i] = Collections.emptyMap()
+        }
+        shared[PermissionType.SCREEN.ordinal()] = Collections.unmodifiableMap(['screen1': 0, 'screen2': 1])
+    }
+
+    def "session permissions override shared tables"() {
+        def session = createSession()
+
+        when:
+
+        session.addPermission(PermissionType.SCREEN, 'screen1', null, 1)
+        session.addPermission(PermissionType.SCREEN, 'screen3', null, 0)
+
+        then:
+
+        session.isScreenPermitted('screen1')
+        session.isScreenPermitted('screen2')
+        !session.isScreenPermitted('screen3')
+        session.getPermissionsByType(PermissionType.SCREEN) == ['screen1': 1, 'screen2': 1, 'screen3': 0]
+
+        and: "shared tables are not modified"
+
+        shared[PermissionType.SCREEN.ordinal()] == ['screen1': 0, 'screen2': 1]
+    }
+
+    def "permission from shared table can be removed in one session"() {
+        def session1 = createSession()
+        def session2 = createSession()
+
+        when:
+
+        session1.removePermission(PermissionType.SCREEN, 'screen1')
+
+        then:
+
+        session1.getPermissionValue(PermissionType.SCREEN, 'screen1') == null
+        session1.getPermissionValue(PermissionType.SCREEN, 'screen2') == 1
+        session2.getPermissionValue(PermissionType.SCREEN, 'screen1') == 0
+    }
+
+    private UserSession createSession() {
+        def session = new UserSession(UUID.randomUUID(), new User(), [], Locale.ENGLISH, false)
+        session.setSharedPermissions(shared)
+        return session
+    }
+}
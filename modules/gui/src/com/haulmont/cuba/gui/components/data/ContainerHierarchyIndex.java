@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.components.data;
+
+import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.gui.model.CollectionChangeType;
+import com.haulmont.cuba.gui.model.CollectionContainer;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * {@link HierarchyIndex} over the items of a {@link CollectionContainer} with optional lazy loading of child items.
+ * <p>
+ * If a children loader is set, the container may initially hold only the top levels of a tree. Children of an item
+ * are requested from the loader once, when they are requested by a component for the first time (usually when the
+ * node is expanded), and added to the container without firing collection change events. Until then the item
+ * is reported as having children.
+ *
+ * @param <E> entity type
+ */
+public class ContainerHierarchyIndex<E extends Entity> extends HierarchyIndex<E> {
+
+    protected final CollectionContainer<E> container;
+
+    protected Function<E, Collection<E>> childrenLoader;
+    protected Set<Object> loadedParents = new HashSet<>();
+
+    public ContainerHierarchyIndex(CollectionContainer<E> container, String hierarchyProperty) {
+        super(container::getItems, hierarchyProperty);
+        this.container = container;
+    }
+
+    @Nullable
+    public Function<E, Collection<E>> getChildrenLoader() {
+        return childrenLoader;
+    }
+
+    /**
+     * Sets a function that loads direct children of the given item, e.g. from the database.
+     */
+    public void setChildrenLoader(@Nullable Function<E, Collection<E>> childrenLoader) {
+        this.childrenLoader = childrenLoader;
+        this.loadedParents.clear();
+    }
+
+    /**
+     * Returns root items if the item is null or direct children of the item otherwise, loading them if needed.
+     */
+    public List<E> getChildren(@Nullable E item) {
+        if (item == null) {
+            return getRoots();
+        }
+        loadChildrenIfNeeded(item);
+        return getChildrenById(item.getId());
+    }
+
+    public boolean hasChildren(E item) {
+        if (childrenLoader != null && !loadedParents.contains(item.getId())) {
+            return true;
+        }
+        return hasChildrenById(item.getId());
+    }
+
+    /**
+     * Must be invoked by the owner on each collection change of the container.
+     */
+    public void collectionChanged(CollectionContainer.CollectionChangeEvent<E> event) {
+        if (event.getChangeType() == CollectionChangeType.REFRESH) {
+            loadedParents.clear();
+        }
+        invalidate();
+    }
+
+    /**
+     * Must be invoked by the owner on each item property change in the container.
+     */
+    public void itemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> event) {
+        if (event.getProperty().equals(hierarchyProperty)) {
+            invalidate();
+        }
+    }
+
+    protected void loadChildrenIfNeeded(E item) {
+        if (childrenLoader == null || !loadedParents.add(item.getId())) {
+            return;
+        }
+
+        Collection<E> loaded = childrenLoader.apply(item);
+        if (loaded == null || loaded.isEmpty()) {
+            return;
+        }
+
+        List<E> newItems = new ArrayList<>(loaded.size());
+        for (E child : loaded) {
+            if (container.getItemOrNull(child.getId()) == null) {
+                newItems.add(child);
+            }
+        }
+        if (!newItems.isEmpty()) {
+            container.mute();
+            try {
+                container.getMutableItems().addAll(newItems);
+            } finally {
+                container.unmute(CollectionContainer.UnmuteEventsMode.SILENT);
+            }
+            invalidate();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.components.data;
+
+import com.haulmont.cuba.gui.components.AggregationInfo;
+import com.haulmont.cuba.gui.data.GroupInfo;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * Group table items that obtain groups, group counts and aggregates from the database instead of calculating them
+ * over the loaded items. Items of a group are loaded only when the group is expanded, so
+ * {@link #getGroupItemIds(GroupInfo)} and {@link #getChildItems(GroupInfo)} return only the items loaded so far,
+ * while {@link #getGroupItemsCount(GroupInfo)} returns the count of all matching rows.
+ *
+ * @param <I> item type
+ */
+public interface DbGroupTableItems<I> extends GroupTableItems<I> {
+
+    /**
+     * Loads items of the given group if they have not been loaded yet.
+     */
+    void loadGroupItems(GroupInfo groupId);
+
+    /**
+     * Calculates aggregates of all rows of the given group or of all rows if the group is null.
+     */
+    Map<AggregationInfo, String> aggregateGroup(AggregationInfo[] aggregationInfos, @Nullable GroupInfo groupId);
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.components.data;
+
+import com.haulmont.cuba.core.entity.Entity;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Parent to children index of a flat collection of entities linked by a hierarchy property.
+ * <p>
+ * The index is built lazily on first access in a single pass over the items and is kept until {@link #invalidate()}
+ * is called, so that tree components can obtain root and child items without scanning the whole collection
+ * for each node. Owners must invalidate the index when the collection or the hierarchy property of any item changes.
+ *
+ * @param <E> entity type
+ */
+public class HierarchyIndex<E extends Entity> {
+
+    protected final Supplier<? extends Collection<E>> itemsSupplier;
+    protected final String hierarchyProperty;
+
+    protected Map<Object, List<E>> children;
+    protected List<E> roots;
+    protected Set<Object> rootIds;
+    protected int indexedSize = -1;
+
+    /**
+     * @param itemsSupplier     supplies the current items in their natural order
+     * @param hierarchyProperty name of the property referencing the parent item
+     */
+    public HierarchyIndex(Supplier<? extends Collection<E>> itemsSupplier, String hierarchyProperty) {
+        this.itemsSupplier = itemsSupplier;
+        this.hierarchyProperty = hierarchyProperty;
+    }
+
+    public String getHierarchyProperty() {
+        return hierarchyProperty;
+    }
+
+    /**
+     * Returns root items, i.e. items without parent or with a parent that is not contained in the collection.
+     */
+    public List<E> getRoots() {
+        ensureIndexed();
+        return roots;
+    }
+
+    /**
+     * Returns direct children of the item with the given id or empty list.
+     */
+    public List<E> getChildrenById(Object parentId) {
+        ensureIndexed();
+        List<E> list = children.get(parentId);
+        return list != null ? list : Collections.emptyList();
+    }
+
+    public boolean hasChildrenById(Object parentId) {
+        ensureIndexed();
+        return children.containsKey(parentId);
+    }
+
+    public boolean isRoot(Object itemId) {
+        ensureIndexed();
+        return rootIds.contains(itemId);
+    }
+
+    @Nullable
+    public E getParent(E item) {
+        return item.getValue(hierarchyProperty);
+    }
+
+    /**
+     * Drops the index, it will be rebuilt on next access.
+     */
+    public void invalidate() {
+        children = null;
+        roots = null;
+        rootIds = null;
+        indexedSize = -1;
+    }
+
+    protected void ensureIndexed() {
+        Collection<E> items = itemsSupplier.get();
+        // size check protects from modifications made while events are suppressed
+        if (children != null && indexedSize == items.size()) {
+            return;
+        }
+
+        Set<Object> ids = new HashSet<>(items.size() * 4 / 3 + 1);
+        for (E item : items) {
+            ids.add(item.getId());
+        }
+
+        Map<Object, List<E>> children = new HashMap<>();
+        List<E> roots = new ArrayList<>();
+        Set<Object> rootIds = new HashSet<>();
+        for (E item : items) {
+            E parent = item.getValue(hierarchyProperty);
+            if (parent == null || !ids.contains(parent.getId())) {
+                roots.add(item);
+                rootIds.add(item.getId());
+            } else {
+                children.computeIfAbsent(parent.getId(), k -> new ArrayList<>()).add(item);
+            }
+        }
+
+        this.children = children;
+        this.roots = roots;
+        this.rootIds = rootIds;
+        this.indexedSize = items.size();
+    }
+}
@@ -18,10 +18,13 @@ package com.haulmont.cuba.gui.components.data.datagrid;
 
 import com.haulmont.bali.util.Preconditions;
 import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.gui.components.data.ContainerHierarchyIndex;
 import com.haulmont.cuba.gui.components.data.TreeDataGridItems;
 import com.haulmont.cuba.gui.model.CollectionContainer;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class ContainerTreeDataGridItems<E extends Entity>
@@ -30,40 +33,39 @@ public class ContainerTreeDataGridItems<E extends Entity>
 
     private final String hierarchyProperty;
 
+    protected final ContainerHierarchyIndex<E> hierarchyIndex;
+
     public ContainerTreeDataGridItems(CollectionContainer<E> container, String hierarchyProperty) {
         super(container);
         this.hierarchyProperty = hierarchyProperty;
+        this.hierarchyIndex = new ContainerHierarchyIndex<>(container, hierarchyProperty);
+    }
+
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        hierarchyIndex.collectionChanged(e);
+        super.containerCollectionChanged(e);
+    }
+
+    @Override
+    protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> e) {
+        hierarchyIndex.itemPropertyChanged(e);
+        super.containerItemPropertyChanged(e);
     }
 
     @Override
     public int getChildCount(E parent) {
-        return Math.toIntExact(getChildren(parent).count());
+        return hierarchyIndex.getChildren(parent).size();
     }
 
     @Override
     public Stream<E> getChildren(E item) {
-        if (item == null) {
-            // root items
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = it.getValue(hierarchyProperty);
-                        return parentItem == null || (container.getItemOrNull(parentItem.getId()) == null);
-                    });
-        } else {
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = it.getValue(hierarchyProperty);
-                        return parentItem != null && parentItem.equals(item);
-                    });
-        }
+        return hierarchyIndex.getChildren(item).stream();
     }
 
     @Override
     public boolean hasChildren(E item) {
-        return container.getItems().stream().anyMatch(it -> {
-            E parentItem = it.getValue(hierarchyProperty);
-            return parentItem != null && parentItem.equals(item);
-        });
+        return hierarchyIndex.hasChildren(item);
     }
 
     @Nullable
@@ -72,4 +74,18 @@ public class ContainerTreeDataGridItems<E extends Entity>
         Preconditions.checkNotNullArgument(item);
         return item.getValue(hierarchyProperty);
     }
+
+    @Nullable
+    public Function<E, Collection<E>> getChildrenLoader() {
+        return hierarchyIndex.getChildrenLoader();
+    }
+
+    /**
+     * Sets a function that loads direct children of an item on its first expand.
+     *
+     * @see ContainerHierarchyIndex
+     */
+    public void setChildrenLoader(@Nullable Function<E, Collection<E>> childrenLoader) {
+        hierarchyIndex.setChildrenLoader(childrenLoader);
+    }
 }
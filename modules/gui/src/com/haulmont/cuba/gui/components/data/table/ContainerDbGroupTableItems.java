@@ -0,0 +1,530 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.components.data.table;
+
+import com.haulmont.chile.core.model.MetaClass;
+import com.haulmont.chile.core.model.MetaProperty;
+import com.haulmont.chile.core.model.MetaPropertyPath;
+import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.core.entity.KeyValueEntity;
+import com.haulmont.cuba.core.global.*;
+import com.haulmont.cuba.core.global.queryconditions.Condition;
+import com.haulmont.cuba.core.global.queryconditions.ConditionJpqlGenerator;
+import com.haulmont.cuba.gui.components.AggregationInfo;
+import com.haulmont.cuba.gui.components.data.DbGroupTableItems;
+import com.haulmont.cuba.gui.data.GroupInfo;
+import com.haulmont.cuba.gui.data.aggregation.Aggregation;
+import com.haulmont.cuba.gui.data.aggregation.Aggregations;
+import com.haulmont.cuba.gui.model.CollectionContainer;
+import com.haulmont.cuba.gui.model.CollectionLoader;
+import com.haulmont.cuba.gui.model.DataContext;
+import com.haulmont.cuba.gui.model.DataLoader;
+import com.haulmont.cuba.gui.model.HasLoader;
+import org.apache.commons.collections4.map.LinkedMap;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Group table items that build groups with {@code group by} JPQL queries instead of grouping the loaded items.
+ * <p>
+ * Groups, group counts and aggregates are obtained from the database for all rows matching the query and
+ * condition of the container loader, regardless of how many rows the loader has loaded. Items of a group are loaded
+ * by the group values only when the group is expanded, and added to the container without firing events.
+ * <p>
+ * If the loader has no query or uses a load delegate, or the grouping properties cannot be used in JPQL
+ * (e.g. they are not persistent), the items fall back to grouping of the loaded items.
+ */
+public class ContainerDbGroupTableItems<E extends Entity<K>, K> extends ContainerGroupTableItems<E, K>
+        implements DbGroupTableItems<E> {
+
+    private static final Logger log = LoggerFactory.getLogger(ContainerDbGroupTableItems.class);
+
+    protected static final String GROUP_ALIAS = "grp_e";
+    protected static final String GROUP_PARAM_PREFIX = "grp_value_";
+
+    protected CollectionLoader<E> loader;
+
+    // true if the current groups are calculated by the database
+    protected boolean dbGrouping;
+
+    protected Map<GroupInfo, Integer> groupCounts;
+    protected Set<GroupInfo> loadedGroups = new HashSet<>();
+
+    // partial aggregation results of leaf groups, the key is null for ungrouped results
+    protected Map<AggregationInfo, Map<GroupInfo, Object[]>> aggregates = new HashMap<>();
+
+    public ContainerDbGroupTableItems(CollectionContainer<E> container) {
+        this(container, getLoader(container));
+    }
+
+    public ContainerDbGroupTableItems(CollectionContainer<E> container, @Nullable CollectionLoader<E> loader) {
+        super(container);
+        this.loader = loader;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    protected static <E extends Entity> CollectionLoader<E> getLoader(CollectionContainer<E> container) {
+        if (container instanceof HasLoader) {
+            DataLoader loader = ((HasLoader) container).getLoader();
+            if (loader instanceof CollectionLoader) {
+                return (CollectionLoader<E>) loader;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    public CollectionLoader<E> getLoader() {
+        return loader;
+    }
+
+    /**
+     * @return true if the current groups have been calculated by the database
+     */
+    public boolean isDbGrouping() {
+        return dbGrouping;
+    }
+
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        aggregates.clear();
+        super.containerCollectionChanged(e);
+    }
+
+    @Override
+    public void groupBy(Object[] properties) {
+        if (properties != null && properties.length == 0) {
+            resetDbGroups();
+        }
+        super.groupBy(properties);
+    }
+
+    @Override
+    protected void doGroup() {
+        resetDbGroups();
+        if (!canGroupInDb()) {
+            super.doGroup();
+            return;
+        }
+
+        roots = new ArrayList<>();
+        parents = new LinkedHashMap<>();
+        children = new LinkedHashMap<>();
+        groupItems = new HashMap<>();
+        itemGroups = new HashMap<>();
+        groupCounts = new HashMap<>();
+        dbGrouping = true;
+
+        List<String> groupPaths = getGroupPaths();
+        StringBuilder select = new StringBuilder();
+        for (String path : groupPaths) {
+            select.append(GROUP_ALIAS).append(".").append(path).append(", ");
+        }
+        select.append("count(").append(GROUP_ALIAS).append(")");
+
+        List<String> properties = new ArrayList<>();
+        for (int i = 0; i <= groupPaths.size(); i++) {
+            properties.add("v" + i);
+        }
+
+        String orderBy = groupPaths.stream()
+                .map(path -> GROUP_ALIAS + "." + path)
+                .collect(Collectors.joining(", "));
+        List<KeyValueEntity> rows = loadValues(select.toString(), properties, orderBy);
+
+        for (KeyValueEntity row : rows) {
+            LinkedMap<MetaPropertyPath, Object> groupValues = new LinkedMap<>();
+            GroupInfo parent = null;
+            int count = ((Number) row.getValue("v" + groupPaths.size())).intValue();
+
+            for (int i = 0; i < groupProperties.length; i++) {
+                groupValues.put((MetaPropertyPath) groupProperties[i], row.getValue("v" + i));
+
+                GroupInfo<MetaPropertyPath> groupInfo = new GroupInfo<>(groupValues);
+                if (!parents.containsKey(groupInfo)) {
+                    parents.put(groupInfo, parent);
+                    children.put(groupInfo, new ArrayList<>());
+                    if (parent == null) {
+                        roots.add(groupInfo);
+                    } else {
+                        children.get(parent).add(groupInfo);
+                    }
+                }
+                groupCounts.merge(groupInfo, count, Integer::sum);
+                parent = groupInfo;
+            }
+        }
+    }
+
+    protected void resetDbGroups() {
+        dbGrouping = false;
+        groupCounts = null;
+        loadedGroups.clear();
+        aggregates.clear();
+    }
+
+    protected boolean canGroupInDb() {
+        if (!canQueryInDb()) {
+            return false;
+        }
+
+        for (Object groupProperty : groupProperties) {
+            if (!(groupProperty instanceof MetaPropertyPath) || !isDbProperty((MetaPropertyPath) groupProperty)) {
+                log.debug("Cannot group {} by {} in database, loaded items are grouped",
+                        container.getEntityMetaClass(), groupProperty);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean canQueryInDb() {
+        if (loader == null || StringUtils.isBlank(loader.getQuery()) || loader.getLoadDelegate() != null) {
+            return false;
+        }
+
+        MetaClass metaClass = container.getEntityMetaClass();
+        MetadataTools metadataTools = AppBeans.get(MetadataTools.NAME);
+        return metadataTools.isPersistent(metaClass)
+                && metadataTools.getPrimaryKeyName(metaClass) != null
+                && !metadataTools.hasCompositePrimaryKey(metaClass);
+    }
+
+    protected boolean isDbProperty(MetaPropertyPath propertyPath) {
+        MetadataTools metadataTools = AppBeans.get(MetadataTools.NAME);
+        if (!metadataTools.isPersistent(propertyPath)) {
+            return false;
+        }
+        for (MetaProperty property : propertyPath.getMetaProperties()) {
+            if (property.getRange().getCardinality().isMany()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected List<String> getGroupPaths() {
+        List<String> paths = new ArrayList<>(groupProperties.length);
+        for (Object groupProperty : groupProperties) {
+            paths.add(groupProperty.toString());
+        }
+        return paths;
+    }
+
+    /**
+     * Loads values of the given select clause for all rows matching the loader query, grouped by the group properties
+     * if there are groups.
+     */
+    protected List<KeyValueEntity> loadValues(String select, List<String> properties, @Nullable String groupBy) {
+        MetaClass metaClass = container.getEntityMetaClass();
+        MetadataTools metadataTools = AppBeans.get(MetadataTools.NAME);
+        String pkName = metadataTools.getPrimaryKeyName(metaClass);
+
+        QueryTransformer transformer = QueryTransformerFactory.createTransformer(getLoaderQuery());
+        transformer.removeOrderBy();
+        transformer.replaceWithSelectId(pkName);
+
+        StringBuilder sb = new StringBuilder("select ").append(select)
+                .append(" from ").append(metaClass.getName()).append(" ").append(GROUP_ALIAS)
+                .append(" where ").append(GROUP_ALIAS).append(".").append(pkName)
+                .append(" in (").append(transformer.getResult()).append(")");
+        if (groupBy != null) {
+            sb.append(" group by ").append(groupBy).append(" order by ").append(groupBy);
+        }
+
+        ValueLoadContext context = ValueLoadContext.create()
+                .setStoreName(metadataTools.getStoreName(metaClass))
+                .setSoftDeletion(loader.isSoftDeletion())
+                .setProperties(properties);
+        ValueLoadContext.Query query = context.setQueryString(sb.toString());
+        query.setParameters(getLoaderParameters());
+
+        DataManager dataManager = AppBeans.get(DataManager.NAME);
+        return dataManager.loadValues(context);
+    }
+
+    /**
+     * @return loader query with the loader condition applied
+     */
+    protected String getLoaderQuery() {
+        String query = loader.getQuery();
+        Condition condition = loader.getCondition();
+        if (condition != null) {
+            Set<String> nonNullParamNames = loader.getParameters().entrySet().stream()
+                    .filter(e -> e.getValue() != null)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            ConditionJpqlGenerator conditionJpqlGenerator = AppBeans.get(ConditionJpqlGenerator.NAME);
+            query = conditionJpqlGenerator.processQuery(query, condition.actualize(nonNullParamNames));
+        }
+        return query;
+    }
+
+    protected Map<String, Object> getLoaderParameters() {
+        Map<String, Object> parameters = new HashMap<>();
+        for (Map.Entry<String, Object> entry : loader.getParameters().entrySet()) {
+            if (entry.getValue() != null) {
+                parameters.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return parameters;
+    }
+
+    @Override
+    public void loadGroupItems(GroupInfo groupId) {
+        if (!dbGrouping || !containsGroup(groupId) || hasChildren(groupId) || !loadedGroups.add(groupId)) {
+            return;
+        }
+
+        LoadContext<E> loadContext = loader.createLoadContext();
+        LoadContext.Query query = loadContext.getQuery();
+        query.setFirstResult(0);
+        query.setMaxResults(0);
+
+        QueryTransformer transformer = QueryTransformerFactory.createTransformer(query.getQueryString());
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>(query.getParameters());
+        for (int i = 0; i < groupProperties.length; i++) {
+            Object value = groupId.getPropertyValue(groupProperties[i]);
+            String path = "{E}." + groupProperties[i];
+            if (value == null) {
+                conditions.add(path + " is null");
+            } else {
+                conditions.add(path + " = :" + GROUP_PARAM_PREFIX + i);
+                parameters.put(GROUP_PARAM_PREFIX + i, value);
+            }
+        }
+        transformer.addWhere(String.join(" and ", conditions));
+        query.setQueryString(transformer.getResult());
+        query.setParameters(parameters);
+        if (sortProperties != null && sortProperties.length > 0) {
+            query.setSort(createSort(sortProperties, sortAscending));
+        }
+
+        DataManager dataManager = AppBeans.get(DataManager.NAME);
+        List<E> entities = dataManager.loadList(loadContext);
+
+        DataContext dataContext = loader.getDataContext();
+        List<K> ids = new ArrayList<>(entities.size());
+        List<E> newItems = new ArrayList<>();
+        for (E entity : entities) {
+            E item = dataContext != null ? dataContext.merge(entity) : entity;
+            ids.add(item.getId());
+            itemGroups.put(item.getId(), groupId);
+            if (container.getItemOrNull(item.getId()) == null) {
+                newItems.add(item);
+            }
+        }
+        groupItems.put(groupId, ids);
+
+        if (!newItems.isEmpty()) {
+            container.mute();
+            try {
+                container.getMutableItems().addAll(newItems);
+            } finally {
+                container.unmute(CollectionContainer.UnmuteEventsMode.SILENT);
+            }
+        }
+    }
+
+    @Override
+    public int getGroupItemsCount(GroupInfo groupId) {
+        if (dbGrouping) {
+            return containsGroup(groupId) ? groupCounts.getOrDefault(groupId, 0) : 0;
+        }
+        return super.getGroupItemsCount(groupId);
+    }
+
+    @Override
+    public Map<AggregationInfo, String> aggregateGroup(AggregationInfo[] aggregationInfos, @Nullable GroupInfo groupId) {
+        boolean grouped = hasGroups();
+        if ((grouped && !dbGrouping) || (!grouped && !canQueryInDb())) {
+            Collection<?> itemIds = groupId != null ? getGroupItemIds(groupId) : getItemIds();
+            return aggregate(aggregationInfos, itemIds);
+        }
+
+        List<AggregationInfo> dbInfos = new ArrayList<>();
+        List<AggregationInfo> memoryInfos = new ArrayList<>();
+        for (AggregationInfo info : aggregationInfos) {
+            if (isDbAggregation(info)) {
+                dbInfos.add(info);
+            } else {
+                memoryInfos.add(info);
+            }
+        }
+
+        Map<AggregationInfo, String> results = new HashMap<>();
+        if (!memoryInfos.isEmpty()) {
+            Collection<?> itemIds = groupId != null ? getGroupItemIds(groupId) : getItemIds();
+            results.putAll(aggregate(memoryInfos.toArray(new AggregationInfo[0]), itemIds));
+        }
+
+        if (!dbInfos.isEmpty()) {
+            loadAggregates(dbInfos.stream()
+                    .filter(info -> !aggregates.containsKey(info))
+                    .collect(Collectors.toList()));
+
+            List<GroupInfo> leafGroups = new ArrayList<>();
+            if (!grouped) {
+                leafGroups.add(null);
+            } else if (groupId == null) {
+                for (GroupInfo root : roots) {
+                    collectLeafGroups(root, leafGroups);
+                }
+            } else if (containsGroup(groupId)) {
+                collectLeafGroups(groupId, leafGroups);
+            }
+
+            for (AggregationInfo info : dbInfos) {
+                Object value = combineAggregates(info, aggregates.get(info), leafGroups);
+                results.put(info, aggregatableDelegate.formatAggregationValue(info, value));
+            }
+        }
+        return results;
+    }
+
+    protected boolean isDbAggregation(AggregationInfo info) {
+        return info.getStrategy() == null
+                && info.getType() != AggregationInfo.Type.CUSTOM
+                && info.getPropertyPath() != null
+                && isDbProperty(info.getPropertyPath());
+    }
+
+    protected void collectLeafGroups(GroupInfo groupId, List<GroupInfo> leafGroups) {
+        List<GroupInfo> groupChildren = children.get(groupId);
+        if (groupChildren == null || groupChildren.isEmpty()) {
+            leafGroups.add(groupId);
+        } else {
+            for (GroupInfo child : groupChildren) {
+                collectLeafGroups(child, leafGroups);
+            }
+        }
+    }
+
+    protected void loadAggregates(List<AggregationInfo> infos) {
+        if (infos.isEmpty()) {
+            return;
+        }
+
+        boolean grouped = hasGroups();
+        List<String> groupPaths = grouped ? getGroupPaths() : Collections.emptyList();
+
+        List<String> selectItems = new ArrayList<>();
+        for (String path : groupPaths) {
+            selectItems.add(GROUP_ALIAS + "." + path);
+        }
+        for (AggregationInfo info : infos) {
+            String path = GROUP_ALIAS + "." + info.getPropertyPath().toString();
+            switch (info.getType()) {
+                case AVG:
+                    selectItems.add("sum(" + path + ")");
+                    selectItems.add("count(" + path + ")");
+                    break;
+                default:
+                    selectItems.add(info.getType().name().toLowerCase() + "(" + path + ")");
+            }
+        }
+
+        List<String> properties = new ArrayList<>();
+        for (int i = 0; i < selectItems.size(); i++) {
+            properties.add("v" + i);
+        }
+
+        String groupBy = grouped
+                ? groupPaths.stream().map(path -> GROUP_ALIAS + "." + path).collect(Collectors.joining(", "))
+                : null;
+        List<KeyValueEntity> rows = loadValues(String.join(", ", selectItems), properties, groupBy);
+
+        for (AggregationInfo info : infos) {
+            aggregates.put(info, new HashMap<>());
+        }
+
+        for (KeyValueEntity row : rows) {
+            GroupInfo groupInfo = null;
+            if (grouped) {
+                LinkedMap<MetaPropertyPath, Object> groupValues = new LinkedMap<>();
+                for (int i = 0; i < groupProperties.length; i++) {
+                    groupValues.put((MetaPropertyPath) groupProperties[i], row.getValue("v" + i));
+                }
+                groupInfo = new GroupInfo<>(groupValues);
+            }
+
+            int column = groupPaths.size();
+            for (AggregationInfo info : infos) {
+                Object[] partial;
+                if (info.getType() == AggregationInfo.Type.AVG) {
+                    partial = new Object[]{row.getValue("v" + column), row.getValue("v" + (column + 1))};
+                    column += 2;
+                } else {
+                    partial = new Object[]{row.getValue("v" + column)};
+                    column++;
+                }
+                aggregates.get(info).put(groupInfo, partial);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Object combineAggregates(AggregationInfo info, Map<GroupInfo, Object[]> partials,
+                                       List<GroupInfo> leafGroups) {
+        Aggregation aggregation = Aggregations.get(info.getPropertyPath().getRangeJavaClass());
+
+        List<Object> values = new ArrayList<>(leafGroups.size());
+        double sum = 0;
+        long count = 0;
+        for (GroupInfo leafGroup : leafGroups) {
+            Object[] partial = partials.get(leafGroup);
+            if (partial == null) {
+                continue;
+            }
+            if (info.getType() == AggregationInfo.Type.AVG) {
+                if (partial[0] != null) {
+                    sum += ((Number) partial[0]).doubleValue();
+                    count += ((Number) partial[1]).longValue();
+                }
+            } else if (partial[0] != null) {
+                values.add(partial[0]);
+            }
+        }
+
+        switch (info.getType()) {
+            case COUNT:
+                long total = 0;
+                for (Object value : values) {
+                    total += ((Number) value).longValue();
+                }
+                return Math.toIntExact(total);
+            case AVG:
+                // converts the average to the result type of the property aggregation
+                return aggregation.avg(count == 0 ? Collections.emptyList() : Collections.singletonList(sum / count));
+            case SUM:
+                return aggregation.sum(values);
+            case MIN:
+                return aggregation.min(values);
+            case MAX:
+                return aggregation.max(values);
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported aggregation type: %s", info.getType()));
+        }
+    }
+}
@@ -140,7 +140,7 @@ public class ContainerGroupTableItems<E extends Entity<K>, K>
     protected Object getValueByProperty(E item, MetaPropertyPath property) {
         Preconditions.checkNotNullArgument(item);
 
-        return item.getValueEx(property.toString());
+        return item.getValueEx(property);
     }
 
     @Override
@@ -18,10 +18,13 @@ package com.haulmont.cuba.gui.components.data.table;
 
 import com.haulmont.chile.core.model.Instance;
 import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.gui.components.data.ContainerHierarchyIndex;
 import com.haulmont.cuba.gui.components.data.TreeTableItems;
 import com.haulmont.cuba.gui.model.CollectionContainer;
 
+import javax.annotation.Nullable;
 import java.util.*;
+import java.util.function.Function;
 
 public class ContainerTreeTableItems<E extends Entity>
             extends ContainerTableItems<E>
@@ -29,9 +32,24 @@ public class ContainerTreeTableItems<E extends Entity>
 
     private final String hierarchyProperty;
 
+    protected final ContainerHierarchyIndex<E> hierarchyIndex;
+
     public ContainerTreeTableItems(CollectionContainer<E> container, String hierarchyProperty) {
         super(container);
         this.hierarchyProperty = hierarchyProperty;
+        this.hierarchyIndex = new ContainerHierarchyIndex<>(container, hierarchyProperty);
+    }
+
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        hierarchyIndex.collectionChanged(e);
+        super.containerCollectionChanged(e);
+    }
+
+    @Override
+    protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> e) {
+        hierarchyIndex.itemPropertyChanged(e);
+        super.containerItemPropertyChanged(e);
     }
 
     @Override
@@ -41,19 +59,10 @@ public class ContainerTreeTableItems<E extends Entity>
 
     @Override
     public Collection<?> getRootItemIds() {
-        Collection<?> ids = getItemIds();
-
         if (hierarchyProperty != null) {
-            Set<Object> result = new LinkedHashSet<>();
-            for (Object id : ids) {
-                Entity item = getItemNN(id);
-                Entity parentItem = item.getValue(hierarchyProperty);
-                if (parentItem == null || (container.getItemOrNull(parentItem.getId()) == null))
-                    result.add(item.getId());
-            }
-            return result;
+            return toIds(hierarchyIndex.getRoots(), new LinkedHashSet<>());
         } else {
-            return new LinkedHashSet<>(ids);
+            return new LinkedHashSet<>(getItemIds());
         }
     }
 
@@ -74,21 +83,11 @@ public class ContainerTreeTableItems<E extends Entity>
     @Override
     public Collection<?> getChildren(Object itemId) {
         if (hierarchyProperty != null) {
-            Entity currentItem = getItem(itemId);
+            E currentItem = getItem(itemId);
             if (currentItem == null)
                 return Collections.emptyList();
 
-            List<Object> res = new ArrayList<>();
-
-            Collection ids = getItemIds();
-            for (Object id : ids) {
-                Entity item = getItemNN(id);
-                Entity parentItem = item.getValue(hierarchyProperty);
-                if (parentItem != null && parentItem.getId().equals(itemId))
-                    res.add(item.getId());
-            }
-
-            return res;
+            return toIds(hierarchyIndex.getChildren(currentItem), new ArrayList<>());
         }
         return Collections.emptyList();
     }
@@ -99,8 +98,7 @@ public class ContainerTreeTableItems<E extends Entity>
         if (item == null) return false;
 
         if (hierarchyProperty != null) {
-            Entity parentItem = item.getValue(hierarchyProperty);
-            return (parentItem == null || (container.getItemOrNull(parentItem.getId()) == null));
+            return hierarchyIndex.isRoot(itemId);
         } else {
             return true;
         }
@@ -108,18 +106,12 @@ public class ContainerTreeTableItems<E extends Entity>
 
     @Override
     public boolean hasChildren(Object itemId) {
-        Entity currentItem = getItem(itemId);
+        E currentItem = getItem(itemId);
         if (currentItem == null)
             return false;
 
         if (hierarchyProperty != null) {
-            Collection ids = getItemIds();
-            for (Object id : ids) {
-                Entity item = getItemNN(id);
-                Entity parentItem = item.getValue(hierarchyProperty);
-                if (parentItem != null && parentItem.getId().equals(itemId))
-                    return true;
-            }
+            return hierarchyIndex.hasChildren(currentItem);
         }
 
         return false;
@@ -130,4 +122,25 @@ public class ContainerTreeTableItems<E extends Entity>
         Collection<?> rootItemIds = getRootItemIds();
         return rootItemIds.isEmpty() ? null : rootItemIds.iterator().next();
     }
+
+    @Nullable
+    public Function<E, Collection<E>> getChildrenLoader() {
+        return hierarchyIndex.getChildrenLoader();
+    }
+
+    /**
+     * Sets a function that loads direct children of an item on its first expand.
+     *
+     * @see ContainerHierarchyIndex
+     */
+    public void setChildrenLoader(@Nullable Function<E, Collection<E>> childrenLoader) {
+        hierarchyIndex.setChildrenLoader(childrenLoader);
+    }
+
+    protected <C extends Collection<Object>> C toIds(List<E> items, C result) {
+        for (E item : items) {
+            result.add(item.getId());
+        }
+        return result;
+    }
 }
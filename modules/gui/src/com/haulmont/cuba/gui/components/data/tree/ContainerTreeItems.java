@@ -22,12 +22,15 @@ import com.haulmont.bali.util.Preconditions;
 import com.haulmont.chile.core.model.MetaClass;
 import com.haulmont.cuba.core.entity.Entity;
 import com.haulmont.cuba.gui.components.data.BindingState;
+import com.haulmont.cuba.gui.components.data.ContainerHierarchyIndex;
 import com.haulmont.cuba.gui.components.data.meta.ContainerDataUnit;
 import com.haulmont.cuba.gui.components.data.meta.EntityTreeItems;
 import com.haulmont.cuba.gui.model.CollectionContainer;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class ContainerTreeItems<E extends Entity> implements EntityTreeItems<E>, ContainerDataUnit<E> {
@@ -36,11 +39,14 @@ public class ContainerTreeItems<E extends Entity> implements EntityTreeItems<E>,
 
     protected final String hierarchyProperty;
 
+    protected final ContainerHierarchyIndex<E> hierarchyIndex;
+
     protected EventHub events = new EventHub();
 
     public ContainerTreeItems(CollectionContainer<E> container, String hierarchyProperty) {
         this.container = container;
         this.hierarchyProperty = hierarchyProperty;
+        this.hierarchyIndex = new ContainerHierarchyIndex<>(container, hierarchyProperty);
         this.container.addItemChangeListener(this::containerItemChanged);
         this.container.addCollectionChangeListener(this::containerCollectionChanged);
         this.container.addItemPropertyChangeListener(this::containerItemPropertyChanged);
@@ -50,12 +56,14 @@ public class ContainerTreeItems<E extends Entity> implements EntityTreeItems<E>,
         events.publish(SelectedItemChangeEvent.class, new SelectedItemChangeEvent<>(this, event.getItem()));
     }
 
-    protected void containerCollectionChanged(@SuppressWarnings("unused") CollectionContainer.CollectionChangeEvent<E> e) {
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        hierarchyIndex.collectionChanged(e);
         events.publish(ItemSetChangeEvent.class, new ItemSetChangeEvent<>(this));
     }
 
     @SuppressWarnings("unchecked")
     protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> e) {
+        hierarchyIndex.itemPropertyChanged(e);
         events.publish(ValueChangeEvent.class, new ValueChangeEvent(this,
                 e.getItem(), e.getProperty(), e.getPrevValue(), e.getValue()));
     }
@@ -108,33 +116,17 @@ public class ContainerTreeItems<E extends Entity> implements EntityTreeItems<E>,
 
     @Override
     public int getChildCount(E parent) {
-        return Math.toIntExact(getChildren(parent).count());
+        return hierarchyIndex.getChildren(parent).size();
     }
 
     @Override
     public Stream<E> getChildren(E item) {
-        if (item == null) {
-            // root items
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = it.getValue(hierarchyProperty);
-                        return parentItem == null || (container.getItemOrNull(parentItem.getId()) == null);
-                    });
-        } else {
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = it.getValue(hierarchyProperty);
-                        return parentItem != null && parentItem.equals(item);
-                    });
-        }
+        return hierarchyIndex.getChildren(item).stream();
     }
 
     @Override
     public boolean hasChildren(E item) {
-        return container.getItems().stream().anyMatch(it -> {
-            E parentItem = it.getValue(hierarchyProperty);
-            return parentItem != null && parentItem.equals(item);
-        });
+        return hierarchyIndex.hasChildren(item);
     }
 
     @Nullable
@@ -149,6 +141,19 @@ public class ContainerTreeItems<E extends Entity> implements EntityTreeItems<E>,
         return hierarchyProperty;
     }
 
+    @Nullable
+    public Function<E, Collection<E>> getChildrenLoader() {
+        return hierarchyIndex.getChildrenLoader();
+    }
+
+    /**
+     * Sets a function that loads direct children of an item on its first expand. Use it for trees that are too
+     * large to be loaded at once: load only root items into the container and fetch the rest on demand.
+     */
+    public void setChildrenLoader(@Nullable Function<E, Collection<E>> childrenLoader) {
+        hierarchyIndex.setChildrenLoader(childrenLoader);
+    }
+
     @Override
     public Subscription addStateChangeListener(Consumer<StateChangeEvent> listener) {
         return events.subscribe(StateChangeEvent.class, listener);
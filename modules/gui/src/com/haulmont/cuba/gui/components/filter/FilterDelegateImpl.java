@@ -146,6 +146,12 @@ public class FilterDelegateImpl implements FilterDelegate {
     protected CollectionLoader dataLoader;
     protected Adapter adapter;
     protected QueryFilter dsQueryFilter;
+
+    // query filter built on last apply, reused while the conditions structure is the same,
+    // parameter values are passed to the query separately
+    protected String lastQueryFilterKey;
+    protected QueryFilter lastDsQueryFilter;
+    protected QueryFilter lastQueryFilter;
     protected List<FilterEntity> filterEntities = new ArrayList<>();
     protected AppliedFilter lastAppliedFilter;
     protected LinkedList<AppliedFilterHolder> appliedFilters = new LinkedList<>();
@@ -1699,6 +1705,14 @@ public class FilterDelegateImpl implements FilterDelegate {
     protected void applyDatasourceFilter() {
         checkState();
 
+        String queryFilterKey = getQueryFilterKey();
+        if (lastQueryFilter != null
+                && queryFilterKey.equals(lastQueryFilterKey)
+                && dsQueryFilter == lastDsQueryFilter) {
+            adapter.setQueryFilter(lastQueryFilter);
+            return;
+        }
+
         String currentFilterXml = filterParser.getXml(conditions, Param.ValueProperty.VALUE);
 
         if (!Strings.isNullOrEmpty(currentFilterXml)) {
@@ -1709,12 +1723,62 @@ public class FilterDelegateImpl implements FilterDelegate {
                 queryFilter = QueryFilter.merge(dsQueryFilter, queryFilter);
             }
 
+            lastQueryFilterKey = queryFilterKey;
+            lastDsQueryFilter = dsQueryFilter;
+            lastQueryFilter = queryFilter;
+
             adapter.setQueryFilter(queryFilter);
         } else {
+            lastQueryFilter = null;
             adapter.setQueryFilter(dsQueryFilter);
         }
     }
 
+    /**
+     * Returns the key of the conditions structure the query filter is built from. Parameter values are not
+     * included, except for conditions whose text depends on them.
+     */
+    protected String getQueryFilterKey() {
+        StringBuilder sb = new StringBuilder();
+        if (filterEntity != null) {
+            sb.append(filterEntity.getId());
+        }
+        for (Node<AbstractCondition> node : conditions.getRootNodes()) {
+            appendQueryFilterKey(node, sb);
+        }
+        return sb.toString();
+    }
+
+    protected void appendQueryFilterKey(Node<AbstractCondition> node, StringBuilder sb) {
+        AbstractCondition condition = node.getData();
+        sb.append('[');
+        if (condition.isGroup()) {
+            sb.append(((GroupCondition) condition).getGroupType());
+            for (Node<AbstractCondition> child : node.getChildren()) {
+                appendQueryFilterKey(child, sb);
+            }
+        } else {
+            sb.append(condition.getClass().getName())
+                    .append('|').append(condition.getName())
+                    .append('|').append(condition.getText())
+                    .append('|').append(condition.getOperator())
+                    .append('|').append(condition.getUnary())
+                    .append('|').append(condition.getInExpr());
+            if (condition instanceof CustomCondition) {
+                sb.append('|').append(((CustomCondition) condition).getJoin());
+            } else if (condition instanceof DynamicAttributesCondition) {
+                sb.append('|').append(((DynamicAttributesCondition) condition).getJoin())
+                        .append('|').append(((DynamicAttributesCondition) condition).isFlatValuesUsed());
+            }
+            Param param = condition.getParam();
+            if (param != null) {
+                sb.append('|').append(param.getName())
+                        .append('|').append(param.getJavaClass());
+            }
+        }
+        sb.append(']');
+    }
+
     protected boolean haveFilledRequiredConditions() {
         for (AbstractCondition condition : conditions.toConditionsList()) {
             if ((condition.getRequired())
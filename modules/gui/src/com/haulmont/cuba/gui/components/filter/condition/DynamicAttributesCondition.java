@@ -20,12 +20,13 @@ package com.haulmont.cuba.gui.components.filter.condition;
 import com.google.common.base.Strings;
 import com.haulmont.chile.core.annotations.MetaClass;
 import com.haulmont.chile.core.model.MetaPropertyPath;
+import com.haulmont.cuba.core.app.dynamicattributes.DynamicAttributes;
 import com.haulmont.cuba.core.app.dynamicattributes.DynamicAttributesUtils;
+import com.haulmont.cuba.core.app.dynamicattributes.FlatAttributeSlots;
+import com.haulmont.cuba.core.entity.CategoryAttribute;
+import com.haulmont.cuba.core.entity.Entity;
 import com.haulmont.cuba.core.entity.annotation.SystemLevel;
-import com.haulmont.cuba.core.global.AppBeans;
-import com.haulmont.cuba.core.global.MessageTools;
-import com.haulmont.cuba.core.global.Messages;
-import com.haulmont.cuba.core.global.QueryUtils;
+import com.haulmont.cuba.core.global.*;
 import com.haulmont.cuba.core.global.filter.ConditionType;
 import com.haulmont.cuba.core.global.filter.Op;
 import com.haulmont.cuba.gui.components.filter.ConditionParamBuilder;
@@ -37,7 +38,10 @@ import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.dom4j.Element;
+import org.dom4j.Node;
 
+import javax.annotation.Nullable;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -56,6 +60,7 @@ public class DynamicAttributesCondition extends AbstractCondition {
     protected boolean isCollection;
     protected String propertyPath;
     protected String join;
+    protected String valuesAlias = RandomStringUtils.randomNumeric(5);
     private static Pattern LIKE_PATTERN = Pattern.compile("(like \\S+)\\s+(?!ESCAPE)");
 
     public DynamicAttributesCondition(DynamicAttributesCondition condition) {
@@ -64,6 +69,8 @@ public class DynamicAttributesCondition extends AbstractCondition {
         this.categoryId = condition.getCategoryId();
         this.categoryAttributeId = condition.getCategoryAttributeId();
         this.isCollection = condition.getIsCollection();
+        this.propertyPath = condition.getPropertyPath();
+        this.valuesAlias = condition.valuesAlias;
     }
 
     public DynamicAttributesCondition(AbstractConditionDescriptor descriptor, String entityAlias, String propertyPath) {
@@ -108,9 +115,24 @@ public class DynamicAttributesCondition extends AbstractCondition {
         resolveParam(element);
     }
 
+    /**
+     * The text and join of the saved condition always use {@code sys$CategoryAttributeValue}. The XML built with
+     * parameter values for a query uses {@code sys$FlatAttributeValues} if the flattened values can be used.
+     */
     @Override
     public void toXml(Element element, Param.ValueProperty valueProperty) {
         super.toXml(element, valueProperty);
+        String join = this.join;
+        if (valueProperty == Param.ValueProperty.VALUE && isFlatValuesUsed()) {
+            for (Node node : element.content()) {
+                if (node.getNodeType() == Node.CDATA_SECTION_NODE) {
+                    element.remove(node);
+                    break;
+                }
+            }
+            element.addCDATA(processWhere(createFlatValuesWhere()));
+            join = createFlatValuesJoin();
+        }
         element.addAttribute("type", ConditionType.RUNTIME_PROPERTY.name());
         if (isBlank(caption)) {
             element.addAttribute("locCaption", locCaption);
@@ -190,31 +212,171 @@ public class DynamicAttributesCondition extends AbstractCondition {
 
     @Override
     protected void updateText() {
+        updateWhere();
+        if (text != null) {
+            text = processWhere(text);
+        }
+    }
+
+    protected String processWhere(String where) {
         if (operator == Op.NOT_EMPTY) {
             if (BooleanUtils.isTrue((Boolean) param.getValue())) {
-                text = text.replace("not exists", "exists");
-            } else if (BooleanUtils.isFalse((Boolean) param.getValue()) && !text.contains("not exists")) {
-                text = text.replace("exists ", "not exists ");
+                where = where.replace("not exists", "exists");
+            } else if (BooleanUtils.isFalse((Boolean) param.getValue()) && !where.contains("not exists")) {
+                where = where.replace("exists ", "not exists ");
             }
         }
 
         if (!isCollection) {
             if (operator == Op.ENDS_WITH || operator == Op.STARTS_WITH || operator == Op.CONTAINS || operator == Op.DOES_NOT_CONTAIN) {
-                Matcher matcher = LIKE_PATTERN.matcher(text);
+                Matcher matcher = LIKE_PATTERN.matcher(where);
                 if (matcher.find()) {
                     String escapeCharacter = ("\\".equals(QueryUtils.ESCAPE_CHARACTER) || "$".equals(QueryUtils.ESCAPE_CHARACTER))
                             ? QueryUtils.ESCAPE_CHARACTER + QueryUtils.ESCAPE_CHARACTER
                             : QueryUtils.ESCAPE_CHARACTER;
-                    text = matcher.replaceAll("$1 ESCAPE '" + escapeCharacter + "' ");
+                    where = matcher.replaceAll("$1 ESCAPE '" + escapeCharacter + "' ");
                 }
             }
         } else {
             if (operator == Op.CONTAINS) {
-                text = text.replace("not exists", "exists");
-            } else if (operator == Op.DOES_NOT_CONTAIN && !text.contains("not exists")) {
-                text = text.replace("exists ", "not exists ");
+                where = where.replace("not exists", "exists");
+            } else if (operator == Op.DOES_NOT_CONTAIN && !where.contains("not exists")) {
+                where = where.replace("exists ", "not exists ");
             }
         }
+        return where;
+    }
+
+    /**
+     * Generates the condition text and join using {@code sys$CategoryAttributeValue}, so the condition does not
+     * depend on the form it was saved in. The saved text is kept if the attribute does not exist anymore.
+     */
+    protected void updateWhere() {
+        CategoryAttribute attribute = getCategoryAttribute();
+        if (attribute == null || operator == null || param == null) {
+            return;
+        }
+
+        String cavAlias = "cav" + valuesAlias;
+        String cavEntityId = getEntityIdProperty();
+        String propertyPath = getPropertyPathExpression();
+        String paramName = param.getName();
+
+        if (operator == Op.NOT_EMPTY) {
+            join = null;
+            text = "(exists (select " + cavAlias + " from sys$CategoryAttributeValue " + cavAlias +
+                    " where " + cavAlias + ".entity." + cavEntityId + "=" +
+                    "{E}" +
+                    propertyPath +
+                    ".id and " + cavAlias + ".categoryAttribute.id='" +
+                    categoryAttributeId + "'))";
+            return;
+        }
+
+        Class javaClass = DynamicAttributesUtils.getAttributeClass(attribute);
+        String valueFieldName = "stringValue";
+        if (Entity.class.isAssignableFrom(javaClass)) {
+            ReferenceToEntitySupport referenceToEntitySupport = AppBeans.get(ReferenceToEntitySupport.class);
+            Metadata metadata = AppBeans.get(Metadata.class);
+            valueFieldName = "entityValue." + referenceToEntitySupport.getReferenceIdPropertyName(metadata.getClassNN(javaClass));
+        } else if (String.class.isAssignableFrom(javaClass))
+            valueFieldName = "stringValue";
+        else if (Integer.class.isAssignableFrom(javaClass))
+            valueFieldName = "intValue";
+        else if (Double.class.isAssignableFrom(javaClass))
+            valueFieldName = "doubleValue";
+        else if (Boolean.class.isAssignableFrom(javaClass))
+            valueFieldName = "booleanValue";
+        else if (Date.class.isAssignableFrom(javaClass))
+            valueFieldName = "dateValue";
+
+        if (!isCollection) {
+            join = ", sys$CategoryAttributeValue " + cavAlias + " ";
+
+            String paramStr = " ? ";
+            String where = cavAlias + ".entity." + cavEntityId + "=" +
+                    "{E}" +
+                    propertyPath +
+                    ".id and " + cavAlias + "." +
+                    valueFieldName +
+                    " " +
+                    operator.forJpql() +
+                    (operator.isUnary() ? " " : paramStr) + "and " + cavAlias + ".categoryAttribute.id='" +
+                    categoryAttributeId + "'";
+            text = where.replace("?", ":" + paramName);
+        } else {
+            join = null;
+            text = "(exists (select " + cavAlias + " from sys$CategoryAttributeValue " + cavAlias +
+                    " where " + cavAlias + ".entity." + cavEntityId + "=" + "{E}" + propertyPath + ".id and "
+                    + cavAlias + "." + valueFieldName + " = :" + paramName + " and " +
+                    cavAlias + ".categoryAttribute.id='" + categoryAttributeId + "'))";
+        }
+    }
+
+    /**
+     * @return true if flattened values are enabled and built, and the attribute is stored in a flattened slot
+     */
+    public boolean isFlatValuesUsed() {
+        GlobalConfig globalConfig = AppBeans.get(Configuration.class).getConfig(GlobalConfig.class);
+        if (!globalConfig.getDynamicAttributesFlatStorageEnabled()
+                || categoryId == null || operator == null || param == null) {
+            return false;
+        }
+        CategoryAttribute attribute = getCategoryAttribute();
+        return attribute != null
+                && FlatAttributeSlots.getSlot(attribute) != null
+                && globalConfig.getDynamicAttributesFlatValuesBuilt();
+    }
+
+    protected String createFlatValuesWhere() {
+        String favAlias = "fav" + valuesAlias;
+        String slot = FlatAttributeSlots.getSlot(getCategoryAttribute());
+        String entityIdCondition = favAlias + ".entity." + getEntityIdProperty() + "={E}" + getPropertyPathExpression() + ".id";
+        String categoryCondition = favAlias + ".category.id='" + categoryId + "'";
+        if (operator == Op.NOT_EMPTY) {
+            return "(exists (select " + favAlias + " from sys$FlatAttributeValues " + favAlias +
+                    " where " + entityIdCondition + " and " + categoryCondition + " and " +
+                    favAlias + "." + slot + " is not null))";
+        }
+        return entityIdCondition + " and " +
+                favAlias + "." + slot + " " + operator.forJpql() + (operator.isUnary() ? " " : " :" + param.getName() + " ") +
+                "and " + categoryCondition;
+    }
+
+    @Nullable
+    protected String createFlatValuesJoin() {
+        return operator == Op.NOT_EMPTY ? null : ", sys$FlatAttributeValues fav" + valuesAlias + " ";
+    }
+
+    @Nullable
+    protected CategoryAttribute getCategoryAttribute() {
+        if (categoryAttributeId == null || metaClass == null) {
+            return null;
+        }
+        com.haulmont.chile.core.model.MetaClass attributesMetaClass = metaClass;
+        if (!isBlank(propertyPath)) {
+            MetaPropertyPath mpp = metaClass.getPropertyPath(propertyPath);
+            if (mpp == null) {
+                return null;
+            }
+            attributesMetaClass = mpp.getRange().asClass();
+        }
+        DynamicAttributes dynamicAttributes = AppBeans.get(DynamicAttributes.NAME);
+        for (CategoryAttribute attribute : dynamicAttributes.getAttributesForMetaClass(attributesMetaClass)) {
+            if (categoryAttributeId.equals(attribute.getId())) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    protected String getEntityIdProperty() {
+        ReferenceToEntitySupport referenceToEntitySupport = AppBeans.get(ReferenceToEntitySupport.class);
+        return referenceToEntitySupport.getReferenceIdPropertyName(metaClass);
+    }
+
+    protected String getPropertyPathExpression() {
+        return Strings.isNullOrEmpty(propertyPath) ? "" : "." + propertyPath;
     }
 
     public String getJoin() {
@@ -24,7 +24,6 @@ import com.haulmont.cuba.core.app.dynamicattributes.DynamicAttributes;
 import com.haulmont.cuba.core.app.dynamicattributes.DynamicAttributesUtils;
 import com.haulmont.cuba.core.entity.Category;
 import com.haulmont.cuba.core.entity.CategoryAttribute;
-import com.haulmont.cuba.core.entity.Entity;
 import com.haulmont.cuba.core.global.AppBeans;
 import com.haulmont.cuba.core.global.Metadata;
 import com.haulmont.cuba.core.global.ReferenceToEntitySupport;
@@ -38,7 +37,6 @@ import com.haulmont.cuba.gui.components.filter.ConditionParamBuilder;
 import com.haulmont.cuba.gui.components.filter.Param;
 import com.haulmont.cuba.gui.components.filter.condition.DynamicAttributesCondition;
 import org.apache.commons.lang3.BooleanUtils;
-import org.apache.commons.lang3.RandomStringUtils;
 
 import javax.inject.Inject;
 import java.util.*;
@@ -113,65 +111,12 @@ public class DynamicAttributesConditionFrame extends ConditionFrame<DynamicAttri
 
         CategoryAttribute attribute = attributeLookup.getValue();
 
-        String cavAlias = "cav" + RandomStringUtils.randomNumeric(5);
-
-        String paramName;
-        String operation = operationLookup.getValue().forJpql();
         Op op = operationLookup.getValue();
 
         Class javaClass = DynamicAttributesUtils.getAttributeClass(attribute);
-        String propertyPath = Strings.isNullOrEmpty(condition.getPropertyPath()) ? "" : "." + condition.getPropertyPath();
         ConditionParamBuilder paramBuilder = AppBeans.get(ConditionParamBuilder.class);
-        paramName = paramBuilder.createParamName(condition);
-
-        String cavEntityId = referenceToEntitySupport.getReferenceIdPropertyName(condition.getEntityMetaClass());
-
-        String where;
-        if (op == Op.NOT_EMPTY) {
-            where = "(exists (select " + cavAlias + " from sys$CategoryAttributeValue " + cavAlias +
-                    " where " + cavAlias + ".entity." + cavEntityId + "=" +
-                    "{E}" +
-                    propertyPath +
-                    ".id and " + cavAlias + ".categoryAttribute.id='" +
-                    attributeLookup.<CategoryAttribute>getValue().getId() + "'))";
-        } else {
-            String valueFieldName = "stringValue";
-            if (Entity.class.isAssignableFrom(javaClass))
-                valueFieldName = "entityValue." + referenceToEntitySupport.getReferenceIdPropertyName(metadata.getClassNN(javaClass)) ;
-            else if (String.class.isAssignableFrom(javaClass))
-                valueFieldName = "stringValue";
-            else if (Integer.class.isAssignableFrom(javaClass))
-                valueFieldName = "intValue";
-            else if (Double.class.isAssignableFrom(javaClass))
-                valueFieldName = "doubleValue";
-            else if (Boolean.class.isAssignableFrom(javaClass))
-                valueFieldName = "booleanValue";
-            else if (Date.class.isAssignableFrom(javaClass))
-                valueFieldName = "dateValue";
-
-            if (!attribute.getIsCollection()) {
-                condition.setJoin(", sys$CategoryAttributeValue " + cavAlias + " ");
-
-                String paramStr = " ? ";
-                where = cavAlias + ".entity." + cavEntityId + "=" +
-                        "{E}" +
-                        propertyPath +
-                        ".id and " + cavAlias + "." +
-                        valueFieldName +
-                        " " +
-                        operation +
-                        (op.isUnary() ? " " : paramStr) + "and " + cavAlias + ".categoryAttribute.id='" +
-                        attributeLookup.<CategoryAttribute>getValue().getId() + "'";
-                where = where.replace("?", ":" + paramName);
-            } else {
-                where = "(exists (select " + cavAlias + " from sys$CategoryAttributeValue " + cavAlias +
-                        " where " + cavAlias + ".entity." + cavEntityId + "=" + "{E}" + propertyPath + ".id and "
-                        + cavAlias + "." + valueFieldName + " = :" + paramName + " and " +
-                        cavAlias + ".categoryAttribute.id='" + attributeLookup.<CategoryAttribute>getValue().getId() + "'))";
-            }
-        }
+        String paramName = paramBuilder.createParamName(condition);
 
-        condition.setWhere(where);
         condition.setUnary(op.isUnary());
         condition.setEntityParamView(null);
         condition.setEntityParamWhere(null);
@@ -21,6 +21,8 @@ import com.haulmont.cuba.core.app.DataService;
 import com.haulmont.cuba.core.entity.Entity;
 import com.haulmont.cuba.core.global.DataManager;
 
+import java.util.List;
+
 /**
  * Interface for CRUD operations on screen level.
  *
@@ -45,4 +47,9 @@ public interface DataSupplier extends DataManager, DataService /* for backward c
      * @return              created instance
      */
     <A extends Entity> A newInstance(MetaClass metaClass);
+
+    @Override
+    default List<List<?>> loadBatch(List<?> contexts) {
+        return DataManager.super.loadBatch(contexts);
+    }
 }
\ No newline at end of file
@@ -43,47 +43,53 @@ public abstract class AggregatableDelegate<K> {
         for (AggregationInfo aggregationInfo : aggregationInfos) {
             final Object value = doPropertyAggregation(aggregationInfo, itemIds);
 
-            String formattedValue;
-            if (aggregationInfo.getFormatter() != null) {
-                formattedValue = aggregationInfo.getFormatter().apply(value);
-            } else {
-                // propertyPath could be null in case of custom aggregation
-                MetaPropertyPath propertyPath = aggregationInfo.getPropertyPath();
-
-                Range range = propertyPath != null ? propertyPath.getRange() : null;
-                if (range != null && range.isDatatype()) {
-                    if (aggregationInfo.getType() != AggregationInfo.Type.COUNT) {
-                        Class resultClass;
-                        if (aggregationInfo.getStrategy() == null) {
-                            Class rangeJavaClass = propertyPath.getRangeJavaClass();
-                            Aggregation aggregation = Aggregations.get(rangeJavaClass);
-                            resultClass = aggregation.getResultClass();
-                        } else {
-                            resultClass = aggregationInfo.getStrategy().getResultClass();
-                        }
-
-                        UserSessionSource userSessionSource = AppBeans.get(UserSessionSource.NAME);
-                        Locale locale = userSessionSource.getLocale();
-                        formattedValue = Datatypes.getNN(resultClass).format(value, locale);
+            aggregationResults.put(aggregationInfo, formatAggregationValue(aggregationInfo, value));
+        }
+        return aggregationResults;
+    }
+
+    /**
+     * Formats an aggregation result according to the aggregation formatter, strategy or property datatype.
+     */
+    public String formatAggregationValue(AggregationInfo aggregationInfo, Object value) {
+        String formattedValue;
+        if (aggregationInfo.getFormatter() != null) {
+            formattedValue = aggregationInfo.getFormatter().apply(value);
+        } else {
+            // propertyPath could be null in case of custom aggregation
+            MetaPropertyPath propertyPath = aggregationInfo.getPropertyPath();
+
+            Range range = propertyPath != null ? propertyPath.getRange() : null;
+            if (range != null && range.isDatatype()) {
+                if (aggregationInfo.getType() != AggregationInfo.Type.COUNT) {
+                    Class resultClass;
+                    if (aggregationInfo.getStrategy() == null) {
+                        Class rangeJavaClass = propertyPath.getRangeJavaClass();
+                        Aggregation aggregation = Aggregations.get(rangeJavaClass);
+                        resultClass = aggregation.getResultClass();
                     } else {
-                        formattedValue = value.toString();
+                        resultClass = aggregationInfo.getStrategy().getResultClass();
                     }
+
+                    UserSessionSource userSessionSource = AppBeans.get(UserSessionSource.NAME);
+                    Locale locale = userSessionSource.getLocale();
+                    formattedValue = Datatypes.getNN(resultClass).format(value, locale);
                 } else {
-                    if (aggregationInfo.getStrategy() != null) {
-                        Class resultClass = aggregationInfo.getStrategy().getResultClass();
+                    formattedValue = value.toString();
+                }
+            } else {
+                if (aggregationInfo.getStrategy() != null) {
+                    Class resultClass = aggregationInfo.getStrategy().getResultClass();
 
-                        UserSessionSource userSessionSource = AppBeans.get(UserSessionSource.NAME);
-                        Locale locale = userSessionSource.getLocale();
-                        formattedValue = Datatypes.getNN(resultClass).format(value, locale);
-                    } else {
-                        formattedValue = value.toString();
-                    }
+                    UserSessionSource userSessionSource = AppBeans.get(UserSessionSource.NAME);
+                    Locale locale = userSessionSource.getLocale();
+                    formattedValue = Datatypes.getNN(resultClass).format(value, locale);
+                } else {
+                    formattedValue = value.toString();
                 }
             }
-
-            aggregationResults.put(aggregationInfo, formattedValue);
         }
-        return aggregationResults;
+        return formattedValue;
     }
 
     @SuppressWarnings("unchecked")
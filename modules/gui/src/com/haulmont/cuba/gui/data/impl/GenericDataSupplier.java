@@ -85,6 +85,11 @@ public class GenericDataSupplier implements DataSupplier {
         return getDataManager().loadValues(context);
     }
 
+    @Override
+    public List<List<?>> loadBatch(List<?> contexts) {
+        return getDataManager().loadBatch(contexts);
+    }
+
     @Override
     public DataManager secure() {
         return getDataManager();
@@ -19,6 +19,7 @@ package com.haulmont.cuba.gui.data.impl;
 
 import com.haulmont.chile.core.model.Instance;
 import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.gui.components.data.HierarchyIndex;
 import com.haulmont.cuba.gui.data.HierarchicalDatasource;
 
 import java.util.*;
@@ -29,14 +30,24 @@ public class HierarchicalDatasourceImpl<T extends Entity<K>, K>
 
     protected String hierarchyPropertyName;
 
+    protected HierarchyIndex<T> hierarchyIndex;
+
+    {
+        listener = new HierarchyItemListener();
+    }
+
     @Override
     public String getHierarchyPropertyName() {
         return hierarchyPropertyName;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public void setHierarchyPropertyName(String hierarchyPropertyName) {
         this.hierarchyPropertyName = hierarchyPropertyName;
+        this.hierarchyIndex = hierarchyPropertyName != null
+                ? new HierarchyIndex<>(() -> (Collection<T>) data.values(), hierarchyPropertyName)
+                : null;
     }
 
     @Override
@@ -46,16 +57,11 @@ public class HierarchicalDatasourceImpl<T extends Entity<K>, K>
             if (currentItem == null)
                 return Collections.emptyList();
 
-            List<K> res = new ArrayList<>();
-
-            Collection<K> ids = getItemIds();
-            for (K id : ids) {
-                Entity<K> item = getItemNN(id);
-                Entity<K> parentItem = item.getValue(hierarchyPropertyName);
-                if (parentItem != null && parentItem.getId().equals(itemId))
-                    res.add(item.getId());
+            List<T> children = hierarchyIndex.getChildrenById(itemId);
+            List<K> res = new ArrayList<>(children.size());
+            for (T item : children) {
+                res.add(item.getId());
             }
-
             return res;
         }
         return Collections.emptyList();
@@ -77,19 +83,17 @@ public class HierarchicalDatasourceImpl<T extends Entity<K>, K>
 
     @Override
     public Collection<K> getRootItemIds() {
-        Collection<K> ids = getItemIds();
-
         if (hierarchyPropertyName != null) {
+            if (state == State.NOT_INITIALIZED)
+                return new LinkedHashSet<>();
+
             Set<K> result = new LinkedHashSet<>();
-            for (K id : ids) {
-                Entity<K> item = getItemNN(id);
-                Entity<K> parentItem = item.getValue(hierarchyPropertyName);
-                if (parentItem == null || !containsItem(parentItem.getId()))
-                    result.add(item.getId());
+            for (T item : hierarchyIndex.getRoots()) {
+                result.add(item.getId());
             }
             return result;
         } else {
-            return new LinkedHashSet<>(ids);
+            return new LinkedHashSet<>(getItemIds());
         }
     }
 
@@ -99,8 +103,7 @@ public class HierarchicalDatasourceImpl<T extends Entity<K>, K>
         if (item == null) return false;
 
         if (hierarchyPropertyName != null) {
-            Entity<K> parentItem = item.getValue(hierarchyPropertyName);
-            return (parentItem == null || !containsItem(parentItem.getId()));
+            return hierarchyIndex.isRoot(itemId);
         } else {
             return true;
         }
@@ -113,15 +116,27 @@ public class HierarchicalDatasourceImpl<T extends Entity<K>, K>
             return false;
 
         if (hierarchyPropertyName != null) {
-            Collection<K> ids = getItemIds();
-            for (K id : ids) {
-                Entity item = getItemNN(id);
-                Entity parentItem = item.getValue(hierarchyPropertyName);
-                if (parentItem != null && parentItem.getId().equals(itemId))
-                    return true;
-            }
+            return hierarchyIndex.hasChildrenById(itemId);
         }
 
         return false;
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void fireCollectionChanged(Operation operation, List<T> items) {
+        if (hierarchyIndex != null) {
+            hierarchyIndex.invalidate();
+        }
+        super.fireCollectionChanged(operation, items);
+    }
+
+    protected class HierarchyItemListener extends ItemListener {
+        @Override
+        public void propertyChanged(Instance.PropertyChangeEvent e) {
+            if (hierarchyIndex != null && e.getProperty().equals(hierarchyPropertyName)) {
+                hierarchyIndex.invalidate();
+            }
+            super.propertyChanged(e);
+        }
+    }
+}
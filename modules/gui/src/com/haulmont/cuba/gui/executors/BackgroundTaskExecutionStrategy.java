@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.executors;
+
+/**
+ * Strategy of running {@link BackgroundTask}s used by {@link BackgroundWorker}.
+ * <p>A strategy decides where the task is executed: in a thread pool, in a new virtual thread, etc.
+ * Implementations must be thread-safe.</p>
+ *
+ * @see com.haulmont.cuba.gui.executors.impl.ThreadPoolExecutionStrategy
+ * @see com.haulmont.cuba.gui.executors.impl.VirtualThreadExecutionStrategy
+ * @see com.haulmont.cuba.gui.executors.impl.UserLimitingExecutionStrategy
+ */
+public interface BackgroundTaskExecutionStrategy {
+
+    /**
+     * Schedules execution of a background task.
+     *
+     * @param runnable  task runnable
+     * @param userLogin login of the user who started the task
+     */
+    void execute(Runnable runnable, String userLogin);
+
+    /**
+     * Stops all running tasks and rejects new ones.
+     */
+    void shutdown();
+}
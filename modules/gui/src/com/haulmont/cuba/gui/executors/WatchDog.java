@@ -52,4 +52,13 @@ public interface WatchDog {
      * @return active tasks count
      */
     int getActiveTasksCount();
+
+    /**
+     * Registers execution timings of a finished background task.
+     *
+     * @param queueWaitTimeMs time the task has been waiting for a free thread, ms
+     * @param runTimeMs       time of the task execution, ms
+     */
+    default void taskExecuted(long queueWaitTimeMs, long runTimeMs) {
+    }
 }
\ No newline at end of file
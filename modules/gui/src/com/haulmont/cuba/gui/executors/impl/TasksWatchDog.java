@@ -27,6 +27,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * WatchDog for {@link com.haulmont.cuba.gui.executors.BackgroundWorker}.
@@ -45,6 +47,11 @@ public abstract class TasksWatchDog implements WatchDog {
 
     private final Set<TaskHandlerImpl> watches = new LinkedHashSet<>();
 
+    protected final LongAdder executedTasksCount = new LongAdder();
+    protected final LongAdder totalQueueWaitTimeMs = new LongAdder();
+    protected final LongAdder totalRunTimeMs = new LongAdder();
+    protected final LongAccumulator maxQueueWaitTimeMs = new LongAccumulator(Math::max, 0);
+
     public TasksWatchDog() {
     }
 
@@ -120,4 +127,52 @@ public abstract class TasksWatchDog implements WatchDog {
     public synchronized void removeTask(TaskHandlerImpl taskHandler) {
         watches.remove(taskHandler);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void taskExecuted(long queueWaitTimeMs, long runTimeMs) {
+        executedTasksCount.increment();
+        totalQueueWaitTimeMs.add(queueWaitTimeMs);
+        totalRunTimeMs.add(runTimeMs);
+        maxQueueWaitTimeMs.accumulate(queueWaitTimeMs);
+    }
+
+    /**
+     * @return number of background tasks executed since startup
+     */
+    public long getExecutedTasksCount() {
+        return executedTasksCount.sum();
+    }
+
+    /**
+     * @return average time a task waits for a free thread, ms
+     */
+    public long getAvgQueueWaitTimeMs() {
+        long count = executedTasksCount.sum();
+        return count == 0 ? 0 : totalQueueWaitTimeMs.sum() / count;
+    }
+
+    /**
+     * @return maximum time a task waited for a free thread, ms
+     */
+    public long getMaxQueueWaitTimeMs() {
+        return maxQueueWaitTimeMs.get();
+    }
+
+    /**
+     * @return average execution time of a task, ms
+     */
+    public long getAvgRunTimeMs() {
+        long count = executedTasksCount.sum();
+        return count == 0 ? 0 : totalRunTimeMs.sum() / count;
+    }
+
+    /**
+     * Resets execution timings statistics.
+     */
+    public void resetExecutionStatistics() {
+        executedTasksCount.reset();
+        totalQueueWaitTimeMs.reset();
+        totalRunTimeMs.reset();
+        maxQueueWaitTimeMs.reset();
+    }
+}
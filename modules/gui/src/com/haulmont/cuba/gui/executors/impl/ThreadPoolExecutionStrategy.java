@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.executors.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.haulmont.cuba.gui.executors.BackgroundTaskExecutionStrategy;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes background tasks in a thread pool with unbounded queue.
+ */
+public class ThreadPoolExecutionStrategy implements BackgroundTaskExecutionStrategy {
+
+    protected final ExecutorService executorService;
+
+    public ThreadPoolExecutionStrategy(int minThreadsCount, int maxThreadsCount, String threadNamePrefix) {
+        this.executorService = new ThreadPoolExecutor(
+                minThreadsCount,
+                maxThreadsCount,
+                10L, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat(threadNamePrefix + "%d")
+                        .build()
+        );
+    }
+
+    @Override
+    public void execute(Runnable runnable, String userLogin) {
+        executorService.execute(runnable);
+    }
+
+    @Override
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+}
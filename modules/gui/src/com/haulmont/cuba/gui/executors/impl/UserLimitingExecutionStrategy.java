@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.executors.impl;
+
+import com.haulmont.cuba.gui.executors.BackgroundTaskExecutionStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Limits the number of simultaneously executed background tasks of one user. Tasks exceeding the limit wait in
+ * a per-user queue and do not occupy threads of the underlying strategy.
+ */
+@ThreadSafe
+public class UserLimitingExecutionStrategy implements BackgroundTaskExecutionStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLimitingExecutionStrategy.class);
+
+    protected final BackgroundTaskExecutionStrategy delegate;
+    protected final int maxTasksPerUser;
+
+    // guarded by itself
+    protected final Map<String, UserTasks> userTasks = new HashMap<>();
+
+    public UserLimitingExecutionStrategy(BackgroundTaskExecutionStrategy delegate, int maxTasksPerUser) {
+        if (maxTasksPerUser <= 0) {
+            throw new IllegalArgumentException("maxTasksPerUser must be positive");
+        }
+        this.delegate = delegate;
+        this.maxTasksPerUser = maxTasksPerUser;
+    }
+
+    @Override
+    public void execute(Runnable runnable, String userLogin) {
+        synchronized (userTasks) {
+            UserTasks tasks = userTasks.computeIfAbsent(userLogin, login -> new UserTasks());
+            if (tasks.active >= maxTasksPerUser) {
+                tasks.queue.add(runnable);
+                return;
+            }
+            tasks.active++;
+        }
+        try {
+            delegate.execute(wrap(runnable, userLogin), userLogin);
+        } catch (RuntimeException | Error e) {
+            // the task has not been started, release its slot
+            taskFinished(userLogin);
+            throw e;
+        }
+    }
+
+    protected Runnable wrap(Runnable runnable, String userLogin) {
+        return () -> {
+            try {
+                runnable.run();
+            } finally {
+                taskFinished(userLogin);
+            }
+        };
+    }
+
+    /**
+     * Passes the slot of a finished task to the next queued task of the user or releases it.
+     */
+    protected void taskFinished(String userLogin) {
+        while (true) {
+            Runnable next;
+            synchronized (userTasks) {
+                UserTasks tasks = userTasks.get(userLogin);
+                if (tasks == null) {
+                    return;
+                }
+                next = tasks.queue.poll();
+                if (next == null) {
+                    tasks.active--;
+                    if (tasks.active == 0) {
+                        userTasks.remove(userLogin);
+                    }
+                    return;
+                }
+            }
+            try {
+                delegate.execute(wrap(next, userLogin), userLogin);
+                return;
+            } catch (RuntimeException e) {
+                // the slot is passed to the next queued task or released on the next iteration
+                log.warn("Unable to execute queued background task of user {}", userLogin, e);
+            }
+        }
+    }
+
+    /**
+     * @return number of tasks of the user waiting for execution because of the limit
+     */
+    public int getQueuedTasksCount(String userLogin) {
+        synchronized (userTasks) {
+            UserTasks tasks = userTasks.get(userLogin);
+            return tasks != null ? tasks.queue.size() : 0;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (userTasks) {
+            userTasks.clear();
+        }
+        delegate.shutdown();
+    }
+
+    protected static class UserTasks {
+        protected int active;
+        protected final Queue<Runnable> queue = new ArrayDeque<>();
+    }
+}
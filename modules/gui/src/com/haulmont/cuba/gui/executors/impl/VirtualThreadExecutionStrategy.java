@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.executors.impl;
+
+import com.haulmont.cuba.gui.executors.BackgroundTaskExecutionStrategy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executes each background task in a new virtual thread. Suits I/O-bound tasks, e.g. reports or remote calls,
+ * which would otherwise occupy threads of a pool while waiting.
+ * <p>Virtual threads are available starting from JDK 21, use {@link #isSupported()} to check it at runtime.</p>
+ */
+public class VirtualThreadExecutionStrategy implements BackgroundTaskExecutionStrategy {
+
+    protected static final String FACTORY_METHOD_NAME = "newVirtualThreadPerTaskExecutor";
+
+    protected final ExecutorService executorService;
+
+    public VirtualThreadExecutionStrategy() {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads are not supported by the current JVM");
+        }
+        this.executorService = createExecutorService();
+    }
+
+    /**
+     * @return true if the current JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return getFactoryMethod() != null;
+    }
+
+    protected ExecutorService createExecutorService() {
+        Method factoryMethod = getFactoryMethod();
+        try {
+            //noinspection ConstantConditions
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException("Unable to create virtual thread executor", e);
+        }
+    }
+
+    protected static Method getFactoryMethod() {
+        try {
+            return Executors.class.getMethod(FACTORY_METHOD_NAME);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable runnable, String userLogin) {
+        executorService.execute(runnable);
+    }
+
+    @Override
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+}
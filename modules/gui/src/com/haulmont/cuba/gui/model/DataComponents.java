@@ -59,6 +59,13 @@ public class DataComponents implements ApplicationContextAware {
         return new DataContextImpl(applicationContext);
     }
 
+    /**
+     * Creates {@code ScreenData}.
+     */
+    public ScreenData createScreenData() {
+        return new ScreenDataImpl(applicationContext);
+    }
+
     /**
      * Creates {@code InstanceContainer}.
      */
@@ -38,6 +38,22 @@ public interface ScreenData {
      */
     void loadAll();
 
+    /**
+     * Performs loading for all loaders registered in the screen.
+     * <p>
+     * If {@code parallel} is true, loaders that do not use load delegates fetch data concurrently, and loaded data is
+     * merged into the screen's {@code DataContext} and containers in the calling thread after all loads complete.
+     * Loaders with delegates are loaded sequentially. A loader whose query parameters are bound to other containers
+     * by {@code :container_<containerId>} names is loaded after the loaders of those containers.
+     */
+    void loadAll(boolean parallel);
+
+    /**
+     * Performs loading for all loaders registered in the screen, passing load requests of loaders that do not use
+     * load delegates to the middleware in one call. Loaders with delegates are loaded separately.
+     */
+    void loadAllInBatch();
+
     /**
      * Returns a container by its id.
      * @throws IllegalArgumentException if there is no such container in the screen
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.model.impl;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Data loader which is able to fetch data in a worker thread concurrently with other loaders.
+ * Loaded data is applied to the container by the returned action, which must be executed in the UI thread.
+ *
+ * @see ScreenDataImpl#loadAll(boolean)
+ */
+public interface AsyncLoadSupport {
+
+    /**
+     * @return true if the loader is able to fetch data asynchronously in its current configuration
+     */
+    boolean isAsyncLoadSupported();
+
+    /**
+     * Sends {@code PreLoadEvent} and starts fetching data asynchronously.
+     *
+     * @return future completed by the action that sets loaded data to the container and sends {@code PostLoadEvent}
+     */
+    CompletableFuture<Runnable> loadAsync();
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.haulmont.cuba.gui.model.impl;
+
+import com.haulmont.cuba.core.global.DataLoadContext;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Data loader which is able to load data together with other loaders in one
+ * {@link com.haulmont.cuba.core.global.DataManager#loadBatch(List)} call.
+ *
+ * @see ScreenDataImpl#loadAllInBatch()
+ */
+public interface BatchLoadSupport {
+
+    /**
+     * @return true if the loader is able to load data in a batch in its current configuration
+     */
+    boolean isBatchLoadSupported();
+
+    /**
+     * Sends {@code PreLoadEvent} and creates the load context to be included in a batch.
+     *
+     * @return load context or null if loading is not needed or has been prevented
+     */
+    @Nullable
+    DataLoadContext prepareBatchLoad();
+
+    /**
+     * Sets loaded data to the container and sends {@code PostLoadEvent}.
+     *
+     * @param result result of the load context returned by {@link #prepareBatchLoad()}
+     */
+    void applyBatchLoadResult(List<?> result);
+}
@@ -26,13 +26,14 @@ import org.springframework.context.ApplicationContext;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  *
  */
-public class CollectionLoaderImpl<E extends Entity> implements CollectionLoader<E> {
+public class CollectionLoaderImpl<E extends Entity> implements CollectionLoader<E>, AsyncLoadSupport, BatchLoadSupport {
 
     private ApplicationContext applicationContext;
 
@@ -64,6 +65,10 @@ public class CollectionLoaderImpl<E extends Entity> implements CollectionLoader<
         return applicationContext.getBean(DataManager.NAME, DataManager.class);
     }
 
+    protected AsyncDataManager getAsyncDataManager() {
+        return applicationContext.getBean(AsyncDataManager.NAME, AsyncDataManager.class);
+    }
+
     protected SorterFactory getSorterFactory() {
         return applicationContext.getBean(SorterFactory.NAME, SorterFactory.class);
     }
@@ -81,10 +86,7 @@ public class CollectionLoaderImpl<E extends Entity> implements CollectionLoader<
 
     @Override
     public void load() {
-        if (container == null)
-            throw new IllegalStateException("container is null");
-        if (query == null && delegate == null)
-            throw new IllegalStateException("both query and delegate are null");
+        checkCanLoad();
 
         LoadContext<E> loadContext = createLoadContext();
 
@@ -99,6 +101,58 @@ public class CollectionLoaderImpl<E extends Entity> implements CollectionLoader<
             list = delegate.apply(loadContext);
         }
 
+        setLoadedItems(list);
+    }
+
+    @Override
+    public boolean isAsyncLoadSupported() {
+        return delegate == null;
+    }
+
+    @Override
+    public CompletableFuture<Runnable> loadAsync() {
+        checkCanLoad();
+        if (delegate != null)
+            throw new IllegalStateException("asynchronous loading is not supported with load delegate");
+
+        LoadContext<E> loadContext = createLoadContext();
+
+        if (!sendPreLoadEvent(loadContext)) {
+            return CompletableFuture.completedFuture(() -> {});
+        }
+
+        return getAsyncDataManager().loadList(loadContext)
+                .thenApply(list -> () -> setLoadedItems(list));
+    }
+
+    @Override
+    public boolean isBatchLoadSupported() {
+        return delegate == null;
+    }
+
+    @Nullable
+    @Override
+    public DataLoadContext prepareBatchLoad() {
+        checkCanLoad();
+
+        LoadContext<E> loadContext = createLoadContext();
+        return sendPreLoadEvent(loadContext) ? loadContext : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void applyBatchLoadResult(List<?> result) {
+        setLoadedItems((List<E>) result);
+    }
+
+    protected void checkCanLoad() {
+        if (container == null)
+            throw new IllegalStateException("container is null");
+        if (query == null && delegate == null)
+            throw new IllegalStateException("both query and delegate are null");
+    }
+
+    protected void setLoadedItems(List<E> list) {
         if (dataContext != null) {
             List<E> mergedList = new ArrayList<>(list.size());
             for (E entity : list) {
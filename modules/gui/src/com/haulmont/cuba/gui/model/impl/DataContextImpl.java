@@ -27,6 +27,7 @@ import com.haulmont.chile.core.model.impl.AbstractInstance;
 import com.haulmont.cuba.core.entity.*;
 import com.haulmont.cuba.core.global.*;
 import com.haulmont.cuba.core.sys.persistence.FetchGroupUtils;
+import com.haulmont.cuba.gui.model.CollectionChangeType;
 import com.haulmont.cuba.gui.model.DataContext;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.persistence.queries.FetchGroup;
@@ -71,6 +72,18 @@ public class DataContextImpl implements DataContext {
 
     protected Map<Entity, Map<String, EmbeddedPropertyChangeListener>> embeddedPropertyListeners = new WeakHashMap<>();
 
+    /**
+     * Reverse index of managed collections: managed instance -> collection properties which may contain it.
+     * Entries are pruned when an instance is removed from a collection, but bulk changes like {@code clear()}
+     * can leave stale ones, so removing an instance from an indexed collection must tolerate its absence.
+     */
+    protected Map<Entity, Set<CollectionProperty>> collectionIndex = new IdentityHashMap<>();
+
+    /**
+     * Modified instances of a child context which are being committed to this context.
+     */
+    protected Set<Entity> childModifiedInstances = Collections.emptySet();
+
     public DataContextImpl(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
     }
@@ -232,6 +245,9 @@ public class DataContextImpl implements DataContext {
      * (3) src.det -> dst.new : copy all loaded, make detached                      - normal situation after commit
      * (4) src.det -> dst.det : if src.version >= dst.version, copy all loaded      - normal situation after commit (and in setParent?)
      *                          if src.version < dst.version, do nothing            - should not happen
+     *                          if src.version == dst.version, src has no local
+     *                          attributes not loaded in dst and neither src nor
+     *                          dst is modified, copy references only               - normal situation on reload
      */
     protected void mergeState(Entity srcEntity, Entity dstEntity, Set<Entity> mergedSet) {
         EntityStates entityStates = getEntityStates();
@@ -243,6 +259,7 @@ public class DataContextImpl implements DataContext {
         }
 
         boolean replaceCollections = dstNew && !srcNew;
+        boolean copyLocals = true;
 
         if (!srcNew && !dstNew) {
             if (srcEntity instanceof Versioned) {
@@ -252,6 +269,7 @@ public class DataContextImpl implements DataContext {
                     return;
                 }
                 replaceCollections = srcVer > dstVer;
+                copyLocals = !isUnchangedState(srcEntity, dstEntity);
             }
         }
 
@@ -261,7 +279,8 @@ public class DataContextImpl implements DataContext {
 
         for (MetaProperty property : metaClass.getProperties()) {
             String propertyName = property.getName();
-            if (!property.getRange().isClass()                                             // local
+            if (copyLocals
+                    && !property.getRange().isClass()                                      // local
                     && !property.isReadOnly()                                              // read-write
                     && (srcNew || entityStates.isLoaded(srcEntity, propertyName))          // loaded src
                     && (dstNew || entityStates.isLoaded(dstEntity, propertyName))) {       // loaded dst
@@ -328,6 +347,31 @@ public class DataContextImpl implements DataContext {
         }
     }
 
+    /**
+     * Checks whether local attributes of a detached versioned instance can be skipped on merge: the source has the
+     * same version as the managed instance, all its loaded local attributes are loaded in the managed instance too,
+     * the source is not committed from a child context and the managed instance is not modified in this context.
+     * Attribute values are not compared, so a detached instance changed outside of data contexts is expected
+     * to be merged after commit, which increments its version.
+     * References and collections are merged anyway, as they are separate instances with their own versions.
+     */
+    protected boolean isUnchangedState(Entity srcEntity, Entity dstEntity) {
+        Integer srcVersion = ((Versioned) srcEntity).getVersion();
+        if (srcVersion == null || !srcVersion.equals(((Versioned) dstEntity).getVersion())) {
+            return false;
+        }
+        if (modifiedInstances.contains(dstEntity) || childModifiedInstances.contains(srcEntity)) {
+            return false;
+        }
+        if (!(srcEntity instanceof FetchGroupTracker) || !(dstEntity instanceof FetchGroupTracker)) {
+            return false;
+        }
+        FetchGroup srcFetchGroup = ((FetchGroupTracker) srcEntity)._persistence_getFetchGroup();
+        FetchGroup dstFetchGroup = ((FetchGroupTracker) dstEntity)._persistence_getFetchGroup();
+        return dstFetchGroup == null
+                || (srcFetchGroup != null && dstFetchGroup.getAttributeNames().containsAll(srcFetchGroup.getAttributeNames()));
+    }
+
     @SuppressWarnings("unchecked")
     protected void copySystemState(Entity srcEntity, Entity dstEntity) {
         if (dstEntity instanceof BaseGenericIdEntity) {
@@ -376,13 +420,15 @@ public class DataContextImpl implements DataContext {
                 Entity managedRef = internalMerge(entity, mergedSet);
                 managedRefs.add(managedRef);
             }
-            List<Entity> dstList = createObservableList(managedRefs, managedEntity);
+            List<Entity> dstList = createObservableList(managedRefs, managedEntity, propertyName);
+            unindexCollection(managedEntity, propertyName, managedEntity.getValue(propertyName));
             managedEntity.setValue(propertyName, dstList);
+            registerCollection(managedEntity, propertyName, dstList);
 
         } else {
             List<Entity> dstList = managedEntity.getValue(propertyName);
             if (dstList == null) {
-                dstList = createObservableList(managedEntity);
+                dstList = createObservableList(new ArrayList<>(), managedEntity, propertyName);
                 managedEntity.setValue(propertyName, dstList);
             }
             if (dstList.size() == 0) {
@@ -390,13 +436,15 @@ public class DataContextImpl implements DataContext {
                     dstList.add(internalMerge(srcRef, mergedSet));
                 }
             } else {
+                Set<Entity> existingRefs = new HashSet<>(dstList);
                 for (Entity srcRef : list) {
                     Entity managedRef = internalMerge(srcRef, mergedSet);
-                    if (!dstList.contains(managedRef)) {
+                    if (existingRefs.add(managedRef)) {
                         dstList.add(managedRef);
                     }
                 }
             }
+            registerCollection(managedEntity, propertyName, dstList);
         }
     }
 
@@ -408,13 +456,15 @@ public class DataContextImpl implements DataContext {
                 Entity managedRef = internalMerge(entity, mergedSet);
                 managedRefs.add(managedRef);
             }
-            Set<Entity> dstList = createObservableSet(managedRefs, managedEntity);
+            Set<Entity> dstList = createObservableSet(managedRefs, managedEntity, propertyName);
+            unindexCollection(managedEntity, propertyName, managedEntity.getValue(propertyName));
             managedEntity.setValue(propertyName, dstList);
+            registerCollection(managedEntity, propertyName, dstList);
 
         } else {
             Set<Entity> dstSet = managedEntity.getValue(propertyName);
             if (dstSet == null) {
-                dstSet = createObservableSet(managedEntity);
+                dstSet = createObservableSet(new LinkedHashSet<>(), managedEntity, propertyName);
                 managedEntity.setValue(propertyName, dstSet);
             }
             if (dstSet.size() == 0) {
@@ -427,23 +477,108 @@ public class DataContextImpl implements DataContext {
                     dstSet.add(managedRef);
                 }
             }
+            registerCollection(managedEntity, propertyName, dstSet);
         }
     }
 
-    protected List<Entity> createObservableList(Entity notifiedEntity) {
-        return createObservableList(new ArrayList<>(), notifiedEntity);
+    protected List<Entity> createObservableList(List<Entity> list, Entity notifiedEntity, String propertyName) {
+        return new ObservableList<>(list, (changeType, changes) -> {
+            collectionChanged(notifiedEntity, propertyName, changeType, changes);
+            modified(notifiedEntity);
+        });
     }
 
-    protected List<Entity> createObservableList(List<Entity> list, Entity notifiedEntity) {
-        return new ObservableList<>(list, (changeType, changes) -> modified(notifiedEntity));
+    protected ObservableSet<Entity> createObservableSet(Set<Entity> set, Entity notifiedEntity, String propertyName) {
+        return new ObservableSet<>(set, (changeType, changes) -> {
+            collectionChanged(notifiedEntity, propertyName, changeType, changes);
+            modified(notifiedEntity);
+        });
     }
 
-    protected Set<Entity> createObservableSet(Entity notifiedEntity) {
-        return createObservableSet(new LinkedHashSet<>(), notifiedEntity);
+    protected void collectionChanged(Entity owner, String propertyName, CollectionChangeType changeType,
+                                     Collection<? extends Entity> changes) {
+        if (changeType == CollectionChangeType.ADD_ITEMS || changeType == CollectionChangeType.SET_ITEM) {
+            indexCollection(owner, propertyName, changes);
+        } else if (changeType == CollectionChangeType.REMOVE_ITEMS) {
+            Collection<?> collection = owner.getValue(propertyName);
+            List<Entity> removed = new ArrayList<>(changes.size());
+            for (Entity entity : changes) {
+                if (collection == null || !collection.contains(entity)) {
+                    removed.add(entity);
+                }
+            }
+            unindexCollection(owner, propertyName, removed);
+        }
     }
 
-    protected ObservableSet<Entity> createObservableSet(Set<Entity> set, Entity notifiedEntity) {
-        return new ObservableSet<>(set, (changeType, changes) -> modified(notifiedEntity));
+    /**
+     * Indexes the elements of a collection property. A collection which is not observable is replaced with
+     * an observable wrapper, so that elements added later are indexed too.
+     */
+    @SuppressWarnings("unchecked")
+    protected void registerCollection(Entity owner, String propertyName, Collection<?> collection) {
+        Collection<?> observableCollection = null;
+        if (collection instanceof List && !(collection instanceof ObservableList)) {
+            observableCollection = createObservableList((List<Entity>) collection, owner, propertyName);
+        } else if (collection instanceof Set && !(collection instanceof ObservableSet)) {
+            observableCollection = createObservableSet((Set<Entity>) collection, owner, propertyName);
+        }
+        if (observableCollection != null) {
+            boolean prevDisableListeners = disableListeners;
+            disableListeners = true;
+            try {
+                ((AbstractInstance) owner).setValue(propertyName, observableCollection, false);
+            } finally {
+                disableListeners = prevDisableListeners;
+            }
+        }
+        indexCollection(owner, propertyName, collection);
+    }
+
+    protected void indexCollection(Entity owner, String propertyName, Collection<?> items) {
+        CollectionProperty collectionProperty = null;
+        for (Object item : items) {
+            if (item instanceof Entity) {
+                if (collectionProperty == null) {
+                    collectionProperty = new CollectionProperty(owner, propertyName);
+                }
+                collectionIndex.computeIfAbsent((Entity) item, e -> new HashSet<>()).add(collectionProperty);
+            }
+        }
+    }
+
+    protected void unindexCollection(Entity owner, String propertyName, @Nullable Collection<?> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        CollectionProperty collectionProperty = new CollectionProperty(owner, propertyName);
+        for (Object item : items) {
+            Set<CollectionProperty> collectionProperties = collectionIndex.get(item);
+            if (collectionProperties != null) {
+                collectionProperties.remove(collectionProperty);
+                if (collectionProperties.isEmpty()) {
+                    collectionIndex.remove(item);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes index entries of all loaded collection properties of an instance leaving the context.
+     */
+    protected void unindexCollections(Entity owner) {
+        EntityStates entityStates = getEntityStates();
+        MetaClass metaClass = getMetadata().getClassNN(owner.getClass());
+        for (MetaProperty property : metaClass.getProperties()) {
+            if (property.getRange().isClass()
+                    && property.getRange().getCardinality().isMany()
+                    && entityStates.isLoaded(owner, property.getName())) {
+                Object value = owner.getValue(property.getName());
+                if (value instanceof Collection) {
+                    unindexCollection(owner, property.getName(), (Collection<?>) value);
+                }
+            }
+        }
     }
 
     @Override
@@ -463,29 +598,22 @@ public class DataContextImpl implements DataContext {
             if (mergedEntity != null) {
                 entityMap.remove(entity.getId());
                 removeFromCollections(mergedEntity);
+                unindexCollections(mergedEntity);
             }
         }
     }
 
     protected void removeFromCollections(Entity entityToRemove) {
-        for (Map.Entry<Class<?>, Map<Object, Entity>> entry : content.entrySet()) {
-            Class<?> entityClass = entry.getKey();
-
-            MetaClass metaClass = getMetadata().getClassNN(entityClass);
-            for (MetaProperty metaProperty : metaClass.getProperties()) {
-                if (metaProperty.getRange().isClass()
-                        && metaProperty.getRange().getCardinality().isMany()
-                        && metaProperty.getRange().asClass().getJavaClass().isAssignableFrom(entityToRemove.getClass())) {
-
-                    Map<Object, Entity> entityMap = entry.getValue();
-                    for (Entity entity : entityMap.values()) {
-                        if (getEntityStates().isLoaded(entity, metaProperty.getName())) {
-                            Collection collection = entity.getValue(metaProperty.getName());
-                            if (collection != null) {
-                                collection.remove(entityToRemove);
-                            }
-                        }
-                    }
+        Set<CollectionProperty> collectionProperties = collectionIndex.remove(entityToRemove);
+        if (collectionProperties == null) {
+            return;
+        }
+        for (CollectionProperty collectionProperty : collectionProperties) {
+            Entity owner = collectionProperty.owner;
+            if (find(owner) == owner && getEntityStates().isLoaded(owner, collectionProperty.propertyName)) {
+                Collection collection = owner.getValue(collectionProperty.propertyName);
+                if (collection != null) {
+                    collection.remove(entityToRemove);
                 }
             }
         }
@@ -500,6 +628,8 @@ public class DataContextImpl implements DataContext {
             Entity mergedEntity = entityMap.get(entity.getId());
             if (mergedEntity != null) {
                 entityMap.remove(entity.getId());
+                collectionIndex.remove(mergedEntity);
+                unindexCollections(mergedEntity);
                 removeListeners(entity);
             }
             modifiedInstances.remove(entity);
@@ -616,10 +746,15 @@ public class DataContextImpl implements DataContext {
 
     protected Set<Entity> commitToParentContext() {
         HashSet<Entity> committedEntities = new HashSet<>();
-        for (Entity entity : modifiedInstances) {
-            Entity merged = parentContext.merge(entity);
-            parentContext.modifiedInstances.add(merged);
-            committedEntities.add(merged);
+        parentContext.childModifiedInstances = modifiedInstances;
+        try {
+            for (Entity entity : modifiedInstances) {
+                Entity merged = parentContext.merge(entity);
+                parentContext.modifiedInstances.add(merged);
+                committedEntities.add(merged);
+            }
+        } finally {
+            parentContext.childModifiedInstances = Collections.emptySet();
         }
         for (Entity entity : removedInstances) {
             parentContext.remove(entity);
@@ -714,6 +849,13 @@ public class DataContextImpl implements DataContext {
                         entityMap.put(e.getValue(), (Entity) e.getItem());
                     }
                 }
+                // a collection can be assigned to a property directly
+                if (e.getPrevValue() instanceof Collection) {
+                    unindexCollection((Entity) e.getItem(), e.getProperty(), (Collection<?>) e.getPrevValue());
+                }
+                if (e.getValue() instanceof Collection) {
+                    registerCollection((Entity) e.getItem(), e.getProperty(), (Collection<?>) e.getValue());
+                }
 
                 modifiedInstances.add((Entity) e.getItem());
                 fireChangeListener((Entity) e.getItem());
@@ -737,4 +879,32 @@ public class DataContextImpl implements DataContext {
             }
         }
     }
+
+    /**
+     * Collection property of a managed instance, element of the reverse collection index.
+     */
+    protected static class CollectionProperty {
+
+        protected final Entity owner;
+        protected final String propertyName;
+
+        public CollectionProperty(Entity owner, String propertyName) {
+            this.owner = owner;
+            this.propertyName = propertyName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            CollectionProperty that = (CollectionProperty) o;
+            return owner == that.owner && propertyName.equals(that.propertyName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(owner) + propertyName.hashCode();
+        }
+    }
 }
@@ -31,14 +31,16 @@ import org.springframework.context.ApplicationContext;
 import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  *
  */
-public class InstanceLoaderImpl<E extends Entity> implements InstanceLoader<E> {
+public class InstanceLoaderImpl<E extends Entity> implements InstanceLoader<E>, AsyncLoadSupport, BatchLoadSupport {
 
     private final ApplicationContext applicationContext;
 
@@ -63,6 +65,10 @@ public class InstanceLoaderImpl<E extends Entity> implements InstanceLoader<E> {
         return applicationContext.getBean(DataManager.NAME, DataManager.class);
     }
 
+    protected AsyncDataManager getAsyncDataManager() {
+        return applicationContext.getBean(AsyncDataManager.NAME, AsyncDataManager.class);
+    }
+
     protected ViewRepository getViewRepository() {
         return applicationContext.getBean(ViewRepository.NAME, ViewRepository.class);
     }
@@ -107,6 +113,61 @@ public class InstanceLoaderImpl<E extends Entity> implements InstanceLoader<E> {
             entity = delegate.apply(createLoadContext());
         }
 
+        setLoadedItem(entity);
+    }
+
+    @Override
+    public boolean isAsyncLoadSupported() {
+        return delegate == null;
+    }
+
+    @Override
+    public CompletableFuture<Runnable> loadAsync() {
+        if (container == null)
+            throw new IllegalStateException("container is null");
+        if (delegate != null)
+            throw new IllegalStateException("asynchronous loading is not supported with load delegate");
+
+        LoadContext<E> loadContext = createLoadContext();
+
+        if (!needLoad() || !sendPreLoadEvent(loadContext)) {
+            return CompletableFuture.completedFuture(() -> {});
+        }
+
+        return getAsyncDataManager().load(loadContext)
+                .thenApply(entity -> () -> {
+                    if (entity == null) {
+                        throw new EntityAccessException(container.getEntityMetaClass(), entityId);
+                    }
+                    setLoadedItem(entity);
+                });
+    }
+
+    @Override
+    public boolean isBatchLoadSupported() {
+        return delegate == null;
+    }
+
+    @Nullable
+    @Override
+    public DataLoadContext prepareBatchLoad() {
+        if (container == null)
+            throw new IllegalStateException("container is null");
+
+        LoadContext<E> loadContext = createLoadContext();
+        return needLoad() && sendPreLoadEvent(loadContext) ? loadContext : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void applyBatchLoadResult(List<?> result) {
+        if (result.isEmpty()) {
+            throw new EntityAccessException(container.getEntityMetaClass(), entityId);
+        }
+        setLoadedItem((E) result.get(0));
+    }
+
+    protected void setLoadedItem(E entity) {
         if (dataContext != null) {
             entity = dataContext.merge(entity);
         }
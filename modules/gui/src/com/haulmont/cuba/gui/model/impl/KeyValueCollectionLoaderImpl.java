@@ -20,6 +20,7 @@ import com.haulmont.bali.events.EventHub;
 import com.haulmont.bali.events.Subscription;
 import com.haulmont.chile.core.model.MetaProperty;
 import com.haulmont.cuba.core.entity.KeyValueEntity;
+import com.haulmont.cuba.core.global.DataLoadContext;
 import com.haulmont.cuba.core.global.DataManager;
 import com.haulmont.cuba.core.global.Sort;
 import com.haulmont.cuba.core.global.Stores;
@@ -36,7 +37,7 @@ import java.util.function.Function;
 /**
  *
  */
-public class KeyValueCollectionLoaderImpl implements KeyValueCollectionLoader {
+public class KeyValueCollectionLoaderImpl implements KeyValueCollectionLoader, BatchLoadSupport {
 
     protected ApplicationContext applicationContext;
 
@@ -97,6 +98,33 @@ public class KeyValueCollectionLoaderImpl implements KeyValueCollectionLoader {
             list = delegate.apply(loadContext);
         }
 
+        setLoadedItems(list);
+    }
+
+    @Override
+    public boolean isBatchLoadSupported() {
+        return delegate == null;
+    }
+
+    @Nullable
+    @Override
+    public DataLoadContext prepareBatchLoad() {
+        if (container == null)
+            throw new IllegalStateException("container is null");
+        if (query == null)
+            throw new IllegalStateException("query is null");
+
+        ValueLoadContext loadContext = createLoadContext();
+        return sendPreLoadEvent(loadContext) ? loadContext : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void applyBatchLoadResult(List<?> result) {
+        setLoadedItems((List<KeyValueEntity>) result);
+    }
+
+    protected void setLoadedItems(List<KeyValueEntity> list) {
         if (dataContext != null) {
             List<KeyValueEntity> mergedList = new ArrayList<>(list.size());
             for (KeyValueEntity entity : list) {
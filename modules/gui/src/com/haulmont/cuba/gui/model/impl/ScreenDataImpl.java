@@ -16,23 +16,50 @@
 
 package com.haulmont.cuba.gui.model.impl;
 
+import com.haulmont.cuba.core.global.DataLoadContext;
+import com.haulmont.cuba.core.global.DataManager;
+import com.haulmont.cuba.core.sys.AppContext;
 import com.haulmont.cuba.gui.model.DataContext;
 import com.haulmont.cuba.gui.model.DataLoader;
 import com.haulmont.cuba.gui.model.InstanceContainer;
+import com.haulmont.cuba.gui.model.Nested;
 import com.haulmont.cuba.gui.model.ScreenData;
+import org.springframework.context.ApplicationContext;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class ScreenDataImpl implements ScreenData {
 
+    protected static final String CONTAINER_PARAM_PREFIX = "container_";
+
+    protected static final Pattern CONTAINER_PARAM_PATTERN = Pattern.compile(":" + CONTAINER_PARAM_PREFIX + "(\\w+)");
+
+    protected ApplicationContext applicationContext;
+
     protected DataContext dataContext;
 
     protected Map<String, InstanceContainer> containers = new HashMap<>();
 
     protected Map<String, DataLoader> loaders = new HashMap<>();
 
+    public ScreenDataImpl() {
+    }
+
+    public ScreenDataImpl(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
     @Override
     public DataContext getDataContext() {
         return dataContext;
@@ -75,9 +102,145 @@ public class ScreenDataImpl implements ScreenData {
 
     @Override
     public void loadAll() {
-        for (DataLoader loader : loaders.values()) {
+        loadAll(false);
+    }
+
+    @Override
+    public void loadAll(boolean parallel) {
+        if (!parallel) {
+            for (DataLoader loader : loaders.values()) {
+                loader.load();
+            }
+            return;
+        }
+
+        Map<DataLoader, Set<DataLoader>> dependencies = getLoaderDependencies();
+        Set<DataLoader> pending = new LinkedHashSet<>(loaders.values());
+        while (!pending.isEmpty()) {
+            List<DataLoader> wave = new ArrayList<>();
+            for (DataLoader loader : pending) {
+                if (Collections.disjoint(dependencies.get(loader), pending)) {
+                    wave.add(loader);
+                }
+            }
+            if (wave.isEmpty()) {
+                // cyclic bindings, nothing can be parallelized
+                for (DataLoader loader : pending) {
+                    loader.load();
+                }
+                return;
+            }
+            loadInParallel(wave);
+            pending.removeAll(wave);
+        }
+    }
+
+    /**
+     * Loads independent loaders concurrently, async-capable loaders fetch data in worker threads.
+     */
+    protected void loadInParallel(List<DataLoader> independentLoaders) {
+        List<CompletableFuture<Runnable>> futures = new ArrayList<>();
+        List<DataLoader> syncLoaders = new ArrayList<>();
+        for (DataLoader loader : independentLoaders) {
+            if (loader instanceof AsyncLoadSupport && ((AsyncLoadSupport) loader).isAsyncLoadSupported()) {
+                futures.add(((AsyncLoadSupport) loader).loadAsync());
+            } else {
+                syncLoaders.add(loader);
+            }
+        }
+
+        for (DataLoader loader : syncLoaders) {
             loader.load();
         }
+
+        for (CompletableFuture<Runnable> future : futures) {
+            Runnable applyAction;
+            try {
+                applyAction = future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            applyAction.run();
+        }
+    }
+
+    /**
+     * Returns loaders which must be completed before each loader, i.e. loaders of containers
+     * bound to the loader query parameters by {@code :container_<containerId>} names.
+     */
+    protected Map<DataLoader, Set<DataLoader>> getLoaderDependencies() {
+        Map<DataLoader, Set<DataLoader>> dependencies = new HashMap<>();
+        for (DataLoader loader : loaders.values()) {
+            Set<DataLoader> masterLoaders = new HashSet<>();
+            for (String containerId : getBoundContainerIds(loader)) {
+                InstanceContainer container = containers.get(containerId);
+                while (container instanceof Nested) {
+                    container = ((Nested) container).getMaster();
+                }
+                for (DataLoader masterLoader : loaders.values()) {
+                    if (masterLoader != loader && container != null && masterLoader.getContainer() == container) {
+                        masterLoaders.add(masterLoader);
+                    }
+                }
+            }
+            dependencies.put(loader, masterLoaders);
+        }
+        return dependencies;
+    }
+
+    protected Set<String> getBoundContainerIds(DataLoader loader) {
+        Set<String> containerIds = new HashSet<>();
+        if (loader.getQuery() != null) {
+            Matcher matcher = CONTAINER_PARAM_PATTERN.matcher(loader.getQuery());
+            while (matcher.find()) {
+                containerIds.add(matcher.group(1));
+            }
+        }
+        if (loader.getCondition() != null) {
+            for (String parameter : loader.getCondition().getParameters()) {
+                if (parameter.startsWith(CONTAINER_PARAM_PREFIX)) {
+                    containerIds.add(parameter.substring(CONTAINER_PARAM_PREFIX.length()));
+                }
+            }
+        }
+        return containerIds;
+    }
+
+    @Override
+    public void loadAllInBatch() {
+        List<BatchLoadSupport> batchLoaders = new ArrayList<>();
+        List<DataLoadContext> batchContexts = new ArrayList<>();
+        for (DataLoader loader : loaders.values()) {
+            if (loader instanceof BatchLoadSupport && ((BatchLoadSupport) loader).isBatchLoadSupported()) {
+                DataLoadContext loadContext = ((BatchLoadSupport) loader).prepareBatchLoad();
+                if (loadContext != null) {
+                    batchLoaders.add((BatchLoadSupport) loader);
+                    batchContexts.add(loadContext);
+                }
+            } else {
+                loader.load();
+            }
+        }
+
+        if (batchContexts.isEmpty()) {
+            return;
+        }
+
+        List<List<?>> results = getDataManager().loadBatch(batchContexts);
+        for (int i = 0; i < batchLoaders.size(); i++) {
+            batchLoaders.get(i).applyBatchLoadResult(results.get(i));
+        }
+    }
+
+    protected DataManager getDataManager() {
+        if (applicationContext == null) {
+            // created by the no-arg constructor
+            applicationContext = AppContext.getApplicationContext();
+        }
+        return applicationContext.getBean(DataManager.NAME, DataManager.class);
     }
 
     @Override
@@ -35,4 +35,18 @@ public @interface LoadDataBeforeShow {
      * Set to false to disable automatic data loading for the screen.
      */
     boolean value() default true;
+
+    /**
+     * Set to true to fetch data of independent loaders concurrently.
+     *
+     * @see com.haulmont.cuba.gui.model.ScreenData#loadAll(boolean)
+     */
+    boolean parallel() default false;
+
+    /**
+     * Set to true to load data of all loaders in one call to the middleware. Takes precedence over {@link #parallel()}.
+     *
+     * @see com.haulmont.cuba.gui.model.ScreenData#loadAllInBatch()
+     */
+    boolean batch() default false;
 }
\ No newline at end of file
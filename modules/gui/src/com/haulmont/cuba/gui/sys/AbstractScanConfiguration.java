@@ -16,6 +16,11 @@
 
 package com.haulmont.cuba.gui.sys;
 
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -23,41 +28,215 @@ import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ResourceUtils;
 
+import javax.annotation.Nullable;
+import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public abstract class AbstractScanConfiguration {
     public static final String DEFAULT_CLASS_RESOURCE_PATTERN = "**/*.class";
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractScanConfiguration.class);
+
     protected abstract MetadataReaderFactory getMetadataReaderFactory();
 
     protected abstract ResourceLoader getResourceLoader();
 
     protected abstract Environment getEnvironment();
 
+    /**
+     * @return whether class files should be read by several threads
+     */
+    protected boolean isParallelScan() {
+        return false;
+    }
+
+    /**
+     * @return directory to store names of the found classes between application starts, or null if the scan index
+     * is not used
+     */
+    @Nullable
+    protected File getScanIndexDir() {
+        return null;
+    }
+
     protected Stream<MetadataReader> scanPackage(String packageName) {
+        return Arrays.stream(getPackageResources(packageName))
+                .filter(Resource::isReadable)
+                .map(resource -> {
+                    try {
+                        return getMetadataReaderFactory().getMetadataReader(resource);
+                    } catch (IOException e) {
+                        throw new RuntimeException("Unable to read resource " + resource, e);
+                    }
+                });
+    }
+
+    /**
+     * Returns metadata of the package classes matching the filter.
+     * <p>
+     * If {@link #getScanIndexDir()} is set, names of the matching classes are stored in the index together with
+     * a checksum of the package resources: names, sizes and modification times of the containing JAR files
+     * and separate class files. On subsequent starts only the matching classes are read,
+     * unless the checksum has changed.
+     */
+    protected List<MetadataReader> scanPackage(String packageName, Predicate<MetadataReader> filter) {
+        Resource[] resources = getPackageResources(packageName);
+
+        File indexFile = null;
+        String checksum = null;
+        File indexDir = getScanIndexDir();
+        if (indexDir != null) {
+            checksum = getChecksum(resources);
+            if (checksum != null) {
+                indexFile = new File(indexDir, getClass().getSimpleName() + "-" + packageName + ".idx");
+                List<String> classNames = readIndex(indexFile, checksum);
+                if (classNames != null) {
+                    log.debug("Using scan index {} for package {}", indexFile, packageName);
+                    return classNames.stream()
+                            .map(this::getMetadataReader)
+                            .collect(Collectors.toList());
+                }
+            }
+        }
+
+        List<MetadataReader> result = isParallelScan()
+                ? readParallel(resources, filter)
+                : Arrays.stream(resources)
+                        .filter(Resource::isReadable)
+                        .map(resource -> getMetadataReader(getMetadataReaderFactory(), resource))
+                        .filter(filter)
+                        .collect(Collectors.toList());
+
+        if (indexFile != null) {
+            writeIndex(indexFile, checksum, result);
+        }
+        return result;
+    }
+
+    protected List<MetadataReader> readParallel(Resource[] resources, Predicate<MetadataReader> filter) {
+        // caching factory synchronizes reading, so each class is read by a thread-safe non-caching factory
+        MetadataReaderFactory readerFactory = new SimpleMetadataReaderFactory(getResourceLoader());
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            return pool.submit(() -> Arrays.stream(resources)
+                    .parallel()
+                    .filter(Resource::isReadable)
+                    .map(resource -> getMetadataReader(readerFactory, resource))
+                    .filter(filter)
+                    .collect(Collectors.toList())
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while scanning classes", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unable to scan classes", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    protected Resource[] getPackageResources(String packageName) {
         String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
                 resolveBasePackage(packageName) + '/' + DEFAULT_CLASS_RESOURCE_PATTERN;
         ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver(getResourceLoader());
-        Resource[] resources;
         try {
-            resources = resourcePatternResolver.getResources(packageSearchPath);
+            return resourcePatternResolver.getResources(packageSearchPath);
         } catch (IOException e) {
             throw new RuntimeException("Unable to scan package " + packageName, e);
         }
+    }
 
-        return Arrays.stream(resources)
-                .filter(Resource::isReadable)
-                .map(resource -> {
-                    try {
-                        return getMetadataReaderFactory().getMetadataReader(resource);
-                    } catch (IOException e) {
-                        throw new RuntimeException("Unable to read resource " + resource, e);
+    protected MetadataReader getMetadataReader(MetadataReaderFactory readerFactory, Resource resource) {
+        try {
+            return readerFactory.getMetadataReader(resource);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read resource " + resource, e);
+        }
+    }
+
+    protected MetadataReader getMetadataReader(String className) {
+        try {
+            return getMetadataReaderFactory().getMetadataReader(className);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read class " + className, e);
+        }
+    }
+
+    /**
+     * @return checksum of the resources or null if it cannot be calculated
+     */
+    @Nullable
+    protected String getChecksum(Resource[] resources) {
+        MessageDigest digest = DigestUtils.getMd5Digest();
+        Set<String> jarFiles = new HashSet<>();
+        try {
+            for (Resource resource : resources) {
+                URL url = resource.getURL();
+                if (ResourceUtils.isJarURL(url)) {
+                    File jarFile = ResourceUtils.getFile(ResourceUtils.extractJarFileURL(url));
+                    if (jarFiles.add(jarFile.getPath())) {
+                        DigestUtils.updateDigest(digest,
+                                jarFile.getPath() + "|" + jarFile.length() + "|" + jarFile.lastModified());
                     }
-                });
+                } else if (ResourceUtils.isFileURL(url)) {
+                    File file = resource.getFile();
+                    DigestUtils.updateDigest(digest,
+                            file.getPath() + "|" + file.length() + "|" + file.lastModified());
+                } else {
+                    return null;
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Unable to calculate checksum of scanned resources", e);
+            return null;
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    @Nullable
+    protected List<String> readIndex(File indexFile, String checksum) {
+        if (!indexFile.exists()) {
+            return null;
+        }
+        try {
+            List<String> lines = FileUtils.readLines(indexFile, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !checksum.equals(lines.get(0))) {
+                return null;
+            }
+            return lines.subList(1, lines.size());
+        } catch (IOException e) {
+            log.warn("Unable to read scan index {}: {}", indexFile, e.toString());
+            return null;
+        }
+    }
+
+    protected void writeIndex(File indexFile, String checksum, List<MetadataReader> readers) {
+        List<String> lines = new ArrayList<>(readers.size() + 1);
+        lines.add(checksum);
+        for (MetadataReader reader : readers) {
+            lines.add(reader.getClassMetadata().getClassName());
+        }
+        try {
+            File tmpFile = new File(indexFile.getPath() + ".tmp");
+            FileUtils.writeLines(tmpFile, StandardCharsets.UTF_8.name(), lines);
+            FileUtils.deleteQuietly(indexFile);
+            FileUtils.moveFile(tmpFile, indexFile);
+        } catch (IOException e) {
+            log.warn("Unable to write scan index {}: {}", indexFile, e.toString());
+        }
     }
 
     protected String resolveBasePackage(String basePackage) {
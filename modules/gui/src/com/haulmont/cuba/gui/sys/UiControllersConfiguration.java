@@ -17,6 +17,8 @@
 package com.haulmont.cuba.gui.sys;
 
 import com.haulmont.bali.util.Preconditions;
+import com.haulmont.cuba.core.global.Configuration;
+import com.haulmont.cuba.core.global.GlobalConfig;
 import com.haulmont.cuba.gui.Route;
 import com.haulmont.cuba.gui.screen.Screen;
 import com.haulmont.cuba.gui.screen.UiController;
@@ -30,6 +32,7 @@ import org.springframework.core.type.classreading.MetadataReaderFactory;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
+import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
@@ -84,8 +87,7 @@ public class UiControllersConfiguration extends AbstractScanConfiguration {
         log.trace("Scanning packages {}", basePackages);
 
         Stream<UiControllerDefinition> scannedControllersStream = basePackages.stream()
-                .flatMap(this::scanPackage)
-                .filter(this::isCandidateUiController)
+                .flatMap(packageName -> scanPackage(packageName, this::isCandidateUiController).stream())
                 .map(this::extractControllerDefinition);
 
         return Stream.concat(scannedControllersStream, explicitDefinitions.stream())
@@ -168,6 +170,30 @@ public class UiControllersConfiguration extends AbstractScanConfiguration {
         this.metadataReaderFactory = metadataReaderFactory;
     }
 
+    @Override
+    protected boolean isParallelScan() {
+        GlobalConfig globalConfig = getGlobalConfig();
+        return globalConfig != null && globalConfig.getParallelStartupScan();
+    }
+
+    @Nullable
+    @Override
+    protected File getScanIndexDir() {
+        GlobalConfig globalConfig = getGlobalConfig();
+        if (globalConfig == null || !globalConfig.getClasspathScanIndexEnabled()) {
+            return null;
+        }
+        return new File(globalConfig.getTempDir(), "scan-index");
+    }
+
+    @Nullable
+    protected GlobalConfig getGlobalConfig() {
+        if (applicationContext == null || !applicationContext.containsBean(Configuration.NAME)) {
+            return null;
+        }
+        return applicationContext.getBean(Configuration.NAME, Configuration.class).getConfig(GlobalConfig.class);
+    }
+
     @Override
     protected ResourceLoader getResourceLoader() {
         return applicationContext;
@@ -18,27 +18,57 @@ package com.haulmont.cuba.gui.xml.layout;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.haulmont.cuba.client.ClientConfig;
+import com.haulmont.cuba.core.global.Configuration;
 import org.dom4j.Document;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+/**
+ * Keeps screen descriptors after inheritance processing and parameter substitution.
+ * Documents are shared between screen instances and must not be modified.
+ */
 @Component("cuba_ScreenXmlDocumentCache")
 public class ScreenXmlDocumentCache {
     protected Cache<String, Document> cache;
 
+    @Inject
+    protected Configuration configuration;
+
     public ScreenXmlDocumentCache() {
-        this(100);
     }
 
     protected ScreenXmlDocumentCache(int cacheDescriptorsCount) {
         cache = CacheBuilder.newBuilder().maximumSize(cacheDescriptorsCount).build();
     }
 
-    public void put(String xml, Document document) {
-        cache.put(xml, document);
+    @PostConstruct
+    protected void init() {
+        if (cache == null) {
+            int size = configuration.getConfig(ClientConfig.class).getScreenXmlCacheSize();
+            cache = CacheBuilder.newBuilder().maximumSize(size).build();
+        }
+    }
+
+    /**
+     * @param key      descriptor key, see {@link ScreenXmlLoader#getCacheKey(String, org.springframework.core.io.Resource)}
+     * @param document processed descriptor
+     */
+    public void put(String key, Document document) {
+        cache.put(key, document);
+    }
+
+    public Document get(String key) {
+        return cache.getIfPresent(key);
     }
 
-    public Document get(String xml) {
-        return cache.getIfPresent(xml);
+    /**
+     * @return number of cached descriptors
+     */
+    public long size() {
+        return cache.size();
     }
 
     public void invalidateAll() {
@@ -16,9 +16,13 @@
 
 package com.haulmont.cuba.gui.xml.layout;
 
+import com.haulmont.cuba.client.ClientConfig;
 import com.haulmont.cuba.core.global.BeanLocator;
 import com.haulmont.cuba.core.global.DevelopmentException;
 import com.haulmont.cuba.core.global.Resources;
+import com.haulmont.cuba.core.sys.events.AppContextStartedEvent;
+import com.haulmont.cuba.gui.config.WindowConfig;
+import com.haulmont.cuba.gui.config.WindowInfo;
 import com.haulmont.cuba.gui.logging.ScreenLifeCycle;
 import com.haulmont.cuba.gui.logging.UIPerformanceLogger;
 import com.haulmont.cuba.gui.xml.XmlInheritanceProcessor;
@@ -26,13 +30,23 @@ import org.apache.commons.io.IOUtils;
 import org.dom4j.Document;
 import org.dom4j.Element;
 import org.perf4j.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Loads screen XML descriptors.
@@ -42,6 +56,8 @@ public class ScreenXmlLoader {
 
     public static final String NAME = "cuba_ScreenXmlLoader";
 
+    private static final Logger log = LoggerFactory.getLogger(ScreenXmlLoader.class);
+
     @Inject
     protected Resources resources;
     @Inject
@@ -50,6 +66,8 @@ public class ScreenXmlLoader {
     protected ScreenXmlParser screenXmlParser;
     @Inject
     protected BeanLocator beanLocator;
+    @Inject
+    protected ClientConfig clientConfig;
 
     /**
      * Loads a descriptor.
@@ -62,13 +80,103 @@ public class ScreenXmlLoader {
     public Element load(String resourcePath, String id, Map<String, Object> params) {
         StopWatch xmlLoadWatch = UIPerformanceLogger.createStopWatch(ScreenLifeCycle.XML, id);
 
-        String template = loadTemplate(resourcePath);
-        Document document = getDocument(template, params);
+        Document document = getDocumentByPath(resourcePath, params);
 
         xmlLoadWatch.stop();
         return document.getRootElement();
     }
 
+    /**
+     * Returns a processed descriptor from the cache. The descriptor text is read and processed only if the resource
+     * has not been loaded yet or has been modified since then.
+     * <p>
+     * Screen parameters are not included in the cache key, because they don't affect the processed descriptor.
+     */
+    protected Document getDocumentByPath(String resourcePath, Map<String, Object> params) {
+        Resource resource = resources.getResource(resourcePath);
+        if (!resource.exists()) {
+            throw new DevelopmentException("Template is not found " + resourcePath, "Path", resourcePath);
+        }
+
+        String key = getCacheKey(resourcePath, resource);
+        if (key == null) {
+            // modification time is unknown, fall back to the content of the descriptor
+            return getDocument(loadTemplate(resourcePath), params);
+        }
+
+        Document document = screenXmlCache.get(key);
+        if (document == null) {
+            document = createDocument(loadTemplate(resourcePath), params);
+            screenXmlCache.put(key, document);
+        }
+        return document;
+    }
+
+    /**
+     * @return cache key consisting of the resource path, its actual location and modification time,
+     * or null if the modification time cannot be determined
+     */
+    protected String getCacheKey(String resourcePath, Resource resource) {
+        long lastModified;
+        try {
+            lastModified = resource.lastModified();
+        } catch (IOException e) {
+            return null;
+        }
+        if (lastModified <= 0) {
+            return null;
+        }
+        return resourcePath + "|" + resource.getDescription() + "|" + lastModified;
+    }
+
+    @EventListener(AppContextStartedEvent.class)
+    protected void applicationStarted() {
+        if (clientConfig.getScreenXmlWarmupEnabled()) {
+            Thread thread = new Thread(this::warmUp, "ScreenXmlWarmup");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Loads descriptors of all registered screens into the cache in parallel.
+     *
+     * @return number of loaded descriptors
+     */
+    public int warmUp() {
+        WindowConfig windowConfig = beanLocator.get(WindowConfig.NAME);
+        List<String> templates = getTemplates(windowConfig.getWindows());
+
+        long start = System.currentTimeMillis();
+        AtomicInteger loaded = new AtomicInteger();
+        templates.parallelStream().forEach(template -> {
+            try {
+                getDocumentByPath(template, Collections.emptyMap());
+                loaded.incrementAndGet();
+            } catch (Exception e) {
+                log.debug("Unable to load screen descriptor {}", template, e);
+            }
+        });
+        log.info("Loaded {} of {} screen descriptors in {} ms",
+                loaded.get(), templates.size(), System.currentTimeMillis() - start);
+        return loaded.get();
+    }
+
+    protected List<String> getTemplates(Collection<WindowInfo> windows) {
+        return windows.stream()
+                .map(windowInfo -> {
+                    try {
+                        return windowInfo.getTemplate();
+                    } catch (Exception e) {
+                        log.debug("Unable to resolve template of screen {}", windowInfo.getId(), e);
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
     protected String loadTemplate(String resourcePath) {
         try (InputStream stream = resources.getResourceAsStream(resourcePath)) {
             if (stream == null) {
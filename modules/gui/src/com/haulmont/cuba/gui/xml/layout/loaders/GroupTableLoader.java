@@ -23,6 +23,7 @@ import com.haulmont.cuba.gui.components.GroupTable;
 import com.haulmont.cuba.gui.components.Table;
 import com.haulmont.cuba.gui.components.data.TableItems;
 import com.haulmont.cuba.gui.components.data.table.ContainerTableItems;
+import com.haulmont.cuba.gui.components.data.table.ContainerDbGroupTableItems;
 import com.haulmont.cuba.gui.components.data.table.ContainerGroupTableItems;
 import com.haulmont.cuba.gui.components.data.table.EmptyGroupTableItems;
 import com.haulmont.cuba.gui.model.CollectionContainer;
@@ -92,6 +93,9 @@ public class GroupTableLoader extends AbstractTableLoader<GroupTable> {
     @SuppressWarnings("unchecked")
     @Override
     protected ContainerTableItems createContainerTableSource(CollectionContainer container) {
+        if (Boolean.parseBoolean(element.attributeValue("dbGrouping"))) {
+            return new ContainerDbGroupTableItems(container);
+        }
         return new ContainerGroupTableItems(container);
     }
 
@@ -30,7 +30,7 @@ import com.haulmont.cuba.gui.config.WindowAttributesProvider;
 import com.haulmont.cuba.gui.config.WindowConfig;
 import com.haulmont.cuba.gui.config.WindowInfo;
 import com.haulmont.cuba.gui.logging.ScreenLifeCycle;
-import com.haulmont.cuba.gui.model.impl.ScreenDataImpl;
+import com.haulmont.cuba.gui.model.DataComponents;
 import com.haulmont.cuba.gui.screen.FrameOwner;
 import com.haulmont.cuba.gui.screen.ScreenContext;
 import com.haulmont.cuba.gui.screen.ScreenFragment;
@@ -107,7 +107,7 @@ public class RuntimePropertiesFrameLoader extends ContainerLoader<Frame> {
                         hostScreenContext.getFragments(),
                         hostScreenContext.getUrlRouting())
         );
-        setScreenData(controller, new ScreenDataImpl());
+        setScreenData(controller, beanLocator.get(DataComponents.class).createScreenData());
 
         FragmentImplementation fragmentImpl = (FragmentImplementation) fragment;
         fragmentImpl.setFrameOwner(controller);
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spec.cuba.gui.components.data
+
+import com.haulmont.cuba.gui.components.data.ContainerHierarchyIndex
+import com.haulmont.cuba.gui.model.CollectionChangeType
+import com.haulmont.cuba.gui.model.CollectionContainer
+import com.haulmont.cuba.gui.model.InstanceContainer
+import com.haulmont.cuba.security.entity.Group
+import spock.lang.Specification
+
+class ContainerHierarchyIndexTest extends Specification {
+
+    def "roots and children are taken from the index"() {
+        def root = group('root', null)
+        def child1 = group('child1', root)
+        def child2 = group('child2', root)
+        def grandChild = group('grandChild', child1)
+        def orphan = group('orphan', group('notLoaded', null))
+
+        List<Group> items = [root, child1, grandChild, child2, orphan]
+        CollectionContainer<Group> container = Mock(CollectionContainer) {
+            getItems() >> { items }
+        }
+
+        def index = new ContainerHierarchyIndex<Group>(container, 'parent')
+
+        expect:
+
+        index.getChildren((Group) null) == [root, orphan]
+        index.getChildren(root) == [child1, child2]
+        index.getChildren(child1) == [grandChild]
+        index.getChildren(grandChild) == []
+        index.hasChildren(root)
+        !index.hasChildren(child2)
+        index.isRoot(orphan.id)
+        !index.isRoot(child1.id)
+    }
+
+    def "index is rebuilt after hierarchy property change"() {
+        def root = group('root', null)
+        def child1 = group('child1', root)
+        def child2 = group('child2', root)
+
+        List<Group> items = [root, child1, child2]
+        CollectionContainer<Group> container = Mock(CollectionContainer) {
+            getItems() >> { items }
+        }
+
+        def index = new ContainerHierarchyIndex<Group>(container, 'parent')
+
+        when:
+
+        index.getChildren(root)
+        child2.parent = child1
+        index.itemPropertyChanged(new InstanceContainer.ItemPropertyChangeEvent(container, child2, 'parent', root, child1))
+
+        then:
+
+        index.getChildren(root) == [child1]
+        index.getChildren(child1) == [child2]
+
+        when:
+
+        items = [root, child1]
+        index.collectionChanged(new CollectionContainer.CollectionChangeEvent(container, CollectionChangeType.REMOVE_ITEMS, [child2]))
+
+        then:
+
+        !index.hasChildren(child1)
+    }
+
+    def "children are loaded lazily on first request"() {
+        def root = group('root', null)
+        def child = group('child', root)
+
+        List<Group> items = [root]
+        CollectionContainer<Group> container = Mock(CollectionContainer) {
+            getItems() >> { items }
+            getItemOrNull(_) >> { args -> items.find { it.id == args[0] } }
+            getMutableItems() >> { items }
+        }
+
+        def index = new ContainerHierarchyIndex<Group>(container, 'parent')
+        int loadCount = 0
+        index.setChildrenLoader({ Group parent ->
+            loadCount++
+            parent == root ? [child] : []
+        })
+
+        expect:
+
+        index.hasChildren(root)
+        loadCount == 0
+
+        index.getChildren(root) == [child]
+        index.getChildren(root) == [child]
+        loadCount == 1
+        items == [root, child]
+
+        index.hasChildren(child)
+        index.getChildren(child) == []
+        !index.hasChildren(child)
+        loadCount == 2
+    }
+
+    private static Group group(String name, Group parent) {
+        def group = new Group()
+        group.name = name
+        group.parent = parent
+        return group
+    }
+}
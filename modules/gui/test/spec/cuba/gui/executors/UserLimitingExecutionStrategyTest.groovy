@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spec.cuba.gui.executors
+
+import com.haulmont.cuba.gui.executors.BackgroundTaskExecutionStrategy
+import com.haulmont.cuba.gui.executors.impl.UserLimitingExecutionStrategy
+import spock.lang.Specification
+
+import java.util.concurrent.RejectedExecutionException
+
+class UserLimitingExecutionStrategyTest extends Specification {
+
+    List<Runnable> submitted = []
+
+    BackgroundTaskExecutionStrategy delegate = new BackgroundTaskExecutionStrategy() {
+        @Override
+        void execute(Runnable runnable, String userLogin) {
+            submitted.add(runnable)
+        }
+
+        @Override
+        void shutdown() {
+        }
+    }
+
+    def "tasks exceeding per-user limit wait in queue"() {
+        def strategy = new UserLimitingExecutionStrategy(delegate, 2)
+        def executed = []
+
+        when:
+        strategy.execute({ executed << 'a1' } as Runnable, 'admin')
+        strategy.execute({ executed << 'a2' } as Runnable, 'admin')
+        strategy.execute({ executed << 'a3' } as Runnable, 'admin')
+        strategy.execute({ executed << 'u1' } as Runnable, 'user')
+
+        then: "third task of admin is queued, other users are not affected"
+        submitted.size() == 3
+        strategy.getQueuedTasksCount('admin') == 1
+        strategy.getQueuedTasksCount('user') == 0
+
+        when:
+        submitted[0].run()
+
+        then: "queued task is submitted after one of running tasks finishes"
+        submitted.size() == 4
+        strategy.getQueuedTasksCount('admin') == 0
+
+        when:
+        submitted[1..3]*.run()
+
+        then:
+        executed == ['a1', 'a2', 'u1', 'a3']
+    }
+
+    def "slot is released if the task cannot be started"() {
+        def rejecting = true
+        def strategy = new UserLimitingExecutionStrategy(new BackgroundTaskExecutionStrategy() {
+            @Override
+            void execute(Runnable runnable, String userLogin) {
+                if (rejecting) {
+                    throw new RejectedExecutionException()
+                }
+                submitted.add(runnable)
+            }
+
+            @Override
+            void shutdown() {
+            }
+        }, 1)
+
+        when:
+        strategy.execute({} as Runnable, 'admin')
+
+        then:
+        thrown(RejectedExecutionException)
+
+        when:
+        rejecting = false
+        strategy.execute({} as Runnable, 'admin')
+
+        then: "the task is started, not queued"
+        submitted.size() == 1
+        strategy.getQueuedTasksCount('admin') == 0
+    }
+
+    def "slot is released if a queued task cannot be started"() {
+        def rejecting = false
+        def strategy = new UserLimitingExecutionStrategy(new BackgroundTaskExecutionStrategy() {
+            @Override
+            void execute(Runnable runnable, String userLogin) {
+                if (rejecting) {
+                    throw new RejectedExecutionException()
+                }
+                submitted.add(runnable)
+            }
+
+            @Override
+            void shutdown() {
+            }
+        }, 1)
+
+        strategy.execute({} as Runnable, 'admin')
+        strategy.execute({} as Runnable, 'admin')
+
+        when:
+        rejecting = true
+        submitted[0].run()
+        rejecting = false
+        strategy.execute({} as Runnable, 'admin')
+
+        then:
+        submitted.size() == 2
+        strategy.getQueuedTasksCount('admin') == 0
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package spec.cuba.gui.sys
+
+import com.haulmont.cuba.gui.sys.AbstractScanConfiguration
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.springframework.core.env.Environment
+import org.springframework.core.env.StandardEnvironment
+import org.springframework.core.io.DefaultResourceLoader
+import org.springframework.core.io.ResourceLoader
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory
+import org.springframework.core.type.classreading.MetadataReader
+import org.springframework.core.type.classreading.MetadataReaderFactory
+import spock.lang.Specification
+
+import java.util.function.Predicate
+
+class ScanIndexTest extends Specification {
+
+    @Rule
+    TemporaryFolder tempFolder = new TemporaryFolder()
+
+    def "parallel scan finds the same classes"() {
+        def configuration = new TestScanConfiguration(null, false)
+        def parallelConfiguration = new TestScanConfiguration(null, true)
+
+        when:
+
+        def names = classNames(configuration.scan(isTestClass()))
+        def parallelNames = classNames(parallelConfiguration.scan(isTestClass()))
+
+        then:
+
+        names.contains(ScanIndexTest.name)
+        parallelNames as Set == names as Set
+    }
+
+    def "scan index is used when classes are not changed"() {
+        def configuration = new TestScanConfiguration(tempFolder.root, false)
+
+        when:
+
+        def names = classNames(configuration.scan(isTestClass()))
+
+        then:
+
+        names.contains(ScanIndexTest.name)
+        tempFolder.root.listFiles().length == 1
+
+        when: "the filter is not applied to classes from the index"
+
+        def indexedNames = classNames(configuration.scan({ false } as Predicate<MetadataReader>))
+
+        then:
+
+        indexedNames == names
+    }
+
+    private static Predicate<MetadataReader> isTestClass() {
+        return { MetadataReader reader -> reader.classMetadata.className.endsWith('Test') } as Predicate<MetadataReader>
+    }
+
+    private static List<String> classNames(List<MetadataReader> readers) {
+        return readers.collect { it.classMetadata.className }
+    }
+
+    static class TestScanConfiguration extends AbstractScanConfiguration {
+
+        ResourceLoader resourceLoader = new DefaultResourceLoader()
+        MetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader)
+        Environment environment = new StandardEnvironment()
+        File scanIndexDir
+        boolean parallelScan
+
+        TestScanConfiguration(File scanIndexDir, boolean parallelScan) {
+            this.scanIndexDir = scanIndexDir
+            this.parallelScan = parallelScan
+        }
+
+        List<MetadataReader> scan(Predicate<MetadataReader> filter) {
+            return scanPackage('spec.cuba.gui.sys', filter)
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spec.cuba.gui.xml.layout
+
+import com.haulmont.cuba.core.global.Resources
+import com.haulmont.cuba.gui.xml.layout.ScreenXmlDocumentCache
+import com.haulmont.cuba.gui.xml.layout.ScreenXmlLoader
+import org.dom4j.Document
+import org.dom4j.DocumentHelper
+import org.springframework.core.io.Resource
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class ScreenXmlLoaderTest extends Specification {
+
+    static final String PATH = "com/company/app/screen.xml"
+    static final String TEMPLATE = "<window/>"
+
+    TestScreenXmlLoader loader
+    Resource resource
+
+    void setup() {
+        resource = Mock(Resource)
+        resource.exists() >> true
+        resource.getDescription() >> "file [/app/screen.xml]"
+
+        Resources resources = Mock(Resources)
+        resources.getResource(PATH) >> resource
+        resources.getResourceAsStream(PATH) >> { new ByteArrayInputStream(TEMPLATE.getBytes(StandardCharsets.UTF_8)) }
+
+        loader = new TestScreenXmlLoader()
+        loader.resources = resources
+        loader.screenXmlCache = new ScreenXmlDocumentCache(10)
+    }
+
+    def "unchanged descriptor is taken from the cache"() {
+        resource.lastModified() >> 1000L
+
+        when:
+        def first = loader.getDocumentByPath(PATH, [:])
+        def second = loader.getDocumentByPath(PATH, [param: "value"])
+
+        then:
+        first.is(second)
+        loader.created == 1
+        loader.screenXmlCache.size() == 1
+    }
+
+    def "descriptor is reloaded after modification"() {
+        resource.lastModified() >>> [1000L, 1000L, 2000L]
+
+        when:
+        def first = loader.getDocumentByPath(PATH, [:])
+        def second = loader.getDocumentByPath(PATH, [:])
+        def third = loader.getDocumentByPath(PATH, [:])
+
+        then:
+        first.is(second)
+        !first.is(third)
+        loader.created == 2
+    }
+
+    def "descriptor content is used as a key if modification time is unknown"() {
+        resource.lastModified() >>> [0L, 0L]
+
+        when:
+        def first = loader.getDocumentByPath(PATH, [:])
+        def second = loader.getDocumentByPath(PATH, [:])
+
+        then:
+        first.is(second)
+        loader.created == 1
+        loader.screenXmlCache.get(TEMPLATE).is(first)
+    }
+
+    def "descriptor content is used as a key if modification time cannot be read"() {
+        resource.lastModified() >> { throw new FileNotFoundException() }
+
+        when:
+        def first = loader.getDocumentByPath(PATH, [:])
+        def second = loader.getDocumentByPath(PATH, [:])
+
+        then:
+        first.is(second)
+        loader.created == 1
+        loader.screenXmlCache.get(TEMPLATE).is(first)
+    }
+
+    static class TestScreenXmlLoader extends ScreenXmlLoader {
+
+        int created
+
+        @Override
+        protected Document createDocument(String template, Map<String, Object> params) {
+            created++
+            return DocumentHelper.parseText(template)
+        }
+    }
+}
@@ -228,6 +228,21 @@ public interface WebConfig extends Config {
     @DefaultInteger(100)
     Integer getMaxActiveBackgroundTasksCount();
 
+    /**
+     * @return maximum number of simultaneously executed background tasks of one user, 0 means no limit.
+     * Tasks exceeding the limit wait in a queue.
+     */
+    @Property("cuba.backgroundWorker.maxActiveTasksPerUser")
+    @DefaultInteger(0)
+    int getMaxActiveBackgroundTasksPerUser();
+
+    /**
+     * @return whether background tasks should be executed in virtual threads if the JVM supports them.
+     */
+    @Property("cuba.backgroundWorker.virtualThreadsEnabled")
+    @DefaultBoolean(false)
+    boolean getBackgroundVirtualThreadsEnabled();
+
     @Property("cuba.backgroundWorker.maxClientLatencySeconds")
     @DefaultInt(60)
     int getClientBackgroundTasksLatencySeconds();
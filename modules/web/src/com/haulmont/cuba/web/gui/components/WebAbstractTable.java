@@ -2614,9 +2614,9 @@ public abstract class WebAbstractTable<T extends com.vaadin.v7.ui.Table & CubaEn
             }
         }
 
-        Map<AggregationInfo, String> results = ((AggregatableTableItems<E>) getItems()).aggregate(
+        Map<AggregationInfo, String> results = __aggregateValues(
                 aggregationInfos.toArray(new AggregationInfo[0]),
-                context.getItemIds()
+                context
         );
         Map<Object, Object> resultsByColumns = new LinkedHashMap<>();
         for (Object propertyId : container.getAggregationPropertyIds()) {
@@ -2631,6 +2631,11 @@ public abstract class WebAbstractTable<T extends com.vaadin.v7.ui.Table & CubaEn
         return resultsByColumns;
     }
 
+    protected Map<AggregationInfo, String> __aggregateValues(AggregationInfo[] aggregationInfos,
+                                                            AggregationContainer.Context context) {
+        return ((AggregatableTableItems<E>) getItems()).aggregate(aggregationInfos, context.getItemIds());
+    }
+
     protected Map<Object, Object> __handleAggregationResults(AggregationContainer.Context context,
                                                              Map<Object, Object> results) {
         for (Map.Entry<Object, Object> entry : results.entrySet()) {
@@ -23,9 +23,11 @@ import com.haulmont.chile.core.model.MetaClass;
 import com.haulmont.chile.core.model.MetaPropertyPath;
 import com.haulmont.cuba.core.app.dynamicattributes.DynamicAttributesUtils;
 import com.haulmont.cuba.core.entity.Entity;
+import com.haulmont.cuba.gui.components.AggregationInfo;
 import com.haulmont.cuba.gui.components.GroupTable;
 import com.haulmont.cuba.gui.components.Table;
 import com.haulmont.cuba.gui.components.columnmanager.GroupColumnManager;
+import com.haulmont.cuba.gui.components.data.DbGroupTableItems;
 import com.haulmont.cuba.gui.components.data.GroupTableItems;
 import com.haulmont.cuba.gui.components.data.TableItems;
 import com.haulmont.cuba.gui.components.data.meta.EntityTableItems;
@@ -290,6 +292,19 @@ public class WebGroupTable<E extends Entity> extends WebAbstractTable<CubaGroupT
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Map<AggregationInfo, String> __aggregateValues(AggregationInfo[] aggregationInfos,
+                                                            AggregationContainer.Context context) {
+        if (getItems() instanceof DbGroupTableItems) {
+            GroupInfo groupId = context instanceof GroupAggregationContext
+                    ? (GroupInfo) ((GroupAggregationContext) context).getGroupId()
+                    : null;
+            return ((DbGroupTableItems<E>) getItems()).aggregateGroup(aggregationInfos, groupId);
+        }
+        return super.__aggregateValues(aggregationInfos, context);
+    }
+
     @Override
     protected Map<Object, Object> __handleAggregationResults(AggregationContainer.Context context,
                                                              Map<Object, Object> results) {
@@ -17,6 +17,7 @@
 package com.haulmont.cuba.web.gui.components;
 
 import com.haulmont.bali.events.Subscription;
+import com.haulmont.cuba.client.ClientConfig;
 import com.haulmont.cuba.core.entity.Entity;
 import com.haulmont.cuba.core.entity.KeyValueEntity;
 import com.haulmont.cuba.core.global.*;
@@ -28,6 +29,10 @@ import com.haulmont.cuba.gui.data.CollectionDatasource;
 import com.haulmont.cuba.gui.data.CollectionDatasource.Operation;
 import com.haulmont.cuba.gui.data.Datasource;
 import com.haulmont.cuba.gui.data.impl.WeakCollectionChangeListener;
+import com.haulmont.cuba.gui.executors.BackgroundTask;
+import com.haulmont.cuba.gui.executors.BackgroundTaskHandler;
+import com.haulmont.cuba.gui.executors.BackgroundWorker;
+import com.haulmont.cuba.gui.executors.TaskLifeCycle;
 import com.haulmont.cuba.gui.model.*;
 import com.haulmont.cuba.web.gui.icons.IconResolver;
 import com.haulmont.cuba.web.widgets.CubaRowsCount;
@@ -42,6 +47,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.haulmont.bali.util.Preconditions.checkNotNullArgument;
 
@@ -59,6 +65,14 @@ public class WebRowsCount extends WebAbstractComponent<CubaRowsCount> implements
     @Inject
     protected DataManager dataManager;
 
+    @Inject
+    protected BackgroundWorker backgroundWorker;
+
+    @Inject
+    protected Configuration configuration;
+
+    protected BackgroundTaskHandler<Integer> countTaskHandler;
+
     protected boolean refreshing;
     protected State state;
     protected State lastState;
@@ -326,17 +340,86 @@ public class WebRowsCount extends WebAbstractComponent<CubaRowsCount> implements
     }
 
     protected void onLinkClick() {
-        int count = adapter.getCount();
-        component.getCountButton().setCaption(String.valueOf(count)); // todo rework with datatype
+        if (countTaskHandler != null && countTaskHandler.isAlive()) {
+            return;
+        }
+        if (!isCountAsync() || !loadCountAsync()) {
+            Supplier<Integer> countLoader = adapter.getCountLoader();
+            showCount(countLoader != null ? countLoader.get() : adapter.getCount());
+        }
+    }
+
+    protected void showCount(int count) {
+        int threshold = getCountEstimationThreshold();
+        if (threshold > 0 && count > threshold) {
+            component.getCountButton().setCaption(messages.formatMainMessage("table.rowsCount.moreThan", threshold));
+        } else {
+            component.getCountButton().setCaption(String.valueOf(count)); // todo rework with datatype
+        }
         component.getCountButton().addStyleName("c-paging-count-number");
         component.getCountButton().setEnabled(false);
     }
 
+    protected boolean isCountAsync() {
+        return configuration.getConfig(ClientConfig.class).getRowsCountAsync();
+    }
+
+    protected int getCountEstimationThreshold() {
+        return configuration.getConfig(ClientConfig.class).getRowsCountEstimationThreshold();
+    }
+
+    /**
+     * Starts loading of the total number of rows in a background thread. The count is shown when it is loaded.
+     *
+     * @return false if the count cannot be loaded asynchronously
+     */
+    protected boolean loadCountAsync() {
+        cancelCountLoading();
+
+        Supplier<Integer> countLoader = adapter.getCountLoader();
+        if (countLoader == null) {
+            return false;
+        }
+
+        countTaskHandler = backgroundWorker.handle(new BackgroundTask<Integer, Integer>(0) {
+            @Override
+            public Integer run(TaskLifeCycle<Integer> taskLifeCycle) {
+                return countLoader.get();
+            }
+
+            @Override
+            public void done(Integer count) {
+                countTaskHandler = null;
+                showCount(count);
+            }
+
+            @Override
+            public boolean handleException(Exception ex) {
+                log.warn("Unable to load rows count", ex);
+                return true;
+            }
+        });
+        countTaskHandler.execute();
+        return true;
+    }
+
+    protected void cancelCountLoading() {
+        if (countTaskHandler != null) {
+            countTaskHandler.cancel();
+            countTaskHandler = null;
+        }
+    }
+
     protected void onCollectionChanged() {
         if (adapter == null) {
             return;
         }
 
+        if (!refreshing) {
+            // paging does not change the total count, so a count being loaded is still valid
+            cancelCountLoading();
+        }
+
         String msgKey;
         size = adapter.size();
         start = 0;
@@ -470,6 +553,16 @@ public class WebRowsCount extends WebAbstractComponent<CubaRowsCount> implements
         int getCount();
         int size();
         void refresh();
+
+        /**
+         * @return function loading the number of rows to display, that can be invoked from a background thread.
+         * The number can be estimated if it exceeds the estimation threshold. Returns null if the count can be
+         * loaded only by {@link #getCount()}.
+         */
+        @Nullable
+        default Supplier<Integer> getCountLoader() {
+            return null;
+        }
     }
 
     protected class LoaderAdapter implements Adapter {
@@ -559,6 +652,17 @@ public class WebRowsCount extends WebAbstractComponent<CubaRowsCount> implements
             }
         }
 
+        @Nullable
+        @Override
+        public Supplier<Integer> getCountLoader() {
+            if (totalCountDelegate != null || !(loader instanceof CollectionLoader)) {
+                return null;
+            }
+            LoadContext context = ((CollectionLoader) loader).createLoadContext();
+            context.setCountEstimationThreshold(getCountEstimationThreshold());
+            return () -> (int) Math.min(dataManager.getCount(context), Integer.MAX_VALUE);
+        }
+
         @Override
         public int size() {
             return container.getItems().size();
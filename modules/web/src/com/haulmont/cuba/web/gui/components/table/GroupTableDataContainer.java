@@ -17,6 +17,7 @@
 package com.haulmont.cuba.web.gui.components.table;
 
 import com.haulmont.cuba.gui.components.data.BindingState;
+import com.haulmont.cuba.gui.components.data.DbGroupTableItems;
 import com.haulmont.cuba.gui.components.data.GroupTableItems;
 import com.haulmont.cuba.gui.data.GroupInfo;
 import com.haulmont.cuba.web.widgets.data.GroupTableContainer;
@@ -250,6 +251,9 @@ public class GroupTableDataContainer<I> extends SortableDataContainer<I> impleme
                     collectItemIds(child, itemIds);
                 }
             } else {
+                if (groupTableSource instanceof DbGroupTableItems) {
+                    ((DbGroupTableItems<I>) groupTableSource).loadGroupItems(groupId);
+                }
                 itemIds.addAll(groupTableSource.getGroupItemIds(groupId));
             }
         }
@@ -17,7 +17,6 @@
 
 package com.haulmont.cuba.web.gui.executors.impl;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.haulmont.cuba.core.global.Configuration;
 import com.haulmont.cuba.core.global.Events;
 import com.haulmont.cuba.core.global.UserSessionSource;
@@ -27,6 +26,9 @@ import com.haulmont.cuba.gui.event.BackgroundTaskUnhandledExceptionEvent;
 import com.haulmont.cuba.gui.executors.*;
 import com.haulmont.cuba.gui.executors.impl.TaskExecutor;
 import com.haulmont.cuba.gui.executors.impl.TaskHandlerImpl;
+import com.haulmont.cuba.gui.executors.impl.ThreadPoolExecutionStrategy;
+import com.haulmont.cuba.gui.executors.impl.UserLimitingExecutionStrategy;
+import com.haulmont.cuba.gui.executors.impl.VirtualThreadExecutionStrategy;
 import com.haulmont.cuba.security.global.UserSession;
 import com.haulmont.cuba.web.App;
 import com.haulmont.cuba.web.AppUI;
@@ -70,7 +72,7 @@ public class WebBackgroundWorker implements BackgroundWorker {
 
     protected Configuration configuration;
 
-    protected ExecutorService executorService;
+    protected BackgroundTaskExecutionStrategy executionStrategy;
 
     public WebBackgroundWorker() {
     }
@@ -79,29 +81,52 @@ public class WebBackgroundWorker implements BackgroundWorker {
     public void setConfiguration(Configuration configuration) {
         this.configuration = configuration;
 
-        createThreadPoolExecutor();
+        if (executionStrategy == null) {
+            executionStrategy = createExecutionStrategy();
+        }
     }
 
-    protected void createThreadPoolExecutor() {
-        if (executorService != null) {
-            return;
+    /**
+     * Sets custom strategy of background tasks execution. Must be called before any task is started.
+     *
+     * @param executionStrategy execution strategy
+     */
+    public void setExecutionStrategy(BackgroundTaskExecutionStrategy executionStrategy) {
+        checkNotNull(executionStrategy);
+
+        if (this.executionStrategy != null) {
+            this.executionStrategy.shutdown();
         }
+        this.executionStrategy = executionStrategy;
+    }
 
+    protected BackgroundTaskExecutionStrategy createExecutionStrategy() {
         WebConfig webConfig = configuration.getConfig(WebConfig.class);
-        this.executorService = new ThreadPoolExecutor(
-                webConfig.getMinBackgroundThreadsCount(),
-                webConfig.getMaxActiveBackgroundTasksCount(),
-                10L, TimeUnit.MINUTES,
-                new LinkedBlockingQueue<>(),
-                new ThreadFactoryBuilder()
-                        .setNameFormat(THREAD_NAME_PREFIX + "%d")
-                        .build()
-        );
+
+        BackgroundTaskExecutionStrategy strategy;
+        if (webConfig.getBackgroundVirtualThreadsEnabled() && VirtualThreadExecutionStrategy.isSupported()) {
+            strategy = new VirtualThreadExecutionStrategy();
+        } else {
+            if (webConfig.getBackgroundVirtualThreadsEnabled()) {
+                log.warn("Virtual threads are not supported by the current JVM, thread pool is used for background tasks");
+            }
+            strategy = new ThreadPoolExecutionStrategy(
+                    webConfig.getMinBackgroundThreadsCount(),
+                    webConfig.getMaxActiveBackgroundTasksCount(),
+                    THREAD_NAME_PREFIX
+            );
+        }
+
+        int maxTasksPerUser = webConfig.getMaxActiveBackgroundTasksPerUser();
+        if (maxTasksPerUser > 0) {
+            strategy = new UserLimitingExecutionStrategy(strategy, maxTasksPerUser);
+        }
+        return strategy;
     }
 
     @PreDestroy
     public void destroy() {
-        executorService.shutdownNow();
+        executionStrategy.shutdown();
     }
 
     @Override
@@ -371,10 +396,17 @@ public class WebBackgroundWorker implements BackgroundWorker {
         @ExecutedOnUIThread
         @Override
         public final void startExecution() {
+            long submitTime = System.currentTimeMillis();
             // Start thread
-            executorService.execute(() ->
-                    future.run()
-            );
+            executionStrategy.execute(() -> {
+                long startTime = System.currentTimeMillis();
+                try {
+                    future.run();
+                } finally {
+                    long endTime = System.currentTimeMillis();
+                    watchDog.taskExecuted(startTime - submitTime, endTime - startTime);
+                }
+            }, userLogin);
         }
 
         @Override
@@ -17,6 +17,8 @@
 
 package com.haulmont.cuba.web.jmx;
 
+import com.haulmont.cuba.gui.executors.WatchDog;
+import com.haulmont.cuba.gui.executors.impl.TasksWatchDog;
 import com.haulmont.cuba.web.app.WebStatisticsAccumulator;
 
 import org.springframework.stereotype.Component;
@@ -27,6 +29,8 @@ public class StatisticsCounter implements StatisticsCounterMBean {
 
     @Inject
     protected WebStatisticsAccumulator accumulator;
+    @Inject
+    protected WatchDog watchDog;
 
     @Override
     public double getWebRequestsCount() {
@@ -82,4 +86,36 @@ public class StatisticsCounter implements StatisticsCounterMBean {
     public double getAvgThreadCount() {
         return accumulator.getAvgThreadCount();
     }
-}
\ No newline at end of file
+
+    @Override
+    public int getActiveBackgroundTasksCount() {
+        return watchDog.getActiveTasksCount();
+    }
+
+    @Override
+    public long getExecutedBackgroundTasksCount() {
+        return watchDog instanceof TasksWatchDog ? ((TasksWatchDog) watchDog).getExecutedTasksCount() : 0;
+    }
+
+    @Override
+    public long getAvgBackgroundTaskQueueWaitTimeMs() {
+        return watchDog instanceof TasksWatchDog ? ((TasksWatchDog) watchDog).getAvgQueueWaitTimeMs() : 0;
+    }
+
+    @Override
+    public long getMaxBackgroundTaskQueueWaitTimeMs() {
+        return watchDog instanceof TasksWatchDog ? ((TasksWatchDog) watchDog).getMaxQueueWaitTimeMs() : 0;
+    }
+
+    @Override
+    public long getAvgBackgroundTaskRunTimeMs() {
+        return watchDog instanceof TasksWatchDog ? ((TasksWatchDog) watchDog).getAvgRunTimeMs() : 0;
+    }
+
+    @Override
+    public void resetBackgroundTasksStatistics() {
+        if (watchDog instanceof TasksWatchDog) {
+            ((TasksWatchDog) watchDog).resetExecutionStatistics();
+        }
+    }
+}
@@ -44,4 +44,16 @@ public interface StatisticsCounterMBean {
     double getAvgProcessCpuLoad();
 
     double getAvgThreadCount();
+
+    int getActiveBackgroundTasksCount();
+
+    long getExecutedBackgroundTasksCount();
+
+    long getAvgBackgroundTaskQueueWaitTimeMs();
+
+    long getMaxBackgroundTaskQueueWaitTimeMs();
+
+    long getAvgBackgroundTaskRunTimeMs();
+
+    void resetBackgroundTasksStatistics();
 }
\ No newline at end of file
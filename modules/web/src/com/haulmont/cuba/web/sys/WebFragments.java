@@ -31,7 +31,7 @@ import com.haulmont.cuba.gui.config.WindowInfo;
 import com.haulmont.cuba.gui.data.DsContext;
 import com.haulmont.cuba.gui.data.impl.DsContextImplementation;
 import com.haulmont.cuba.gui.logging.ScreenLifeCycle;
-import com.haulmont.cuba.gui.model.impl.ScreenDataImpl;
+import com.haulmont.cuba.gui.model.DataComponents;
 import com.haulmont.cuba.gui.screen.*;
 import com.haulmont.cuba.gui.screen.compatibility.LegacyFrame;
 import com.haulmont.cuba.gui.sys.FragmentContextImpl;
@@ -135,7 +135,7 @@ public class WebFragments implements Fragments {
                         this,
                         ui.getUrlRouting())
         );
-        setScreenData(controller, new ScreenDataImpl());
+        setScreenData(controller, beanLocator.get(DataComponents.class).createScreenData());
 
         FragmentImplementation fragmentImpl = (FragmentImplementation) fragment;
         fragmentImpl.setFrameOwner(controller);
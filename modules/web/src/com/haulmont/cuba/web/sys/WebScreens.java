@@ -45,7 +45,8 @@ import com.haulmont.cuba.gui.icons.CubaIcon;
 import com.haulmont.cuba.gui.icons.Icons;
 import com.haulmont.cuba.gui.logging.ScreenLifeCycle;
 import com.haulmont.cuba.gui.logging.UserActionsLogger;
-import com.haulmont.cuba.gui.model.impl.ScreenDataImpl;
+import com.haulmont.cuba.gui.model.DataComponents;
+import com.haulmont.cuba.gui.model.ScreenData;
 import com.haulmont.cuba.gui.navigation.NavigationState;
 import com.haulmont.cuba.gui.screen.*;
 import com.haulmont.cuba.gui.screen.Screen.*;
@@ -200,7 +201,7 @@ public class WebScreens implements Screens, WindowManager {
                         ui.getFragments(),
                         ui.getUrlRouting())
         );
-        setScreenData(controller, new ScreenDataImpl());
+        setScreenData(controller, beanLocator.get(DataComponents.class).createScreenData());
 
         WindowImplementation windowImpl = (WindowImplementation) window;
         windowImpl.setFrameOwner(controller);
@@ -529,7 +530,12 @@ public class WebScreens implements Screens, WindowManager {
     protected void loadDataBeforeShow(Screen screen) {
         LoadDataBeforeShow annotation = screen.getClass().getAnnotation(LoadDataBeforeShow.class);
         if (annotation != null && annotation.value()) {
-            UiControllerUtils.getScreenData(screen).loadAll();
+            ScreenData screenData = UiControllerUtils.getScreenData(screen);
+            if (annotation.batch()) {
+                screenData.loadAllInBatch();
+            } else {
+                screenData.loadAll(annotation.parallel());
+            }
         }
     }
 
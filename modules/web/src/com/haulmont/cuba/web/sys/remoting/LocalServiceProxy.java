@@ -55,7 +55,7 @@ public class LocalServiceProxy extends RemoteAccessor implements FactoryBean<Obj
         serviceProxy = Proxy.newProxyInstance(
                 getBeanClassLoader(),
                 new Class[]{getServiceInterface()},
-                new LocalServiceInvocationHandler(serviceName)
+                new LocalServiceInvocationHandler(serviceName, LocalServiceIsolation.fromProperty())
         );
     }
 
@@ -88,9 +88,11 @@ public class LocalServiceProxy extends RemoteAccessor implements FactoryBean<Obj
     private static class LocalServiceInvocationHandler implements InvocationHandler {
 
         private String serviceName;
+        private LocalServiceIsolation isolation;
 
-        public LocalServiceInvocationHandler(String serviceName) {
+        public LocalServiceInvocationHandler(String serviceName, LocalServiceIsolation isolation) {
             this.serviceName = serviceName;
+            this.isolation = isolation;
         }
 
         @Override
@@ -111,6 +113,8 @@ public class LocalServiceProxy extends RemoteAccessor implements FactoryBean<Obj
                 parameterTypeNames[i] = parameterTypes[i].getName();
             }
 
+            LocalServiceIsolation isolation = this.isolation.forInvoker(invoker, LocalServiceProxy.class);
+
             byte[][] argumentsData;
             Object[] notSerializableArguments;
             if (args == null) {
@@ -125,6 +129,9 @@ public class LocalServiceProxy extends RemoteAccessor implements FactoryBean<Obj
                     if (canBypassSerialization(parameter)) {
                         notSerializableArguments[i] = args[i];
                         argumentsData[i] = null;
+                    } else if (isolation != LocalServiceIsolation.SERIALIZATION) {
+                        notSerializableArguments[i] = isolation.isolate(arg);
+                        argumentsData[i] = null;
                     } else if (arg != null) {
                         argumentsData[i] = SerializationSupport.serialize(arg);
                     } else {
@@ -149,7 +156,9 @@ public class LocalServiceProxy extends RemoteAccessor implements FactoryBean<Obj
                     invocation.setClientInfo(session.getClientInfo());
                 }
             }
-            invocation.setResultBypassSerialization(canMethodResultBypassSerialization(method));
+            boolean resultBypassSerialization = canMethodResultBypassSerialization(method);
+            invocation.setResultBypassSerialization(resultBypassSerialization
+                    || isolation != LocalServiceIsolation.SERIALIZATION);
 
             LocalServiceInvocationResult result = invoker.invoke(invocation);
             AppContext.setSecurityContext(AppContext.getSecurityContext()); // to reset application name in LogMDC for the current thread
@@ -167,6 +176,8 @@ public class LocalServiceProxy extends RemoteAccessor implements FactoryBean<Obj
                 Object data;
                 if (result.getNotSerializableData() == null) {
                     data = SerializationSupport.deserialize(result.getData());
+                } else if (!resultBypassSerialization && isolation != LocalServiceIsolation.SERIALIZATION) {
+                    data = isolation.isolate(result.getNotSerializableData());
                 } else {
                     data = result.getNotSerializableData();
                 }
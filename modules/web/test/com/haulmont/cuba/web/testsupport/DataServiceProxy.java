@@ -23,6 +23,7 @@ import com.haulmont.cuba.core.entity.*;
 import com.haulmont.cuba.core.global.*;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -113,4 +114,13 @@ public class DataServiceProxy implements DataService {
     public List<KeyValueEntity> loadValues(ValueLoadContext context) {
         return Collections.emptyList();
     }
+
+    @Override
+    public List<List<?>> loadBatch(List<?> contexts) {
+        List<List<?>> results = new ArrayList<>(contexts.size());
+        for (Object context : contexts) {
+            results.add(Collections.emptyList());
+        }
+        return results;
+    }
 }
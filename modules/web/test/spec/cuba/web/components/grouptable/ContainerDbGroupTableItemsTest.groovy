@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2019 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package spec.cuba.web.components.grouptable
+
+import com.haulmont.cuba.core.app.DataService
+import com.haulmont.cuba.core.entity.KeyValueEntity
+import com.haulmont.cuba.core.global.LoadContext
+import com.haulmont.cuba.core.global.Metadata
+import com.haulmont.cuba.core.global.ValueLoadContext
+import com.haulmont.cuba.gui.components.data.table.ContainerDbGroupTableItems
+import com.haulmont.cuba.gui.model.CollectionContainer
+import com.haulmont.cuba.gui.model.CollectionLoader
+import com.haulmont.cuba.gui.model.DataComponents
+import com.haulmont.cuba.web.testmodel.datacontext.Foo
+import com.haulmont.cuba.web.testsupport.TestContainer
+import com.haulmont.cuba.web.testsupport.TestServiceProxy
+import org.junit.ClassRule
+import spock.lang.Shared
+import spock.lang.Specification
+
+import static com.haulmont.cuba.client.testsupport.TestSupport.reserialize
+
+class ContainerDbGroupTableItemsTest extends Specification {
+
+    @Shared @ClassRule
+    public TestContainer cont = TestContainer.Common.INSTANCE
+
+    private Metadata metadata
+    private DataComponents factory
+
+    void setup() {
+        metadata = cont.getBean(Metadata)
+        factory = cont.getBean(DataComponents)
+    }
+
+    void cleanup() {
+        TestServiceProxy.clear()
+    }
+
+    def "groups and counts are loaded by a group query and group items on expand"() {
+        CollectionContainer<Foo> container = factory.createCollectionContainer(Foo)
+        CollectionLoader<Foo> loader = factory.createCollectionLoader()
+        loader.setContainer(container)
+        loader.setQuery('select e from test$Foo e')
+
+        def foo1 = new Foo(name: 'a')
+        def foo2 = new Foo(name: 'a')
+
+        List<String> valueQueries = []
+        List<String> listQueries = []
+
+        TestServiceProxy.mock(DataService, Mock(DataService) {
+            loadValues(_) >> { ValueLoadContext context ->
+                valueQueries.add(context.query.queryString)
+                [keyValue('a', 2L), keyValue('b', 1000000L)]
+            }
+            loadList(_) >> { LoadContext context ->
+                listQueries.add(context.query.queryString)
+                [reserialize(foo1), reserialize(foo2)]
+            }
+        })
+
+        def items = new ContainerDbGroupTableItems<Foo, UUID>(container)
+
+        when:
+
+        items.groupBy([metadata.getClassNN(Foo).getPropertyPath('name')] as Object[])
+
+        then:
+
+        items.isDbGrouping()
+        valueQueries.size() == 1
+        valueQueries[0].contains('group by')
+        items.rootGroups().size() == 2
+        items.getGroupItemsCount(items.rootGroups()[1]) == 1000000
+        items.getGroupItemIds(items.rootGroups()[0]).isEmpty()
+        listQueries.isEmpty()
+
+        when:
+
+        def group = items.rootGroups()[0]
+        items.loadGroupItems(group)
+        items.loadGroupItems(group)
+
+        then:
+
+        listQueries.size() == 1
+        listQueries[0].contains(':grp_value_0')
+        items.getGroupItemIds(group) == [foo1.id, foo2.id]
+        container.items.size() == 2
+        items.getParentGroup(container.items[0]) == group
+    }
+
+    def "falls back to grouping of loaded items without loader query"() {
+        CollectionContainer<Foo> container = factory.createCollectionContainer(Foo)
+        container.setItems([new Foo(name: 'a'), new Foo(name: 'b'), new Foo(name: 'a')])
+
+        def items = new ContainerDbGroupTableItems<Foo, UUID>(container)
+
+        when:
+
+        items.groupBy([metadata.getClassNN(Foo).getPropertyPath('name')] as Object[])
+
+        then:
+
+        !items.isDbGrouping()
+        items.rootGroups().size() == 2
+        items.getGroupItemsCount(items.rootGroups()[0]) == 2
+    }
+
+    private static KeyValueEntity keyValue(Object... values) {
+        def kv = new KeyValueEntity()
+        values.eachWithIndex { value, i -> kv.setValue("v$i", value) }
+        return kv
+    }
+}
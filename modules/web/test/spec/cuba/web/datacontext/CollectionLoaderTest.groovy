@@ -22,6 +22,9 @@ import com.haulmont.cuba.core.global.Metadata
 import com.haulmont.cuba.gui.model.CollectionContainer
 import com.haulmont.cuba.gui.model.CollectionLoader
 import com.haulmont.cuba.gui.model.DataComponents
+import com.haulmont.cuba.gui.model.InstanceContainer
+import com.haulmont.cuba.gui.model.InstanceLoader
+import com.haulmont.cuba.gui.model.impl.ScreenDataImpl
 import com.haulmont.cuba.web.testmodel.datacontext.Foo
 import com.haulmont.cuba.web.testsupport.TestContainer
 import com.haulmont.cuba.web.testsupport.TestServiceProxy
@@ -104,4 +107,79 @@ class CollectionLoaderTest extends Specification {
 
         0 * postLoadListener.accept(_)
     }
+
+    def "parallel load of screen data"() {
+        CollectionLoader<Foo> collectionLoader = factory.createCollectionLoader()
+        CollectionContainer<Foo> collectionContainer = factory.createCollectionContainer(Foo)
+        collectionLoader.setContainer(collectionContainer)
+        collectionLoader.setQuery('select bla-bla')
+
+        InstanceLoader<Foo> instanceLoader = factory.createInstanceLoader()
+        InstanceContainer<Foo> instanceContainer = factory.createInstanceContainer(Foo)
+        instanceLoader.setContainer(instanceContainer)
+
+        Foo foo1 = new Foo()
+        Foo foo2 = new Foo()
+        instanceLoader.setEntityId(foo2.id)
+
+        Consumer postLoadListener = Mock()
+        collectionLoader.addPostLoadListener(postLoadListener)
+
+        TestServiceProxy.mock(DataService, Mock(DataService) {
+            loadList(_) >> [reserialize(foo1)]
+            load(_) >> reserialize(foo2)
+        })
+
+        def screenData = new ScreenDataImpl()
+        screenData.registerLoader('collectionLoader', collectionLoader)
+        screenData.registerLoader('instanceLoader', instanceLoader)
+
+        when:
+
+        screenData.loadAll(true)
+
+        then:
+
+        collectionContainer.getItems() == [foo1]
+        instanceContainer.getItem() == foo2
+
+        1 * postLoadListener.accept(_)
+    }
+
+    def "batch load of screen data"() {
+        CollectionLoader<Foo> collectionLoader = factory.createCollectionLoader()
+        CollectionContainer<Foo> collectionContainer = factory.createCollectionContainer(Foo)
+        collectionLoader.setContainer(collectionContainer)
+        collectionLoader.setQuery('select bla-bla')
+
+        InstanceLoader<Foo> instanceLoader = factory.createInstanceLoader()
+        InstanceContainer<Foo> instanceContainer = factory.createInstanceContainer(Foo)
+        instanceLoader.setContainer(instanceContainer)
+
+        Foo foo1 = new Foo()
+        Foo foo2 = new Foo()
+        instanceLoader.setEntityId(foo2.id)
+
+        def screenData = new ScreenDataImpl()
+        screenData.registerLoader('collectionLoader', collectionLoader)
+        screenData.registerLoader('instanceLoader', instanceLoader)
+
+        DataService dataService = Mock()
+        TestServiceProxy.mock(DataService, dataService)
+
+        when:
+
+        screenData.loadAllInBatch()
+
+        then:
+
+        1 * dataService.loadBatch(_) >> { List args ->
+            args[0].collect { it.id == foo2.id ? [reserialize(foo2)] : [reserialize(foo1)] }
+        }
+        0 * dataService.loadList(_)
+        0 * dataService.load(_)
+
+        collectionContainer.getItems() == [foo1]
+        instanceContainer.getItem() == foo2
+    }
 }
@@ -277,6 +277,32 @@ class DataContextParentTest extends Specification {
         line2.order.is(order2)
     }
 
+    def "commit edited versioned instance to parent"() {
+
+        DataContext ctx1 = factory.createDataContext()
+
+        def order = new Order(number: '111', amount: 10.0, version: 1)
+        makeDetached(order, ['number', 'amount'])
+
+        def order1 = ctx1.merge(order)
+
+        DataContext ctx2 = factory.createDataContext()
+        ctx2.setParent(ctx1)
+
+        def order2 = ctx2.merge(order1)
+
+        when:
+
+        order2.number = '222'
+        ctx2.commit()
+
+        then: "edited attribute is copied to parent although the version is the same"
+
+        order1.number == '222'
+        order1.amount == 10.0
+        ctx1.isModified(order1)
+    }
+
     private void makeDetached(def entity, List<String> attributes) {
         entityStates.makeDetached(entity)
         ((FetchGroupTracker) entity)._persistence_setFetchGroup(
@@ -27,6 +27,7 @@ import com.haulmont.cuba.core.global.Metadata
 import com.haulmont.cuba.core.sys.persistence.CubaEntityFetchGroup
 import com.haulmont.cuba.gui.model.DataComponents
 import com.haulmont.cuba.gui.model.DataContext
+import com.haulmont.cuba.gui.model.impl.DataContextImpl
 import com.haulmont.cuba.gui.model.impl.NoopDataContext
 import com.haulmont.cuba.security.entity.Role
 import com.haulmont.cuba.security.entity.User
@@ -467,6 +468,131 @@ class DataContextTest extends Specification {
         !order1_1.orderLines.contains(orderLine12_1)
     }
 
+    def "removed object is removed from collections it was added to after merge"() {
+
+        def dataContext = factory.createDataContext()
+
+        Order order1 = makeSaved(new Order(number: "111", orderLines: []))
+        Order order1_1 = dataContext.merge(order1)
+
+        OrderLine orderLine = makeSaved(new OrderLine(quantity: 10))
+        OrderLine orderLine_1 = dataContext.merge(orderLine)
+        orderLine_1.order = order1_1
+        order1_1.orderLines.add(orderLine_1)
+
+        when:
+
+        dataContext.remove(orderLine_1)
+
+        then:
+
+        order1_1.orderLines.isEmpty()
+    }
+
+    def "removed object is removed from plain collections assigned to managed instances"() {
+
+        def dataContext = factory.createDataContext()
+
+        Order order1 = makeSaved(new Order(number: "111"))
+        Order order1_1 = dataContext.merge(order1)
+
+        OrderLine orderLine = makeSaved(new OrderLine(quantity: 10))
+        OrderLine orderLine_1 = dataContext.merge(orderLine)
+
+        order1_1.orderLines = new ArrayList<>()
+        order1_1.orderLines.add(orderLine_1)
+
+        when:
+
+        dataContext.remove(orderLine_1)
+
+        then:
+
+        order1_1.orderLines.isEmpty()
+    }
+
+    def "collection index entries are pruned"() {
+
+        def dataContext = factory.createDataContext()
+
+        Order order1 = makeSaved(new Order(number: "111", orderLines: []))
+        Order order1_1 = dataContext.merge(order1)
+
+        OrderLine orderLine = makeSaved(new OrderLine(quantity: 10))
+        OrderLine orderLine_1 = dataContext.merge(orderLine)
+        order1_1.orderLines.add(orderLine_1)
+
+        when: "an instance is removed from a collection"
+
+        order1_1.orderLines.remove(orderLine_1)
+
+        then:
+
+        !((DataContextImpl) dataContext).collectionIndex.containsKey(orderLine_1)
+
+        when: "the owner of a collection is evicted"
+
+        order1_1.orderLines.add(orderLine_1)
+        dataContext.evict(order1_1)
+
+        then:
+
+        ((DataContextImpl) dataContext).collectionIndex.isEmpty()
+    }
+
+    def "local attributes are copied only if instance is modified or has more attributes loaded"() {
+
+        def dataContext = factory.createDataContext()
+
+        Order order1 = new Order(number: "111", amount: 10.0, version: 1)
+        makeDetached(order1, ['number', 'amount'])
+        Order order1_1 = dataContext.merge(order1)
+
+        when: "same version, the same attributes and values"
+
+        Order order2 = new Order(id: order1.id, number: "111", version: 1)
+        makeDetached(order2, ['number'])
+        dataContext.merge(order2)
+
+        then: "local attributes are not copied"
+
+        order1_1.number == "111"
+        order1_1.amount == 10.0
+
+        when: "same version, managed instance is modified"
+
+        order1_1.amount = 20.0
+        Order order2_1 = new Order(id: order1.id, number: "222", version: 1)
+        makeDetached(order2_1, ['number'])
+        dataContext.merge(order2_1)
+
+        then: "local attributes are copied"
+
+        order1_1.number == "222"
+
+        when: "same version and more attributes"
+
+        Order order3 = new Order(id: order1.id, number: "333", amount: 30.0, version: 1)
+        makeDetached(order3, ['number', 'amount', 'date'])
+        dataContext.merge(order3)
+
+        then: "local attributes are copied"
+
+        order1_1.number == "333"
+        order1_1.amount == 30.0
+
+        when: "newer version"
+
+        Order order4 = new Order(id: order1.id, number: "444", amount: 40.0, version: 2)
+        makeDetached(order4, ['number', 'amount'])
+        dataContext.merge(order4)
+
+        then: "local attributes are copied"
+
+        order1_1.number == "444"
+        order1_1.amount == 40.0
+    }
+
     def "system fields are preserved on merge"() {
 
         def dataContext = factory.createDataContext()
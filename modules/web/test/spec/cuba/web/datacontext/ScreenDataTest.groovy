@@ -503,4 +503,45 @@ class ScreenDataTest extends WebSpec {
         !productContA.is(productCont)
         !tagsContA.is(tagsCont)
     }
+
+    def "parallel loading respects container bindings"() {
+        def xml = '''
+            <data>
+                <collection id="ordersCont"
+                            class="com.haulmont.cuba.web.testmodel.sales.Order" view="_local">
+                    <loader id="ordersLoader">
+                        <query>
+                            select e from test$Order e
+                        </query>
+                    </loader>
+                </collection>
+
+                <collection id="linesCont"
+                            class="com.haulmont.cuba.web.testmodel.sales.OrderLine" view="_local">
+                    <loader id="linesLoader">
+                        <query>
+                            select e from test$OrderLine e where e.order = :container_ordersCont
+                        </query>
+                    </loader>
+                </collection>
+            </data>
+            '''
+        ScreenData screenData = new ScreenDataImpl()
+        ScreenDataXmlLoader screenDataLoader = cont.getBean(ScreenDataXmlLoader)
+        screenDataLoader.load(screenData, Dom4j.readDocument(xml).rootElement, null)
+
+        def loaded = []
+        CollectionLoader<Order> ordersLoader = screenData.getLoader('ordersLoader')
+        ordersLoader.setLoadDelegate({ loadContext -> loaded << 'orders'; [] })
+        CollectionLoader<OrderLine> linesLoader = screenData.getLoader('linesLoader')
+        linesLoader.setLoadDelegate({ loadContext -> loaded << 'lines'; [] })
+
+        when:
+
+        screenData.loadAll(true)
+
+        then:
+
+        loaded == ['orders', 'lines']
+    }
 }